@@ -16,7 +16,6 @@ import org.eclipse.che.api.git.GitException;
 import org.eclipse.jgit.lib.Repository;
 import org.eclipse.jgit.lib.StoredConfig;
 
-import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
@@ -96,12 +95,7 @@ class JGitConfigImpl extends Config {
     @Override
     public Config set(String name, String value) throws GitException {
         ConfigKey key = parseName(name);
-        repository.getConfig().setString(key.section, key.subsection, key.name, value);
-        try {
-            this.repository.getConfig().save();
-        } catch (IOException e) {
-            throw new GitException(e.getMessage(), e);
-        }
+        JGitConnection.changeConfig(repository, config -> config.setString(key.section, key.subsection, key.name, value));
         return this;
     }
 
@@ -113,12 +107,7 @@ class JGitConfigImpl extends Config {
     @Override
     public Config unset(String name) throws GitException {
         ConfigKey key = parseName(name);
-        repository.getConfig().unset(key.section, key.subsection, key.name);
-        try {
-            this.repository.getConfig().save();
-        } catch (IOException e) {
-            throw new GitException(e.getMessage(), e);
-        }
+        JGitConnection.changeConfig(repository, config -> config.unset(key.section, key.subsection, key.name));
         return this;
     }
 
@@ -96,6 +96,7 @@ import org.eclipse.jgit.api.errors.DetachedHeadException;
 import org.eclipse.jgit.api.errors.GitAPIException;
 import org.eclipse.jgit.api.errors.TransportException;
 import org.eclipse.jgit.dircache.DirCache;
+import org.eclipse.jgit.errors.ConfigInvalidException;
 import org.eclipse.jgit.lib.ConfigConstants;
 import org.eclipse.jgit.lib.Constants;
 import org.eclipse.jgit.lib.ObjectId;
@@ -112,6 +113,7 @@ import org.eclipse.jgit.revwalk.RevCommit;
 import org.eclipse.jgit.revwalk.RevObject;
 import org.eclipse.jgit.revwalk.RevTag;
 import org.eclipse.jgit.revwalk.RevWalk;
+import org.eclipse.jgit.storage.file.FileBasedConfig;
 import org.eclipse.jgit.transport.FetchResult;
 import org.eclipse.jgit.transport.JschConfigSessionFactory;
 import org.eclipse.jgit.transport.OpenSshConfig;
@@ -447,19 +449,24 @@ class JGitConnection implements GitConnection {
 
             executeRemoteCommand(remoteUri, cloneCommand);
 
-            StoredConfig repositoryConfig = getRepository().getConfig();
             GitUser gitUser = getUser();
-            if (gitUser != null) {
-                repositoryConfig.setString(ConfigConstants.CONFIG_USER_SECTION, null, ConfigConstants.CONFIG_KEY_NAME, gitUser.getName());
-                repositoryConfig.setString(ConfigConstants.CONFIG_USER_SECTION, null, ConfigConstants.CONFIG_KEY_EMAIL, gitUser.getEmail());
-            }
-            repositoryConfig.save();
+            changeConfig(getRepository(), repositoryConfig -> {
+                if (gitUser != null) {
+                    repositoryConfig.setString(ConfigConstants.CONFIG_USER_SECTION, null, ConfigConstants.CONFIG_KEY_NAME, gitUser.getName());
+                    repositoryConfig.setString(ConfigConstants.CONFIG_USER_SECTION, null, ConfigConstants.CONFIG_KEY_EMAIL, gitUser.getEmail());
+                }
+            });
         } catch (IOException | GitAPIException exception) {
             // Delete .git directory in case it was created
             if (removeIfFailed) {
                 deleteRepositoryFolder();
             }
             throw new GitException(exception.getMessage(), exception);
+        } catch (GitException exception) {
+            if (removeIfFailed) {
+                deleteRepositoryFolder();
+            }
+            throw exception;
         }
     }
 
@@ -506,6 +513,8 @@ class JGitConnection implements GitConnection {
 
     @Override
     public DiffPage diff(DiffRequest request) throws GitException {
+        // Diff page is usually written after connection is closed, it closes its own reference to repository.
+        repository.incrementOpen();
         return new JGitDiffPage(request, repository);
     }
 
@@ -599,6 +608,18 @@ class JGitConnection implements GitConnection {
         LogCommand logCommand = getGit().log();
         try {
             setRevisionRange(logCommand, request);
+            if (request != null) {
+                // Commits are walked lazily, so skip and limit stop walking through history as soon as page is filled.
+                if (request.getSkip() > 0) {
+                    logCommand.setSkip(request.getSkip());
+                }
+                if (request.getMaxCount() > 0) {
+                    logCommand.setMaxCount(request.getMaxCount());
+                }
+                for (String path : request.getFileFilter()) {
+                    logCommand.addPath(path);
+                }
+            }
 
             Iterator<RevCommit> revIterator = logCommand.call().iterator();
             List<Revision> commits = new ArrayList<>();
@@ -1018,82 +1039,72 @@ class JGitConnection implements GitConnection {
             throw new IllegalArgumentException(ERROR_ADD_REMOTE_NAME_MISSING);
         }
 
-        StoredConfig config = repository.getConfig();
-        Set<String> remoteNames = config.getSubsections("remote");
-        if (remoteNames.contains(remoteName)) {
-            throw new IllegalArgumentException(String.format(ERROR_REMOTE_NAME_ALREADY_EXISTS, remoteName));
-        }
-
-        String url = request.getUrl();
-        if (isNullOrEmpty(url)) {
-            throw new IllegalArgumentException(ERROR_REMOTE_URL_MISSING);
-        }
+        changeConfig(repository, config -> {
+            Set<String> remoteNames = config.getSubsections("remote");
+            if (remoteNames.contains(remoteName)) {
+                throw new IllegalArgumentException(String.format(ERROR_REMOTE_NAME_ALREADY_EXISTS, remoteName));
+            }
 
-        RemoteConfig remoteConfig;
-        try {
-            remoteConfig = new RemoteConfig(config, remoteName);
-        } catch (URISyntaxException exception) {
-            // Not happen since it is newly created remote.
-            throw new GitException(exception.getMessage(), exception);
-        }
+            String url = request.getUrl();
+            if (isNullOrEmpty(url)) {
+                throw new IllegalArgumentException(ERROR_REMOTE_URL_MISSING);
+            }
 
-        try {
-            remoteConfig.addURI(new URIish(url));
-        } catch (URISyntaxException exception) {
-            throw new IllegalArgumentException("Remote url " + url + " is invalid. ");
-        }
+            RemoteConfig remoteConfig;
+            try {
+                remoteConfig = new RemoteConfig(config, remoteName);
+            } catch (URISyntaxException exception) {
+                // Not happen since it is newly created remote.
+                throw new GitException(exception.getMessage(), exception);
+            }
 
-        List<String> branches = request.getBranches();
-        if (branches.isEmpty()) {
-            remoteConfig.addFetchRefSpec(
-                    new RefSpec(Constants.R_HEADS + "*" + ":" + Constants.R_REMOTES + remoteName + "/*").setForceUpdate(true));
-        } else {
-            for (String branch : branches) {
-                remoteConfig.addFetchRefSpec(new RefSpec(Constants.R_HEADS + branch + ":" + Constants.R_REMOTES + remoteName + "/" + branch)
-                                                     .setForceUpdate(true));
+            try {
+                remoteConfig.addURI(new URIish(url));
+            } catch (URISyntaxException exception) {
+                throw new IllegalArgumentException("Remote url " + url + " is invalid. ");
             }
-        }
 
-        remoteConfig.update(config);
+            List<String> branches = request.getBranches();
+            if (branches.isEmpty()) {
+                remoteConfig.addFetchRefSpec(
+                        new RefSpec(Constants.R_HEADS + "*" + ":" + Constants.R_REMOTES + remoteName + "/*").setForceUpdate(true));
+            } else {
+                for (String branch : branches) {
+                    remoteConfig.addFetchRefSpec(new RefSpec(Constants.R_HEADS + branch + ":" + Constants.R_REMOTES + remoteName + "/" +
+                                                             branch).setForceUpdate(true));
+                }
+            }
 
-        try {
-            config.save();
-        } catch (IOException exception) {
-            throw new GitException(exception.getMessage(), exception);
-        }
+            remoteConfig.update(config);
+        });
     }
 
     @Override
     public void remoteDelete(String name) throws GitException {
-        StoredConfig config = repository.getConfig();
-        Set<String> remoteNames = config.getSubsections(ConfigConstants.CONFIG_KEY_REMOTE);
-        if (!remoteNames.contains(name)) {
-            throw new GitException("error: Could not remove config section 'remote." + name + "'");
-        }
+        changeConfig(repository, config -> {
+            Set<String> remoteNames = config.getSubsections(ConfigConstants.CONFIG_KEY_REMOTE);
+            if (!remoteNames.contains(name)) {
+                throw new GitException("error: Could not remove config section 'remote." + name + "'");
+            }
+
+            config.unsetSection(ConfigConstants.CONFIG_REMOTE_SECTION, name);
+            Set<String> branches = config.getSubsections(ConfigConstants.CONFIG_BRANCH_SECTION);
 
-        config.unsetSection(ConfigConstants.CONFIG_REMOTE_SECTION, name);
-        Set<String> branches = config.getSubsections(ConfigConstants.CONFIG_BRANCH_SECTION);
-
-        for (String branch : branches) {
-            String r = config.getString(ConfigConstants.CONFIG_BRANCH_SECTION, branch,
-                                        ConfigConstants.CONFIG_KEY_REMOTE);
-            if (name.equals(r)) {
-                config.unset(ConfigConstants.CONFIG_BRANCH_SECTION, branch, ConfigConstants.CONFIG_KEY_REMOTE);
-                config.unset(ConfigConstants.CONFIG_BRANCH_SECTION, branch, ConfigConstants.CONFIG_KEY_MERGE);
-                List<Branch> remoteBranches = branchList(newDto(BranchListRequest.class).withListMode("r"));
-                for (Branch remoteBranch : remoteBranches) {
-                    if (remoteBranch.getDisplayName().startsWith(name)) {
-                        branchDelete(newDto(BranchDeleteRequest.class).withName(remoteBranch.getName()).withForce(true));
+            for (String branch : branches) {
+                String r = config.getString(ConfigConstants.CONFIG_BRANCH_SECTION, branch,
+                                            ConfigConstants.CONFIG_KEY_REMOTE);
+                if (name.equals(r)) {
+                    config.unset(ConfigConstants.CONFIG_BRANCH_SECTION, branch, ConfigConstants.CONFIG_KEY_REMOTE);
+                    config.unset(ConfigConstants.CONFIG_BRANCH_SECTION, branch, ConfigConstants.CONFIG_KEY_MERGE);
+                    List<Branch> remoteBranches = branchList(newDto(BranchListRequest.class).withListMode("r"));
+                    for (Branch remoteBranch : remoteBranches) {
+                        if (remoteBranch.getDisplayName().startsWith(name)) {
+                            branchDelete(newDto(BranchDeleteRequest.class).withName(remoteBranch.getName()).withForce(true));
+                        }
                     }
                 }
             }
-        }
-
-        try {
-            config.save();
-        } catch (IOException exception) {
-            throw new GitException(exception.getMessage(), exception);
-        }
+        });
     }
 
     @Override
@@ -1126,84 +1137,79 @@ class JGitConnection implements GitConnection {
             throw new IllegalArgumentException(ERROR_UPDATE_REMOTE_NAME_MISSING);
         }
 
-        StoredConfig config = repository.getConfig();
-        Set<String> remoteNames = config.getSubsections(ConfigConstants.CONFIG_KEY_REMOTE);
-        if (!remoteNames.contains(remoteName)) {
-            throw new IllegalArgumentException("Remote " + remoteName + " not found. ");
-        }
-
-        RemoteConfig remoteConfig;
-        try {
-            remoteConfig = new RemoteConfig(config, remoteName);
-        } catch (URISyntaxException e) {
-            throw new GitException(e.getMessage(), e);
-        }
-
-        List<String> branches = request.getBranches();
-        if (!branches.isEmpty()) {
-            if (!request.isAddBranches()) {
-                remoteConfig.setFetchRefSpecs(Collections.emptyList());
-                remoteConfig.setPushRefSpecs(Collections.emptyList());
-            } else {
-                // Replace wildcard refSpec if any.
-                remoteConfig.removeFetchRefSpec(
-                        new RefSpec(Constants.R_HEADS + "*" + ":" + Constants.R_REMOTES + remoteName + "/*")
-                                .setForceUpdate(true));
-                remoteConfig.removeFetchRefSpec(
-                        new RefSpec(Constants.R_HEADS + "*" + ":" + Constants.R_REMOTES + remoteName + "/*"));
+        changeConfig(repository, config -> {
+            Set<String> remoteNames = config.getSubsections(ConfigConstants.CONFIG_KEY_REMOTE);
+            if (!remoteNames.contains(remoteName)) {
+                throw new IllegalArgumentException("Remote " + remoteName + " not found. ");
             }
 
-            // Add new refSpec.
-            for (String branch : branches) {
-                remoteConfig.addFetchRefSpec(
-                        new RefSpec(Constants.R_HEADS + branch + ":" + Constants.R_REMOTES + remoteName + "/" + branch)
-                                .setForceUpdate(true));
-            }
-        }
-
-        // Remove URLs first.
-        for (String url : request.getRemoveUrl()) {
+            RemoteConfig remoteConfig;
             try {
-                remoteConfig.removeURI(new URIish(url));
+                remoteConfig = new RemoteConfig(config, remoteName);
             } catch (URISyntaxException e) {
-                LOG.debug(ERROR_REMOVING_INVALID_URL);
+                throw new GitException(e.getMessage(), e);
+            }
+
+            List<String> branches = request.getBranches();
+            if (!branches.isEmpty()) {
+                if (!request.isAddBranches()) {
+                    remoteConfig.setFetchRefSpecs(Collections.emptyList());
+                    remoteConfig.setPushRefSpecs(Collections.emptyList());
+                } else {
+                    // Replace wildcard refSpec if any.
+                    remoteConfig.removeFetchRefSpec(
+                            new RefSpec(Constants.R_HEADS + "*" + ":" + Constants.R_REMOTES + remoteName + "/*")
+                                    .setForceUpdate(true));
+                    remoteConfig.removeFetchRefSpec(
+                            new RefSpec(Constants.R_HEADS + "*" + ":" + Constants.R_REMOTES + remoteName + "/*"));
+                }
+
+                // Add new refSpec.
+                for (String branch : branches) {
+                    remoteConfig.addFetchRefSpec(
+                            new RefSpec(Constants.R_HEADS + branch + ":" + Constants.R_REMOTES + remoteName + "/" + branch)
+                                    .setForceUpdate(true));
+                }
             }
-        }
 
-        // Add new URLs.
-        for (String url : request.getAddUrl()) {
-            try {
-                remoteConfig.addURI(new URIish(url));
-            } catch (URISyntaxException e) {
-                throw new IllegalArgumentException("Remote url " + url + " is invalid. ");
+            // Remove URLs first.
+            for (String url : request.getRemoveUrl()) {
+                try {
+                    remoteConfig.removeURI(new URIish(url));
+                } catch (URISyntaxException e) {
+                    LOG.debug(ERROR_REMOVING_INVALID_URL);
+                }
             }
-        }
 
-        // Remove URLs for pushing.
-        for (String url : request.getRemovePushUrl()) {
-            try {
-                remoteConfig.removePushURI(new URIish(url));
-            } catch (URISyntaxException e) {
-                LOG.debug(ERROR_REMOVING_INVALID_URL);
+            // Add new URLs.
+            for (String url : request.getAddUrl()) {
+                try {
+                    remoteConfig.addURI(new URIish(url));
+                } catch (URISyntaxException e) {
+                    throw new IllegalArgumentException("Remote url " + url + " is invalid. ");
+                }
             }
-        }
 
-        // Add URLs for pushing.
-        for (String url : request.getAddPushUrl()) {
-            try {
-                remoteConfig.addPushURI(new URIish(url));
-            } catch (URISyntaxException e) {
-                throw new IllegalArgumentException("Remote push url " + url + " is invalid. ");
+            // Remove URLs for pushing.
+            for (String url : request.getRemovePushUrl()) {
+                try {
+                    remoteConfig.removePushURI(new URIish(url));
+                } catch (URISyntaxException e) {
+                    LOG.debug(ERROR_REMOVING_INVALID_URL);
+                }
             }
-        }
 
-        remoteConfig.update(config);
+            // Add URLs for pushing.
+            for (String url : request.getAddPushUrl()) {
+                try {
+                    remoteConfig.addPushURI(new URIish(url));
+                } catch (URISyntaxException e) {
+                    throw new IllegalArgumentException("Remote push url " + url + " is invalid. ");
+                }
+            }
 
-        try {
-            config.save();
-        } catch (IOException exception) {
-            throw new GitException(exception.getMessage(), exception);
-        }
+            remoteConfig.update(config);
+        });
     }
 
     @Override
@@ -1382,6 +1388,32 @@ class JGitConnection implements GitConnection {
                    .collect(Collectors.toList());
     }
 
+    /** Change of repository config. */
+    interface ConfigChange {
+        void apply(StoredConfig config) throws GitException;
+    }
+
+    /**
+     * Applies change to config of repository and saves config. Config of repository is shared by all connections to the same repository,
+     * see {@link JGitRepositoryCache}, so change is applied to separate copy of config which is read from file, saved back and only then
+     * shared config is reloaded. Changes which fail never become visible to other connections. Changes of the same repository are
+     * applied one at a time.
+     */
+    static void changeConfig(Repository repository, ConfigChange change) throws GitException {
+        final StoredConfig sharedConfig = repository.getConfig();
+        synchronized (sharedConfig) {
+            try {
+                final FileBasedConfig config = new FileBasedConfig(new File(repository.getDirectory(), Constants.CONFIG), repository.getFS());
+                config.load();
+                change.apply(config);
+                config.save();
+                sharedConfig.load();
+            } catch (IOException | ConfigInvalidException exception) {
+                throw new GitException(exception.getMessage(), exception);
+            }
+        }
+    }
+
     @Override
     public Config getConfig() throws GitException {
         if (config != null) {
@@ -11,16 +11,22 @@
  *******************************************************************************/
 package org.eclipse.che.git.impl.jgit;
 
+import org.eclipse.che.api.core.notification.EventService;
+import org.eclipse.che.api.core.notification.EventSubscriber;
 import org.eclipse.che.api.core.util.LineConsumerFactory;
 import org.eclipse.che.api.git.CredentialsLoader;
 import org.eclipse.che.api.git.GitConnectionFactory;
 import org.eclipse.che.api.git.GitException;
+import org.eclipse.che.api.vfs.server.observation.VirtualFileEvent;
 import org.eclipse.che.git.impl.jgit.ssh.SshKeyProvider;
-import org.eclipse.jgit.internal.storage.file.FileRepository;
-import org.eclipse.jgit.lib.Constants;
 import org.eclipse.jgit.lib.Repository;
+import org.eclipse.jgit.storage.file.WindowCacheConfig;
 
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
 import javax.inject.Inject;
+import javax.inject.Named;
+import javax.inject.Singleton;
 import javax.net.ssl.HttpsURLConnection;
 import javax.net.ssl.SSLContext;
 import javax.net.ssl.TrustManager;
@@ -29,21 +35,69 @@ import java.io.File;
 import java.io.IOException;
 import java.security.KeyManagementException;
 import java.security.NoSuchAlgorithmException;
+import java.util.Map;
 
 /**
  * JGit implementation for GitConnectionFactory
+ * <p/>
+ * Connections share opened repositories through {@link JGitRepositoryCache}. Repositories which are removed, moved or renamed through
+ * virtual file system are dropped from cache when factory is started and subscribed to events of virtual file system.
  *
  * @author Tareq Sharafy (tareq.sha@gmail.com)
  */
+@Singleton
 public class JGitConnectionFactory extends GitConnectionFactory {
+    private static final int DEFAULT_REPOSITORY_CACHE_SIZE = 50;
 
-    private final CredentialsLoader credentialsLoader;
-    private final SshKeyProvider    sshKeyProvider;
+    /** Max number of opened repositories which are kept in cache. */
+    @com.google.inject.Inject(optional = true)
+    @Named("git.jgit.repository_cache_size")
+    private int repositoryCacheSize = DEFAULT_REPOSITORY_CACHE_SIZE;
+
+    /** Max number of bytes of pack files which JGit keeps in memory, see {@link WindowCacheConfig#setPackedGitLimit(long)}. */
+    @com.google.inject.Inject(optional = true)
+    @Named("git.jgit.packed_git_limit")
+    private long packedGitLimit = new WindowCacheConfig().getPackedGitLimit();
+
+    /** Max number of pack files which JGit keeps open, see {@link WindowCacheConfig#setPackedGitOpenFiles(int)}. */
+    @com.google.inject.Inject(optional = true)
+    @Named("git.jgit.packed_git_open_files")
+    private int packedGitOpenFiles = new WindowCacheConfig().getPackedGitOpenFiles();
+
+    /** Max number of bytes of cached delta bases, see {@link WindowCacheConfig#setDeltaBaseCacheLimit(int)}. */
+    @com.google.inject.Inject(optional = true)
+    @Named("git.jgit.delta_base_cache_limit")
+    private int deltaBaseCacheLimit = new WindowCacheConfig().getDeltaBaseCacheLimit();
+
+    private final CredentialsLoader                 credentialsLoader;
+    private final SshKeyProvider                    sshKeyProvider;
+    private final EventService                      eventService;
+    private final EventSubscriber<VirtualFileEvent> vfsSubscriber;
+    private final JGitRepositoryCache               repositoryCache;
 
     @Inject
-    public JGitConnectionFactory(CredentialsLoader credentialsLoader, SshKeyProvider sshKeyProvider) throws GitException {
+    public JGitConnectionFactory(CredentialsLoader credentialsLoader, SshKeyProvider sshKeyProvider, EventService eventService)
+            throws GitException {
         this.credentialsLoader = credentialsLoader;
         this.sshKeyProvider = sshKeyProvider;
+        this.eventService = eventService;
+        this.repositoryCache = new JGitRepositoryCache(DEFAULT_REPOSITORY_CACHE_SIZE);
+        this.vfsSubscriber = new EventSubscriber<VirtualFileEvent>() {
+            @Override
+            public void onEvent(VirtualFileEvent event) {
+                if (!event.isFolder()) {
+                    return;
+                }
+                switch (event.getType()) {
+                    case DELETED:
+                    case MOVED:
+                    case RENAMED:
+                        // Virtual path of folder can't be mapped to local path here, check all cached repositories.
+                        repositoryCache.removeStale();
+                        break;
+                }
+            }
+        };
 
         // Install the all-trusting trust manager
         try {
@@ -69,17 +123,43 @@ public class JGitConnectionFactory extends GitConnectionFactory {
         }
     }
 
+    @PostConstruct
+    public void start() {
+        repositoryCache.setMaxSize(repositoryCacheSize);
+        final WindowCacheConfig windowCacheConfig = new WindowCacheConfig();
+        windowCacheConfig.setPackedGitLimit(packedGitLimit);
+        windowCacheConfig.setPackedGitOpenFiles(packedGitOpenFiles);
+        windowCacheConfig.setDeltaBaseCacheLimit(deltaBaseCacheLimit);
+        windowCacheConfig.install();
+        eventService.subscribe(vfsSubscriber);
+    }
+
+    @PreDestroy
+    public void stop() {
+        eventService.unsubscribe(vfsSubscriber);
+        repositoryCache.clear();
+    }
+
     @Override
     public JGitConnection getConnection(File workDir, LineConsumerFactory outputPublisherFactory) throws GitException {
-        Repository gitRepo = createRepository(workDir);
+        Repository gitRepo = openRepository(workDir);
         JGitConnection conn = new JGitConnection(gitRepo, credentialsLoader, sshKeyProvider);
         conn.setOutputLineConsumerFactory(outputPublisherFactory);
         return conn;
     }
 
-    private static Repository createRepository(File workDir) throws GitException {
+    /**
+     * Gets current values of metrics of cache of opened repositories.
+     *
+     * @see JGitRepositoryCache#getMetrics()
+     */
+    public Map<String, String> getRepositoryCacheMetrics() {
+        return repositoryCache.getMetrics();
+    }
+
+    private Repository openRepository(File workDir) throws GitException {
         try {
-            return new FileRepository(new File(workDir, Constants.DOT_GIT));
+            return repositoryCache.open(workDir);
         } catch (IOException e) {
             throw new GitException(e.getMessage(), e);
         }
@@ -0,0 +1,213 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.git.impl.jgit;
+
+import org.eclipse.jgit.internal.storage.file.FileRepository;
+import org.eclipse.jgit.lib.Constants;
+import org.eclipse.jgit.lib.Repository;
+import org.eclipse.jgit.lib.RepositoryCache;
+import org.eclipse.jgit.util.FS;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Bounded cache of opened git repositories. Opening of repository reads its config, refs and pack indexes, cache lets connections to the
+ * same repository reuse all of this.
+ * <p/>
+ * Cache relies on reference counting of {@link Repository}: cache keeps one reference to each cached repository and each call of {@link
+ * #open(File)} adds one more. Callers must {@link Repository#close() close} repository when they don't need it anymore. Repository that
+ * is evicted or invalidated is really closed when the last caller closes it.
+ * <p/>
+ * Cached repository is reused only if its {@code .git} directory is still the same, i.e. it wasn't removed or replaced with another
+ * one. Directories that don't contain git repository yet are not cached.
+ */
+public class JGitRepositoryCache {
+    public static final String HITS          = "hits";
+    public static final String MISSES        = "misses";
+    public static final String EVICTIONS     = "evictions";
+    public static final String INVALIDATIONS = "invalidations";
+    public static final String SIZE          = "size";
+
+    private final LinkedHashMap<File, CachedRepository> repositories;
+
+    private int  maxSize;
+    private long hits;
+    private long misses;
+    private long evictions;
+    private long invalidations;
+
+    public JGitRepositoryCache(int maxSize) {
+        repositories = new LinkedHashMap<File, CachedRepository>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<File, CachedRepository> eldest) {
+                if (size() > JGitRepositoryCache.this.maxSize) {
+                    eldest.getValue().repository.close();
+                    evictions++;
+                    return true;
+                }
+                return false;
+            }
+        };
+        setMaxSize(maxSize);
+    }
+
+    /** Sets max number of cached repositories. Least recently used repositories are evicted when cache is full. */
+    public synchronized void setMaxSize(int maxSize) {
+        if (maxSize < 1) {
+            throw new IllegalArgumentException(String.format("Invalid cache size %d", maxSize));
+        }
+        this.maxSize = maxSize;
+        final Iterator<CachedRepository> iterator = repositories.values().iterator();
+        while (repositories.size() > maxSize && iterator.hasNext()) {
+            iterator.next().repository.close();
+            iterator.remove();
+            evictions++;
+        }
+    }
+
+    /**
+     * Opens repository located in {@code workDir}. Returned repository must be closed by caller.
+     *
+     * @param workDir
+     *         working directory of repository
+     * @return repository
+     * @throws IOException
+     *         if repository can't be opened
+     */
+    public Repository open(File workDir) throws IOException {
+        final File gitDir = new File(workDir, Constants.DOT_GIT).getAbsoluteFile();
+        final Object dirKey = getDirectoryKey(gitDir);
+        if (dirKey == null || !RepositoryCache.FileKey.isGitRepository(gitDir, FS.DETECTED)) {
+            return new FileRepository(gitDir);
+        }
+        synchronized (this) {
+            final Repository repository = getIfValid(gitDir, dirKey);
+            if (repository != null) {
+                hits++;
+                return repository;
+            }
+            misses++;
+        }
+        // Don't keep lock while repository is opened.
+        final Repository opened = new FileRepository(gitDir);
+        synchronized (this) {
+            final Repository repository = getIfValid(gitDir, dirKey);
+            if (repository != null) {
+                // Opened by another thread in the meantime.
+                opened.close();
+                return repository;
+            }
+            // One reference for cache and one for caller.
+            opened.incrementOpen();
+            repositories.put(gitDir, new CachedRepository(opened, dirKey));
+            return opened;
+        }
+    }
+
+    /** Removes repositories whose {@code .git} directories were removed or replaced since they were opened. */
+    public void removeStale() {
+        final Object[] cached;
+        synchronized (this) {
+            cached = repositories.keySet().toArray();
+        }
+        for (Object gitDir : cached) {
+            final Object dirKey = getDirectoryKey((File)gitDir);
+            synchronized (this) {
+                final CachedRepository cachedRepository = repositories.get(gitDir);
+                if (cachedRepository != null && !cachedRepository.dirKey.equals(dirKey)) {
+                    repositories.remove(gitDir);
+                    cachedRepository.repository.close();
+                    invalidations++;
+                }
+            }
+        }
+    }
+
+    /** Removes repository located in {@code workDir} from cache. */
+    public synchronized void invalidate(File workDir) {
+        final CachedRepository cachedRepository = repositories.remove(new File(workDir, Constants.DOT_GIT).getAbsoluteFile());
+        if (cachedRepository != null) {
+            cachedRepository.repository.close();
+            invalidations++;
+        }
+    }
+
+    /** Removes all repositories from cache. */
+    public synchronized void clear() {
+        for (CachedRepository cachedRepository : repositories.values()) {
+            cachedRepository.repository.close();
+        }
+        repositories.clear();
+    }
+
+    /** Gets current values of metrics of this cache: numbers of hits, misses, evictions, invalidations and current size of cache. */
+    public synchronized Map<String, String> getMetrics() {
+        final Map<String, String> metrics = new LinkedHashMap<>();
+        metrics.put(HITS, Long.toString(hits));
+        metrics.put(MISSES, Long.toString(misses));
+        metrics.put(EVICTIONS, Long.toString(evictions));
+        metrics.put(INVALIDATIONS, Long.toString(invalidations));
+        metrics.put(SIZE, Integer.toString(repositories.size()));
+        return metrics;
+    }
+
+    /** Gets cached repository and adds reference to it. Removes repository from cache if its {@code .git} directory was replaced. */
+    private Repository getIfValid(File gitDir, Object dirKey) {
+        final CachedRepository cachedRepository = repositories.get(gitDir);
+        if (cachedRepository == null) {
+            return null;
+        }
+        if (cachedRepository.dirKey.equals(dirKey)) {
+            cachedRepository.repository.incrementOpen();
+            return cachedRepository.repository;
+        }
+        repositories.remove(gitDir);
+        cachedRepository.repository.close();
+        invalidations++;
+        return null;
+    }
+
+    /**
+     * Gets key which identifies directory on file system. Key is the {@link BasicFileAttributes#fileKey() file key} of directory, e.g.
+     * device and inode on *nix, it isn't changed when content of directory is changed. Key is changed when directory is replaced with
+     * another one, but file system may reuse key of directory which was removed. That is not harmful since JGit rereads config, refs
+     * and packs which are changed on disk, cache just saves opening of repository. If file system doesn't provide file keys then path of
+     * directory is used as key. Returns {@code null} if directory doesn't exist.
+     */
+    private static Object getDirectoryKey(File dir) {
+        try {
+            final BasicFileAttributes attributes = Files.readAttributes(dir.toPath(), BasicFileAttributes.class);
+            if (!attributes.isDirectory()) {
+                return null;
+            }
+            final Object fileKey = attributes.fileKey();
+            return fileKey != null ? fileKey : dir;
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    private static class CachedRepository {
+        final Repository repository;
+        final Object     dirKey;
+
+        CachedRepository(Repository repository, Object dirKey) {
+            this.repository = repository;
+            this.dirKey = dirKey;
+        }
+    }
+}
@@ -13,6 +13,7 @@ package org.eclipse.che.git.impl;
 
 import org.eclipse.che.api.core.NotFoundException;
 import org.eclipse.che.api.core.ServerException;
+import org.eclipse.che.api.core.notification.EventService;
 import org.eclipse.che.api.git.CredentialsLoader;
 import org.eclipse.che.git.impl.jgit.JGitConnectionFactory;
 import org.eclipse.che.git.impl.jgit.ssh.SshKeyProvider;
@@ -31,7 +32,8 @@ public class GitConnectionFactoryProvider {
                 new Object[]{
                         new JGitConnectionFactory(
                                 mock(CredentialsLoader.class),
-                                mock(SshKeyProvider.class)
+                                mock(SshKeyProvider.class),
+                                mock(EventService.class)
                         )
                 }
         };
@@ -0,0 +1,172 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.git.impl.jgit;
+
+import com.google.common.io.Files;
+
+import org.eclipse.che.commons.lang.IoUtil;
+import org.eclipse.jgit.internal.storage.file.FileRepository;
+import org.eclipse.jgit.lib.Constants;
+import org.eclipse.jgit.lib.Repository;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.io.IOException;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotSame;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
+
+public class JGitRepositoryCacheTest {
+    private File                root;
+    private JGitRepositoryCache cache;
+
+    @BeforeMethod
+    public void setUp() {
+        root = Files.createTempDir();
+        cache = new JGitRepositoryCache(2);
+    }
+
+    @AfterMethod
+    public void tearDown() {
+        cache.clear();
+        IoUtil.deleteRecursive(root);
+    }
+
+    @Test
+    public void shouldReuseOpenedRepository() throws Exception {
+        File workDir = createRepository("a");
+
+        Repository first = cache.open(workDir);
+        first.close();
+        Repository second = cache.open(workDir);
+        second.close();
+
+        assertSame(second, first);
+        assertEquals(cache.getMetrics().get(JGitRepositoryCache.MISSES), "1");
+        assertEquals(cache.getMetrics().get(JGitRepositoryCache.HITS), "1");
+    }
+
+    @Test
+    public void shouldNotCacheDirectoryWithoutRepository() throws Exception {
+        File workDir = new File(root, "a");
+        workDir.mkdirs();
+
+        Repository first = cache.open(workDir);
+        first.close();
+        Repository second = cache.open(workDir);
+        second.close();
+
+        assertNotSame(second, first);
+        assertEquals(cache.getMetrics().get(JGitRepositoryCache.SIZE), "0");
+    }
+
+    @Test
+    public void shouldReopenRepositoryIfGitDirectoryIsReplaced() throws Exception {
+        File workDir = createRepository("a");
+        Repository first = cache.open(workDir);
+        first.close();
+
+        // Keep old directory, otherwise file system may reuse its inode for new one.
+        File gitDir = new File(workDir, Constants.DOT_GIT);
+        assertTrue(gitDir.renameTo(new File(root, "old")));
+        createRepository("a");
+        Repository second = cache.open(workDir);
+        second.close();
+
+        assertNotSame(second, first);
+        assertEquals(cache.getMetrics().get(JGitRepositoryCache.INVALIDATIONS), "1");
+    }
+
+    @Test
+    public void shouldRemoveStaleRepositories() throws Exception {
+        File workDirA = createRepository("a");
+        File workDirB = createRepository("b");
+        cache.open(workDirA).close();
+        cache.open(workDirB).close();
+
+        IoUtil.deleteRecursive(workDirA);
+        cache.removeStale();
+
+        assertEquals(cache.getMetrics().get(JGitRepositoryCache.SIZE), "1");
+        assertEquals(cache.getMetrics().get(JGitRepositoryCache.INVALIDATIONS), "1");
+    }
+
+    @Test
+    public void shouldEvictLeastRecentlyUsedRepository() throws Exception {
+        File workDirA = createRepository("a");
+        File workDirB = createRepository("b");
+        File workDirC = createRepository("c");
+
+        Repository repositoryA = cache.open(workDirA);
+        repositoryA.close();
+        cache.open(workDirB).close();
+        assertSame(cache.open(workDirA), repositoryA);
+        repositoryA.close();
+        cache.open(workDirC).close();
+
+        assertEquals(cache.getMetrics().get(JGitRepositoryCache.EVICTIONS), "1");
+        assertSame(cache.open(workDirA), repositoryA);
+        repositoryA.close();
+        assertEquals(cache.getMetrics().get(JGitRepositoryCache.MISSES), "3");
+    }
+
+    @Test
+    public void shouldReuseRepositoryAfterGitDirectoryIsModified() throws Exception {
+        File workDir = createRepository("a");
+        Repository first = cache.open(workDir);
+        first.close();
+
+        File gitDir = new File(workDir, Constants.DOT_GIT);
+        new File(gitDir, "FETCH_HEAD").createNewFile();
+        gitDir.setLastModified(gitDir.lastModified() + 10000);
+        Repository second = cache.open(workDir);
+        second.close();
+
+        assertSame(second, first);
+        assertEquals(cache.getMetrics().get(JGitRepositoryCache.INVALIDATIONS), "0");
+    }
+
+    @Test
+    public void shouldDiscardUnsavedChangesOfSharedConfig() throws Exception {
+        File workDir = createRepository("a");
+        Repository first = cache.open(workDir);
+        Repository second = cache.open(workDir);
+
+        try {
+            JGitConnection.changeConfig(first, config -> {
+                config.setString("user", null, "name", "test");
+                throw new IllegalArgumentException("failed");
+            });
+            fail("IllegalArgumentException expected");
+        } catch (IllegalArgumentException expected) {
+        }
+        JGitConnection.changeConfig(first, config -> config.setString("user", null, "email", "test@test.com"));
+
+        assertNull(second.getConfig().getString("user", null, "name"));
+        assertEquals(second.getConfig().getString("user", null, "email"), "test@test.com");
+        first.close();
+        second.close();
+    }
+
+    private File createRepository(String name) throws IOException {
+        File workDir = new File(root, name);
+        try (Repository repository = new FileRepository(new File(workDir, Constants.DOT_GIT))) {
+            repository.create();
+        }
+        return workDir;
+    }
+}
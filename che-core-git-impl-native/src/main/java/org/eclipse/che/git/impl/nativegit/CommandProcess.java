@@ -16,7 +16,6 @@ import org.eclipse.che.api.core.util.CommandLine;
 import org.eclipse.che.api.core.util.CompositeLineConsumer;
 import org.eclipse.che.api.core.util.LineConsumer;
 import org.eclipse.che.api.core.util.LineConsumerFactory;
-import org.eclipse.che.api.core.util.ProcessUtil;
 import org.eclipse.che.api.core.util.Watchdog;
 import org.eclipse.che.api.git.GitException;
 import org.eclipse.che.git.impl.nativegit.commands.GitCommand;
@@ -71,7 +70,7 @@ public class CommandProcess {
         try (LineConsumer consumer = new CompositeLineConsumer(lineConsumer, command)) {
             Process process;
             try {
-                process = ProcessUtil.execute(pb, consumer);
+                process = command.startProcess(pb, consumer);
             } catch (IOException e) {
                 LOG.error("Process creating failed", e);
                 throw new GitException("It is not possible to execute command");
@@ -343,7 +343,7 @@ public class NativeGitConnection implements GitConnection {
 
         try {
             command.execute();
-            LogCommand log = nativeGit.createLogCommand();
+            LogCommand log = nativeGit.createLogCommand().setCount(1);
             Revision rev = log.execute().get(0);
             rev.setBranch(getCurrentBranch());
             return rev;
@@ -398,7 +398,16 @@ public class NativeGitConnection implements GitConnection {
     @Override
     public LogPage log(LogRequest request) throws GitException {
         ensureExistenceRepoRootInWorkingDirectory();
-        return new LogPage(nativeGit.createLogCommand().execute());
+        LogCommand command = nativeGit.createLogCommand();
+        if (request != null) {
+            if (request.getRevisionRangeSince() != null && request.getRevisionRangeUntil() != null) {
+                command.setBranch(request.getRevisionRangeSince() + ".." + request.getRevisionRangeUntil());
+            }
+            command.setSkip(request.getSkip());
+            command.setCount(request.getMaxCount());
+            command.setFileFilter(request.getFileFilter());
+        }
+        return new LogPage(command.execute());
     }
 
     @Override
@@ -19,7 +19,9 @@ import org.eclipse.che.git.impl.nativegit.commands.StatusCommand;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
 
 /**
  * NativeGit implementation {@link Status}
@@ -258,68 +260,66 @@ public class NativeGitStatusImpl implements Status, InfoPage {
      *         when it is not possible to get status information
      */
     public void load() throws GitException {
-        StatusCommand status = nativeGit.createStatusCommand().setFormat(StatusFormat.PORCELAIN);
-        List<String> statusOutput = status.execute();
-        setClean(statusOutput.size() == 0);
-        if (!isClean()) {
-            added = new ArrayList<>();
-            changed = new ArrayList<>();
-            removed = new ArrayList<>();
-            missing = new ArrayList<>();
-            modified = new ArrayList<>();
-            untracked = new ArrayList<>();
-            untrackedFolders = new ArrayList<>();
-            conflicting = new ArrayList<>();
-            for (String statusLine : statusOutput) {
-                //add conflict files AA, UU, any of U
-                if (!(addIfMatches(conflicting, statusLine, 'A', 'A') //
-                        || addIfMatches(conflicting, statusLine, 'D', 'D') //
-                        || addIfMatches(conflicting, statusLine, 'U', '*') //
-                        || addIfMatches(conflicting, statusLine, '*', 'U'))) {
-                    // Add index-based entries
-                    addIfMatches(added, statusLine, 'A', '*');
-                    addIfMatches(removed, statusLine, 'D', '*');
-                    addIfMatches(changed, statusLine, 'M', '*');
-                    // Add working tree - based entries
-                    addIfMatches(missing, statusLine, '*', 'D');
-                    addIfMatches(modified, statusLine, '*', 'M');
-                }
-                if (statusLine.endsWith("/")) {
-                    //add untracked folders
-                    addIfMatches(untrackedFolders, statusLine.substring(0, statusLine.length() - 1), '?', '?');
+        final StatusEntries entries = new StatusEntries();
+        nativeGit.createStatusCommand().setEntryConsumer(entries).execute();
+        setClean(entries.isEmpty());
+        added = new ArrayList<>(entries.added);
+        changed = new ArrayList<>(entries.changed);
+        removed = new ArrayList<>(entries.removed);
+        missing = new ArrayList<>(entries.missing);
+        modified = new ArrayList<>(entries.modified);
+        untracked = new ArrayList<>(entries.untracked);
+        untrackedFolders = new ArrayList<>(entries.untrackedFolders);
+        conflicting = new ArrayList<>(entries.conflicting);
+    }
+
+    /** Sorts entries of porcelain status by category. Each file is added to each category at most once. */
+    static class StatusEntries implements StatusCommand.EntryConsumer {
+        final Set<String> added            = new LinkedHashSet<>();
+        final Set<String> changed          = new LinkedHashSet<>();
+        final Set<String> removed          = new LinkedHashSet<>();
+        final Set<String> missing          = new LinkedHashSet<>();
+        final Set<String> modified         = new LinkedHashSet<>();
+        final Set<String> untracked        = new LinkedHashSet<>();
+        final Set<String> untrackedFolders = new LinkedHashSet<>();
+        final Set<String> conflicting      = new LinkedHashSet<>();
+
+        private boolean empty = true;
+
+        @Override
+        public void accept(char index, char workTree, String path) {
+            empty = false;
+            if (index == '?' && workTree == '?') {
+                if (path.endsWith("/")) {
+                    untrackedFolders.add(path.substring(0, path.length() - 1));
                 } else {
-                    //add untracked Files
-                    addIfMatches(untracked, statusLine, '?', '?');
+                    untracked.add(path);
                 }
+                return;
             }
-        }
-    }
-
-    /**
-     * Adds files to container if they matched to template.
-     *
-     * @param container
-     *         container for matched files
-     * @param statusLine
-     *         short status command line
-     * @param x
-     *         first template parameter
-     * @param y
-     *         second template parameter
-     */
-    private static boolean addIfMatches(List<String> container, String statusLine, char x, char y) {
-        if (matches(statusLine, x, y)) {
-            final String filename = statusLine.substring(3);
-            if (!container.contains(filename)) {
-                container.add(filename);
+            //conflict files AA, DD, any of U
+            if ((index == 'A' && workTree == 'A') || (index == 'D' && workTree == 'D') || index == 'U' || workTree == 'U') {
+                conflicting.add(path);
+                return;
+            }
+            // index-based entries
+            if (index == 'A') {
+                added.add(path);
+            } else if (index == 'D') {
+                removed.add(path);
+            } else if (index == 'M') {
+                changed.add(path);
+            }
+            // working tree - based entries
+            if (workTree == 'D') {
+                missing.add(path);
+            } else if (workTree == 'M') {
+                modified.add(path);
             }
-            return true;
         }
-        return false;
-    }
 
-    private static boolean matches(String statusLine, char x, char y) {
-        return (x == '*' || x == statusLine.charAt(0)) &&
-               (y == '*' || y == statusLine.charAt(1));
+        boolean isEmpty() {
+            return empty;
+        }
     }
 }
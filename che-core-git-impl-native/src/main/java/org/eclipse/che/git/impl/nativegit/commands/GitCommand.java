@@ -11,12 +11,15 @@
 package org.eclipse.che.git.impl.nativegit.commands;
 
 import org.eclipse.che.api.core.util.CommandLine;
+import org.eclipse.che.api.core.util.LineConsumer;
 import org.eclipse.che.api.core.util.LineConsumerFactory;
 import org.eclipse.che.api.core.util.ListLineConsumer;
+import org.eclipse.che.api.core.util.ProcessUtil;
 import org.eclipse.che.api.git.GitException;
 import org.eclipse.che.git.impl.nativegit.CommandProcess;
 
 import java.io.File;
+import java.io.IOException;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -106,6 +109,22 @@ public abstract class GitCommand<T> extends ListLineConsumer {
         CommandProcess.executeGitCommand(this, lineConsumerFactory);
     }
 
+    /**
+     * Starts git process and reads its output. By default stderr of process is merged with stdout and output is passed to {@code
+     * consumer} line by line. Commands that need to parse raw output of git may override this method.
+     *
+     * @param processBuilder
+     *         configured process builder
+     * @param consumer
+     *         consumer of command output
+     * @return started process, its output is read completely
+     * @throws IOException
+     *         if process can't be started or i/o error occurs while reading its output
+     */
+    public Process startProcess(ProcessBuilder processBuilder, LineConsumer consumer) throws IOException {
+        return ProcessUtil.execute(processBuilder, consumer);
+    }
+
     @Override
     public String toString() {
         StringBuilder builder = new StringBuilder();
@@ -26,8 +26,10 @@ import java.util.List;
  */
 public class LogCommand extends GitCommand<List<Revision>> {
 
-    private int    count;
-    private String branch;
+    private int          count;
+    private int          skip;
+    private String       branch;
+    private List<String> fileFilter;
 
     public LogCommand(File place) {
         super(place);
@@ -46,6 +48,12 @@ public class LogCommand extends GitCommand<List<Revision>> {
         if (count > 0) {
             commandLine.add("-" + count);
         }
+        if (skip > 0) {
+            commandLine.add("--skip=" + skip);
+        }
+        if (fileFilter != null && !fileFilter.isEmpty()) {
+            commandLine.add("--").add(fileFilter);
+        }
         start();
         List<Revision> list = new LinkedList<>();
         final DtoFactory dtoFactory = DtoFactory.getInstance();
@@ -78,9 +86,29 @@ public class LogCommand extends GitCommand<List<Revision>> {
         return this;
     }
 
+    /**
+     * @param skip
+     *         number of log objects to skip before showing log objects
+     * @return LogCommand with established number of skipped log objects
+     */
+    public LogCommand setSkip(int skip) {
+        this.skip = skip;
+        return this;
+    }
+
+    /**
+     * @param fileFilter
+     *         show only log objects which change these files or directories
+     * @return LogCommand with established file filter
+     */
+    public LogCommand setFileFilter(List<String> fileFilter) {
+        this.fileFilter = fileFilter;
+        return this;
+    }
+
     /**
      * @param branch
-     *         branch
+     *         branch or revision range, e.g. {@code since..until}
      * @return LogCommand with established branch
      */
     public LogCommand setBranch(String branch) {
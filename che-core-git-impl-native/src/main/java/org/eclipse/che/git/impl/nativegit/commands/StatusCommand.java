@@ -10,20 +10,47 @@
  *******************************************************************************/
 package org.eclipse.che.git.impl.nativegit.commands;
 
+import org.eclipse.che.api.core.util.LineConsumer;
 import org.eclipse.che.api.git.GitException;
 import org.eclipse.che.api.git.shared.StatusFormat;
 
+import java.io.BufferedReader;
 import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.util.List;
 
 /**
  * Show repository status.
+ * <p/>
+ * If {@link EntryConsumer} is set command runs {@code git status --porcelain -z} and passes entries of status to consumer while they
+ * are read from output of git, output isn't stored in memory.
  *
  * @author Eugene Voevodin
  */
 public class StatusCommand extends GitCommand<List<String>> {
 
-    private StatusFormat format;
+    /** Consumes entries of porcelain status. */
+    public interface EntryConsumer {
+        /**
+         * Consumes single entry of status.
+         *
+         * @param index
+         *         status of file in index, see {@code X} in git-status documentation
+         * @param workTree
+         *         status of file in work tree, see {@code Y} in git-status documentation
+         * @param path
+         *         path of file relative to root of repository, for renamed and copied files it is new path of file
+         */
+        void accept(char index, char workTree, String path);
+    }
+
+    private StatusFormat  format;
+    private EntryConsumer entryConsumer;
 
     public StatusCommand(File repository) {
         super(repository);
@@ -34,7 +61,9 @@ public class StatusCommand extends GitCommand<List<String>> {
     public List<String> execute() throws GitException {
         reset();
         commandLine.add("status");
-        if (format != null) {
+        if (entryConsumer != null) {
+            commandLine.add("--porcelain").add("-z");
+        } else if (format != null) {
             switch (format) {
                 case LONG:
                     commandLine.add("--long");
@@ -63,4 +92,89 @@ public class StatusCommand extends GitCommand<List<String>> {
         this.format = format;
         return this;
     }
+
+    /**
+     * Sets consumer of status entries. If consumer is set then format of status is ignored, porcelain status is always requested.
+     *
+     * @param entryConsumer
+     *         consumer of status entries
+     * @return StatusCommand with the established entry consumer
+     */
+    public StatusCommand setEntryConsumer(EntryConsumer entryConsumer) {
+        this.entryConsumer = entryConsumer;
+        return this;
+    }
+
+    /**
+     * Reads stdout of git as porcelain status. Stderr isn't merged with stdout since error messages don't follow {@code -z} format, it
+     * is redirected to temporary file, so git is never blocked on full stderr pipe while stdout is read, and passed to {@code consumer}
+     * line by line when process is finished.
+     */
+    @Override
+    public Process startProcess(ProcessBuilder processBuilder, LineConsumer consumer) throws IOException {
+        if (entryConsumer == null) {
+            return super.startProcess(processBuilder, consumer);
+        }
+        final File errorFile = File.createTempFile("git-status-", ".err");
+        try {
+            processBuilder.redirectErrorStream(false);
+            processBuilder.redirectError(errorFile);
+            final Process process = processBuilder.start();
+            try (Reader reader = new BufferedReader(new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+                readEntries(reader, entryConsumer);
+            }
+            try {
+                process.waitFor();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            try (BufferedReader errorReader = Files.newBufferedReader(errorFile.toPath(), Charset.defaultCharset())) {
+                String line;
+                while ((line = errorReader.readLine()) != null) {
+                    consumer.writeLine(line);
+                }
+            }
+            return process;
+        } finally {
+            if (!errorFile.delete()) {
+                errorFile.deleteOnExit();
+            }
+        }
+    }
+
+    /**
+     * Reads output of {@code git status --porcelain -z} and passes its entries to {@code consumer}. Output is read in single pass,
+     * each entry has format {@code XY PATH\0}, entries of renamed and copied files are followed with original path of file that is
+     * skipped.
+     *
+     * @param reader
+     *         output of git
+     * @param consumer
+     *         consumer of status entries
+     * @throws IOException
+     *         if i/o error occurs
+     */
+    public static void readEntries(Reader reader, EntryConsumer consumer) throws IOException {
+        final StringBuilder entry = new StringBuilder();
+        final char[] buffer = new char[8192];
+        boolean originalPath = false;
+        int n;
+        while ((n = reader.read(buffer)) != -1) {
+            for (int i = 0; i < n; i++) {
+                final char c = buffer[i];
+                if (c != '\0') {
+                    entry.append(c);
+                    continue;
+                }
+                if (originalPath) {
+                    originalPath = false;
+                } else if (entry.length() > 3) {
+                    final char index = entry.charAt(0);
+                    consumer.accept(index, entry.charAt(1), entry.substring(3));
+                    originalPath = index == 'R' || index == 'C';
+                }
+                entry.setLength(0);
+            }
+        }
+    }
 }
@@ -0,0 +1,72 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.git.impl.nativegit;
+
+import org.eclipse.che.git.impl.nativegit.commands.StatusCommand;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+
+import static java.util.Arrays.asList;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+public class NativeGitStatusImplTest {
+
+    @Test
+    public void shouldSortEntriesByCategory() throws IOException {
+        NativeGitStatusImpl.StatusEntries entries = parse("A  added\0"
+                                                          + "AM added_modified\0"
+                                                          + "M  changed\0"
+                                                          + "D  removed\0"
+                                                          + " D missing\0"
+                                                          + " M modified\0"
+                                                          + "UU conflict1\0"
+                                                          + "AA conflict2\0"
+                                                          + "R  new name\0old name\0"
+                                                          + "?? untracked file\0"
+                                                          + "?? folder/\0");
+
+        assertEquals(asList(entries.added.toArray()), asList("added", "added_modified"));
+        assertEquals(asList(entries.changed.toArray()), asList("changed"));
+        assertEquals(asList(entries.removed.toArray()), asList("removed"));
+        assertEquals(asList(entries.missing.toArray()), asList("missing"));
+        assertEquals(asList(entries.modified.toArray()), asList("added_modified", "modified"));
+        assertEquals(asList(entries.conflicting.toArray()), asList("conflict1", "conflict2"));
+        assertEquals(asList(entries.untracked.toArray()), asList("untracked file"));
+        assertEquals(asList(entries.untrackedFolders.toArray()), asList("folder"));
+    }
+
+    @Test
+    public void shouldBeCleanIfOutputIsEmpty() throws IOException {
+        assertTrue(parse("").isEmpty());
+    }
+
+    @Test(timeOut = 10000)
+    public void shouldParseLargeStatusInLinearTime() throws IOException {
+        StringBuilder output = new StringBuilder();
+        for (int i = 0; i < 100000; i++) {
+            output.append(i % 2 == 0 ? "?? " : " M ").append("dir/file").append(i).append('\0');
+        }
+
+        NativeGitStatusImpl.StatusEntries entries = parse(output.toString());
+
+        assertEquals(entries.untracked.size(), 50000);
+        assertEquals(entries.modified.size(), 50000);
+    }
+
+    private NativeGitStatusImpl.StatusEntries parse(String output) throws IOException {
+        NativeGitStatusImpl.StatusEntries entries = new NativeGitStatusImpl.StatusEntries();
+        StatusCommand.readEntries(new StringReader(output), entries);
+        return entries;
+    }
+}
@@ -0,0 +1,40 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package com.codenvy.ide.git;
+
+import org.eclipse.che.commons.json.JsonHelper;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+/**
+ * Writes metrics of git server, e.g. hits of cache of access decisions and latency of authentication, as JSON object. Intended for
+ * monitoring tools.
+ *
+ * @see VFSPermissionsFilter#getMetrics()
+ */
+@Singleton
+public class GitServerMetricsServlet extends HttpServlet {
+    @Inject
+    VFSPermissionsFilter permissionsFilter;
+
+    @Override
+    protected void doGet(HttpServletRequest req, HttpServletResponse resp) throws ServletException, IOException {
+        resp.setContentType("application/json");
+        resp.setHeader("Cache-Control", "no-cache");
+        resp.getWriter().write(JsonHelper.toJson(permissionsFilter.getMetrics()));
+    }
+}
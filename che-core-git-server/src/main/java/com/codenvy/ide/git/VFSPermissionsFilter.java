@@ -21,6 +21,9 @@ import org.eclipse.che.api.core.UnauthorizedException;
 import org.eclipse.che.api.core.rest.HttpJsonHelper;
 import org.eclipse.che.api.core.rest.shared.dto.Link;
 import org.eclipse.che.commons.lang.Pair;
+import org.eclipse.che.commons.lang.cache.Cache;
+import org.eclipse.che.commons.lang.cache.SLRUCache;
+import org.eclipse.che.commons.lang.cache.SynchronizedCache;
 import org.eclipse.che.commons.user.User;
 import org.eclipse.che.api.auth.shared.dto.Token;
 import org.eclipse.che.commons.env.EnvironmentContext;
@@ -30,6 +33,7 @@ import org.eclipse.che.commons.user.UserImpl;
 import org.eclipse.che.dto.server.DtoFactory;
 
 import org.apache.commons.codec.binary.Base64;
+import org.apache.commons.codec.digest.DigestUtils;
 import org.everrest.core.impl.provider.json.JsonValue;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -45,6 +49,10 @@ import java.io.IOException;
 import java.net.URLEncoder;
 import java.nio.file.Paths;
 import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.regex.Matcher;
 
 /**
@@ -52,11 +60,27 @@ import java.util.regex.Matcher;
  * Filter tries to access api/vfs for given project and if no access, request
  *
  * will be denied with 403 FORBIDDEN.
+ * <p/>
+ * Single git clone or fetch makes few requests, so access decision for the same credentials and project is cached, login and check of
+ * access aren't repeated while decision is cached. Credentials are kept in cache as SHA-256 hash only. Decisions that allow access
+ * are kept for {@code git.server.auth_cache.allowed_ttl} milliseconds, it should be just long enough to serve all requests of one git
+ * command. Decisions that deny access are kept for {@code git.server.auth_cache.denied_ttl} milliseconds. Failures of API server aren't
+ * cached, request fails and access is checked again on the next request.
+ * <p/>
+ * Filter isn't notified about changes of ACL, removal of user from workspace, logout or revocation of SSO token. Such changes take
+ * effect when cached decision expires, i.e. user whose access is revoked may still read repository for up to allowed TTL.
  *
  * @author  Max Shaposhnik
  */
 @Singleton
 public class VFSPermissionsFilter implements Filter {
+    public static final String HITS                 = "hits";
+    public static final String MISSES               = "misses";
+    public static final String AUTH_LATENCY_AVERAGE = "authLatencyAverage";
+    public static final String AUTH_LATENCY_MAX     = "authLatencyMax";
+
+    public static final long DEFAULT_ALLOWED_TTL = TimeUnit.SECONDS.toMillis(5);
+    public static final long DEFAULT_DENIED_TTL  = TimeUnit.SECONDS.toMillis(30);
 
     @Inject
     @Named("api.endpoint")
@@ -70,10 +94,34 @@ public class VFSPermissionsFilter implements Filter {
     @Named("git.server.uri.prefix")
     String gitServerUriPrefix;
 
+    /** Max time in milliseconds to keep decision that allows access in the cache. Zero or negative value disables caching of it. */
+    @com.google.inject.Inject(optional = true)
+    @Named("git.server.auth_cache.allowed_ttl")
+    long allowedTtl = DEFAULT_ALLOWED_TTL;
+
+    /** Max time in milliseconds to keep decision that denies access in the cache. Zero or negative value disables caching of it. */
+    @com.google.inject.Inject(optional = true)
+    @Named("git.server.auth_cache.denied_ttl")
+    long deniedTtl = DEFAULT_DENIED_TTL;
+
     private static final Logger LOG = LoggerFactory.getLogger(VFSPermissionsFilter.class);
 
+    /** Incremented on each invalidation. Lets detect decision that became outdated while access was checked. */
+    private final AtomicLong invalidations = new AtomicLong();
+    private final AtomicLong hits          = new AtomicLong();
+    private final AtomicLong misses        = new AtomicLong();
+    private final AtomicLong authTime      = new AtomicLong();
+    private final AtomicLong authTimeMax   = new AtomicLong();
+
+    private volatile Cache<String, Decision> decisions;
+
     @Override
     public void init(FilterConfig filterConfig) throws ServletException {
+        decisions = new SynchronizedCache<>(new SLRUCache<String, Decision>(500, 1000));
+        hits.set(0);
+        misses.set(0);
+        authTime.set(0);
+        authTimeMax.set(0);
     }
 
     @Override
@@ -91,60 +139,42 @@ public class VFSPermissionsFilter implements Filter {
             url = url.replaceAll("/", Matcher.quoteReplacement(File.separator));
             //search for dotVFS directory
             File projectDirectory = Paths.get(vfsRoot, url).toFile();
-            String auth;
-            String userName = "";
-            String password = "";
-            if ((auth = req.getHeader("authorization")) != null) {
-                //get encoded password phrase
-                String userAndPasswordEncoded = auth.substring(6);
-                // decode Base64 user:password
-                String userAndPasswordDecoded = new String(Base64.decodeBase64(userAndPasswordEncoded));
-                //get username and password separator ':'
-                int betweenUserAndPassword = userAndPasswordDecoded.indexOf(':');
-                //get username - it is before first ':'
-                userName = userAndPasswordDecoded.substring(0, betweenUserAndPassword);
-                //get password - it is after first ':'
-                password = userAndPasswordDecoded.substring(betweenUserAndPassword + 1);
-            }
+            String workspaceId = projectDirectory.getParentFile().getName();
+            String projectName = projectDirectory.getName();
+            String auth = req.getHeader("authorization");
 
-            // Check if user authenticated and has permissions to project, or send response code 403
-            boolean needLogout = false;
-            String token = null;
-            User user;
-            try {
-                if (!userName.isEmpty()) {
-                    if (password.equals("x-che")) { // internal SSO
-                        token = userName;
-                    } else {
-                        token = getToken(userName, password);
-                        if (token == null) {
-                            ((HttpServletResponse)response).sendError(HttpServletResponse.SC_FORBIDDEN);
-                            return;
-                        }
-                        needLogout = true;
+            String decisionKey = (auth == null ? "" : DigestUtils.sha256Hex(auth)) + '\n' + workspaceId + '\n' + projectName;
+            Decision decision = decisions.get(decisionKey);
+            int status;
+            if (decision != null && decision.expirationTime > System.currentTimeMillis()) {
+                hits.incrementAndGet();
+                status = decision.status;
+            } else {
+                misses.incrementAndGet();
+                final long stamp = invalidations.get();
+                final long start = System.currentTimeMillis();
+                status = checkAccess(auth, workspaceId, projectName);
+                final long end = System.currentTimeMillis();
+                updateAuthTime(end - start);
+                final long ttl = status == HttpServletResponse.SC_OK ? allowedTtl : deniedTtl;
+                if (ttl > 0) {
+                    decisions.put(decisionKey, new Decision(status, end + ttl));
+                    if (stamp != invalidations.get()) {
+                        // Cache was invalidated while we were checking access.
+                        decisions.remove(decisionKey);
                     }
-                    user = getUserBySSO(token);
-                    EnvironmentContext.getCurrent().setUser(user);
                 }
+            }
 
-                if (!hasAccessToItem(projectDirectory.getParentFile().getName(), projectDirectory.getName())) {
-                    if (!userName.isEmpty()) {
-                        // Authenticated but no access
-                        ((HttpServletResponse)response).sendError(HttpServletResponse.SC_FORBIDDEN);
-                        return;
-                    } else {
-                        // Not authenticated, try again with credentials
-                        ((HttpServletResponse)response).addHeader("Cache-Control", "private");
-                        ((HttpServletResponse)response).addHeader("WWW-Authenticate", "Basic");
-                        ((HttpServletResponse)response).sendError(HttpServletResponse.SC_UNAUTHORIZED);
-                        return;
-                    }
-                }
-            } finally {
-                if (needLogout) {
-                    logout();
-                }
-                EnvironmentContext.reset();
+            if (status == HttpServletResponse.SC_FORBIDDEN) {
+                ((HttpServletResponse)response).sendError(HttpServletResponse.SC_FORBIDDEN);
+                return;
+            } else if (status == HttpServletResponse.SC_UNAUTHORIZED) {
+                // Not authenticated, try again with credentials
+                ((HttpServletResponse)response).addHeader("Cache-Control", "private");
+                ((HttpServletResponse)response).addHeader("WWW-Authenticate", "Basic");
+                ((HttpServletResponse)response).sendError(HttpServletResponse.SC_UNAUTHORIZED);
+                return;
             }
         }
         chain.doFilter(req, response);
@@ -152,6 +182,91 @@ public class VFSPermissionsFilter implements Filter {
 
     @Override
     public void destroy() {
+        decisions.clear();
+    }
+
+    /** Drops all cached access decisions. */
+    public void invalidate() {
+        invalidations.incrementAndGet();
+        decisions.clear();
+    }
+
+    /**
+     * Gets current values of metrics of this filter: numbers of cache hits and misses, average and max time of authentication and check
+     * of access in milliseconds.
+     *
+     * @see GitServerMetricsServlet
+     */
+    public Map<String, String> getMetrics() {
+        final long misses = this.misses.get();
+        final Map<String, String> metrics = new LinkedHashMap<>();
+        metrics.put(HITS, Long.toString(hits.get()));
+        metrics.put(MISSES, Long.toString(misses));
+        metrics.put(AUTH_LATENCY_AVERAGE, Long.toString(misses == 0 ? 0 : authTime.get() / misses));
+        metrics.put(AUTH_LATENCY_MAX, Long.toString(authTimeMax.get()));
+        return metrics;
+    }
+
+    private void updateAuthTime(long time) {
+        authTime.addAndGet(time);
+        long max;
+        while ((max = authTimeMax.get()) < time && !authTimeMax.compareAndSet(max, time)) {
+            // retry
+        }
+    }
+
+    /**
+     * Authenticates user with credentials from authorization header and checks access to project.
+     *
+     * @return {@link HttpServletResponse#SC_OK} if access is allowed, {@link HttpServletResponse#SC_FORBIDDEN} if user is authenticated
+     * but doesn't have access, {@link HttpServletResponse#SC_UNAUTHORIZED} if credentials are required
+     */
+    private int checkAccess(String auth, String workspaceId, String projectName) throws ServletException {
+        String userName = "";
+        String password = "";
+        if (auth != null) {
+            //get encoded password phrase
+            String userAndPasswordEncoded = auth.substring(6);
+            // decode Base64 user:password
+            String userAndPasswordDecoded = new String(Base64.decodeBase64(userAndPasswordEncoded));
+            //get username and password separator ':'
+            int betweenUserAndPassword = userAndPasswordDecoded.indexOf(':');
+            //get username - it is before first ':'
+            userName = userAndPasswordDecoded.substring(0, betweenUserAndPassword);
+            //get password - it is after first ':'
+            password = userAndPasswordDecoded.substring(betweenUserAndPassword + 1);
+        }
+
+        // Check if user authenticated and has permissions to project
+        boolean needLogout = false;
+        String token = null;
+        User user;
+        try {
+            if (!userName.isEmpty()) {
+                if (password.equals("x-che")) { // internal SSO
+                    token = userName;
+                } else {
+                    token = getToken(userName, password);
+                    if (token == null) {
+                        return HttpServletResponse.SC_FORBIDDEN;
+                    }
+                    needLogout = true;
+                }
+                user = getUserBySSO(token);
+                EnvironmentContext.getCurrent().setUser(user);
+            }
+
+            if (!hasAccessToItem(workspaceId, projectName)) {
+                // Authenticated but no access or not authenticated
+                return userName.isEmpty() ? HttpServletResponse.SC_UNAUTHORIZED : HttpServletResponse.SC_FORBIDDEN;
+            }
+            return HttpServletResponse.SC_OK;
+        } finally {
+            if (needLogout) {
+                logout();
+            }
+            EnvironmentContext.reset();
+        }
     }
 
 
@@ -165,9 +280,9 @@ public class VFSPermissionsFilter implements Filter {
                                                value.getElement("token").getStringValue(),
                                                Collections.<String>emptySet(),
                                                value.getElement("temporary").getBooleanValue());
-        } catch (ForbiddenException | UnauthorizedException | ServerException un) {
+        } catch (ForbiddenException | UnauthorizedException un) {
             return null;
-        } catch (ConflictException | NotFoundException | IOException | JsonParseException e) {
+        } catch (ConflictException | ServerException | NotFoundException | IOException | JsonParseException e) {
             LOG.warn(e.getLocalizedMessage());
             throw new ServletException(e.getMessage(), e);
 
@@ -215,4 +330,14 @@ public class VFSPermissionsFilter implements Filter {
             LOG.warn(e.getLocalizedMessage());
         }
     }
+
+    private static class Decision {
+        final int  status;
+        final long expirationTime;
+
+        Decision(int status, long expirationTime) {
+            this.status = status;
+            this.expirationTime = expirationTime;
+        }
+    }
 }
@@ -11,6 +11,7 @@
 package com.codenvy.ide.git.deploy;
 
 import com.codenvy.ide.git.CheGitServlet;
+import com.codenvy.ide.git.GitServerMetricsServlet;
 import com.codenvy.ide.git.VFSPermissionsFilter;
 import com.google.inject.servlet.ServletModule;
 
@@ -25,6 +26,8 @@ public class GitServletModule extends ServletModule {
     protected void configureServlets() {
         Map<String, String> initParams = new HashMap<>();
         initParams.put("export-all", "1");
+        // Must be registered before git servlet which serves all other paths.
+        serve("/metrics").with(GitServerMetricsServlet.class);
         serve("/*").with(CheGitServlet.class, initParams);
         filter("/*").through(VFSPermissionsFilter.class);
     }
@@ -44,6 +44,8 @@ import java.util.Arrays;
 import static org.mockito.Matchers.anyString;
 import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.*;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.fail;
 
 /**
  * Test different situations of user access to projects with different permissions.
@@ -167,4 +169,75 @@ public class VFSPermissionsFilterTest {
         verify(filterChain).doFilter(request, response);
     }
 
+    @Test
+    public void shouldNotCheckAccessAgainIfDecisionIsCached() throws IOException, ServletException, ApiException {
+        //given
+        when(httpJsonHelper.requestString(anyString(), eq("GET"), any())).thenThrow(new UnauthorizedException("NO"));
+        //when
+        filter.doFilter(request, response, filterChain);
+        filter.doFilter(request, response, filterChain);
+        //then
+        verify(httpJsonHelper, times(1)).requestString(anyString(), eq("GET"), any());
+        verify(response, times(2)).sendError(eq(HttpServletResponse.SC_UNAUTHORIZED));
+        assertEquals(filter.getMetrics().get(VFSPermissionsFilter.HITS), "1");
+        assertEquals(filter.getMetrics().get(VFSPermissionsFilter.MISSES), "1");
+    }
+
+    @Test
+    public void shouldCheckAccessAgainIfCacheIsInvalidated() throws IOException, ServletException, ApiException {
+        //given
+        when(httpJsonHelper.requestString(anyString(), eq("GET"), any())).thenThrow(new UnauthorizedException("NO"))
+                                                                          .thenReturn("123");
+        //when
+        filter.doFilter(request, response, filterChain);
+        filter.invalidate();
+        filter.doFilter(request, response, filterChain);
+        //then
+        verify(response).sendError(eq(HttpServletResponse.SC_UNAUTHORIZED));
+        verify(filterChain).doFilter(request, response);
+    }
+
+    @Test
+    public void shouldCheckAccessAgainWhenAllowingDecisionExpires() throws Exception {
+        //given
+        when(httpJsonHelper.requestString(anyString(), eq("GET"), any())).thenReturn("123").thenThrow(new ForbiddenException("NO"));
+        filter.allowedTtl = 50;
+        try {
+            //when
+            filter.doFilter(request, response, filterChain);
+            filter.doFilter(request, response, filterChain);
+            Thread.sleep(100);
+            filter.doFilter(request, response, filterChain);
+        } finally {
+            filter.allowedTtl = VFSPermissionsFilter.DEFAULT_ALLOWED_TTL;
+        }
+        //then
+        verify(httpJsonHelper, times(2)).requestString(anyString(), eq("GET"), any());
+        verify(filterChain, times(2)).doFilter(request, response);
+        verify(response).sendError(eq(HttpServletResponse.SC_UNAUTHORIZED));
+    }
+
+    @Test
+    public void shouldNotCacheServerErrors() throws Exception {
+        //given
+        when(request.getHeader("authorization")).thenReturn(
+                "BASIC " + (Base64.encodeBase64String(("OTHERUSER" + ":" + "x-che").getBytes())));
+        when(httpJsonHelper.requestString(contains("internal/sso/server"), eq("GET"), isNull(), eq(Pair.of("clienturl",
+                                                                                                           URLEncoder
+                                                                                                                   .encode(ENDPOINT,
+                                                                                                                           "UTF-8")))))
+                .thenThrow(new ServerException("Internal error"))
+                .thenReturn(JsonHelper.toJson(new UserImpl("name1", "id1", "123", Arrays.asList("role1"), false)));
+        when(httpJsonHelper.requestString(anyString(), eq("GET"), any())).thenReturn("123");
+        //when
+        try {
+            filter.doFilter(request, response, filterChain);
+            fail("ServletException expected");
+        } catch (ServletException expected) {
+        }
+        filter.doFilter(request, response, filterChain);
+        //then
+        verify(response, never()).sendError(anyInt());
+        verify(filterChain).doFilter(request, response);
+    }
 }
@@ -36,7 +36,7 @@ public class CleanableSearcher extends FSIndexSearcher {
     private final AtomicReference<Exception> initError;
 
     CleanableSearcher(CleanableSearcherProvider searcherService, java.io.File indexDir, VirtualFileFilter filter) {
-        super(indexDir, filter);
+        super(indexDir, filter, searcherService.getScheduler(), searcherService.getExecutor(), searcherService.getMaxStaleness());
         this.searcherService = searcherService;
         initFlag = new AtomicBoolean();
         initError = new AtomicReference<>();
@@ -31,6 +31,7 @@ import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
 
 /**
  * NOTE: This implementation always create new index in new directory. Index is not reused after call {@link
@@ -40,11 +41,23 @@ import java.util.concurrent.Executors;
  */
 @Singleton
 public class CleanableSearcherProvider extends LuceneSearcherProvider {
+    /** Default max time in milliseconds between change of file and applying it to the index. */
+    public static final long DEFAULT_MAX_STALENESS = 500;
+
     private final ConcurrentMap<java.io.File, CleanableSearcher> instances;
     private final ExecutorService                                executor;
+    private final ScheduledExecutorService                       scheduler;
     private final java.io.File                                   indexRootDir;
     private final Set<VirtualFileFilter>                         filters;
 
+    /**
+     * Max time in milliseconds between change of file and applying it to the index. Zero or negative value means that changes are
+     * indexed synchronously.
+     */
+    @com.google.inject.Inject(optional = true)
+    @Named("vfs.index.max_staleness")
+    private long maxStaleness = DEFAULT_MAX_STALENESS;
+
     @Inject
     CleanableSearcherProvider(@Named("vfs.local.fs_index_root_dir") java.io.File indexRootDir,
                               @Named("vfs.index_filter") Set<VirtualFileFilter> filters) {
@@ -53,6 +66,8 @@ public class CleanableSearcherProvider extends LuceneSearcherProvider {
         executor = Executors.newFixedThreadPool(1 + Runtime.getRuntime().availableProcessors(),
                                                 new ThreadFactoryBuilder().setNameFormat("LocalVirtualFileSystem-CleanableSearcher-%d")
                                                                           .setDaemon(true).build());
+        scheduler = Executors.newSingleThreadScheduledExecutor(
+                new ThreadFactoryBuilder().setNameFormat("LocalVirtualFileSystem-CleanableSearcherScheduler-%d").setDaemon(true).build());
         instances = new ConcurrentHashMap<>();
     }
 
@@ -101,6 +116,7 @@ public class CleanableSearcherProvider extends LuceneSearcherProvider {
 
     @PreDestroy
     private void stop() {
+        scheduler.shutdownNow();
         executor.shutdownNow();
         for (CleanableSearcher searcher : instances.values()) {
             searcher.close();
@@ -110,5 +126,14 @@ public class CleanableSearcherProvider extends LuceneSearcherProvider {
     ExecutorService getExecutor() {
         return executor;
     }
+
+    /** Gets scheduler for applying changes to the index or {@code null} if changes should be indexed synchronously. */
+    ScheduledExecutorService getScheduler() {
+        return maxStaleness > 0 ? scheduler : null;
+    }
+
+    long getMaxStaleness() {
+        return maxStaleness;
+    }
 }
 
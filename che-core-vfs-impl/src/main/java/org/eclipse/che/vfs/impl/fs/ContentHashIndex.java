@@ -0,0 +1,232 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.vfs.impl.fs;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * Persistent index of hash sums of files content. Each entry of index is keyed by path of file and is valid until size or
+ * modification date of file is changed. Index is loaded from {@code indexFile} when used first time and is saved back with
+ * {@link #flush()}.
+ */
+class ContentHashIndex {
+    private static final Logger LOG = LoggerFactory.getLogger(ContentHashIndex.class);
+
+    private static final int FORMAT_VERSION = 1;
+    /**
+     * Do not remember hash sums of files modified less than this time (in milliseconds) before calculation of hash. Such files may
+     * be modified once more without change of size and modification date that depends on resolution of file system timestamps.
+     */
+    private static final long RACY_INTERVAL = 2000;
+
+    private final java.io.File                          indexFile;
+    private final ConcurrentNavigableMap<String, Entry> entries;
+
+    private volatile boolean loaded;
+    private volatile boolean dirty;
+
+    ContentHashIndex(java.io.File indexFile) {
+        this.indexFile = indexFile;
+        entries = new ConcurrentSkipListMap<>();
+    }
+
+    /**
+     * Gets hash sum of file if it is known.
+     *
+     * @param path
+     *         path of file
+     * @param size
+     *         current size of file
+     * @param lastModified
+     *         current modification date of file
+     * @return hash sum or {@code null} if file is not indexed yet or was changed after indexing
+     */
+    String get(String path, long size, long lastModified) {
+        load();
+        final Entry entry = entries.get(path);
+        if (entry != null && entry.size == size && entry.lastModified == lastModified) {
+            return entry.hash;
+        }
+        return null;
+    }
+
+    /**
+     * Remembers hash sum of file.
+     *
+     * @param path
+     *         path of file
+     * @param size
+     *         size of file when hash sum calculated
+     * @param lastModified
+     *         modification date of file when hash sum calculated
+     * @param hash
+     *         hash sum
+     */
+    void put(String path, long size, long lastModified, String hash) {
+        load();
+        if (System.currentTimeMillis() - lastModified < RACY_INTERVAL) {
+            entries.remove(path);
+        } else {
+            entries.put(path, new Entry(size, lastModified, hash));
+        }
+        dirty = true;
+    }
+
+    /** Removes entry of file with specified path. */
+    void invalidate(String path) {
+        load();
+        if (entries.remove(path) != null) {
+            dirty = true;
+        }
+    }
+
+    /** Removes entry of file with specified path and entries of all files under this path if any. */
+    void invalidateTree(String path) {
+        load();
+        invalidate(path);
+        final ConcurrentNavigableMap<String, Entry> tree = subTree(path);
+        if (!tree.isEmpty()) {
+            tree.clear();
+            dirty = true;
+        }
+    }
+
+    /** Removes all entries under specified path except entries with paths from {@code keep}. */
+    void retainTree(String path, Set<String> keep) {
+        load();
+        for (Iterator<String> i = subTree(path).keySet().iterator(); i.hasNext(); ) {
+            if (!keep.contains(i.next())) {
+                i.remove();
+                dirty = true;
+            }
+        }
+    }
+
+    /** Removes all entries. */
+    synchronized void clear() {
+        entries.clear();
+        loaded = true;
+        dirty = true;
+    }
+
+    /** Saves index if it was changed after last saving. */
+    synchronized void flush() {
+        if (!dirty) {
+            return;
+        }
+        dirty = false;
+        final java.io.File parent = indexFile.getParentFile();
+        if (!(parent.exists() || parent.mkdirs())) {
+            LOG.error("Unable create directory {}", parent);
+            return;
+        }
+        DataOutputStream dos = null;
+        try {
+            final java.io.File tmpFile = java.io.File.createTempFile(indexFile.getName(), ".tmp", parent);
+            try {
+                dos = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(tmpFile)));
+                dos.writeInt(FORMAT_VERSION);
+                dos.writeInt(entries.size());
+                for (Map.Entry<String, Entry> e : entries.entrySet()) {
+                    dos.writeUTF(e.getKey());
+                    dos.writeLong(e.getValue().size);
+                    dos.writeLong(e.getValue().lastModified);
+                    dos.writeUTF(e.getValue().hash);
+                }
+                dos.close();
+                dos = null;
+                Files.move(tmpFile.toPath(), indexFile.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                if (dos != null) {
+                    dos.close();
+                }
+                if (tmpFile.exists() && !tmpFile.delete()) {
+                    LOG.warn("Unable delete file {}", tmpFile);
+                }
+            }
+        } catch (IOException e) {
+            dirty = true;
+            LOG.error(String.format("Unable save hash index %s. ", indexFile) + e.getMessage(), e);
+        }
+    }
+
+    private ConcurrentNavigableMap<String, Entry> subTree(String path) {
+        final String prefix = "/".equals(path) ? path : path + '/';
+        // All paths that starts with prefix are less than prefix with last character increased by one.
+        final String end = prefix.substring(0, prefix.length() - 1) + (char)(prefix.charAt(prefix.length() - 1) + 1);
+        return entries.subMap(prefix, true, end, false);
+    }
+
+    private void load() {
+        if (loaded) {
+            return;
+        }
+        synchronized (this) {
+            if (loaded) {
+                return;
+            }
+            if (indexFile.exists()) {
+                DataInputStream dis = null;
+                try {
+                    dis = new DataInputStream(new BufferedInputStream(new FileInputStream(indexFile)));
+                    if (dis.readInt() == FORMAT_VERSION) {
+                        for (int i = 0, size = dis.readInt(); i < size; i++) {
+                            final String path = dis.readUTF();
+                            final long fileSize = dis.readLong();
+                            final long lastModified = dis.readLong();
+                            entries.put(path, new Entry(fileSize, lastModified, dis.readUTF()));
+                        }
+                    }
+                } catch (IOException e) {
+                    // Index is just cache, start from scratch if it is not readable.
+                    entries.clear();
+                    LOG.warn(String.format("Unable read hash index %s. ", indexFile) + e.getMessage());
+                } finally {
+                    if (dis != null) {
+                        try {
+                            dis.close();
+                        } catch (IOException ignored) {
+                        }
+                    }
+                }
+            }
+            loaded = true;
+        }
+    }
+
+    private static class Entry {
+        final long   size;
+        final long   lastModified;
+        final String hash;
+
+        Entry(long size, long lastModified, String hash) {
+            this.size = size;
+            this.lastModified = lastModified;
+            this.hash = hash;
+        }
+    }
+}
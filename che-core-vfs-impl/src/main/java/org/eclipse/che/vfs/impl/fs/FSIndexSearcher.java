@@ -19,6 +19,8 @@ import org.apache.lucene.store.FSDirectory;
 import org.apache.lucene.store.SingleInstanceLockFactory;
 
 import java.io.IOException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ScheduledExecutorService;
 
 /**
  * Implementation of LuceneSearcher which stores index in the filesystem.
@@ -33,6 +35,12 @@ public class FSIndexSearcher extends LuceneSearcher {
         this.indexDir = indexDir;
     }
 
+    public FSIndexSearcher(java.io.File indexDir, VirtualFileFilter filter, ScheduledExecutorService scheduler,
+                           ExecutorService executor, long maxStaleness) {
+        super(filter, scheduler, executor, maxStaleness);
+        this.indexDir = indexDir;
+    }
+
     @Override
     protected Directory makeDirectory() throws ServerException {
         try {
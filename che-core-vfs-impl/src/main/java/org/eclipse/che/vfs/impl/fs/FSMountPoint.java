@@ -15,6 +15,7 @@ import org.eclipse.che.api.core.ForbiddenException;
 import org.eclipse.che.api.core.NotFoundException;
 import org.eclipse.che.api.core.ServerException;
 import org.eclipse.che.api.core.notification.EventService;
+import org.eclipse.che.api.core.notification.EventSubscriber;
 import org.eclipse.che.api.core.util.ValueHolder;
 import org.eclipse.che.api.vfs.server.ContentStream;
 import org.eclipse.che.api.vfs.server.LazyIterator;
@@ -34,6 +35,7 @@ import org.eclipse.che.api.vfs.server.observation.RenameEvent;
 import org.eclipse.che.api.vfs.server.observation.UpdateACLEvent;
 import org.eclipse.che.api.vfs.server.observation.UpdateContentEvent;
 import org.eclipse.che.api.vfs.server.observation.UpdatePropertiesEvent;
+import org.eclipse.che.api.vfs.server.observation.VirtualFileEvent;
 import org.eclipse.che.api.vfs.server.search.SearcherProvider;
 import org.eclipse.che.api.vfs.server.util.DeleteOnCloseFileInputStream;
 import org.eclipse.che.api.vfs.server.util.NotClosableInputStream;
@@ -56,8 +58,7 @@ import com.google.common.annotations.Beta;
 import com.google.common.collect.Sets;
 import com.google.common.hash.HashFunction;
 import com.google.common.hash.Hashing;
-import com.google.common.io.ByteSource;
-import com.google.common.io.ByteStreams;
+import com.google.common.io.Files;
 
 import org.apache.commons.codec.binary.Base64;
 import org.slf4j.Logger;
@@ -74,17 +75,21 @@ import java.io.FileInputStream;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
 import java.io.UnsupportedEncodingException;
+import java.nio.file.attribute.BasicFileAttributes;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.zip.Deflater;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipInputStream;
 import java.util.zip.ZipOutputStream;
@@ -118,6 +123,7 @@ public class FSMountPoint implements MountPoint {
     // end cache parameters
 
     private static final int MAX_BUFFER_SIZE  = 200 * 1024; // 200k
+    private static final int ZIP_CHUNK_SIZE   = 64 * 1024; // 64k
     private static final int COPY_BUFFER_SIZE = 8 * 1024; // 8k
 
     private static final long LOCK_FILE_TIMEOUT     = 60000; // 60 seconds
@@ -134,6 +140,9 @@ public class FSMountPoint implements MountPoint {
     static final String PROPS_DIR              = SERVICE_DIR + java.io.File.separatorChar + "props";
     static final String PROPERTIES_FILE_SUFFIX = "_props";
 
+    static final String HASHES_DIR = SERVICE_DIR + java.io.File.separatorChar + "hashes";
+    static final String MD5_INDEX  = HASHES_DIR + java.io.File.separatorChar + "md5";
+
 
     /** Hide .vfs directory. */
     private static final java.io.FilenameFilter SERVICE_DIR_FILTER = new java.io.FilenameFilter() {
@@ -300,6 +309,10 @@ public class FSMountPoint implements MountPoint {
     private final FileMetadataSerializer               metadataSerializer;
     private final Cache<Path, Map<String, String[]>>[] metadataCache;
 
+    /* ----- Hash sums of files. ----- */
+    private final ContentHashIndex                  md5Index;
+    private final EventSubscriber<VirtualFileEvent> md5IndexUpdater;
+
     private final VirtualFileSystemUserContext userContext;
 
     /**
@@ -334,6 +347,17 @@ public class FSMountPoint implements MountPoint {
             lockTokensCache[i] = new SynchronizedCache(new FileLockCache());
             metadataCache[i] = new SynchronizedCache(new FileMetadataCache());
         }
+
+        md5Index = new ContentHashIndex(new java.io.File(ioRoot, MD5_INDEX));
+        md5IndexUpdater = new EventSubscriber<VirtualFileEvent>() {
+            @Override
+            public void onEvent(VirtualFileEvent event) {
+                if (FSMountPoint.this.workspaceId.equals(event.getWorkspaceId())) {
+                    updateMd5Index(event);
+                }
+            }
+        };
+
         userContext = VirtualFileSystemUserContext.newInstance();
     }
 
@@ -390,6 +414,21 @@ public class FSMountPoint implements MountPoint {
         clearMetadataCache();
         clearAclCache();
         clearLockTokensCache();
+        md5Index.clear();
+    }
+
+    /**
+     * Call when this MountPoint is mounted. Starts listening VFS events. Not done in constructor since instance that loses race for
+     * mounting is dropped without closing.
+     */
+    void start() {
+        eventService.subscribe(md5IndexUpdater, VirtualFileEvent.class);
+    }
+
+    /** Call when this MountPoint is unmounted. Stops listening VFS events and saves state that need to be persisted. */
+    void close() {
+        eventService.unsubscribe(md5IndexUpdater);
+        md5Index.flush();
     }
 
     // Used in tests. Need this to check state of PathLockFactory.
@@ -1095,14 +1134,42 @@ public class FSMountPoint implements MountPoint {
         }
         java.io.File zipFile = null;
         FileOutputStream out = null;
+        boolean done = false;
         try {
             zipFile = java.io.File.createTempFile("export", ".zip");
             out = new FileOutputStream(zipFile);
-            final ZipOutputStream zipOut = new ZipOutputStream(out);
+            zip(virtualFile, out, filter, Deflater.DEFAULT_COMPRESSION);
+            out.close();
+            final String name = virtualFile.getName() + ".zip";
+            final ContentStream zip =
+                    new ContentStream(name, new DeleteOnCloseFileInputStream(zipFile), ExtMediaType.APPLICATION_ZIP, zipFile.length(),
+                                      new Date());
+            done = true;
+            return zip;
+        } catch (IOException e) {
+            throw new ServerException(e.getMessage(), e);
+        } finally {
+            closeQuietly(out);
+            if (!done && zipFile != null) {
+                zipFile.delete();
+            }
+        }
+    }
+
+
+    void zip(VirtualFileImpl virtualFile, OutputStream output, VirtualFileFilter filter, int compressionLevel)
+            throws ForbiddenException, ServerException {
+        if (!virtualFile.isFolder()) {
+            throw new ForbiddenException(String.format("Unable export to zip. Item '%s' is not a folder. ", virtualFile.getPath()));
+        }
+        try {
+            final ZipOutputStream zipOut = new ZipOutputStream(output);
+            // Level 0 keeps DEFLATED method, STORED needs size and CRC of each entry before its content, so file would be read twice.
+            zipOut.setLevel(compressionLevel);
+            final byte[] buffer = new byte[ZIP_CHUNK_SIZE];
             final LinkedList<VirtualFile> q = new LinkedList<>();
             q.add(virtualFile);
             final int zipEntryNameTrim = virtualFile.getVirtualFilePath().length();
-            final byte[] buff = new byte[COPY_BUFFER_SIZE];
             while (!q.isEmpty()) {
                 for (VirtualFile current : doGetChildren((VirtualFileImpl)q.pop(), SERVICE_GIT_DIR_FILTER)) {
                     // (1) Check filter.
@@ -1113,20 +1180,13 @@ public class FSMountPoint implements MountPoint {
                         final String zipEntryName = current.getVirtualFilePath().subPath(zipEntryNameTrim).toString().substring(1);
                         if (current.isFile()) {
                             final ZipEntry zipEntry = new ZipEntry(zipEntryName);
+                            zipEntry.setTime(virtualFile.getLastModificationDate());
                             zipOut.putNextEntry(zipEntry);
-                            InputStream in = null;
-                            final PathLockFactory.PathLock lock =
-                                    pathLockFactory.getLock(current.getVirtualFilePath(), false).acquire(LOCK_FILE_TIMEOUT);
-                            try {
-                                zipEntry.setTime(virtualFile.getLastModificationDate());
-                                in = new FileInputStream(((VirtualFileImpl)current).getIoFile());
+                            try (FileInputStream in = new FileInputStream(((VirtualFileImpl)current).getIoFile())) {
                                 int r;
-                                while ((r = in.read(buff)) != -1) {
-                                    zipOut.write(buff, 0, r);
+                                while ((r = readChunk(current, in, buffer)) != -1) {
+                                    zipOut.write(buffer, 0, r);
                                 }
-                            } finally {
-                                closeQuietly(in);
-                                lock.release();
                             }
                             zipOut.closeEntry();
                         } else if (current.isFolder()) {
@@ -1139,20 +1199,27 @@ public class FSMountPoint implements MountPoint {
                     }
                 }
             }
-            closeQuietly(zipOut);
-            final String name = virtualFile.getName() + ".zip";
-            return new ContentStream(name, new DeleteOnCloseFileInputStream(zipFile), ExtMediaType.APPLICATION_ZIP, zipFile.length(), new Date());
-        } catch (IOException | RuntimeException ioe) {
-            if (zipFile != null) {
-                zipFile.delete();
-            }
-            throw new ServerException(ioe.getMessage(), ioe);
+            zipOut.finish();
+        } catch (IOException | RuntimeException e) {
+            throw new ServerException(e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Reads next chunk of file under lock. Lock is held only while chunk is read but not while it is written to the output, output may be
+     * slow if it is sent directly to the client.
+     */
+    private int readChunk(VirtualFile file, InputStream in, byte[] buffer) throws IOException {
+        final PathLockFactory.PathLock lock = pathLockFactory.getLock(file.getVirtualFilePath(), false).acquire(LOCK_FILE_TIMEOUT);
+        try {
+            return in.read(buffer);
         } finally {
-            closeQuietly(out);
+            lock.release();
         }
     }
 
 
+
     void unzip(VirtualFileImpl parent, InputStream zipped, boolean overwrite, int stripNumber)
             throws ForbiddenException, ConflictException, ServerException {
         if (!parent.isFolder()) {
@@ -1673,6 +1740,7 @@ public class FSMountPoint implements MountPoint {
             return LazyIterator.emptyIterator();
         }
         final List<Pair<String, String>> hashes = new ArrayList<>();
+        final Set<String> visited = new HashSet<>();
         final int trimPathLength = virtualFile.getPath().length() + 1;
         final HashFunction hashFunction = Hashing.md5();
         final ValueHolder<ServerException> errorHolder = new ValueHolder<>();
@@ -1681,7 +1749,9 @@ public class FSMountPoint implements MountPoint {
             public void visit(final VirtualFile virtualFile) {
                 try {
                     if (virtualFile.isFile()) {
-                        hashes.add(Pair.of(countHashSum(virtualFile, hashFunction), virtualFile.getPath().substring(trimPathLength)));
+                        final String path = virtualFile.getPath();
+                        hashes.add(Pair.of(countHashSum((VirtualFileImpl)virtualFile, hashFunction), path.substring(trimPathLength)));
+                        visited.add(path);
                     } else {
                         final LazyIterator<VirtualFile> children = virtualFile.getChildren(VirtualFileFilter.ALL);
                         while (children.hasNext()) {
@@ -1693,20 +1763,58 @@ public class FSMountPoint implements MountPoint {
                 }
             }
         });
+        if (errorHolder.get() == null) {
+            // Forget files that were removed bypassing virtual file system.
+            md5Index.retainTree(virtualFile.getPath(), visited);
+        }
+        md5Index.flush();
         return LazyIterator.fromList(hashes);
     }
 
 
-    private String countHashSum(VirtualFile virtualFile, HashFunction hashFunction) throws ServerException {
-        final PathLockFactory.PathLock lock = pathLockFactory.getLock(virtualFile.getVirtualFilePath(), false).acquire(LOCK_FILE_TIMEOUT);
-        try (InputStream contentStream = virtualFile.getContent().getStream()) {
-            return ByteSource.wrap(ByteStreams.toByteArray(contentStream)).hash(hashFunction).toString();
-        } catch (ForbiddenException e) {
-            throw new ServerException(e.getServiceError());
+    /** Gets hash sum of file from index. File is read only if it is not indexed yet or was changed after indexing. */
+    private String countHashSum(VirtualFileImpl virtualFile, HashFunction hashFunction) throws ServerException {
+        final java.io.File ioFile = virtualFile.getIoFile();
+        final String path = virtualFile.getPath();
+        try {
+            BasicFileAttributes attributes = java.nio.file.Files.readAttributes(ioFile.toPath(), BasicFileAttributes.class);
+            final String indexed = md5Index.get(path, attributes.size(), attributes.lastModifiedTime().toMillis());
+            if (indexed != null) {
+                return indexed;
+            }
+            final PathLockFactory.PathLock lock = pathLockFactory.getLock(virtualFile.getVirtualFilePath(), false).acquire(LOCK_FILE_TIMEOUT);
+            try {
+                // Read attributes once again under lock, file might be updated after first check.
+                attributes = java.nio.file.Files.readAttributes(ioFile.toPath(), BasicFileAttributes.class);
+                final String hash = Files.hash(ioFile, hashFunction).toString();
+                md5Index.put(path, attributes.size(), attributes.lastModifiedTime().toMillis(), hash);
+                return hash;
+            } finally {
+                lock.release();
+            }
         } catch (IOException e) {
             throw new ServerException(e);
-        } finally {
-            lock.release();
+        }
+    }
+
+
+    private void updateMd5Index(VirtualFileEvent event) {
+        switch (event.getType()) {
+            case CONTENT_UPDATED:
+            case CREATED:
+                md5Index.invalidate(event.getPath());
+                break;
+            case DELETED:
+                md5Index.invalidateTree(event.getPath());
+                break;
+            case MOVED:
+                md5Index.invalidateTree(((MoveEvent)event).getOldPath());
+                md5Index.invalidateTree(event.getPath());
+                break;
+            case RENAMED:
+                md5Index.invalidateTree(((RenameEvent)event).getOldPath());
+                md5Index.invalidateTree(event.getPath());
+                break;
         }
     }
 
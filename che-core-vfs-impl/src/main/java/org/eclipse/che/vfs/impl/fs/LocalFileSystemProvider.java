@@ -104,6 +104,7 @@ public class LocalFileSystemProvider extends VirtualFileSystemProvider {
     public void close() {
         final FSMountPoint mount = mountRef.remove();
         if (mount != null) {
+            mount.close();
             if (searcherProvider != null) {
                 try {
                     final Searcher searcher = searcherProvider.getSearcher(mount, false);
@@ -165,6 +166,7 @@ public class LocalFileSystemProvider extends VirtualFileSystemProvider {
         boolean maybeSet(FSMountPoint mountPoint) {
             final boolean res = ref.compareAndSet(null, mountPoint);
             if (res) {
+                mountPoint.start();
                 MountPointCacheCleaner.add(mountPoint);
             }
             return res;
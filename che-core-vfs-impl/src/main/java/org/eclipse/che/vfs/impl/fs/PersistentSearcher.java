@@ -0,0 +1,192 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.vfs.impl.fs;
+
+import org.eclipse.che.api.core.ServerException;
+import org.eclipse.che.api.vfs.server.MountPoint;
+import org.eclipse.che.api.vfs.server.VirtualFile;
+import org.eclipse.che.api.vfs.server.VirtualFileFilter;
+
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.StoredField;
+import org.apache.lucene.index.CorruptIndexException;
+import org.apache.lucene.index.DirectoryReader;
+import org.apache.lucene.index.IndexFormatTooNewException;
+import org.apache.lucene.index.IndexFormatTooOldException;
+import org.apache.lucene.index.IndexableField;
+import org.apache.lucene.index.MultiFields;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.FSDirectory;
+import org.apache.lucene.util.Bits;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.eclipse.che.commons.lang.IoUtil.deleteRecursive;
+
+/**
+ * Filesystem based LuceneSearcher which keeps index after call method {@link #close()}. Each indexed document contains last modification
+ * date and length of file. When searcher is opened again it compares them with actual state of files and indexes only files that are
+ * added or changed since index was closed and removes documents of deleted files.
+ *
+ * @see PersistentSearcherProvider
+ */
+public class PersistentSearcher extends FSIndexSearcher {
+    private static final Logger LOG = LoggerFactory.getLogger(PersistentSearcher.class);
+
+    static final String MODIFIED = "modified";
+    static final String LENGTH   = "length";
+
+    private static final Set<String> CHECKPOINT_FIELDS = new HashSet<>(Arrays.asList("path", MODIFIED, LENGTH));
+
+    private final PersistentSearcherProvider searcherService;
+
+    private final AtomicBoolean              initFlag;
+    private final AtomicReference<Exception> initError;
+
+    PersistentSearcher(PersistentSearcherProvider searcherService, java.io.File indexDir, VirtualFileFilter filter) {
+        super(indexDir, filter, searcherService.getScheduler(), searcherService.getExecutor(), searcherService.getMaxStaleness());
+        this.searcherService = searcherService;
+        initFlag = new AtomicBoolean();
+        initError = new AtomicReference<>();
+    }
+
+    @Override
+    public void init(final MountPoint mountPoint) throws ServerException {
+        try {
+            doInit();
+        } catch (ServerException e) {
+            final Throwable cause = e.getCause();
+            if (!(cause instanceof CorruptIndexException
+                  || cause instanceof IndexFormatTooOldException
+                  || cause instanceof IndexFormatTooNewException)) {
+                throw e;
+            }
+            // Index may be broken, e.g. if server crashed while index was written, or created by incompatible version of lucene.
+            LOG.warn("Unable open index in '{}', {}. Index is rebuilt.", getIndexDir(), e.getMessage());
+            if (!deleteRecursive(getIndexDir(), false)) {
+                throw e;
+            }
+            doInit();
+        }
+        final ExecutorService executor = searcherService.getExecutor();
+        if (!executor.isShutdown()) {
+            executor.execute(new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        reconcile(mountPoint.getRoot());
+                        initFlag.set(true);
+                    } catch (ServerException e) {
+                        initError.set(e);
+                        LOG.error(e.getMessage());
+                    }
+                }
+            });
+        }
+    }
+
+    @Override
+    protected Directory makeDirectory() throws ServerException {
+        try {
+            // Use native locks since directory may be opened again before previous searcher is closed.
+            return FSDirectory.open(indexDir.toPath());
+        } catch (IOException e) {
+            throw new ServerException(e);
+        }
+    }
+
+    /** Brings index in accordance with actual state of files under specified root. */
+    void reconcile(VirtualFile root) throws ServerException {
+        final long start = System.currentTimeMillis();
+        final Map<String, long[]> checkpoints = readCheckpoints();
+        final List<VirtualFile> files = new ArrayList<>();
+        collectFiles(root, files);
+        final List<VirtualFile> changed = new ArrayList<>();
+        for (VirtualFile file : files) {
+            final long[] checkpoint = checkpoints.remove(file.getPath());
+            if (checkpoint == null || checkpoint[0] != file.getLastModificationDate() || checkpoint[1] != file.getLength()) {
+                changed.add(file);
+            }
+        }
+        // Files that are indexed but don't exist anymore.
+        for (String path : checkpoints.keySet()) {
+            doDelete(path, true);
+        }
+        addFiles(changed);
+        LOG.debug("Index of {} is reconciled, {} files indexed, {} files removed, time: {} ms",
+                  root.getMountPoint().getWorkspaceId(), changed.size(), checkpoints.size(), (System.currentTimeMillis() - start));
+    }
+
+    /**
+     * Reads last modification date and length of all indexed files. Documents without these fields, e.g. created by older version, are
+     * mapped to {@code null} and considered as changed.
+     */
+    private Map<String, long[]> readCheckpoints() throws ServerException {
+        final Map<String, long[]> checkpoints = new HashMap<>();
+        try (DirectoryReader reader = DirectoryReader.open(getIndexWriter(), true)) {
+            final Bits liveDocs = MultiFields.getLiveDocs(reader);
+            for (int i = 0, maxDoc = reader.maxDoc(); i < maxDoc; i++) {
+                if (liveDocs != null && !liveDocs.get(i)) {
+                    continue;
+                }
+                final Document doc = reader.document(i, CHECKPOINT_FIELDS);
+                final IndexableField modified = doc.getField(MODIFIED);
+                final IndexableField length = doc.getField(LENGTH);
+                checkpoints.put(doc.get("path"), modified != null && length != null
+                                                 ? new long[]{modified.numericValue().longValue(), length.numericValue().longValue()}
+                                                 : null);
+            }
+        } catch (IOException e) {
+            throw new ServerException(e.getMessage(), e);
+        }
+        return checkpoints;
+    }
+
+    @Override
+    protected Document createDocument(VirtualFile virtualFile, Reader inReader) throws ServerException {
+        final Document doc = super.createDocument(virtualFile, inReader);
+        doc.add(new StoredField(MODIFIED, virtualFile.getLastModificationDate()));
+        doc.add(new StoredField(LENGTH, virtualFile.getLength()));
+        return doc;
+    }
+
+    // for test
+    Exception initializationError() {
+        return initError.get();
+    }
+
+    // for test
+    boolean initialized() {
+        return initFlag.get();
+    }
+
+    @Override
+    public void close() {
+        searcherService.close(this);
+    }
+
+    void doClose() {
+        super.close();
+    }
+}
@@ -0,0 +1,189 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.vfs.impl.fs;
+
+import org.eclipse.che.api.core.ServerException;
+import org.eclipse.che.api.vfs.server.MountPoint;
+import org.eclipse.che.api.vfs.server.VirtualFileFilter;
+import org.eclipse.che.api.vfs.server.search.LuceneSearcherProvider;
+import org.eclipse.che.api.vfs.server.search.Searcher;
+import org.eclipse.che.api.vfs.server.util.MediaTypeFilter;
+import org.eclipse.che.api.vfs.server.util.VirtualFileFilters;
+import com.google.common.hash.Hashing;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.inject.Inject;
+import javax.inject.Named;
+import javax.inject.Singleton;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+
+import static org.eclipse.che.commons.lang.IoUtil.deleteRecursive;
+
+/**
+ * Keeps index of each mounted filesystem in separate directory under {@code indexRootDir}. Index is not removed after call {@link
+ * PersistentSearcher#close()} and reused when the same filesystem is mounted again, e.g. after restart of server. Name of index directory
+ * is the hash of path of the root of mounted filesystem, path itself is saved in file {@code root} next to the index. Index is removed
+ * when searcher is closed if root of mounted filesystem doesn't exist anymore, e.g. workspace is removed. Indexes of filesystems that
+ * were removed while server was stopped are removed at start.
+ *
+ * @see PersistentSearcher
+ */
+@Singleton
+public class PersistentSearcherProvider extends LuceneSearcherProvider {
+    private static final Logger LOG = LoggerFactory.getLogger(PersistentSearcherProvider.class);
+
+    /** Name of file that contains path of the root of mounted filesystem. */
+    static final String ROOT_FILE = "root";
+    /** Name of subdirectory that contains index. */
+    static final String INDEX_DIR = "index";
+
+    private final ConcurrentMap<java.io.File, PersistentSearcher> instances;
+    private final ExecutorService                                 executor;
+    private final ScheduledExecutorService                        scheduler;
+    private final java.io.File                                    indexRootDir;
+    private final Set<VirtualFileFilter>                          filters;
+
+    /**
+     * Max time in milliseconds between change of file and applying it to the index. Zero or negative value means that changes are
+     * indexed synchronously.
+     */
+    @com.google.inject.Inject(optional = true)
+    @Named("vfs.index.max_staleness")
+    private long maxStaleness = CleanableSearcherProvider.DEFAULT_MAX_STALENESS;
+
+    @Inject
+    PersistentSearcherProvider(@Named("vfs.local.fs_index_root_dir") java.io.File indexRootDir,
+                               @Named("vfs.index_filter") Set<VirtualFileFilter> filters) {
+        this.indexRootDir = indexRootDir;
+        this.filters = filters;
+        executor = Executors.newFixedThreadPool(1 + Runtime.getRuntime().availableProcessors(),
+                                                new ThreadFactoryBuilder().setNameFormat("LocalVirtualFileSystem-PersistentSearcher-%d")
+                                                                          .setDaemon(true).build());
+        scheduler = Executors.newSingleThreadScheduledExecutor(
+                new ThreadFactoryBuilder().setNameFormat("LocalVirtualFileSystem-PersistentSearcherScheduler-%d").setDaemon(true).build());
+        instances = new ConcurrentHashMap<>();
+    }
+
+    @Override
+    public Searcher getSearcher(final MountPoint mountPoint, boolean create) throws ServerException {
+        final java.io.File vfsIoRoot = ((VirtualFileImpl)mountPoint.getRoot()).getIoFile();
+        PersistentSearcher searcher = instances.get(vfsIoRoot);
+        if (searcher == null && create) {
+            final String indexName = Hashing.sha1().hashString(vfsIoRoot.getAbsolutePath(), StandardCharsets.UTF_8).toString();
+            final java.io.File myIndexDir = new java.io.File(new java.io.File(indexRootDir, indexName), INDEX_DIR);
+            try {
+                Files.createDirectories(myIndexDir.toPath());
+                Files.write(new java.io.File(myIndexDir.getParentFile(), ROOT_FILE).toPath(),
+                            vfsIoRoot.getAbsolutePath().getBytes(StandardCharsets.UTF_8));
+            } catch (IOException e) {
+                throw new ServerException("Unable create searcher. " + e.getMessage(), e);
+            }
+            final VirtualFileFilter filter;
+            if (!filters.isEmpty()) {
+                final VirtualFileFilter[] myFilters = new VirtualFileFilter[filters.size() + 1];
+                final Iterator<VirtualFileFilter> iterator = filters.iterator();
+                for (int i = 1; i < myFilters.length; i++) {
+                    myFilters[i] = iterator.next();
+                }
+                myFilters[0] = new MediaTypeFilter(getIndexedMediaTypes());
+                filter = VirtualFileFilters.createAndFilter(myFilters);
+            } else {
+                filter = new MediaTypeFilter(getIndexedMediaTypes());
+            }
+            final PersistentSearcher newSearcher = new PersistentSearcher(this, myIndexDir, filter);
+            searcher = instances.putIfAbsent(vfsIoRoot, newSearcher);
+            if (searcher == null) {
+                searcher = newSearcher;
+                try {
+                    searcher.init(mountPoint);
+                } catch (ServerException e) {
+                    instances.remove(vfsIoRoot, newSearcher);
+                    throw e;
+                }
+            }
+        }
+        return searcher;
+    }
+
+    void close(PersistentSearcher searcher) {
+        // Close index before removing searcher, otherwise new searcher may try to open index that is still locked.
+        searcher.doClose();
+        instances.values().remove(searcher);
+        removeIfOrphan(searcher.getIndexDir().getParentFile());
+    }
+
+    /** Removes indexes of filesystems that don't exist anymore and indexes created by older versions which don't keep path of root. */
+    @PostConstruct
+    void start() {
+        final java.io.File[] dirs = indexRootDir.listFiles();
+        if (dirs == null) {
+            return;
+        }
+        final Set<java.io.File> inUse = new HashSet<>();
+        for (PersistentSearcher searcher : instances.values()) {
+            inUse.add(searcher.getIndexDir().getParentFile());
+        }
+        for (java.io.File dir : dirs) {
+            if (dir.isDirectory() && !inUse.contains(dir)) {
+                removeIfOrphan(dir);
+            }
+        }
+    }
+
+    private void removeIfOrphan(java.io.File dir) {
+        java.io.File root = null;
+        try {
+            root = new java.io.File(new String(Files.readAllBytes(new java.io.File(dir, ROOT_FILE).toPath()), StandardCharsets.UTF_8));
+        } catch (IOException ignored) {
+            // Index is created by older version or directory is broken.
+        }
+        if ((root == null || !root.exists()) && !deleteRecursive(dir)) {
+            LOG.warn("Unable delete index directory '{}'", dir);
+        }
+    }
+
+    @PreDestroy
+    private void stop() {
+        scheduler.shutdownNow();
+        executor.shutdownNow();
+        for (PersistentSearcher searcher : instances.values()) {
+            searcher.close();
+        }
+    }
+
+    ExecutorService getExecutor() {
+        return executor;
+    }
+
+    /** Gets scheduler for applying changes to the index or {@code null} if changes should be indexed synchronously. */
+    ScheduledExecutorService getScheduler() {
+        return maxStaleness > 0 ? scheduler : null;
+    }
+
+    long getMaxStaleness() {
+        return maxStaleness;
+    }
+}
@@ -29,7 +29,7 @@ public class VirtualFileSystemFSModule extends AbstractModule {
                 Multibinder.newSetBinder(binder(), VirtualFileFilter.class, Names.named("vfs.index_filter"));
         multibinder.addBinding().to(DefaultVirtualFileFilter.class);
         //bind(LocalFSMountStrategy.class).to(WorkspaceHashLocalFSMountStrategy.class);
-        bind(SearcherProvider.class).to(CleanableSearcherProvider.class);
+        bind(SearcherProvider.class).to(PersistentSearcherProvider.class);
         bind(MountPointCacheCleaner.Finalizer.class).asEagerSingleton();
     }
 
@@ -0,0 +1,83 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.vfs.impl.fs;
+
+import junit.framework.TestCase;
+
+import java.nio.file.Files;
+import java.util.Collections;
+
+import static org.eclipse.che.commons.lang.IoUtil.deleteRecursive;
+
+public class ContentHashIndexTest extends TestCase {
+    private java.io.File     indexDir;
+    private java.io.File     indexFile;
+    private ContentHashIndex index;
+    private long             lastModified;
+
+    @Override
+    protected void setUp() throws Exception {
+        super.setUp();
+        indexDir = Files.createTempDirectory("hashes").toFile();
+        indexFile = new java.io.File(indexDir, "md5");
+        index = new ContentHashIndex(indexFile);
+        lastModified = System.currentTimeMillis() - 60000;
+    }
+
+    @Override
+    protected void tearDown() throws Exception {
+        deleteRecursive(indexDir);
+        super.tearDown();
+    }
+
+    public void testGet() throws Exception {
+        index.put("/a/b/c.txt", 10, lastModified, "hash");
+        assertEquals("hash", index.get("/a/b/c.txt", 10, lastModified));
+        // Size or modification date of file changed.
+        assertNull(index.get("/a/b/c.txt", 11, lastModified));
+        assertNull(index.get("/a/b/c.txt", 10, lastModified + 1));
+    }
+
+    public void testNotRememberRecentlyModifiedFiles() throws Exception {
+        final long now = System.currentTimeMillis();
+        index.put("/a/b/c.txt", 10, now, "hash");
+        assertNull(index.get("/a/b/c.txt", 10, now));
+    }
+
+    public void testInvalidateTree() throws Exception {
+        index.put("/a/b/c.txt", 10, lastModified, "hash1");
+        index.put("/a/b/d/e.txt", 10, lastModified, "hash2");
+        index.put("/a/bb.txt", 10, lastModified, "hash3");
+        index.invalidateTree("/a/b");
+        assertNull(index.get("/a/b/c.txt", 10, lastModified));
+        assertNull(index.get("/a/b/d/e.txt", 10, lastModified));
+        assertEquals("hash3", index.get("/a/bb.txt", 10, lastModified));
+    }
+
+    public void testRetainTree() throws Exception {
+        index.put("/a/b/c.txt", 10, lastModified, "hash1");
+        index.put("/a/b/d.txt", 10, lastModified, "hash2");
+        index.retainTree("/a", Collections.singleton("/a/b/c.txt"));
+        assertEquals("hash1", index.get("/a/b/c.txt", 10, lastModified));
+        assertNull(index.get("/a/b/d.txt", 10, lastModified));
+    }
+
+    public void testFlush() throws Exception {
+        index.put("/a/b/c.txt", 10, lastModified, "hash1");
+        index.put("/a/d.txt", 20, lastModified, "hash2");
+        index.flush();
+        assertTrue(indexFile.exists());
+
+        ContentHashIndex restored = new ContentHashIndex(indexFile);
+        assertEquals("hash1", restored.get("/a/b/c.txt", 10, lastModified));
+        assertEquals("hash2", restored.get("/a/d.txt", 20, lastModified));
+    }
+}
@@ -0,0 +1,114 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.vfs.impl.fs;
+
+import org.eclipse.che.api.vfs.server.VirtualFile;
+import org.eclipse.che.api.vfs.server.VirtualFileFilter;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.zip.Deflater;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+public class ExportTest extends LocalFileSystemTest {
+    private VirtualFile         exportTestFolder;
+    private Map<String, byte[]> expected;
+
+    @Override
+    protected void setUp() throws Exception {
+        super.setUp();
+        String exportTestPath = createDirectory(testRootPath, "ExportTest_Folder");
+        String folder1 = createDirectory(exportTestPath, "folder1");
+        createDirectory(exportTestPath, "empty");
+        // Compressible content that is bigger than files that are read in memory.
+        byte[] big = new byte[1024 * 1024];
+        for (int i = 0; i < big.length; i++) {
+            big[i] = (byte)('a' + i % 7);
+        }
+        byte[] random = new byte[64 * 1024];
+        new Random(1).nextBytes(random);
+        createFile(exportTestPath, "small.txt", DEFAULT_CONTENT_BYTES);
+        createFile(folder1, "big.txt", big);
+        createFile(folder1, "random.bin", random);
+        createFile(folder1, "empty.txt", new byte[0]);
+        exportTestFolder = mountPoint.getVirtualFile(exportTestPath);
+
+        expected = new HashMap<>();
+        expected.put("folder1/", null);
+        expected.put("empty/", null);
+        expected.put("small.txt", DEFAULT_CONTENT_BYTES);
+        expected.put("folder1/big.txt", big);
+        expected.put("folder1/random.bin", random);
+        expected.put("folder1/empty.txt", new byte[0]);
+    }
+
+    public void testZipWithDefaultCompression() throws Exception {
+        checkZip(zip(Deflater.DEFAULT_COMPRESSION));
+    }
+
+    public void testZipWithoutCompression() throws Exception {
+        byte[] stored = zip(Deflater.NO_COMPRESSION);
+        checkZip(stored);
+        assertTrue(stored.length > 1024 * 1024);
+    }
+
+    public void testZipWithBestCompression() throws Exception {
+        byte[] compressed = zip(Deflater.BEST_COMPRESSION);
+        checkZip(compressed);
+        assertTrue(compressed.length < zip(Deflater.NO_COMPRESSION).length / 10);
+    }
+
+    public void testZipContentStream() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (java.io.InputStream in = exportTestFolder.zip(VirtualFileFilter.ALL).getStream()) {
+            byte[] buf = new byte[8192];
+            int r;
+            while ((r = in.read(buf)) != -1) {
+                out.write(buf, 0, r);
+            }
+        }
+        checkZip(out.toByteArray());
+    }
+
+    private byte[] zip(int compressionLevel) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        exportTestFolder.zip(out, VirtualFileFilter.ALL, compressionLevel);
+        return out.toByteArray();
+    }
+
+    private void checkZip(byte[] zip) throws Exception {
+        Map<String, byte[]> notFound = new HashMap<>(expected);
+        try (ZipInputStream zipIn = new ZipInputStream(new ByteArrayInputStream(zip))) {
+            ZipEntry zipEntry;
+            while ((zipEntry = zipIn.getNextEntry()) != null) {
+                String name = zipEntry.getName();
+                assertTrue("Unexpected entry " + name, notFound.containsKey(name));
+                byte[] content = notFound.remove(name);
+                if (content != null) {
+                    ByteArrayOutputStream out = new ByteArrayOutputStream();
+                    byte[] buf = new byte[8192];
+                    int r;
+                    while ((r = zipIn.read(buf)) != -1) {
+                        out.write(buf, 0, r);
+                    }
+                    assertTrue("Content of " + name + " is changed", Arrays.equals(content, out.toByteArray()));
+                }
+                zipIn.closeEntry();
+            }
+        }
+        assertTrue("Not found in zip " + notFound.keySet(), notFound.isEmpty());
+    }
+}
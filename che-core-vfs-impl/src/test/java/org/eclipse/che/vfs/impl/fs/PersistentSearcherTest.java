@@ -0,0 +1,139 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.vfs.impl.fs;
+
+import org.eclipse.che.api.core.notification.EventService;
+import org.eclipse.che.api.vfs.server.SystemPathsFilter;
+import org.eclipse.che.api.vfs.server.VirtualFileFilter;
+import org.eclipse.che.api.vfs.server.search.QueryExpression;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import javax.ws.rs.core.MediaType;
+
+import static org.eclipse.che.commons.lang.IoUtil.deleteRecursive;
+
+public class PersistentSearcherTest extends LocalFileSystemTest {
+    private java.io.File               indexRootDir;
+    private PersistentSearcherProvider searcherProvider;
+    private PersistentSearcher         searcher;
+
+    private String file1;
+    private String file2;
+
+    @Override
+    protected void setUp() throws Exception {
+        super.setUp();
+        String searchTestPath = createDirectory(testRootPath, "PersistentSearcherTest_Folder");
+        file1 = createFile(searchTestPath, "PersistentSearcherTest_File01.txt", "alpha".getBytes());
+        writeProperties(file1, Collections.singletonMap("vfs:mimeType", new String[]{MediaType.TEXT_PLAIN}));
+        file2 = createFile(searchTestPath, "PersistentSearcherTest_File02.txt", "beta".getBytes());
+        writeProperties(file2, Collections.singletonMap("vfs:mimeType", new String[]{MediaType.TEXT_PLAIN}));
+
+        indexRootDir = new java.io.File(root.getParentFile(), "persistent-index");
+        searcherProvider = new PersistentSearcherProvider(indexRootDir, Collections.<VirtualFileFilter>emptySet());
+        searcher = openSearcher();
+    }
+
+    @Override
+    protected void tearDown() throws Exception {
+        searcher.close();
+        deleteRecursive(indexRootDir);
+        super.tearDown();
+    }
+
+    public void testReuseIndex() throws Exception {
+        assertEquals(Arrays.asList(file1), search("alpha"));
+        assertEquals(Arrays.asList(file2), search("beta"));
+
+        java.io.File indexDir = searcher.getIndexDir();
+        searcher.close();
+        assertTrue(indexDir.exists());
+
+        // Change files while index is closed.
+        assertTrue(getIoFile(file1).delete());
+        writeFile(file2, "gamma delta".getBytes());
+        String file3 = createFile(testRootPath + "/PersistentSearcherTest_Folder", "PersistentSearcherTest_File03.txt",
+                                  "epsilon".getBytes());
+        writeProperties(file3, Collections.singletonMap("vfs:mimeType", new String[]{MediaType.TEXT_PLAIN}));
+
+        searcher = openSearcher();
+        assertEquals(indexDir, searcher.getIndexDir());
+        assertTrue(search("alpha").isEmpty());
+        assertTrue(search("beta").isEmpty());
+        assertEquals(Arrays.asList(file2), search("gamma"));
+        assertEquals(Arrays.asList(file3), search("epsilon"));
+    }
+
+    public void testRemoveIndexWhenRootOfFilesystemIsRemoved() throws Exception {
+        java.io.File otherRoot = new java.io.File(root.getParentFile(), "PersistentSearcherTest_Other");
+        assertTrue(otherRoot.mkdirs());
+        FSMountPoint otherMount = new FSMountPoint("other", otherRoot, new EventService(), searcherProvider, SystemPathsFilter.ANY);
+        PersistentSearcher otherSearcher = openSearcher(otherMount);
+        java.io.File indexDir = otherSearcher.getIndexDir().getParentFile();
+
+        otherMount.close();
+        assertTrue(deleteRecursive(otherRoot));
+        otherSearcher.close();
+
+        assertFalse(indexDir.exists());
+        // Index of filesystem that still exists is kept.
+        java.io.File myIndexDir = searcher.getIndexDir().getParentFile();
+        searcher.close();
+        assertTrue(myIndexDir.exists());
+        searcher = openSearcher();
+    }
+
+    public void testRemoveOrphanIndexesAtStart() throws Exception {
+        java.io.File myIndexDir = searcher.getIndexDir().getParentFile();
+        searcher.close();
+        java.io.File orphan = new java.io.File(indexRootDir, "orphan");
+        assertTrue(new java.io.File(orphan, PersistentSearcherProvider.INDEX_DIR).mkdirs());
+        Files.write(new java.io.File(orphan, PersistentSearcherProvider.ROOT_FILE).toPath(),
+                    new java.io.File(root.getParentFile(), "not_existed").getAbsolutePath().getBytes(StandardCharsets.UTF_8));
+        // Index created by older version doesn't keep path of root.
+        java.io.File old = new java.io.File(indexRootDir, "old");
+        assertTrue(old.mkdirs());
+
+        searcherProvider = new PersistentSearcherProvider(indexRootDir, Collections.<VirtualFileFilter>emptySet());
+        searcherProvider.start();
+
+        assertFalse(orphan.exists());
+        assertFalse(old.exists());
+        assertTrue(myIndexDir.exists());
+        searcher = openSearcher();
+        assertEquals(Arrays.asList(file1), search("alpha"));
+    }
+
+    private PersistentSearcher openSearcher() throws Exception {
+        return openSearcher(mountPoint);
+    }
+
+    private PersistentSearcher openSearcher(FSMountPoint mountPoint) throws Exception {
+        PersistentSearcher searcher = (PersistentSearcher)searcherProvider.getSearcher(mountPoint, true);
+        Throwable error;
+        while ((error = searcher.initializationError()) == null && !searcher.initialized()) {
+            Thread.sleep(100);
+        }
+        if (error != null) {
+            fail(error.getMessage());
+        }
+        return searcher;
+    }
+
+    private List<String> search(String text) throws Exception {
+        return Arrays.asList(searcher.search(new QueryExpression().setText(text)));
+    }
+}
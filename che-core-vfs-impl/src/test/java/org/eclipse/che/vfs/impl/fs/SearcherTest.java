@@ -12,6 +12,7 @@ package org.eclipse.che.vfs.impl.fs;
 
 import org.eclipse.che.api.core.notification.EventService;
 import org.eclipse.che.api.vfs.server.SystemPathsFilter;
+import org.eclipse.che.api.vfs.server.VirtualFile;
 import org.eclipse.che.api.vfs.server.VirtualFileFilter;
 import org.eclipse.che.api.vfs.shared.dto.Item;
 import org.eclipse.che.api.vfs.shared.dto.ItemList;
@@ -152,6 +153,7 @@ public class SearcherTest extends LocalFileSystemTest {
         searcherManager.release(luceneSearcher);
 
         mountPoint.getVirtualFile(file1).delete(null);
+        searcher.flush();
         searcherManager.maybeRefresh();
         luceneSearcher = searcherManager.acquire();
         topDocs = luceneSearcher.search(new TermQuery(new Term("path", file1)), 10);
@@ -167,6 +169,7 @@ public class SearcherTest extends LocalFileSystemTest {
         searcherManager.release(luceneSearcher);
 
         mountPoint.getVirtualFile(searchTestPath).delete(null);
+        searcher.flush();
         searcherManager.maybeRefresh();
         luceneSearcher = searcherManager.acquire();
         topDocs = luceneSearcher.search(new PrefixQuery(new Term("path", searchTestPath)), 10);
@@ -181,6 +184,7 @@ public class SearcherTest extends LocalFileSystemTest {
         assertEquals(4, topDocs.totalHits);
         searcherManager.release(luceneSearcher);
         mountPoint.getVirtualFile(searchTestPath).createFile("new_file.txt", null, new ByteArrayInputStream(DEFAULT_CONTENT_BYTES));
+        searcher.flush();
 
         searcherManager.maybeRefresh();
         luceneSearcher = searcherManager.acquire();
@@ -196,6 +200,7 @@ public class SearcherTest extends LocalFileSystemTest {
         assertEquals(0, topDocs.totalHits);
         searcherManager.release(luceneSearcher);
         mountPoint.getVirtualFile(file2).updateContent(new ByteArrayInputStream("updated content".getBytes()), null);
+        searcher.flush();
 
         searcherManager.maybeRefresh();
         luceneSearcher = searcherManager.acquire();
@@ -204,6 +209,22 @@ public class SearcherTest extends LocalFileSystemTest {
         searcherManager.release(luceneSearcher);
     }
 
+    public void testUpdateCollapsed() throws Exception {
+        VirtualFile file = mountPoint.getVirtualFile(file2);
+        file.updateContent(new ByteArrayInputStream("first".getBytes()), null);
+        file.updateContent(new ByteArrayInputStream("second".getBytes()), null);
+        file.updateContent(new ByteArrayInputStream("third".getBytes()), null);
+        searcher.flush();
+
+        searcherManager.maybeRefresh();
+        IndexSearcher luceneSearcher = searcherManager.acquire();
+        TopDocs topDocs = luceneSearcher.search(new QueryParser("text", new SimpleAnalyzer()).parse("first"), 10);
+        assertEquals(0, topDocs.totalHits);
+        topDocs = luceneSearcher.search(new QueryParser("text", new SimpleAnalyzer()).parse("third"), 10);
+        assertEquals(1, topDocs.totalHits);
+        searcherManager.release(luceneSearcher);
+    }
+
     public void testMove() throws Exception {
         searcherManager.maybeRefresh();
         IndexSearcher luceneSearcher = searcherManager.acquire();
@@ -213,6 +234,7 @@ public class SearcherTest extends LocalFileSystemTest {
         assertEquals(0, topDocs.totalHits);
         searcherManager.release(luceneSearcher);
         mountPoint.getVirtualFile(file3).moveTo(mountPoint.getVirtualFile(destination), null);
+        searcher.flush();
 
         searcherManager.maybeRefresh();
         luceneSearcher = searcherManager.acquire();
@@ -232,6 +254,7 @@ public class SearcherTest extends LocalFileSystemTest {
         assertEquals(0, topDocs.totalHits);
         searcherManager.release(luceneSearcher);
         mountPoint.getVirtualFile(file3).copyTo(mountPoint.getVirtualFile(destination));
+        searcher.flush();
 
         searcherManager.maybeRefresh();
         luceneSearcher = searcherManager.acquire();
@@ -250,6 +273,7 @@ public class SearcherTest extends LocalFileSystemTest {
         assertEquals(1, topDocs.totalHits);
         searcherManager.release(luceneSearcher);
         mountPoint.getVirtualFile(file2).rename(newName, null, null);
+        searcher.flush();
 
         searcherManager.maybeRefresh();
         luceneSearcher = searcherManager.acquire();
@@ -270,6 +294,7 @@ public class SearcherTest extends LocalFileSystemTest {
         assertEquals(1, topDocs.totalHits);
         searcherManager.release(luceneSearcher);
         mountPoint.getVirtualFile(file4).rename(newName, null, null);
+        searcher.flush();
 
         searcherManager.maybeRefresh();
         luceneSearcher = searcherManager.acquire();
@@ -294,6 +319,7 @@ public class SearcherTest extends LocalFileSystemTest {
         assertEquals(4, topDocs.totalHits);
         searcherManager.release(luceneSearcher);
         mountPoint.getVirtualFile(searchTestPath).rename(newName, null, null);
+        searcher.flush();
 
         searcherManager.maybeRefresh();
         luceneSearcher = searcherManager.acquire();
@@ -316,6 +342,7 @@ public class SearcherTest extends LocalFileSystemTest {
         assertEquals(4, topDocs.totalHits);
         searcherManager.release(luceneSearcher);
         mountPoint.getVirtualFile(searchTestPath).rename(newName, null, null);
+        searcher.flush();
 
         searcherManager.maybeRefresh();
         luceneSearcher = searcherManager.acquire();
@@ -0,0 +1,244 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.builder;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+import org.eclipse.che.api.builder.internal.BuilderEvent;
+import org.everrest.core.impl.provider.json.JsonUtils;
+import org.everrest.websockets.WSConnectionContext;
+import org.everrest.websockets.message.ChannelBroadcastMessage;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sends build logs to the websocket channel {@code builder:outputs:<task id>} in batches. Each message contains JSON array of logged
+ * lines, e.g. {@code [{"num":1, "line":"..."}, {"num":2, "line":"..."}]}. Lines are collected during {@link #FLUSH_PERIOD} milliseconds
+ * or until {@link #MAX_BATCH_SIZE} lines are collected, so a build that prints many lines doesn't produce a websocket message for each
+ * line. If enabled each line is also sent in separate message to the channel {@code builder:output:<task id>}.
+ * <p/>
+ * Client learns id of build from response to its build request and subscribes to the channels after that, while builder may already
+ * print the first lines, e.g. about injection of source code. Lines of new build are therefore only buffered during
+ * {@link #SUBSCRIBE_DELAY} milliseconds before they are sent to the channels.
+ * <p/>
+ * Thread that adds line never sends messages, batches are sent by separate thread. Number of lines buffered for each build never exceeds
+ * {@link #MAX_BUFFERED_LINES}. If messages aren't sent as fast as build prints lines, e.g. because of slow clients, the oldest lines are
+ * dropped. In this case the next message starts with marker which has number of dropped lines instead of line number, e.g. {@code
+ * {"dropped":150, "line":"[WARNING] 150 lines of build output are skipped, ..."}}, full output is available in the build log.
+ */
+class BuildLogsBroadcaster {
+    private static final Logger LOG = LoggerFactory.getLogger(BuildLogsBroadcaster.class);
+
+    static final long FLUSH_PERIOD       = 50;
+    static final long SUBSCRIBE_DELAY    = 1000;
+    static final int  MAX_BATCH_SIZE     = 200;
+    static final int  MAX_BUFFERED_LINES = 10 * MAX_BATCH_SIZE;
+
+    private final ConcurrentMap<Long, LogChannel> channels;
+    private final long                            subscribeDelay;
+
+    private ScheduledExecutorService flusher;
+    private boolean                  lineOutput;
+
+    BuildLogsBroadcaster() {
+        this(SUBSCRIBE_DELAY);
+    }
+
+    BuildLogsBroadcaster(long subscribeDelay) {
+        this.subscribeDelay = subscribeDelay;
+        channels = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Starts sending of build logs.
+     *
+     * @param lineOutput
+     *         if {@code true} each line is also sent in separate message to the channel {@code builder:output:<task id>}
+     */
+    void start(boolean lineOutput) {
+        this.lineOutput = lineOutput;
+        flusher = Executors.newSingleThreadScheduledExecutor(new ThreadFactoryBuilder().setNameFormat("BuildLogsBroadcaster-%d")
+                                                                                       .setDaemon(true).build());
+        flusher.scheduleWithFixedDelay(new Runnable() {
+            @Override
+            public void run() {
+                final long now = System.currentTimeMillis();
+                for (LogChannel channel : channels.values()) {
+                    if (now >= channel.holdUntil) {
+                        channel.flush();
+                    }
+                }
+            }
+        }, FLUSH_PERIOD, FLUSH_PERIOD, TimeUnit.MILLISECONDS);
+    }
+
+    void stop() {
+        flusher.shutdownNow();
+        channels.clear();
+    }
+
+    /** Adds line of build output with specified id. */
+    void add(long taskId, BuilderEvent.LoggedMessage message) {
+        LogChannel channel = channels.get(taskId);
+        if (channel == null) {
+            final LogChannel newChannel = new LogChannel(taskId);
+            channel = channels.putIfAbsent(taskId, newChannel);
+            if (channel == null) {
+                channel = newChannel;
+            }
+        }
+        if (channel.add(message)) {
+            final LogChannel fullChannel = channel;
+            try {
+                flusher.execute(new Runnable() {
+                    @Override
+                    public void run() {
+                        fullChannel.flush();
+                    }
+                });
+            } catch (RejectedExecutionException ignored) {
+                // Stopped.
+            }
+        }
+    }
+
+    /** Forgets about builds with id not in specified set, e.g. if we never get notification about end of build. */
+    void retain(Set<Long> taskIds) {
+        channels.keySet().retainAll(taskIds);
+    }
+
+    /** Sends all buffered lines of build with specified id. Should be called when build is done. */
+    void close(long taskId) {
+        final LogChannel channel = channels.remove(taskId);
+        if (channel != null) {
+            channel.flush();
+        }
+    }
+
+    /** Sends message to the websocket. */
+    void send(ChannelBroadcastMessage message) throws Exception {
+        WSConnectionContext.sendMessage(message);
+    }
+
+    private class LogChannel {
+        final String                            name;
+        final String                            lineChannel;
+        /** Lines aren't sent before this time, see {@link #SUBSCRIBE_DELAY}. Channel is flushed anyway when build is done. */
+        final long                              holdUntil;
+        /** Lines that are not sent yet. Guarded by itself. */
+        final Deque<BuilderEvent.LoggedMessage> buffer;
+        /** Keeps order of batches if they are sent by few threads, e.g. by flusher and by thread that closes channel. */
+        final Object                            sendLock;
+
+        int dropped;
+
+        LogChannel(long taskId) {
+            name = String.format("builder:outputs:%d", taskId);
+            lineChannel = String.format("builder:output:%d", taskId);
+            holdUntil = System.currentTimeMillis() + subscribeDelay;
+            buffer = new ArrayDeque<>();
+            sendLock = new Object();
+        }
+
+        /** Adds line to the buffer. Returns {@code true} if buffer has got enough lines for a batch. */
+        boolean add(BuilderEvent.LoggedMessage message) {
+            synchronized (buffer) {
+                if (buffer.size() >= MAX_BUFFERED_LINES) {
+                    buffer.poll();
+                    dropped++;
+                }
+                buffer.add(message);
+                return buffer.size() == MAX_BATCH_SIZE && System.currentTimeMillis() >= holdUntil;
+            }
+        }
+
+        void flush() {
+            synchronized (sendLock) {
+                final List<BuilderEvent.LoggedMessage> lines;
+                final int myDropped;
+                synchronized (buffer) {
+                    if (buffer.isEmpty()) {
+                        return;
+                    }
+                    lines = new ArrayList<>(buffer);
+                    buffer.clear();
+                    myDropped = dropped;
+                    dropped = 0;
+                }
+                if (myDropped > 0) {
+                    LOG.warn("{} lines of build output are dropped from the channel {}, messages aren't sent as fast as lines are logged",
+                             myDropped, name);
+                }
+                for (int from = 0, size = lines.size(); from < size; from += MAX_BATCH_SIZE) {
+                    sendBatch(lines.subList(from, Math.min(from + MAX_BATCH_SIZE, size)), from == 0 ? myDropped : 0);
+                }
+            }
+        }
+
+        /** Sends batch of lines. If {@code dropped} is greater than zero batch starts with marker of dropped lines. */
+        void sendBatch(List<BuilderEvent.LoggedMessage> lines, int dropped) {
+            final String droppedMarker = dropped > 0 ? droppedMarker(dropped) : null;
+            final StringBuilder body = new StringBuilder();
+            body.append('[');
+            if (droppedMarker != null) {
+                body.append(droppedMarker);
+            }
+            for (int i = 0, size = lines.size(); i < size; i++) {
+                final BuilderEvent.LoggedMessage message = lines.get(i);
+                if (i > 0 || droppedMarker != null) {
+                    body.append(',');
+                }
+                body.append("{\"num\":").append(message.getLineNum())
+                    .append(", \"line\":").append(JsonUtils.getJsonString(message.getMessage()))
+                    .append('}');
+            }
+            body.append(']');
+            send(name, body.toString());
+            if (lineOutput) {
+                if (droppedMarker != null) {
+                    send(lineChannel, droppedMarker);
+                }
+                for (BuilderEvent.LoggedMessage message : lines) {
+                    send(lineChannel, String.format("{\"num\":%d, \"line\":%s}",
+                                                    message.getLineNum(), JsonUtils.getJsonString(message.getMessage())));
+                }
+            }
+        }
+
+        String droppedMarker(int dropped) {
+            final String line = String.format("[WARNING] %d lines of build output are skipped, see build log for full output", dropped);
+            return String.format("{\"dropped\":%d, \"line\":%s}", dropped, JsonUtils.getJsonString(line));
+        }
+
+        void send(String channel, String body) {
+            final ChannelBroadcastMessage bm = new ChannelBroadcastMessage();
+            bm.setChannel(channel);
+            bm.setBody(body);
+            try {
+                BuildLogsBroadcaster.this.send(bm);
+            } catch (Exception e) {
+                LOG.warn(e.getMessage(), e);
+            }
+        }
+    }
+}
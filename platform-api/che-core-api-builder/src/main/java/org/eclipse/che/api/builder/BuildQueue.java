@@ -15,10 +15,10 @@ import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import org.eclipse.che.api.builder.dto.BaseBuilderRequest;
 import org.eclipse.che.api.builder.dto.BuildOptions;
 import org.eclipse.che.api.builder.dto.BuildRequest;
+import org.eclipse.che.api.builder.dto.BuilderMetric;
 import org.eclipse.che.api.builder.dto.BuilderServerAccessCriteria;
 import org.eclipse.che.api.builder.dto.BuilderServerLocation;
 import org.eclipse.che.api.builder.dto.BuilderServerRegistration;
-import org.eclipse.che.api.builder.dto.BuilderState;
 import org.eclipse.che.api.builder.dto.DependencyRequest;
 import org.eclipse.che.api.builder.internal.BuilderEvent;
 import org.eclipse.che.api.builder.internal.Constants;
@@ -32,10 +32,12 @@ import org.eclipse.che.api.core.notification.EventSubscriber;
 import org.eclipse.che.api.core.rest.HttpJsonHelper;
 import org.eclipse.che.api.core.rest.ServiceContext;
 import org.eclipse.che.api.core.rest.shared.dto.Link;
+import org.eclipse.che.api.core.util.QueueMetrics;
 import org.eclipse.che.api.project.server.ProjectService;
 import org.eclipse.che.api.project.shared.dto.BuilderConfiguration;
 import org.eclipse.che.api.project.shared.dto.BuildersDescriptor;
 import org.eclipse.che.api.project.shared.dto.ProjectDescriptor;
+import org.eclipse.che.api.workspace.server.WorkspaceDescriptorCache;
 import org.eclipse.che.api.workspace.server.WorkspaceService;
 import org.eclipse.che.api.workspace.shared.dto.WorkspaceDescriptor;
 import org.eclipse.che.commons.env.EnvironmentContext;
@@ -61,19 +63,23 @@ import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Iterator;
-import java.util.LinkedHashSet;
+import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Queue;
+import java.util.Set;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
-import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.FutureTask;
+import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.ScheduledExecutorService;
-import java.util.concurrent.SynchronousQueue;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
@@ -95,7 +101,12 @@ import static com.google.common.base.MoreObjects.firstNonNull;
 public class BuildQueue {
     private static final Logger LOG = LoggerFactory.getLogger(BuildQueue.class);
 
-    private static final long CHECK_AVAILABLE_BUILDER_DELAY = 2000;
+    /** Period (in milliseconds) of synchronization of number of free workers with remote builders. */
+    private static final long BUILDERS_STATE_REFRESH_PERIOD = 10000;
+
+    private static final int DEFAULT_MAX_THREADS        = 100;
+    private static final int DEFAULT_MAX_WAITING        = 1000;
+    private static final int DEFAULT_MAX_WAITING_PER_WS = 10;
 
     private static final AtomicLong sequence = new AtomicLong(1);
 
@@ -107,11 +118,17 @@ public class BuildQueue {
     private final EventService                               eventService;
     /** Max time for request to be in queue in milliseconds. */
     private final long                                       waitingTimeMillis;
-    private final Cache<BaseBuilderRequest, RemoteTask>      successfulBuilds;
+    private final Cache<SuccessfulBuildKey, RemoteTask>      successfulBuilds;
     private final AtomicBoolean                              started;
     private final long                                       keepResultTimeMillis;
+    private final QueueMetrics                               metrics;
+    private final BuildLogsBroadcaster                       logsBroadcaster;
+    /** Number of requests that wait for builder by id of workspace. Guards {@link #waitingNum}. */
+    private final Map<String, Integer>                       waitingByWorkspace;
+
+    private int waitingNum;
 
-    private ExecutorService          executor;
+    private ThreadPoolExecutor       executor;
     private ScheduledExecutorService scheduler;
 
     /** Optional pre-configured slave builders. */
@@ -119,6 +136,41 @@ public class BuildQueue {
     @Named(Constants.BUILDER_SLAVE_BUILDER_URLS)
     private String[] slaves = new String[0];
 
+    /**
+     * Max number of threads that send requests to the slave builders. Threads don't wait for free builder, request is passed to the
+     * thread only when worker of remote builder is reserved for it.
+     */
+    @com.google.inject.Inject(optional = true)
+    @Named(Constants.QUEUE_MAX_THREADS)
+    private int maxThreads = DEFAULT_MAX_THREADS;
+
+    /** Max number of requests that may wait for builder. New requests are rejected when this limit is reached. */
+    @com.google.inject.Inject(optional = true)
+    @Named(Constants.QUEUE_MAX_WAITING)
+    private int maxWaiting = DEFAULT_MAX_WAITING;
+
+    /**
+     * Max number of requests from one workspace that may wait for builder, 10 by default. New requests from workspace are rejected when
+     * this limit is reached. Waiting requests are dispatched in order of their arrival, so this limit is what keeps single workspace from
+     * taking all builders.
+     */
+    @com.google.inject.Inject(optional = true)
+    @Named(Constants.QUEUE_MAX_WAITING_PER_WS)
+    private int maxWaitingPerWorkspace = DEFAULT_MAX_WAITING_PER_WS;
+
+    /** Reduces number of requests to the workspace API. Descriptors are loaded directly if cache isn't set. */
+    @com.google.inject.Inject(optional = true)
+    private WorkspaceDescriptorCache workspaceDescriptorCache;
+
+    /**
+     * Send each line of build output in separate message to the websocket channel 'builder:output:&lt;task id&gt;'. Batches of lines are
+     * always sent to the channel 'builder:outputs:&lt;task id&gt;'. Enabled by default for clients that read output line by line, may be
+     * disabled when all clients read batches.
+     */
+    @com.google.inject.Inject(optional = true)
+    @Named(Constants.WEBSOCKET_LINE_OUTPUT)
+    private boolean lineOutput = true;
+
     /**
      * @param waitingTime
      *         max time for request to be in queue in seconds. Configuration parameter that sets max time (in seconds) which request may be
@@ -140,9 +192,12 @@ public class BuildQueue {
 
         tasks = new ConcurrentHashMap<>();
         builderListMapping = new ConcurrentHashMap<>();
-        successfulBuilds = new SynchronizedCache<>(new SLRUCache<BaseBuilderRequest, RemoteTask>(200, 400));
+        successfulBuilds = new SynchronizedCache<>(new SLRUCache<SuccessfulBuildKey, RemoteTask>(200, 400));
         builderServices = new ConcurrentHashMap<>();
         started = new AtomicBoolean(false);
+        metrics = new QueueMetrics();
+        logsBroadcaster = new BuildLogsBroadcaster();
+        waitingByWorkspace = new HashMap<>();
     }
 
     /**
@@ -162,13 +217,77 @@ public class BuildQueue {
      */
     public int getWaitingNum() {
         checkStarted();
-        int count = 0;
-        for (BuildQueueTask task : tasks.values()) {
-            if (task.isWaiting()) {
-                count++;
+        synchronized (waitingByWorkspace) {
+            return waitingNum;
+        }
+    }
+
+    /**
+     * Get statistics of this queue.
+     *
+     * @return statistics of this queue
+     */
+    public List<BuilderMetric> getStats() {
+        checkStarted();
+        final DtoFactory dtoFactory = DtoFactory.getInstance();
+        final List<BuilderMetric> stats = new LinkedList<>();
+        stats.add(dtoFactory.createDto(BuilderMetric.class)
+                            .withName(BuilderMetric.QUEUE_SIZE)
+                            .withValue(Integer.toString(getWaitingNum()))
+                            .withDescription("Number of requests that wait for builder"));
+        stats.add(dtoFactory.createDto(BuilderMetric.class)
+                            .withName(BuilderMetric.MAX_QUEUE_SIZE)
+                            .withValue(Integer.toString(maxWaiting))
+                            .withDescription("Max number of requests that may wait for builder"));
+        stats.add(dtoFactory.createDto(BuilderMetric.class)
+                            .withName(BuilderMetric.NUMBER_OF_WORKERS)
+                            .withValue(Integer.toString(maxThreads))
+                            .withDescription("Max number of threads that send requests to builders"));
+        stats.add(dtoFactory.createDto(BuilderMetric.class)
+                            .withName(BuilderMetric.NUMBER_OF_ACTIVE_WORKERS)
+                            .withValue(Integer.toString(executor.getActiveCount()))
+                            .withDescription("Number of threads that send requests to builders"));
+        for (Map.Entry<String, String> e : metrics.getMetrics().entrySet()) {
+            stats.add(dtoFactory.createDto(BuilderMetric.class).withName(e.getKey()).withValue(e.getValue()));
+        }
+        return stats;
+    }
+
+    /**
+     * Takes place in queue for new request from specified workspace. Place is given back with {@link #releaseWaitingPlace(String)} when
+     * request stops waiting.
+     *
+     * @throws BuilderException
+     *         if there are too many requests waiting in queue at the moment
+     */
+    private void acquireWaitingPlace(String wsId) throws BuilderException {
+        synchronized (waitingByWorkspace) {
+            final Integer waitingInWorkspace = waitingByWorkspace.get(wsId);
+            if (waitingNum >= maxWaiting) {
+                metrics.taskRejected();
+                throw new BuilderException("Too many build requests in queue. Try again later. ");
+            }
+            if (waitingInWorkspace != null && waitingInWorkspace >= maxWaitingPerWorkspace) {
+                metrics.taskRejected();
+                throw new BuilderException(String.format("Too many build requests from workspace %s in queue. Try again later. ", wsId));
+            }
+            waitingByWorkspace.put(wsId, waitingInWorkspace == null ? 1 : waitingInWorkspace + 1);
+            waitingNum++;
+        }
+    }
+
+    private void releaseWaitingPlace(String wsId) {
+        synchronized (waitingByWorkspace) {
+            final Integer waitingInWorkspace = waitingByWorkspace.get(wsId);
+            if (waitingInWorkspace != null) {
+                if (waitingInWorkspace > 1) {
+                    waitingByWorkspace.put(wsId, waitingInWorkspace - 1);
+                } else {
+                    waitingByWorkspace.remove(wsId);
+                }
+                waitingNum--;
             }
         }
-        return count;
     }
 
     public List<RemoteBuilderServer> getRegisterBuilderServers() {
@@ -223,7 +342,12 @@ public class BuildQueue {
                 builderList = newBuilderList;
             }
         }
-        return builderList.addBuilders(builderServer.getRemoteBuilders());
+        final List<RemoteBuilder> remoteBuilders = builderServer.getRemoteBuilders();
+        final boolean modified = builderList.addBuilders(remoteBuilders);
+        for (RemoteBuilder builder : remoteBuilders) {
+            builderList.refresh(builder);
+        }
+        return modified;
     }
 
     /**
@@ -299,7 +423,9 @@ public class BuildQueue {
         if (!hasBuilder(request)) {
             throw new BuilderException(String.format("Builder '%s' is not available for workspace %s.", request.getBuilder(), wsId));
         }
-        final RemoteTask successfulTask = successfulBuilds.get(request);
+        // Id and timeout of request aren't set yet, so it may be used as key without copying.
+        final SuccessfulBuildKey successfulBuildKey = new SuccessfulBuildKey(request);
+        final RemoteTask successfulTask = successfulBuilds.get(successfulBuildKey);
         Callable<RemoteTask> callable = null;
         boolean reuse = false;
         if (successfulTask != null) {
@@ -312,36 +438,55 @@ public class BuildQueue {
                 callable = new Callable<RemoteTask>() {
                     @Override
                     public RemoteTask call() throws Exception {
-                        try {
-                            Thread.sleep(1000);
-                        } catch (InterruptedException ignored) {
-                        }
                         return successfulTask;
                     }
                 };
             } else {
-                successfulBuilds.remove(request);
+                successfulBuilds.remove(successfulBuildKey);
             }
         }
         if (callable == null) {
             request.setTimeout(getBuildTimeout(workspace));
             callable = createTaskFor(request);
         }
+        acquireWaitingPlace(wsId);
         final Long id = sequence.getAndIncrement();
         final InternalBuildTask future = new InternalBuildTask(ThreadLocalPropagateContext.wrap(callable), id, wsId, project, reuse);
         request.setId(id);
         final BuildQueueTask task = new BuildQueueTask(id, request, waitingTimeMillis, future, eventService, serviceContext.getServiceUriBuilder());
         tasks.put(id, task);
+        metrics.taskAccepted();
         eventService.publish(BuilderEvent.queueStartedEvent(id, wsId, project));
-        executor.execute(future);
+        if (reuse) {
+            // Don't publish result of previous build at once, let client subscribe to events of this task.
+            scheduler.schedule(new Runnable() {
+                @Override
+                public void run() {
+                    executor.execute(future);
+                }
+            }, 1, TimeUnit.SECONDS);
+        } else {
+            enqueue(request, future);
+        }
         return task;
     }
 
     protected Callable<RemoteTask> createTaskFor(final BuildRequest request) {
+        final long creationTime = System.currentTimeMillis();
         return new Callable<RemoteTask>() {
             @Override
             public RemoteTask call() throws BuilderException {
-                return getBuilder(request).perform(request);
+                final RemoteBuilder builder = getBuilder(request);
+                final long dispatchTime = System.currentTimeMillis();
+                boolean accepted = false;
+                try {
+                    final RemoteTask remoteTask = builder.perform(request);
+                    accepted = true;
+                    metrics.taskDispatched(dispatchTime - creationTime, System.currentTimeMillis() - dispatchTime);
+                    return remoteTask;
+                } finally {
+                    onRequestSent(request, accepted);
+                }
             }
         };
     }
@@ -384,20 +529,33 @@ public class BuildQueue {
         final WorkspaceDescriptor workspace = getWorkspaceDescriptor(wsId, serviceContext);
         request.setTimeout(getBuildTimeout(workspace));
         final Callable<RemoteTask> callable = createTaskFor(request);
+        acquireWaitingPlace(wsId);
         final Long id = sequence.getAndIncrement();
         final InternalBuildTask future = new InternalBuildTask(ThreadLocalPropagateContext.wrap(callable), id, wsId, project, false);
         request.setId(id);
         final BuildQueueTask task = new BuildQueueTask(id, request, waitingTimeMillis, future, eventService, serviceContext.getServiceUriBuilder());
         tasks.put(id, task);
-        executor.execute(future);
+        metrics.taskAccepted();
+        enqueue(request, future);
         return task;
     }
 
     protected Callable<RemoteTask> createTaskFor(final DependencyRequest request) {
+        final long creationTime = System.currentTimeMillis();
         return new Callable<RemoteTask>() {
             @Override
             public RemoteTask call() throws BuilderException {
-                return getBuilder(request).perform(request);
+                final RemoteBuilder builder = getBuilder(request);
+                final long dispatchTime = System.currentTimeMillis();
+                boolean accepted = false;
+                try {
+                    final RemoteTask remoteTask = builder.perform(request);
+                    accepted = true;
+                    metrics.taskDispatched(dispatchTime - creationTime, System.currentTimeMillis() - dispatchTime);
+                    return remoteTask;
+                } finally {
+                    onRequestSent(request, accepted);
+                }
             }
         };
     }
@@ -461,10 +619,13 @@ public class BuildQueue {
 
     private WorkspaceDescriptor getWorkspaceDescriptor(String workspace, ServiceContext serviceContext) throws BuilderException {
         final UriBuilder baseWorkspaceUriBuilder = serviceContext.getBaseUriBuilder();
-        final String workspaceUrl = baseWorkspaceUriBuilder.path(WorkspaceService.class)
-                                                           .path(WorkspaceService.class, "getById")
-                                                           .build(workspace).toString();
         try {
+            if (workspaceDescriptorCache != null) {
+                return workspaceDescriptorCache.get(baseWorkspaceUriBuilder, workspace);
+            }
+            final String workspaceUrl = baseWorkspaceUriBuilder.path(WorkspaceService.class)
+                                                               .path(WorkspaceService.class, "getById")
+                                                               .build(workspace).toString();
             return HttpJsonHelper.get(WorkspaceDescriptor.class, workspaceUrl);
         } catch (IOException e) {
             throw new BuilderException(e);
@@ -499,15 +660,41 @@ public class BuildQueue {
         return builderList;
     }
 
+    /**
+     * Puts request in queue of requests that wait for free builder. Task is passed to the executor when worker of suitable builder is
+     * reserved for the request, so the task doesn't hold thread while it waits. Task fails if there is no suitable builder.
+     */
+    private void enqueue(BaseBuilderRequest request, final InternalBuildTask future) {
+        final BuilderList builderList = getBuilderList(request.getWorkspace(), request.getProject());
+        if (builderList == null) {
+            // Typically should never happen. At least shared builders should be available for everyone.
+            future.fail(new BuilderException("There is no any builder to process this request. "));
+            return;
+        }
+        future.builderList = builderList;
+        final boolean queued = builderList.enqueue(request, new Runnable() {
+            @Override
+            public void run() {
+                executor.execute(future);
+            }
+        });
+        if (!queued) {
+            future.fail(new BuilderException("There is no any builder available. "));
+        }
+    }
+
+    /**
+     * Gets builder that is reserved for request. Caller must notify about sending request to the builder with {@link
+     * #onRequestSent(BaseBuilderRequest, boolean)}.
+     *
+     * @throws BuilderException
+     *         if there is no builder reserved for request, e.g. if request is canceled
+     */
     // Switched to default for test.
     // private
     RemoteBuilder getBuilder(BaseBuilderRequest request) throws BuilderException {
         final BuilderList builderList = getBuilderList(request.getWorkspace(), request.getProject());
-        if (builderList == null) {
-            // Cannot continue, typically should never happen. At least shared builders should be available for everyone.
-            throw new BuilderException("There is no any builder to process this request. ");
-        }
-        final RemoteBuilder builder = builderList.getBuilder(request);
+        final RemoteBuilder builder = builderList == null ? null : builderList.startSending(request.getId());
         if (builder == null) {
             throw new BuilderException("There is no any builder available. ");
         }
@@ -515,6 +702,19 @@ public class BuildQueue {
         return builder;
     }
 
+    /**
+     * Notifies BuilderList that request was sent to the builder selected with {@link #getBuilder(BaseBuilderRequest)}. If remote builder
+     * didn't accept request the reserved worker becomes free.
+     */
+    // Switched to default for test.
+    // private
+    void onRequestSent(BaseBuilderRequest request, boolean accepted) {
+        final BuilderList builderList = getBuilderList(request.getWorkspace(), request.getProject());
+        if (builderList != null) {
+            builderList.requestSent(request.getId(), accepted);
+        }
+    }
+
     private long getBuildTimeout(WorkspaceDescriptor workspace) throws BuilderException {
         final String timeoutAttr = workspace.getAttributes().get(Constants.BUILDER_EXECUTION_TIME);
         return timeoutAttr != null ? Integer.parseInt(timeoutAttr) : maxExecutionTimeMillis;
@@ -576,7 +776,8 @@ public class BuildQueue {
     @PostConstruct
     public void start() {
         if (started.compareAndSet(false, true)) {
-            executor = new ThreadPoolExecutor(0, Integer.MAX_VALUE, 60L, TimeUnit.SECONDS, new SynchronousQueue<Runnable>(),
+            // Number of threads is limited, requests that can't get thread wait in executor's queue without holding thread.
+            executor = new ThreadPoolExecutor(maxThreads, maxThreads, 60L, TimeUnit.SECONDS, new LinkedBlockingQueue<Runnable>(),
                                               new ThreadFactoryBuilder().setNameFormat("BuildQueue-[%d]").setDaemon(true).build()) {
                 @Override
                 protected void afterExecute(Runnable runnable, Throwable error) {
@@ -594,6 +795,7 @@ public class BuildQueue {
                     }
                 }
             };
+            executor.allowCoreThreadTimeOut(true);
             scheduler = Executors.newSingleThreadScheduledExecutor(new ThreadFactoryBuilder().setNameFormat("BuildQueueScheduler-%d")
                                                                                              .setDaemon(true).build());
             scheduler.scheduleAtFixedRate(new Runnable() {
@@ -630,7 +832,7 @@ public class BuildQueue {
                             }
                             if (remote == null) {
                                 i.remove();
-                                successfulBuilds.remove(DtoFactory.getInstance().clone(request).withId(0L).withTimeout(0L));
+                                successfulBuilds.remove(SuccessfulBuildKey.of(request));
                                 num++;
                             } else if ((remote.getCreationTime() + keepResultTimeMillis) < System.currentTimeMillis()) {
                                 try {
@@ -652,18 +854,34 @@ public class BuildQueue {
                 }
             }, 1, 1, TimeUnit.MINUTES);
 
+            scheduler.scheduleWithFixedDelay(new Runnable() {
+                @Override
+                public void run() {
+                    for (BuilderList builderList : builderListMapping.values()) {
+                        if (Thread.currentThread().isInterrupted()) {
+                            return;
+                        }
+                        builderList.retainRunning(tasks.keySet());
+                        builderList.refresh();
+                    }
+                    logsBroadcaster.retain(tasks.keySet());
+                }
+            }, BUILDERS_STATE_REFRESH_PERIOD, BUILDERS_STATE_REFRESH_PERIOD, TimeUnit.MILLISECONDS);
+
             eventService.subscribe(new EventSubscriber<BuilderEvent>() {
                 @Override
                 public void onEvent(BuilderEvent event) {
                     if (event.getType() == BuilderEvent.EventType.DONE && !event.isReused()) {
                         final long id = event.getTaskId();
+                        // Worker of remote builder is free now, give it to the next waiting request.
+                        for (BuilderList builderList : builderListMapping.values()) {
+                            builderList.release(id);
+                        }
                         try {
                             final BuildQueueTask task = getTask(id);
                             final BaseBuilderRequest request = task.getRequest();
                             if (task.getDescriptor().getStatus() == BuildStatus.SUCCESSFUL) {
-                                // Clone request and replace its id and timeout with 0.
-                                successfulBuilds
-                                        .put(DtoFactory.getInstance().clone(request).withId(0L).withTimeout(0L), task.getRemoteTask());
+                                successfulBuilds.put(SuccessfulBuildKey.of(request), task.getRemoteTask());
                             }
                         } catch (NotFoundException ignored) {
                         } catch (Exception e) {
@@ -673,6 +891,7 @@ public class BuildQueue {
                 }
             });
 
+            logsBroadcaster.start(lineOutput);
             eventService.subscribe(new BuildStatusMessenger());
 
             //Log events for analytics
@@ -751,6 +970,7 @@ public class BuildQueue {
             } catch (InterruptedException e) {
                 interrupted = true;
             }
+            logsBroadcaster.stop();
             executor.shutdown();
             try {
                 if (!executor.awaitTermination(10, TimeUnit.SECONDS)) {
@@ -778,12 +998,15 @@ public class BuildQueue {
         return eventService;
     }
 
-    private static class InternalBuildTask extends FutureTask<RemoteTask> {
+    private class InternalBuildTask extends FutureTask<RemoteTask> {
         final Long    id;
         final String  workspace;
         final String  project;
         final boolean reused;
 
+        /** Set if task waits for builder in this list. */
+        volatile BuilderList builderList;
+
         InternalBuildTask(Callable<RemoteTask> callable, Long id, String workspace, String project, boolean reused) {
             super(callable);
             this.id = id;
@@ -791,6 +1014,18 @@ public class BuildQueue {
             this.project = project;
             this.reused = reused;
         }
+
+        void fail(Exception error) {
+            setException(error);
+        }
+
+        @Override
+        protected void done() {
+            if (isCancelled() && builderList != null) {
+                builderList.cancel(id);
+            }
+            releaseWaitingPlace(workspace);
+        }
     }
 
     private static class BuilderListKey {
@@ -833,22 +1068,82 @@ public class BuildQueue {
         }
     }
 
+    /**
+     * Key of successful build in cache. Hash code of request is calculated over all its fields, including options and targets, so it is
+     * calculated only once. Request must not be modified after it is wrapped with the key.
+     */
+    private static class SuccessfulBuildKey {
+        final BaseBuilderRequest request;
+        final int                hash;
+
+        /** Creates key for request which is already submitted to the queue. Request is copied and its id and timeout are replaced with 0. */
+        static SuccessfulBuildKey of(BaseBuilderRequest request) {
+            return new SuccessfulBuildKey(DtoFactory.getInstance().clone(request).withId(0L).withTimeout(0L));
+        }
+
+        SuccessfulBuildKey(BaseBuilderRequest request) {
+            this.request = request;
+            this.hash = request.hashCode();
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof SuccessfulBuildKey)) {
+                return false;
+            }
+            SuccessfulBuildKey other = (SuccessfulBuildKey)o;
+            return hash == other.hash && request.equals(other.request);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public String toString() {
+            return "SuccessfulBuildKey{" +
+                   "request=" + request +
+                   '}';
+        }
+    }
+
 
-    private static class BuilderList {
-        final Collection<RemoteBuilder> builders;
-        final BuilderSelectionStrategy  builderSelector;
+    /**
+     * Set of builders available for some workspace or project. Keeps number of free workers of each builder locally. This number is
+     * decreased when request is sent to the builder and increased when builder notifies about end of build with {@link BuilderEvent}. In
+     * addition number of free workers is synchronized with remote builders periodically. Requests that can't be processed immediately
+     * wait in queue until worker of suitable builder becomes free, waiting requests don't hold threads.
+     */
+    // Switched to default for test.
+    // private
+    static class BuilderList {
+        final Map<RemoteBuilder, BuilderSlot> slots;
+        final BuilderSelectionStrategy        builderSelector;
+        /** Queues of waiting requests by name of builder. */
+        final Map<String, Queue<Waiter>>      waiting;
+        /** Slots of builders that process requests by id of request. */
+        final Map<Long, BuilderSlot>          running;
+        /** Ids of requests that got builder but are not being sent yet. */
+        final Set<Long>                       reserved;
 
         BuilderList(BuilderSelectionStrategy builderSelector) {
             this.builderSelector = builderSelector;
-            builders = new LinkedHashSet<>();
+            slots = new LinkedHashMap<>();
+            waiting = new HashMap<>();
+            running = new HashMap<>();
+            reserved = new HashSet<>();
         }
 
         synchronized List<RemoteBuilder> getBuilders() {
-            return new ArrayList<>(builders);
+            return new ArrayList<>(slots.keySet());
         }
 
         synchronized boolean hasBuilder(String name) {
-            for (RemoteBuilder builder : builders) {
+            for (RemoteBuilder builder : slots.keySet()) {
                 if (name.equals(builder.getName())) {
                     return true;
                 }
@@ -857,61 +1152,217 @@ public class BuildQueue {
         }
 
         synchronized boolean addBuilders(Collection<? extends RemoteBuilder> list) {
-            return builders.addAll(list);
+            boolean modified = false;
+            for (RemoteBuilder builder : list) {
+                if (!slots.containsKey(builder)) {
+                    // Number of free workers is unknown until first refresh.
+                    slots.put(builder, new BuilderSlot(builder));
+                    modified = true;
+                }
+            }
+            return modified;
         }
 
         synchronized boolean removeBuilders(Collection<? extends RemoteBuilder> list) {
-            return builders.removeAll(list);
+            boolean modified = false;
+            for (RemoteBuilder builder : list) {
+                modified |= slots.remove(builder) != null;
+            }
+            return modified;
         }
 
         synchronized boolean removeBuilder(RemoteBuilder builder) {
-            return builders.remove(builder);
+            return slots.remove(builder) != null;
         }
 
         synchronized int size() {
-            return builders.size();
+            return slots.size();
         }
 
-        synchronized RemoteBuilder getBuilder(BaseBuilderRequest request) {
-            final List<RemoteBuilder> matched = new ArrayList<>();
-            for (RemoteBuilder builder : builders) {
-                if (request.getBuilder().equals(builder.getName())) {
-                    matched.add(builder);
-                }
+        /**
+         * Adds request to the queue of requests that wait for builder. When worker of suitable builder becomes free it is reserved for the
+         * request and {@code start} is called. {@code start} is called while lock of this list is held and must not block. Sender of
+         * request gets reserved builder with {@link #startSending(long)}.
+         *
+         * @return {@code false} if there is no builder with required name
+         */
+        synchronized boolean enqueue(BaseBuilderRequest request, Runnable start) {
+            final String name = request.getBuilder();
+            if (!hasBuilder(name)) {
+                return false;
             }
-            final int size = matched.size();
-            if (size == 0) {
+            Queue<Waiter> queue = waiting.get(name);
+            if (queue == null) {
+                waiting.put(name, queue = new PriorityQueue<>());
+            }
+            queue.add(new Waiter(request, start));
+            dispatch(name);
+            return true;
+        }
+
+        /**
+         * Gets builder that is reserved for request. Caller must notify about sending request to the builder with {@link
+         * #requestSent(long, boolean)}.
+         *
+         * @return builder or {@code null} if there is no builder reserved for request, e.g. if request is canceled
+         */
+        synchronized RemoteBuilder startSending(long id) {
+            if (!reserved.remove(id)) {
                 return null;
             }
-            final List<RemoteBuilder> available = new ArrayList<>(matched.size());
-            for (; ; ) {
-                for (RemoteBuilder builder : matched) {
-                    if (Thread.currentThread().isInterrupted()) {
-                        return null; // stop immediately
-                    }
-                    BuilderState builderState;
-                    try {
-                        builderState = builder.getBuilderState();
-                    } catch (Exception e) {
-                        LOG.error(e.getMessage(), e);
-                        continue;
-                    }
-                    if (builderState.getFreeWorkers() > 0) {
-                        available.add(builder);
+            final BuilderSlot slot = running.get(id);
+            return slot == null ? null : slot.builder;
+        }
+
+        /**
+         * Called when request is canceled. Removes request from the queue or gives back worker that is reserved for request if request
+         * isn't being sent yet.
+         */
+        synchronized void cancel(long id) {
+            for (Iterator<Queue<Waiter>> i = waiting.values().iterator(); i.hasNext(); ) {
+                final Queue<Waiter> queue = i.next();
+                for (Iterator<Waiter> j = queue.iterator(); j.hasNext(); ) {
+                    if (j.next().request.getId() == id) {
+                        j.remove();
+                        if (queue.isEmpty()) {
+                            i.remove();
+                        }
+                        return;
                     }
                 }
+            }
+            if (reserved.remove(id)) {
+                requestSent(id, false);
+            }
+        }
 
-                if (available.isEmpty()) {
-                    try {
-                        wait(CHECK_AVAILABLE_BUILDER_DELAY); // wait and try again
-                    } catch (InterruptedException e) {
-                        Thread.currentThread().interrupt();
-                        return null; // expected to get here if task is canceled
+        /**
+         * Called when request is sent to the builder.
+         *
+         * @param id
+         *         id of request
+         * @param accepted
+         *         {@code true} if remote builder accepted request, {@code false} otherwise
+         */
+        synchronized void requestSent(long id, boolean accepted) {
+            final BuilderSlot slot = accepted ? running.get(id) : running.remove(id);
+            if (slot != null) {
+                slot.sending--;
+                if (!accepted) {
+                    slot.freeWorkers++;
+                    dispatch(slot.builder.getName());
+                }
+            }
+        }
+
+        /** Called when remote builder completes processing of request with specified id. */
+        synchronized void release(long id) {
+            final BuilderSlot slot = running.remove(id);
+            if (slot != null) {
+                slot.freeWorkers++;
+                dispatch(slot.builder.getName());
+            }
+        }
+
+        /** Forgets about requests with id not in specified set, e.g. if we never get notification about end of build. */
+        synchronized void retainRunning(Set<Long> ids) {
+            running.keySet().retainAll(ids);
+            reserved.retainAll(ids);
+        }
+
+        /** Synchronizes number of free workers with all remote builders. */
+        void refresh() {
+            for (RemoteBuilder builder : getBuilders()) {
+                if (Thread.currentThread().isInterrupted()) {
+                    return;
+                }
+                refresh(builder);
+            }
+        }
+
+        /** Synchronizes number of free workers with remote builder. Remote builder is not accessed while lock is held. */
+        void refresh(RemoteBuilder builder) {
+            int freeWorkers;
+            try {
+                freeWorkers = builder.getBuilderState().getFreeWorkers();
+            } catch (Exception e) {
+                LOG.error(e.getMessage(), e);
+                // Don't send anything to the builder until it is not accessible.
+                freeWorkers = 0;
+            }
+            updateFreeWorkers(builder, freeWorkers);
+        }
+
+        private synchronized void updateFreeWorkers(RemoteBuilder builder, int freeWorkers) {
+            final BuilderSlot slot = slots.get(builder);
+            if (slot != null) {
+                // Remote builder doesn't know about requests that are being sent at the moment.
+                slot.freeWorkers = freeWorkers - slot.sending;
+                dispatch(builder.getName());
+            }
+        }
+
+        /** Assigns free builders with specified name to waiting requests in order of their priority. */
+        private void dispatch(String name) {
+            final Queue<Waiter> queue = waiting.get(name);
+            if (queue == null || queue.isEmpty()) {
+                return;
+            }
+            final List<RemoteBuilder> available = new ArrayList<>();
+            final List<Waiter> assigned = new ArrayList<>();
+            while (!queue.isEmpty()) {
+                available.clear();
+                for (BuilderSlot slot : slots.values()) {
+                    if (slot.freeWorkers > 0 && name.equals(slot.builder.getName())) {
+                        available.add(slot.builder);
                     }
-                } else {
-                    return builderSelector.select(available, request);
                 }
+                if (available.isEmpty()) {
+                    break;
+                }
+                final Waiter waiter = queue.poll();
+                final BuilderSlot slot = slots.get(builderSelector.select(available, waiter.request));
+                slot.freeWorkers--;
+                slot.sending++;
+                running.put(waiter.request.getId(), slot);
+                reserved.add(waiter.request.getId());
+                assigned.add(waiter);
             }
+            if (queue.isEmpty()) {
+                waiting.remove(name);
+            }
+            for (Waiter waiter : assigned) {
+                waiter.start.run();
+            }
+        }
+    }
+
+    private static class BuilderSlot {
+        final RemoteBuilder builder;
+        /** Number of free workers of remote builder. */
+        int freeWorkers;
+        /** Number of requests that are assigned to remote builder but not accepted by it yet. */
+        int sending;
+
+        BuilderSlot(RemoteBuilder builder) {
+            this.builder = builder;
+        }
+    }
+
+    /** Request that waits for free builder. Requests created earlier have higher priority. */
+    private static class Waiter implements Comparable<Waiter> {
+        final BaseBuilderRequest request;
+        /** Starts sending of request when builder is reserved for it. */
+        final Runnable           start;
+
+        Waiter(BaseBuilderRequest request, Runnable start) {
+            this.request = request;
+            this.start = start;
+        }
+
+        @Override
+        public int compareTo(Waiter other) {
+            return Long.compare(request.getId(), other.request.getId());
         }
     }
 
@@ -1028,8 +1479,10 @@ public class BuildQueue {
                 final ChannelBroadcastMessage bm = new ChannelBroadcastMessage();
                 final long id = event.getTaskId();
                 switch (event.getType()) {
-                    case BEGIN:
                     case DONE:
+                        // Send the rest of build output before status.
+                        logsBroadcaster.close(id);
+                    case BEGIN:
                         bm.setChannel(String.format("builder:status:%d", id));
                         try {
                             bm.setBody(DtoFactory.getInstance().toJson(getTask(id).getDescriptor()));
@@ -1041,11 +1494,10 @@ public class BuildQueue {
                     case MESSAGE_LOGGED:
                         final BuilderEvent.LoggedMessage message = event.getMessage();
                         if (message != null) {
-                            bm.setChannel(String.format("builder:output:%d", id));
-                            bm.setBody(String.format("{\"num\":%d, \"line\":%s}",
-                                                     message.getLineNum(), JsonUtils.getJsonString(message.getMessage())));
+                            // Sent to batched and per-line output channels by BuildLogsBroadcaster.
+                            logsBroadcaster.add(id, message);
                         }
-                        break;
+                        return;
                 }
                 WSConnectionContext.sendMessage(bm);
             } catch (Exception e) {
@@ -155,7 +155,7 @@ public class RemoteBuilder {
     private RemoteTask perform(Link link, BaseBuilderRequest request) throws BuilderException {
         final BuildTaskDescriptor build;
         try {
-            build = HttpJsonHelper.request(BuildTaskDescriptor.class, link, request);
+            build = HttpJsonHelper.requestCompact(BuildTaskDescriptor.class, link, request);
         } catch (IOException e) {
             throw new BuilderException(e);
         } catch (ServerException | UnauthorizedException | ForbiddenException | NotFoundException | ConflictException e) {
@@ -178,7 +178,7 @@ public class RemoteBuilder {
             throw new BuilderException("Unable get URL for getting state of a remote builder");
         }
         try {
-            return HttpJsonHelper.request(BuilderState.class, 10000, DtoFactory.getInstance().clone(link), Pair.of("builder", name));
+            return HttpJsonHelper.requestCompact(BuilderState.class, 10000, DtoFactory.getInstance().clone(link), Pair.of("builder", name));
         } catch (IOException e) {
             throw new BuilderException(e);
         } catch (ServerException | UnauthorizedException | ForbiddenException | NotFoundException | ConflictException e) {
@@ -110,7 +110,7 @@ public class RemoteBuilderServer extends RemoteServiceDescriptor {
             if (stateLink == null) {
                 throw new BuilderException(String.format("Unable get URL for getting state of a remote server '%s'", baseUrl));
             }
-            return HttpJsonHelper.request(ServerState.class, 10000, stateLink);
+            return HttpJsonHelper.requestCompact(ServerState.class, 10000, stateLink);
         } catch (IOException e) {
             throw new BuilderException(e);
         } catch (ServerException | UnauthorizedException | ForbiddenException | NotFoundException | ConflictException e) {
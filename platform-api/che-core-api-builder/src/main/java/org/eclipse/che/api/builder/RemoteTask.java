@@ -92,7 +92,7 @@ public class RemoteTask {
      */
     public BuildTaskDescriptor getBuildTaskDescriptor() throws BuilderException, NotFoundException {
         try {
-            return HttpJsonHelper.get(BuildTaskDescriptor.class, String.format("%s/status/%s/%d", baseUrl, builder, taskId));
+            return HttpJsonHelper.getCompact(BuildTaskDescriptor.class, String.format("%s/status/%s/%d", baseUrl, builder, taskId));
         } catch (IOException e) {
             throw new BuilderException(e);
         } catch (ServerException | UnauthorizedException | ForbiddenException | ConflictException e) {
@@ -124,7 +124,7 @@ public class RemoteTask {
             }
         }
         try {
-            return HttpJsonHelper.request(BuildTaskDescriptor.class, DtoFactory.getInstance().clone(link));
+            return HttpJsonHelper.requestCompact(BuildTaskDescriptor.class, DtoFactory.getInstance().clone(link));
         } catch (IOException e) {
             throw new BuilderException(e);
         } catch (ServerException | UnauthorizedException | ForbiddenException | ConflictException e) {
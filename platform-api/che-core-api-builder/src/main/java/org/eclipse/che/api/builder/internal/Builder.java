@@ -466,6 +466,12 @@ public abstract class Builder {
                     } catch (InterruptedException e) {
                         Thread.interrupted(); // we interrupt thread when cancel task
                         ProcessUtil.kill(process);
+                        // kill() doesn't wait for termination of process, don't let it work in build directory after we are done.
+                        try {
+                            process.waitFor();
+                        } catch (InterruptedException ignored) {
+                            Thread.interrupted();
+                        }
                     }
                     try {
                         output.await(); // wait for logger
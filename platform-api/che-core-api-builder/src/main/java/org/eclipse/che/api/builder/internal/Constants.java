@@ -64,6 +64,17 @@ public class Constants {
      * this time build may be terminated.
      */
     public static final String MAX_EXECUTION_TIME         = "builder.max_execution_time";
+    /** Max number of threads of master builder that process requests from its queue. */
+    public static final String QUEUE_MAX_THREADS          = "builder.queue.max_threads";
+    /** Max number of requests that may wait for builder. New requests are rejected if this limit is reached. */
+    public static final String QUEUE_MAX_WAITING          = "builder.queue.max_waiting";
+    /**
+     * Max number of requests from one workspace that may wait for builder, 10 by default. New requests from workspace are rejected if
+     * this limit is reached.
+     */
+    public static final String QUEUE_MAX_WAITING_PER_WS   = "builder.queue.max_waiting_per_workspace";
+    /** Send each line of build output in separate websocket message in addition to batches of lines, {@code true} by default. */
+    public static final String WEBSOCKET_LINE_OUTPUT      = "builder.websocket.line_output";
 
     /** Build results archive type: .zip */
     public static final String RESULT_ARCHIVE_ZIP         = "zip";
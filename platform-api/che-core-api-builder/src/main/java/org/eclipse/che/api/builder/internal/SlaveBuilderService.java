@@ -20,6 +20,7 @@ import org.eclipse.che.api.builder.dto.DependencyRequest;
 import org.eclipse.che.api.builder.dto.ServerState;
 import org.eclipse.che.api.core.ConflictException;
 import org.eclipse.che.api.core.NotFoundException;
+import org.eclipse.che.api.core.rest.CodenvyJsonProvider;
 import org.eclipse.che.api.core.rest.Service;
 import org.eclipse.che.api.core.rest.annotations.Description;
 import org.eclipse.che.api.core.rest.annotations.GenerateLink;
@@ -94,7 +95,7 @@ public final class SlaveBuilderService extends Service {
     @GenerateLink(rel = Constants.LINK_REL_BUILDER_STATE)
     @GET
     @Path("state")
-    @Produces(MediaType.APPLICATION_JSON)
+    @Produces({MediaType.APPLICATION_JSON, CodenvyJsonProvider.APPLICATION_COMPACT_JSON})
     public BuilderState getBuilderState(@Required
                                         @Description("Name of the builder")
                                         @QueryParam("builder") String builder) throws Exception {
@@ -109,7 +110,7 @@ public final class SlaveBuilderService extends Service {
     @GenerateLink(rel = Constants.LINK_REL_SERVER_STATE)
     @GET
     @Path("server-state")
-    @Produces(MediaType.APPLICATION_JSON)
+    @Produces({MediaType.APPLICATION_JSON, CodenvyJsonProvider.APPLICATION_COMPACT_JSON})
     public ServerState getServerState() {
         return DtoFactory.getInstance().createDto(ServerState.class)
                          .withCpuPercentUsage(SystemInfo.cpu())
@@ -122,7 +123,7 @@ public final class SlaveBuilderService extends Service {
     @Path("build")
     @RolesAllowed({"user", "temp_user"})
     @Consumes(MediaType.APPLICATION_JSON)
-    @Produces(MediaType.APPLICATION_JSON)
+    @Produces({MediaType.APPLICATION_JSON, CodenvyJsonProvider.APPLICATION_COMPACT_JSON})
     public BuildTaskDescriptor build(@Description("Parameters for build task in JSON format") BuildRequest request) throws Exception {
         final Builder myBuilder = getBuilder(request.getBuilder());
         final BuildTask task = myBuilder.perform(request);
@@ -134,7 +135,7 @@ public final class SlaveBuilderService extends Service {
     @Path("dependencies")
     @RolesAllowed({"user", "temp_user"})
     @Consumes(MediaType.APPLICATION_JSON)
-    @Produces(MediaType.APPLICATION_JSON)
+    @Produces({MediaType.APPLICATION_JSON, CodenvyJsonProvider.APPLICATION_COMPACT_JSON})
     public BuildTaskDescriptor dependencies(@Description("Parameters for analyze dependencies in JSON format") DependencyRequest request)
             throws Exception {
         final Builder myBuilder = getBuilder(request.getBuilder());
@@ -144,7 +145,7 @@ public final class SlaveBuilderService extends Service {
 
     @GET
     @Path("status/{builder}/{id}")
-    @Produces(MediaType.APPLICATION_JSON)
+    @Produces({MediaType.APPLICATION_JSON, CodenvyJsonProvider.APPLICATION_COMPACT_JSON})
     public BuildTaskDescriptor getStatus(@PathParam("builder") String builder, @PathParam("id") Long id) throws Exception {
         final Builder myBuilder = getBuilder(builder);
         final BuildTask task = myBuilder.getBuildTask(id);
@@ -160,7 +161,7 @@ public final class SlaveBuilderService extends Service {
 
     @POST
     @Path("cancel/{builder}/{id}")
-    @Produces(MediaType.APPLICATION_JSON)
+    @Produces({MediaType.APPLICATION_JSON, CodenvyJsonProvider.APPLICATION_COMPACT_JSON})
     public BuildTaskDescriptor cancel(@PathParam("builder") String builder, @PathParam("id") Long id) throws Exception {
         final Builder myBuilder = getBuilder(builder);
         final BuildTask task = myBuilder.getBuildTask(id);
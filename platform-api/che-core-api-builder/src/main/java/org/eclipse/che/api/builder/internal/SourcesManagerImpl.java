@@ -21,6 +21,7 @@ import org.eclipse.che.commons.lang.ZipUtils;
 
 import com.google.common.hash.Hashing;
 import com.google.common.io.CharStreams;
+import com.google.common.util.concurrent.Striped;
 import com.google.common.util.concurrent.ThreadFactoryBuilder;
 
 import org.apache.commons.fileupload.MultipartStream;
@@ -30,6 +31,7 @@ import org.slf4j.LoggerFactory;
 
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
+import java.io.FileInputStream;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
@@ -39,6 +41,12 @@ import java.io.StringReader;
 import java.io.Writer;
 import java.net.HttpURLConnection;
 import java.net.URL;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
 import java.text.ParseException;
 import java.util.HashMap;
 import java.util.LinkedList;
@@ -54,7 +62,8 @@ import java.util.concurrent.Future;
 import java.util.concurrent.FutureTask;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
-import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
 
 import javax.ws.rs.HttpMethod;
 import javax.ws.rs.core.HttpHeaders;
@@ -72,7 +81,11 @@ public class SourcesManagerImpl implements SourcesManager {
 
     private final java.io.File                        directory;
     private final ConcurrentMap<String, Future<Void>> tasks;
-    private final AtomicReference<String>             projectKeyHolder;
+    /**
+     * Locks that protect cached sources of project. Builds read sources under read lock, so builds of different projects and builds of
+     * the same project never block each other. Cleaner removes sources under write lock and skips projects that are in use.
+     */
+    private final Striped<ReadWriteLock>              projectLocks;
     private final Set<SourceManagerListener>          listeners;
     private final ScheduledExecutorService            executor;
 
@@ -83,7 +96,7 @@ public class SourcesManagerImpl implements SourcesManager {
     public SourcesManagerImpl(java.io.File directory) {
         this.directory = directory;
         tasks = new ConcurrentHashMap<>();
-        projectKeyHolder = new AtomicReference<>();
+        projectLocks = Striped.lazyWeakReadWriteLock(1000);
         executor = Executors.newSingleThreadScheduledExecutor(
                 new ThreadFactoryBuilder().setNameFormat(getClass().getSimpleName() + "-FileCleaner-%d").setDaemon(true).build());
         listeners = new CopyOnWriteArraySet<>();
@@ -111,25 +124,28 @@ public class SourcesManagerImpl implements SourcesManager {
         final java.io.File srcDir = new java.io.File(directory, workspace + java.io.File.separatorChar + project);
         // Temporary directory where we copy sources before build.
         final String key = workspace + project;
+        final Lock lock = projectLocks.get(key).readLock();
+        lock.lock();
         try {
-            synchronized (this) {
-                while (key.equals(projectKeyHolder.get())) {
-                    wait();
-                }
-            }
-        } catch (InterruptedException e) {
-            LOG.error(e.getMessage(), e);
-            Thread.currentThread().interrupt();
+            getSources(logger, key, workspace, project, sourcesUrl, srcDir, workDir);
+        } finally {
+            lock.unlock();
         }
+    }
+
+    private void getSources(BuildLogger logger, String key, String workspace, String project, final String sourcesUrl,
+                            final java.io.File srcDir, java.io.File workDir) throws IOException {
         // Avoid multiple threads download source of the same project.
         Future<Void> future = tasks.get(key);
         final ValueHolder<IOException> errorHolder = new ValueHolder<>();
+        final FetchTimes times = new FetchTimes();
+        boolean downloader = false;
         if (future == null) {
             final FutureTask<Void> newFuture = new FutureTask<>(new Runnable() {
                 @Override
                 public void run() {
                     try {
-                        download(sourcesUrl, srcDir);
+                        download(sourcesUrl, srcDir, times);
                     } catch (IOException e) {
                         LOG.error(e.getMessage(), e);
                         errorHolder.set(e);
@@ -139,17 +155,11 @@ public class SourcesManagerImpl implements SourcesManager {
             future = tasks.putIfAbsent(key, newFuture);
             if (future == null) {
                 future = newFuture;
-                try {
-                    // Need a bit time before to publish sources download start message via websocket
-                    // as client may not have already subscribed to the channel so early in build task execution
-                    Thread.sleep(300);
-                } catch (InterruptedException e) {
-                    LOG.error(e.getMessage(), e);
-                }
+                downloader = true;
+                // Don't wait for client to subscribe to the build output, first lines of build are held on the master side, see
+                // BuildLogsBroadcaster.
                 logger.writeLine("[INFO] Injecting source code into builder...");
                 newFuture.run();
-                logger.writeLine("[INFO] Source code injection finished"
-                                 + "\n[INFO] ------------------------------------------------------------------------");
             }
         }
         try {
@@ -158,7 +168,15 @@ public class SourcesManagerImpl implements SourcesManager {
             if (ioError != null) {
                 throw ioError;
             }
-            IoUtil.copy(srcDir, workDir, IoUtil.ANY_FILTER);
+            final long start = System.currentTimeMillis();
+            copyTree(srcDir, workDir);
+            times.copy = System.currentTimeMillis() - start;
+            if (downloader) {
+                logger.writeLine(String.format("[INFO] Source code injection finished"
+                                               + " (hash: %d ms, transfer: %d ms, unzip: %d ms, copy: %d ms)"
+                                               + "\n[INFO] ------------------------------------------------------------------------",
+                                               times.hash, times.transfer, times.unzip, times.copy));
+            }
             for (SourceManagerListener listener : listeners) {
                 listener.afterDownload(new SourceManagerEvent(workspace, project, sourcesUrl, workDir));
             }
@@ -176,7 +194,7 @@ public class SourcesManagerImpl implements SourcesManager {
                 throw (RuntimeException)cause;
             }
         } finally {
-            tasks.remove(key);
+            tasks.remove(key, future);
         }
     }
 
@@ -191,13 +209,17 @@ public class SourcesManagerImpl implements SourcesManager {
         }
     };
 
-    private void download(String downloadUrl, java.io.File downloadTo) throws IOException {
+    private void download(String downloadUrl, java.io.File downloadTo, FetchTimes times) throws IOException {
         HttpURLConnection conn = null;
         try {
             final LinkedList<java.io.File> q = new LinkedList<>();
             q.add(downloadTo);
             final long start = System.currentTimeMillis();
             final List<Pair<String, String>> md5sums = new LinkedList<>();
+            final java.io.File manifestFile = SourcesManifest.getManifestFile(downloadTo);
+            final SourcesManifest oldManifest = SourcesManifest.load(manifestFile);
+            final SourcesManifest manifest = new SourcesManifest(manifestFile);
+            int hashed = 0;
             while (!q.isEmpty()) {
                 java.io.File current = q.pop();
                 java.io.File[] list = current.listFiles();
@@ -206,16 +228,27 @@ public class SourcesManagerImpl implements SourcesManager {
                         if (f.isDirectory()) {
                             q.push(f);
                         } else {
-                            md5sums.add(Pair.of(com.google.common.io.Files.hash(f, Hashing.md5()).toString(),
-                                                downloadTo.toPath().relativize(f.toPath()).toString()
-                                                          .replace("\\", "/"))); //Replacing of "\" is need for windows support
+                            //Replacing of "\" is need for windows support
+                            final String path = downloadTo.toPath().relativize(f.toPath()).toString().replace("\\", "/");
+                            final long length = f.length();
+                            final long lastModified = f.lastModified();
+                            String md5 = oldManifest.get(path, length, lastModified);
+                            if (md5 == null) {
+                                md5 = com.google.common.io.Files.hash(f, Hashing.md5()).toString();
+                                hashed++;
+                            }
+                            manifest.put(path, length, lastModified, md5);
+                            md5sums.add(Pair.of(md5, path));
                         }
                     }
                 }
             }
+            // Files updated below get new modification date, so their md5 sums are calculated again next time.
+            manifest.save();
             final long end = System.currentTimeMillis();
+            times.hash = end - start;
             if (md5sums.size() > 0) {
-                LOG.debug("count md5sums of {} files, time: {}ms", md5sums.size(), (end - start));
+                LOG.debug("count md5sums of {} files ({} changed), time: {}ms", md5sums.size(), hashed, (end - start));
             }
             conn = (HttpURLConnection)new URL(downloadUrl).openConnection();
             conn.setConnectTimeout(CONNECT_TIMEOUT);
@@ -265,7 +298,9 @@ public class SourcesManagerImpl implements SourcesManager {
                                         try (FileOutputStream fOut = new FileOutputStream(tmp)) {
                                             multipart.readBodyData(fOut);
                                         }
-                                        ZipUtils.unzip(tmp, downloadTo);
+                                        try (InputStream zipIn = new FileInputStream(tmp)) {
+                                            unzipReplacing(zipIn, downloadTo, times);
+                                        }
                                     } finally {
                                         if (tmp.exists()) {
                                             tmp.delete();
@@ -274,7 +309,7 @@ public class SourcesManagerImpl implements SourcesManager {
                                 } else {
                                     final ByteArrayOutputStream bOut = new ByteArrayOutputStream(length);
                                     multipart.readBodyData(bOut);
-                                    ZipUtils.unzip(new ByteArrayInputStream(bOut.toByteArray()), downloadTo);
+                                    unzipReplacing(new ByteArrayInputStream(bOut.toByteArray()), downloadTo, times);
                                 }
                             } else if ("removed-paths".equals(name)) {
                                 final ByteArrayOutputStream bOut = new ByteArrayOutputStream();
@@ -296,12 +331,14 @@ public class SourcesManagerImpl implements SourcesManager {
                     }
                 } else {
                     try (InputStream in = conn.getInputStream()) {
-                        ZipUtils.unzip(in, downloadTo);
+                        unzipReplacing(in, downloadTo, times);
                     }
                 }
             } else if (responseCode != HttpURLConnection.HTTP_NO_CONTENT) {
                 throw new IOException(String.format("Invalid response status %d from remote server. ", responseCode));
             }
+            // Time of unzipping is measured separately even if archive is unzipped while it is read from connection.
+            times.transfer = System.currentTimeMillis() - end - times.unzip;
         } catch (ParseException | JsonParseException e) {
             throw new IOException(e.getMessage(), e);
         } finally {
@@ -311,6 +348,67 @@ public class SourcesManagerImpl implements SourcesManager {
         }
     }
 
+    /**
+     * Unzips updated sources. Files are unzipped in temporary directory first and then moved to the directory with sources, so cached
+     * sources never contain partially unzipped file.
+     */
+    private void unzipReplacing(InputStream zip, java.io.File downloadTo, FetchTimes times) throws IOException {
+        final long start = System.currentTimeMillis();
+        final java.io.File tmpDir = Files.createTempDirectory(directory.toPath(), "updates").toFile();
+        try {
+            ZipUtils.unzip(zip, tmpDir);
+            final Path source = tmpDir.toPath();
+            final Path target = downloadTo.toPath();
+            Files.walkFileTree(source, new SimpleFileVisitor<Path>() {
+                @Override
+                public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) throws IOException {
+                    Files.createDirectories(target.resolve(source.relativize(dir)));
+                    return FileVisitResult.CONTINUE;
+                }
+
+                @Override
+                public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
+                    Files.move(file, target.resolve(source.relativize(file)), StandardCopyOption.REPLACE_EXISTING);
+                    return FileVisitResult.CONTINUE;
+                }
+            });
+        } finally {
+            IoUtil.deleteRecursive(tmpDir);
+            times.unzip += System.currentTimeMillis() - start;
+        }
+    }
+
+    /**
+     * Populates work directory with copies of cached sources. Files are copied rather than hard linked, otherwise build that modifies
+     * sources in place, e.g. with filtering or {@code chmod}, would corrupt cache shared with other builds.
+     */
+    static void copyTree(java.io.File srcDir, java.io.File workDir) throws IOException {
+        final Path source = srcDir.toPath();
+        final Path target = workDir.toPath();
+        Files.walkFileTree(source, new SimpleFileVisitor<Path>() {
+            @Override
+            public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) throws IOException {
+                Files.createDirectories(target.resolve(source.relativize(dir)));
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
+                Files.copy(file, target.resolve(source.relativize(file)), StandardCopyOption.COPY_ATTRIBUTES,
+                           StandardCopyOption.REPLACE_EXISTING);
+                return FileVisitResult.CONTINUE;
+            }
+        });
+    }
+
+    /** Time in milliseconds spent on each phase of getting sources. */
+    private static class FetchTimes {
+        long hash;
+        long transfer;
+        long unzip;
+        long copy;
+    }
+
     private Map<String, List<String>> parseChunkHeader(List<String> rawHeaders) throws IOException {
         final Map<String, List<String>> headers = new HashMap<>();
         for (String field : rawHeaders) {
@@ -363,25 +461,35 @@ public class SourcesManagerImpl implements SourcesManager {
             public void run() {
                 //get list of workspaces
                 java.io.File[] workspaces = directory.listFiles();
+                if (workspaces == null) {
+                    return;
+                }
                 for (java.io.File workspace : workspaces) {
                     //get list of workspace projects
                     java.io.File[] projects = workspace.listFiles();
+                    if (projects == null) {
+                        continue;
+                    }
                     for (java.io.File project : projects) {
-                        String key = workspace.getName() + project.getName();
-                        //if project is not downloading
-                        if (tasks.get(key) == null) {
-                            projectKeyHolder.set(key);
+                        if (!project.isDirectory()) {
+                            // manifest of sources, removed together with project
+                            continue;
+                        }
+                        final Lock lock = projectLocks.get(workspace.getName() + project.getName()).writeLock();
+                        //if project is not used by any build
+                        if (lock.tryLock()) {
                             try {
                                 final long lastModifiedMillis = project.lastModified();
                                 if ((System.currentTimeMillis() - lastModifiedMillis) >= KEEP_PROJECT_TIME) {
                                     IoUtil.deleteRecursive(project);
+                                    final java.io.File manifestFile = SourcesManifest.getManifestFile(project);
+                                    if (manifestFile.exists() && !manifestFile.delete()) {
+                                        LOG.warn("Unable delete file {}", manifestFile);
+                                    }
                                     LOG.debug("Remove project {} that is unused since {}", project, lastModifiedMillis);
                                 }
                             } finally {
-                                projectKeyHolder.set(null);
-                                synchronized (SourcesManagerImpl.this) {
-                                    SourcesManagerImpl.this.notify();
-                                }
+                                lock.unlock();
                             }
                         }
                     }
@@ -0,0 +1,160 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.builder.internal;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Manifest of cached sources of project. Keeps md5 sum, size and modification date of each file, so md5 sum of file is calculated again
+ * only if size or modification date of file is changed. Manifest is stored in the file near directory with cached sources.
+ * <p/>
+ * Implementation is not threadsafe.
+ */
+class SourcesManifest {
+    private static final Logger LOG = LoggerFactory.getLogger(SourcesManifest.class);
+
+    private static final int FORMAT_VERSION = 1;
+    /**
+     * Do not remember md5 sums of files modified less than this time (in milliseconds) before calculation of md5 sum. Such files may be
+     * modified once more without change of size and modification date that depends on resolution of file system timestamps.
+     */
+    private static final long RACY_INTERVAL = 2000;
+
+    /** Gets file of manifest for directory with cached sources. */
+    static java.io.File getManifestFile(java.io.File sourcesDir) {
+        return new java.io.File(sourcesDir.getParentFile(), '.' + sourcesDir.getName() + ".manifest");
+    }
+
+    /** Reads manifest from specified file. Returns empty manifest if file doesn't exist or can't be read. */
+    static SourcesManifest load(java.io.File manifestFile) {
+        final SourcesManifest manifest = new SourcesManifest(manifestFile);
+        if (manifestFile.exists()) {
+            try (DataInputStream dis = new DataInputStream(new BufferedInputStream(new FileInputStream(manifestFile)))) {
+                if (dis.readInt() == FORMAT_VERSION) {
+                    for (int i = 0, size = dis.readInt(); i < size; i++) {
+                        final String path = dis.readUTF();
+                        final long length = dis.readLong();
+                        final long lastModified = dis.readLong();
+                        final String md5 = dis.readUTF();
+                        manifest.entries.put(path, new Entry(length, lastModified, md5));
+                    }
+                }
+            } catch (IOException e) {
+                manifest.entries.clear();
+                LOG.warn(String.format("Unable read manifest %s. ", manifestFile) + e.getMessage());
+            }
+        }
+        return manifest;
+    }
+
+    private final java.io.File       manifestFile;
+    private final Map<String, Entry> entries;
+
+    SourcesManifest(java.io.File manifestFile) {
+        this.manifestFile = manifestFile;
+        entries = new HashMap<>();
+    }
+
+    /**
+     * Gets md5 sum of file if it is known.
+     *
+     * @param path
+     *         relative path of file
+     * @param length
+     *         current length of file
+     * @param lastModified
+     *         current modification date of file
+     * @return md5 sum or {@code null} if file is unknown or was changed after md5 sum calculation
+     */
+    String get(String path, long length, long lastModified) {
+        final Entry entry = entries.get(path);
+        if (entry != null && entry.length == length && entry.lastModified == lastModified) {
+            return entry.md5;
+        }
+        return null;
+    }
+
+    /**
+     * Remembers md5 sum of file.
+     *
+     * @param path
+     *         relative path of file
+     * @param length
+     *         length of file when md5 sum calculated
+     * @param lastModified
+     *         modification date of file when md5 sum calculated
+     * @param md5
+     *         md5 sum
+     */
+    void put(String path, long length, long lastModified, String md5) {
+        if (System.currentTimeMillis() - lastModified < RACY_INTERVAL) {
+            entries.remove(path);
+        } else {
+            entries.put(path, new Entry(length, lastModified, md5));
+        }
+    }
+
+    /** Saves manifest. Manifest is written in temporary file first, so readers never see partially written manifest. */
+    void save() {
+        final java.io.File parent = manifestFile.getParentFile();
+        if (!(parent.exists() || parent.mkdirs())) {
+            LOG.error("Unable create directory {}", parent);
+            return;
+        }
+        try {
+            final java.io.File tmpFile = java.io.File.createTempFile(manifestFile.getName(), ".tmp", parent);
+            try {
+                try (DataOutputStream dos = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(tmpFile)))) {
+                    dos.writeInt(FORMAT_VERSION);
+                    dos.writeInt(entries.size());
+                    for (Map.Entry<String, Entry> e : entries.entrySet()) {
+                        dos.writeUTF(e.getKey());
+                        dos.writeLong(e.getValue().length);
+                        dos.writeLong(e.getValue().lastModified);
+                        dos.writeUTF(e.getValue().md5);
+                    }
+                }
+                Files.move(tmpFile.toPath(), manifestFile.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                if (tmpFile.exists() && !tmpFile.delete()) {
+                    LOG.warn("Unable delete file {}", tmpFile);
+                }
+            }
+        } catch (IOException e) {
+            LOG.error(String.format("Unable save manifest %s. ", manifestFile) + e.getMessage(), e);
+        }
+    }
+
+    private static class Entry {
+        final long   length;
+        final long   lastModified;
+        final String md5;
+
+        Entry(long length, long lastModified, String md5) {
+            this.length = length;
+            this.lastModified = lastModified;
+            this.md5 = md5;
+        }
+    }
+}
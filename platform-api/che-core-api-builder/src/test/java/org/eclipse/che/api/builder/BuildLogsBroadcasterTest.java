@@ -0,0 +1,209 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.builder;
+
+import org.eclipse.che.api.builder.internal.BuilderEvent;
+import org.everrest.websockets.message.ChannelBroadcastMessage;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+public class BuildLogsBroadcasterTest {
+    private static final Pattern LINE_NUM = Pattern.compile("\"num\":(\\d+)");
+
+    private List<ChannelBroadcastMessage> sent;
+    private CountDownLatch                sending;
+    private CountDownLatch                release;
+    private BuildLogsBroadcaster          broadcaster;
+
+    @BeforeMethod
+    public void setUp() {
+        sent = new CopyOnWriteArrayList<>();
+        broadcaster = new BuildLogsBroadcaster(0) {
+            @Override
+            void send(ChannelBroadcastMessage message) throws Exception {
+                if (release != null) {
+                    sending.countDown();
+                    release.await();
+                }
+                sent.add(message);
+            }
+        };
+        broadcaster.start(false);
+    }
+
+    @AfterMethod
+    public void tearDown() {
+        if (release != null) {
+            release.countDown();
+        }
+        broadcaster.stop();
+    }
+
+    @Test
+    public void shouldSendLinesInBatchWhenBuildIsDone() {
+        broadcaster.add(1, new BuilderEvent.LoggedMessage("first \"line\"", 1));
+        broadcaster.add(1, new BuilderEvent.LoggedMessage("second line", 2));
+        broadcaster.close(1);
+
+        // Flusher may send first line before build is done.
+        assertEquals(lineNums(1), lines(1, 2));
+        assertTrue(sent.get(0).getBody().startsWith("[{\"num\":1, \"line\":\"first \\\"line\\\"\"}"));
+    }
+
+    @Test
+    public void shouldSendLinesPeriodically() throws Exception {
+        broadcaster.add(1, new BuilderEvent.LoggedMessage("line", 1));
+
+        long end = System.currentTimeMillis() + 5000;
+        while (sent.isEmpty() && System.currentTimeMillis() < end) {
+            Thread.sleep(10);
+        }
+        assertEquals(lineNums(1), lines(1, 1));
+    }
+
+    @Test
+    public void shouldSplitBufferedLinesInBatches() {
+        // Flusher is busy, so lines are buffered.
+        blockSending();
+        int total = 2 * BuildLogsBroadcaster.MAX_BATCH_SIZE + 1;
+        for (int i = 1; i <= total; i++) {
+            broadcaster.add(2, new BuilderEvent.LoggedMessage("line", i));
+        }
+        release.countDown();
+        release = null;
+        broadcaster.close(2);
+
+        assertEquals(lineNums(2), lines(1, total));
+        for (ChannelBroadcastMessage message : sent) {
+            assertTrue(lineNums(message).size() <= BuildLogsBroadcaster.MAX_BATCH_SIZE);
+        }
+    }
+
+    @Test
+    public void shouldNotBlockThreadThatAddsLinesAndDropOldestLinesIfSendingIsSlow() {
+        blockSending();
+        int total = BuildLogsBroadcaster.MAX_BUFFERED_LINES + BuildLogsBroadcaster.MAX_BATCH_SIZE;
+        for (int i = 1; i <= total; i++) {
+            broadcaster.add(2, new BuilderEvent.LoggedMessage("line", i));
+        }
+        assertEquals(sent.size(), 0);
+        release.countDown();
+        release = null;
+        broadcaster.close(2);
+
+        assertEquals(lineNums(2), lines(total - BuildLogsBroadcaster.MAX_BUFFERED_LINES + 1, total));
+        // Client is told how many lines are dropped.
+        for (ChannelBroadcastMessage message : sent) {
+            if (message.getChannel().equals("builder:outputs:2")) {
+                assertTrue(message.getBody().startsWith("[{\"dropped\":" + BuildLogsBroadcaster.MAX_BATCH_SIZE + ", \"line\":\"[WARNING]"),
+                           message.getBody());
+                break;
+            }
+        }
+    }
+
+    @Test
+    public void shouldHoldLinesOfNewBuildUntilClientsSubscribe() throws Exception {
+        broadcaster.stop();
+        broadcaster = new BuildLogsBroadcaster(500) {
+            @Override
+            void send(ChannelBroadcastMessage message) throws Exception {
+                sent.add(message);
+            }
+        };
+        broadcaster.start(false);
+        final long start = System.currentTimeMillis();
+        broadcaster.add(3, new BuilderEvent.LoggedMessage("[INFO] Injecting source code into builder...", 1));
+
+        long end = start + 5000;
+        while (sent.isEmpty() && System.currentTimeMillis() < end) {
+            Thread.sleep(10);
+        }
+        assertTrue(System.currentTimeMillis() - start >= 500);
+        assertEquals(lineNums(3), lines(1, 1));
+    }
+
+    @Test
+    public void shouldSendEachLineSeparatelyIfLineOutputIsEnabled() {
+        broadcaster.stop();
+        broadcaster = new BuildLogsBroadcaster(0) {
+            @Override
+            void send(ChannelBroadcastMessage message) throws Exception {
+                sent.add(message);
+            }
+        };
+        broadcaster.start(true);
+        broadcaster.add(4, new BuilderEvent.LoggedMessage("first line", 1));
+        broadcaster.add(4, new BuilderEvent.LoggedMessage("second line", 2));
+        broadcaster.close(4);
+
+        List<String> bodies = new ArrayList<>();
+        for (ChannelBroadcastMessage message : sent) {
+            if (message.getChannel().equals("builder:output:4")) {
+                bodies.add(message.getBody());
+            }
+        }
+        assertEquals(bodies, Arrays.asList("{\"num\":1, \"line\":\"first line\"}", "{\"num\":2, \"line\":\"second line\"}"));
+        assertEquals(lineNums(4), lines(1, 2));
+    }
+
+    /** Makes flusher hang in sending of line of build 1. */
+    private void blockSending() {
+        sending = new CountDownLatch(1);
+        release = new CountDownLatch(1);
+        broadcaster.add(1, new BuilderEvent.LoggedMessage("line", 1));
+        try {
+            assertTrue(sending.await(5, TimeUnit.SECONDS));
+        } catch (InterruptedException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private List<Integer> lineNums(long taskId) {
+        List<Integer> nums = new ArrayList<>();
+        for (ChannelBroadcastMessage message : sent) {
+            if (message.getChannel().equals("builder:outputs:" + taskId)) {
+                nums.addAll(lineNums(message));
+            }
+        }
+        return nums;
+    }
+
+    private List<Integer> lineNums(ChannelBroadcastMessage message) {
+        List<Integer> nums = new ArrayList<>();
+        Matcher matcher = LINE_NUM.matcher(message.getBody());
+        while (matcher.find()) {
+            nums.add(Integer.parseInt(matcher.group(1)));
+        }
+        return nums;
+    }
+
+    private List<Integer> lines(int from, int to) {
+        List<Integer> lines = new ArrayList<>();
+        for (int i = from; i <= to; i++) {
+            lines.add(i);
+        }
+        return lines;
+    }
+}
@@ -10,8 +10,274 @@
  *******************************************************************************/
 package org.eclipse.che.api.builder;
 
-/**
- * @author andrew00x
- */
+import org.eclipse.che.api.builder.dto.BaseBuilderRequest;
+import org.eclipse.che.api.builder.dto.BuildRequest;
+import org.eclipse.che.api.builder.dto.BuilderDescriptor;
+import org.eclipse.che.api.builder.dto.BuilderState;
+import org.eclipse.che.api.builder.internal.BuilderEvent;
+import org.eclipse.che.api.core.notification.EventService;
+import org.eclipse.che.api.core.rest.shared.dto.Link;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.eclipse.che.dto.server.DtoFactory.newDto;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+
 public class BuildQueueTest {
+    private static final String WORKSPACE = "workspace1";
+    private static final String PROJECT   = "/project1";
+    private static final String BUILDER   = "java";
+
+    private EventService eventService;
+    private BuildQueue   buildQueue;
+    private List<Long>   started;
+
+    @BeforeMethod
+    public void setUp() {
+        eventService = new EventService();
+        buildQueue = new BuildQueue(60, 60, 60, new LastInUseBuilderSelectionStrategy(), eventService);
+        buildQueue.start();
+        started = new CopyOnWriteArrayList<>();
+    }
+
+    @AfterMethod
+    public void tearDown() {
+        buildQueue.stop();
+    }
+
+    @Test
+    public void shouldDispatchWaitingRequestsInOrderOfPriority() throws Exception {
+        final TestRemoteBuilder builder = new TestRemoteBuilder("http://localhost:8080/builder1", 0);
+        final BuildQueue.BuilderList builderList = register(builder);
+
+        enqueue(builderList, 3);
+        enqueue(builderList, 1);
+        enqueue(builderList, 2);
+        assertTrue(started.isEmpty());
+
+        builder.freeWorkers = 1;
+        builderList.refresh();
+        assertEquals(started, Arrays.asList(1L));
+
+        sendAndComplete(builderList, builder, 1);
+        assertEquals(started, Arrays.asList(1L, 2L));
+
+        sendAndComplete(builderList, builder, 2);
+        assertEquals(started, Arrays.asList(1L, 2L, 3L));
+    }
+
+    @Test
+    public void shouldHandWorkerToWaitingRequestWhenBuildIsDone() throws Exception {
+        final TestRemoteBuilder builder = new TestRemoteBuilder("http://localhost:8080/builder1", 1);
+        final BuildQueue.BuilderList builderList = register(builder);
+
+        enqueue(builderList, 1);
+        enqueue(builderList, 2);
+        assertEquals(started, Arrays.asList(1L));
+
+        assertSame(builderList.startSending(1), builder);
+        builderList.requestSent(1, true);
+        // Worker is still busy until remote builder reports end of build.
+        assertEquals(started, Arrays.asList(1L));
+
+        eventService.publish(BuilderEvent.doneEvent(1, WORKSPACE, PROJECT));
+        assertEquals(started, Arrays.asList(1L, 2L));
+    }
+
+    @Test
+    public void shouldHandWorkerToWaitingRequestWhenBuilderRejectsRequest() throws Exception {
+        final TestRemoteBuilder builder = new TestRemoteBuilder("http://localhost:8080/builder1", 1);
+        final BuildQueue.BuilderList builderList = register(builder);
+
+        enqueue(builderList, 1);
+        enqueue(builderList, 2);
+        assertSame(builderList.startSending(1), builder);
+        builderList.requestSent(1, false);
+
+        assertEquals(started, Arrays.asList(1L, 2L));
+    }
+
+    @Test
+    public void shouldCorrectDriftedNumberOfFreeWorkersOnRefresh() throws Exception {
+        final TestRemoteBuilder builder = new TestRemoteBuilder("http://localhost:8080/builder1", 1);
+        final BuildQueue.BuilderList builderList = register(builder);
+
+        enqueue(builderList, 1);
+        builderList.startSending(1);
+        builderList.requestSent(1, true);
+        // Event about end of build is lost, request waits although remote builder is free.
+        enqueue(builderList, 2);
+        assertEquals(started, Arrays.asList(1L));
+
+        builder.freeWorkers = 1;
+        builderList.refresh();
+        assertEquals(started, Arrays.asList(1L, 2L));
+    }
+
+    @Test
+    public void shouldNotDispatchRequestsWhenRefreshShowsThatBuilderIsBusy() throws Exception {
+        final TestRemoteBuilder builder = new TestRemoteBuilder("http://localhost:8080/builder1", 1);
+        final BuildQueue.BuilderList builderList = register(builder);
+
+        // Remote builder is busy with requests from other master.
+        builder.freeWorkers = 0;
+        builderList.refresh();
+        enqueue(builderList, 1);
+
+        assertTrue(started.isEmpty());
+    }
+
+    @Test
+    public void shouldGiveBackWorkerReservedForCanceledRequest() throws Exception {
+        final TestRemoteBuilder builder = new TestRemoteBuilder("http://localhost:8080/builder1", 1);
+        final BuildQueue.BuilderList builderList = register(builder);
+
+        enqueue(builderList, 1);
+        builderList.cancel(1);
+        assertNull(builderList.startSending(1));
+
+        enqueue(builderList, 2);
+        assertEquals(started, Arrays.asList(1L, 2L));
+    }
+
+    @Test
+    public void shouldForgetCanceledWaitingRequest() throws Exception {
+        final TestRemoteBuilder builder = new TestRemoteBuilder("http://localhost:8080/builder1", 0);
+        final BuildQueue.BuilderList builderList = register(builder);
+
+        enqueue(builderList, 1);
+        builderList.cancel(1);
+        builder.freeWorkers = 1;
+        builderList.refresh();
+
+        assertTrue(started.isEmpty());
+    }
+
+    @Test
+    public void shouldNotAssignWorkerTwiceUnderConcurrentSubmits() throws Exception {
+        final TestRemoteBuilder builder1 = new TestRemoteBuilder("http://localhost:8080/builder1", 2);
+        final TestRemoteBuilder builder2 = new TestRemoteBuilder("http://localhost:8080/builder2", 1);
+        final BuildQueue.BuilderList builderList = register(builder1, builder2);
+        final Map<RemoteBuilder, AtomicInteger> busy = new ConcurrentHashMap<>();
+        busy.put(builder1, new AtomicInteger());
+        busy.put(builder2, new AtomicInteger());
+        final AtomicInteger overbooked = new AtomicInteger();
+        final int requests = 400;
+        final CountDownLatch completed = new CountDownLatch(requests);
+        final AtomicLong sequence = new AtomicLong();
+        final ExecutorService senders = Executors.newFixedThreadPool(4);
+        final ExecutorService submitters = Executors.newFixedThreadPool(8);
+        try {
+            for (int i = 0; i < requests; i++) {
+                submitters.execute(new Runnable() {
+                    @Override
+                    public void run() {
+                        final long id = sequence.incrementAndGet();
+                        builderList.enqueue(newRequest(id), new Runnable() {
+                            @Override
+                            public void run() {
+                                senders.execute(new Runnable() {
+                                    @Override
+                                    public void run() {
+                                        final RemoteBuilder builder = builderList.startSending(id);
+                                        final TestRemoteBuilder testBuilder = (TestRemoteBuilder)builder;
+                                        if (busy.get(builder).incrementAndGet() > testBuilder.workers) {
+                                            overbooked.incrementAndGet();
+                                        }
+                                        builderList.requestSent(id, true);
+                                        busy.get(builder).decrementAndGet();
+                                        eventService.publish(BuilderEvent.doneEvent(id, WORKSPACE, PROJECT));
+                                        completed.countDown();
+                                    }
+                                });
+                            }
+                        });
+                    }
+                });
+            }
+            assertTrue(completed.await(30, TimeUnit.SECONDS), "Not all requests are dispatched");
+            assertEquals(overbooked.get(), 0);
+        } finally {
+            submitters.shutdownNow();
+            senders.shutdownNow();
+        }
+    }
+
+    private BuildQueue.BuilderList register(TestRemoteBuilder... builders) throws Exception {
+        buildQueue.doRegisterBuilderServer(new TestRemoteBuilderServer(Arrays.<RemoteBuilder>asList(builders)));
+        return buildQueue.getBuilderList(WORKSPACE, PROJECT);
+    }
+
+    private void enqueue(BuildQueue.BuilderList builderList, final long id) {
+        assertTrue(builderList.enqueue(newRequest(id), new Runnable() {
+            @Override
+            public void run() {
+                started.add(id);
+            }
+        }));
+    }
+
+    private void sendAndComplete(BuildQueue.BuilderList builderList, RemoteBuilder builder, long id) {
+        assertSame(builderList.startSending(id), builder);
+        builderList.requestSent(id, true);
+        eventService.publish(BuilderEvent.doneEvent(id, WORKSPACE, PROJECT));
+    }
+
+    private BaseBuilderRequest newRequest(long id) {
+        final BuildRequest request = newDto(BuildRequest.class);
+        request.setId(id);
+        request.setBuilder(BUILDER);
+        request.setWorkspace(WORKSPACE);
+        request.setProject(PROJECT);
+        return request;
+    }
+
+    private static class TestRemoteBuilder extends RemoteBuilder {
+        final int workers;
+
+        volatile int freeWorkers;
+
+        TestRemoteBuilder(String baseUrl, int workers) {
+            super(baseUrl, newDto(BuilderDescriptor.class).withName(BUILDER), Collections.<Link>emptyList());
+            this.workers = workers;
+            this.freeWorkers = workers;
+        }
+
+        @Override
+        public BuilderState getBuilderState() {
+            return newDto(BuilderState.class).withName(BUILDER).withFreeWorkers(freeWorkers);
+        }
+    }
+
+    private static class TestRemoteBuilderServer extends RemoteBuilderServer {
+        final List<RemoteBuilder> builders;
+
+        TestRemoteBuilderServer(List<RemoteBuilder> builders) {
+            super("http://localhost:8080/builder");
+            this.builders = new ArrayList<>(builders);
+        }
+
+        @Override
+        public List<RemoteBuilder> getRemoteBuilders() {
+            return builders;
+        }
+    }
 }
@@ -0,0 +1,84 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.builder.internal;
+
+import org.eclipse.che.commons.lang.IoUtil;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+public class SourcesManagerImplTest {
+    private File dir;
+    private File srcDir;
+    private File workDir;
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+        dir = Files.createTempDirectory("sources-manager").toFile();
+        srcDir = new File(dir, "cache");
+        workDir = new File(dir, "work");
+        write(new File(srcDir, "pom.xml"), "<project/>");
+        write(new File(srcDir, "src/main/java/A.java"), "class A {}");
+        assertTrue(new File(srcDir, "src/test").mkdirs());
+    }
+
+    @AfterMethod
+    public void tearDown() {
+        IoUtil.deleteRecursive(dir);
+    }
+
+    @Test
+    public void shouldCopyTree() throws Exception {
+        SourcesManagerImpl.copyTree(srcDir, workDir);
+
+        assertEquals(read(new File(workDir, "pom.xml")), "<project/>");
+        assertEquals(read(new File(workDir, "src/main/java/A.java")), "class A {}");
+        assertTrue(new File(workDir, "src/test").isDirectory());
+        assertEquals(new File(workDir, "pom.xml").lastModified(), new File(srcDir, "pom.xml").lastModified());
+    }
+
+    @Test
+    public void shouldNotChangeCachedSourcesWhenCopyIsModifiedInPlace() throws Exception {
+        SourcesManagerImpl.copyTree(srcDir, workDir);
+        File copy = new File(workDir, "src/main/java/A.java");
+        Files.write(copy.toPath(), "class B {}".getBytes(StandardCharsets.UTF_8));
+        assertTrue(copy.setExecutable(true));
+
+        assertEquals(read(new File(srcDir, "src/main/java/A.java")), "class A {}");
+        assertFalse(new File(srcDir, "src/main/java/A.java").canExecute());
+    }
+
+    @Test
+    public void shouldReplaceExistedFilesInWorkDirectory() throws Exception {
+        write(new File(workDir, "pom.xml"), "<old/>");
+
+        SourcesManagerImpl.copyTree(srcDir, workDir);
+
+        assertEquals(read(new File(workDir, "pom.xml")), "<project/>");
+    }
+
+    private void write(File file, String content) throws Exception {
+        Files.createDirectories(file.getParentFile().toPath());
+        Files.write(file.toPath(), content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private String read(File file) throws Exception {
+        return new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,94 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.builder.internal;
+
+import org.eclipse.che.commons.lang.IoUtil;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.Arrays;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+
+public class SourcesManifestTest {
+    private File dir;
+    private File manifestFile;
+    private long lastModified;
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+        dir = Files.createTempDirectory("sources-manifest").toFile();
+        manifestFile = SourcesManifest.getManifestFile(new File(dir, "project"));
+        lastModified = System.currentTimeMillis() - 60000;
+    }
+
+    @AfterMethod
+    public void tearDown() {
+        IoUtil.deleteRecursive(dir);
+    }
+
+    @Test
+    public void shouldPlaceManifestNearSourcesDirectory() {
+        assertEquals(manifestFile, new File(dir, ".project.manifest"));
+    }
+
+    @Test
+    public void shouldReturnMd5SumOnlyIfFileIsNotChanged() {
+        SourcesManifest manifest = new SourcesManifest(manifestFile);
+        manifest.put("src/A.java", 10, lastModified, "md5");
+
+        assertEquals(manifest.get("src/A.java", 10, lastModified), "md5");
+        assertNull(manifest.get("src/A.java", 11, lastModified));
+        assertNull(manifest.get("src/A.java", 10, lastModified + 1000));
+        assertNull(manifest.get("src/B.java", 10, lastModified));
+    }
+
+    @Test
+    public void shouldNotRememberMd5SumOfRecentlyModifiedFile() {
+        SourcesManifest manifest = new SourcesManifest(manifestFile);
+        long now = System.currentTimeMillis();
+        manifest.put("src/A.java", 10, now, "md5");
+
+        assertNull(manifest.get("src/A.java", 10, now));
+    }
+
+    @Test
+    public void shouldLoadSavedManifest() {
+        SourcesManifest manifest = new SourcesManifest(manifestFile);
+        manifest.put("src/A.java", 10, lastModified, "md5-a");
+        manifest.put("src/B.java", 20, lastModified, "md5-b");
+        manifest.save();
+
+        SourcesManifest loaded = SourcesManifest.load(manifestFile);
+        assertEquals(loaded.get("src/A.java", 10, lastModified), "md5-a");
+        assertEquals(loaded.get("src/B.java", 20, lastModified), "md5-b");
+    }
+
+    @Test
+    public void shouldLoadEmptyManifestIfFileIsBroken() throws Exception {
+        SourcesManifest manifest = new SourcesManifest(manifestFile);
+        manifest.put("src/A.java", 10, lastModified, "md5");
+        manifest.save();
+        byte[] bytes = Files.readAllBytes(manifestFile.toPath());
+        Files.write(manifestFile.toPath(), Arrays.copyOf(bytes, bytes.length - 2));
+
+        assertNull(SourcesManifest.load(manifestFile).get("src/A.java", 10, lastModified));
+    }
+
+    @Test
+    public void shouldLoadEmptyManifestIfFileDoesNotExist() {
+        assertNull(SourcesManifest.load(manifestFile).get("src/A.java", 10, lastModified));
+    }
+}
@@ -0,0 +1,183 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.core.notification;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Wraps subscriber that receives events asynchronously. Events are added in bounded queue and delivered to the subscriber by threads of
+ * {@code executor}. Number of threads that deliver events at the same time is limited with {@code maxConcurrency}, if it is one events
+ * are delivered in order of publishing.
+ *
+ * @see DispatchPolicy
+ */
+class AsyncEventSubscriber implements EventSubscriber<Object> {
+    private static final Logger LOG = LoggerFactory.getLogger(AsyncEventSubscriber.class);
+
+    /** Max number of events delivered by one task, after that task is re-submitted to let other subscribers get thread. */
+    private static final int MAX_BATCH = 256;
+
+    private final EventSubscriber<Object>        delegate;
+    private final DispatchPolicy.Overflow        overflow;
+    private final Executor                       executor;
+    private final int                            maxConcurrency;
+    private final BlockingQueue<PublishedEvent>  queue;
+    private final AtomicInteger                  concurrency;
+    private final AtomicLong                     delivered;
+    private final AtomicLong                     dropped;
+    private final AtomicLong                     maxLag;
+    private final Runnable                       drainTask;
+
+    private volatile long lastLag;
+
+    @SuppressWarnings("unchecked")
+    AsyncEventSubscriber(EventSubscriber<?> delegate, DispatchPolicy policy, Executor executor, int maxConcurrency) {
+        this.delegate = (EventSubscriber<Object>)delegate;
+        this.overflow = policy.getOverflow();
+        this.executor = executor;
+        this.maxConcurrency = maxConcurrency;
+        queue = new ArrayBlockingQueue<>(policy.getQueueSize());
+        concurrency = new AtomicInteger();
+        delivered = new AtomicLong();
+        dropped = new AtomicLong();
+        maxLag = new AtomicLong();
+        drainTask = new Runnable() {
+            @Override
+            public void run() {
+                drain();
+            }
+        };
+    }
+
+    EventSubscriber<?> getDelegate() {
+        return delegate;
+    }
+
+    @Override
+    public void onEvent(Object event) {
+        final PublishedEvent published = new PublishedEvent(event);
+        if (!queue.offer(published)) {
+            switch (overflow) {
+                case BLOCK:
+                    try {
+                        queue.put(published);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        dropped.incrementAndGet();
+                        return;
+                    }
+                    break;
+                case DROP_NEWEST:
+                    dropped.incrementAndGet();
+                    return;
+                case DROP_OLDEST:
+                    while (!queue.offer(published)) {
+                        if (queue.poll() != null) {
+                            dropped.incrementAndGet();
+                        }
+                    }
+                    break;
+            }
+        }
+        scheduleDrain();
+    }
+
+    /**
+     * Gets statistics of this subscriber: number of events in queue, number of delivered and dropped events, time in milliseconds
+     * between publishing and delivering of the last event and max value of this time.
+     */
+    Map<String, Long> getStats() {
+        final Map<String, Long> stats = new LinkedHashMap<>();
+        stats.put("queueSize", (long)queue.size());
+        stats.put("delivered", delivered.get());
+        stats.put("dropped", dropped.get());
+        stats.put("lastLag", TimeUnit.NANOSECONDS.toMillis(lastLag));
+        stats.put("maxLag", TimeUnit.NANOSECONDS.toMillis(maxLag.get()));
+        return stats;
+    }
+
+    private void scheduleDrain() {
+        for (; ; ) {
+            final int current = concurrency.get();
+            if (current >= maxConcurrency) {
+                return;
+            }
+            if (concurrency.compareAndSet(current, current + 1)) {
+                try {
+                    executor.execute(drainTask);
+                } catch (RejectedExecutionException e) {
+                    concurrency.decrementAndGet();
+                    LOG.warn("Unable deliver events to {}, {}", delegate, e.getMessage());
+                }
+                return;
+            }
+        }
+    }
+
+    private void drain() {
+        try {
+            PublishedEvent published;
+            for (int i = 0; i < MAX_BATCH && (published = queue.poll()) != null; i++) {
+                final long lag = System.nanoTime() - published.time;
+                lastLag = lag;
+                for (; ; ) {
+                    final long max = maxLag.get();
+                    if (lag <= max || maxLag.compareAndSet(max, lag)) {
+                        break;
+                    }
+                }
+                try {
+                    LOG.debug("Publish event {} for {}", published.event, delegate);
+                    delegate.onEvent(published.event);
+                } catch (RuntimeException e) {
+                    LOG.error(e.getMessage(), e);
+                }
+                delivered.incrementAndGet();
+            }
+        } finally {
+            concurrency.decrementAndGet();
+        }
+        // Events might be added after we stopped reading queue but before counter is decreased.
+        if (!queue.isEmpty()) {
+            scheduleDrain();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "AsyncEventSubscriber{" +
+               "delegate=" + delegate +
+               ", overflow=" + overflow +
+               ", maxConcurrency=" + maxConcurrency +
+               '}';
+    }
+
+    private static class PublishedEvent {
+        final Object event;
+        final long   time;
+
+        PublishedEvent(Object event) {
+            this.event = event;
+            this.time = System.nanoTime();
+        }
+    }
+}
@@ -0,0 +1,98 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.core.notification;
+
+/**
+ * Describes how {@link EventService} delivers events to subscriber.
+ * <ul>
+ * <li>{@link Mode#SYNC} - subscriber is called by thread that publishes event, this is default</li>
+ * <li>{@link Mode#ASYNC_ORDERED} - events are added in subscriber's queue and subscriber is called by one background thread at a time
+ * in order of publishing events</li>
+ * <li>{@link Mode#ASYNC_UNORDERED} - events are added in subscriber's queue and subscriber may be called by few background threads
+ * concurrently</li>
+ * </ul>
+ * Size of queue of asynchronous subscriber is limited. {@link Overflow} describes what to do when queue is full.
+ *
+ * @see EventService#subscribe(EventSubscriber, DispatchPolicy)
+ */
+public final class DispatchPolicy {
+    public enum Mode {
+        SYNC,
+        ASYNC_ORDERED,
+        ASYNC_UNORDERED
+    }
+
+    public enum Overflow {
+        /** Thread that publishes event waits until there is space in queue. */
+        BLOCK,
+        /** New event is dropped. */
+        DROP_NEWEST,
+        /** The oldest event in queue is dropped to make space for new one. */
+        DROP_OLDEST
+    }
+
+    public static final int DEFAULT_QUEUE_SIZE = 1024;
+
+    public static final DispatchPolicy SYNC = new DispatchPolicy(Mode.SYNC, 0, Overflow.BLOCK);
+
+    public static DispatchPolicy asyncOrdered(int queueSize, Overflow overflow) {
+        return new DispatchPolicy(Mode.ASYNC_ORDERED, queueSize, overflow);
+    }
+
+    public static DispatchPolicy asyncOrdered() {
+        return asyncOrdered(DEFAULT_QUEUE_SIZE, Overflow.BLOCK);
+    }
+
+    public static DispatchPolicy asyncUnordered(int queueSize, Overflow overflow) {
+        return new DispatchPolicy(Mode.ASYNC_UNORDERED, queueSize, overflow);
+    }
+
+    public static DispatchPolicy asyncUnordered() {
+        return asyncUnordered(DEFAULT_QUEUE_SIZE, Overflow.BLOCK);
+    }
+
+    private final Mode     mode;
+    private final int      queueSize;
+    private final Overflow overflow;
+
+    private DispatchPolicy(Mode mode, int queueSize, Overflow overflow) {
+        if (mode != Mode.SYNC && queueSize < 1) {
+            throw new IllegalArgumentException(String.format("Invalid queue size %d", queueSize));
+        }
+        if (overflow == null) {
+            throw new IllegalArgumentException("Null overflow strategy.");
+        }
+        this.mode = mode;
+        this.queueSize = queueSize;
+        this.overflow = overflow;
+    }
+
+    public Mode getMode() {
+        return mode;
+    }
+
+    public int getQueueSize() {
+        return queueSize;
+    }
+
+    public Overflow getOverflow() {
+        return overflow;
+    }
+
+    @Override
+    public String toString() {
+        return "DispatchPolicy{" +
+               "mode=" + mode +
+               ", queueSize=" + queueSize +
+               ", overflow=" + overflow +
+               '}';
+    }
+}
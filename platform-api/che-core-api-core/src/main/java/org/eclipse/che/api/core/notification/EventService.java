@@ -10,23 +10,26 @@
  *******************************************************************************/
 package org.eclipse.che.api.core.notification;
 
-import org.eclipse.che.commons.lang.cache.Cache;
-import org.eclipse.che.commons.lang.cache.LoadingValueSLRUCache;
-import org.eclipse.che.commons.lang.cache.SynchronizedCache;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import javax.annotation.PreDestroy;
 import javax.inject.Singleton;
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
 import java.util.Collections;
-import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.LinkedList;
+import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 /**
  * Dispatchers events to listeners. Usage example:
@@ -47,40 +50,37 @@ import java.util.concurrent.CopyOnWriteArraySet;
 public class EventService {
     private static final Logger LOG = LoggerFactory.getLogger(EventService.class);
 
-    private static final int CACHE_NUM  = 1 << 2;
-    private static final int CACHE_MASK = CACHE_NUM - 1;
-    private static final int SEG_SIZE   = 32;
+    /** Hierarchy of event types. Values are computed once per class and don't prevent classes from unloading. */
+    private static final ClassValue<Set<Class<?>>> TYPE_HIERARCHY = new ClassValue<Set<Class<?>>>() {
+        @Override
+        protected Set<Class<?>> computeValue(Class<?> eventClass) {
+            LinkedList<Class<?>> parents = new LinkedList<>();
+            Set<Class<?>> classes = new LinkedHashSet<>();
+            parents.add(eventClass);
+            while (!parents.isEmpty()) {
+                Class<?> clazz = parents.pop();
+                classes.add(clazz);
+                Class<?> parent = clazz.getSuperclass();
+                if (parent != null) {
+                    parents.add(parent);
+                }
+                Class<?>[] interfaces = clazz.getInterfaces();
+                if (interfaces.length > 0) {
+                    Collections.addAll(parents, interfaces);
+                }
+            }
+            return Collections.unmodifiableSet(classes);
+        }
+    };
 
-    private final Cache<Class<?>, Set<Class<?>>>[]              typeCache;
-    private final ConcurrentMap<Class<?>, Set<EventSubscriber>> subscribersByEventType;
+    private final ConcurrentMap<Class<?>, Set<EventSubscriber>>       subscribersByEventType;
+    private final ConcurrentMap<EventSubscriber, AsyncEventSubscriber> asyncSubscribers;
+
+    private volatile ExecutorService asyncExecutor;
 
-    @SuppressWarnings("unchecked")
     public EventService() {
         subscribersByEventType = new ConcurrentHashMap<>();
-        typeCache = new Cache[CACHE_NUM];
-        for (int i = 0; i < CACHE_NUM; i++) {
-            typeCache[i] = new SynchronizedCache<>(new LoadingValueSLRUCache<Class<?>, Set<Class<?>>>(SEG_SIZE, SEG_SIZE) {
-                @Override
-                protected Set<Class<?>> loadValue(Class<?> eventClass) throws RuntimeException {
-                    LinkedList<Class<?>> parents = new LinkedList<>();
-                    Set<Class<?>> classes = new HashSet<>();
-                    parents.add(eventClass);
-                    while (!parents.isEmpty()) {
-                        Class<?> clazz = parents.pop();
-                        classes.add(clazz);
-                        Class<?> parent = clazz.getSuperclass();
-                        if (parent != null) {
-                            parents.add(parent);
-                        }
-                        Class<?>[] interfaces = clazz.getInterfaces();
-                        if (interfaces.length > 0) {
-                            Collections.addAll(parents, interfaces);
-                        }
-                    }
-                    return classes;
-                }
-            });
-        }
+        asyncSubscribers = new ConcurrentHashMap<>();
     }
 
     /**
@@ -95,7 +95,7 @@ public class EventService {
             throw new IllegalArgumentException("Null event.");
         }
         final Class<?> eventClass = event.getClass();
-        for (Class<?> clazz : typeCache[eventClass.hashCode() & CACHE_MASK].get(eventClass)) {
+        for (Class<?> clazz : TYPE_HIERARCHY.get(eventClass)) {
             final Set<EventSubscriber> eventSubscribers = subscribersByEventType.get(clazz);
             if (eventSubscribers != null && !eventSubscribers.isEmpty()) {
                 for (EventSubscriber eventSubscriber : eventSubscribers) {
@@ -133,6 +133,91 @@ public class EventService {
         doSubscribe(subscriber, eventType);
     }
 
+    /**
+     * Subscribe event listener with specified dispatch policy. The event to subscribe to is inferred by checking the generic type arguments
+     * of the given subscriber. Asynchronous dispatch is useful for subscribers that may be slow, e.g. send events over network, since
+     * they don't delay thread that publishes event.
+     *
+     * @param subscriber
+     *         event subscriber
+     * @param policy
+     *         dispatch policy
+     * @see DispatchPolicy
+     */
+    public void subscribe(EventSubscriber<?> subscriber, DispatchPolicy policy) {
+        doSubscribe(subscriber, getEventType(subscriber), policy);
+    }
+
+    /**
+     * Subscribe to an event with specified dispatch policy.
+     *
+     * @param subscriber
+     *         the subscriber to call when an event is published
+     * @param eventType
+     *         the event to subscribe to
+     * @param policy
+     *         dispatch policy
+     * @see DispatchPolicy
+     */
+    public <T> void subscribe(EventSubscriber<? extends T> subscriber, Class<T> eventType, DispatchPolicy policy) {
+        doSubscribe(subscriber, eventType, policy);
+    }
+
+    private void doSubscribe(EventSubscriber<?> subscriber, Class<?> eventType, DispatchPolicy policy) {
+        if (policy.getMode() == DispatchPolicy.Mode.SYNC) {
+            doSubscribe(subscriber, eventType);
+            return;
+        }
+        AsyncEventSubscriber asyncSubscriber = asyncSubscribers.get(subscriber);
+        if (asyncSubscriber == null) {
+            final int maxConcurrency =
+                    policy.getMode() == DispatchPolicy.Mode.ASYNC_ORDERED ? 1 : Runtime.getRuntime().availableProcessors();
+            final AsyncEventSubscriber newAsyncSubscriber = new AsyncEventSubscriber(subscriber, policy, getAsyncExecutor(), maxConcurrency);
+            asyncSubscriber = asyncSubscribers.putIfAbsent(subscriber, newAsyncSubscriber);
+            if (asyncSubscriber == null) {
+                asyncSubscriber = newAsyncSubscriber;
+            }
+        }
+        doSubscribe(asyncSubscriber, eventType);
+    }
+
+    /**
+     * Gets statistics of subscribers that receive events asynchronously. Statistics of each subscriber contains number of events in its
+     * queue, number of delivered and dropped events, time in milliseconds between publishing and delivering of the last event and max
+     * value of this time.
+     *
+     * @return statistics of asynchronous subscribers mapped by {@code toString()} of subscriber
+     */
+    public Map<String, Map<String, Long>> getAsyncSubscribersStats() {
+        final Map<String, Map<String, Long>> stats = new LinkedHashMap<>();
+        for (AsyncEventSubscriber asyncSubscriber : asyncSubscribers.values()) {
+            stats.put(asyncSubscriber.getDelegate().toString(), asyncSubscriber.getStats());
+        }
+        return stats;
+    }
+
+    @PreDestroy
+    void stop() {
+        final ExecutorService executor = asyncExecutor;
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    private ExecutorService getAsyncExecutor() {
+        ExecutorService executor = asyncExecutor;
+        if (executor == null) {
+            synchronized (this) {
+                executor = asyncExecutor;
+                if (executor == null) {
+                    asyncExecutor = executor = Executors.newCachedThreadPool(
+                            new ThreadFactoryBuilder().setNameFormat("EventService-%d").setDaemon(true).build());
+                }
+            }
+        }
+        return executor;
+    }
+
     private void doSubscribe(EventSubscriber<?> subscriber, Class<?> eventType) {
         Set<EventSubscriber> entries = subscribersByEventType.get(eventType);
         if (entries == null) {
@@ -155,7 +240,8 @@ public class EventService {
         final Class<?> eventType = getEventType(subscriber);
         final Set<EventSubscriber> entries = subscribersByEventType.get(eventType);
         if (entries != null && !entries.isEmpty()) {
-            boolean changed = entries.remove(subscriber);
+            final AsyncEventSubscriber asyncSubscriber = asyncSubscribers.remove(subscriber);
+            boolean changed = entries.remove(asyncSubscriber != null ? asyncSubscriber : subscriber);
             if (changed) {
                 if (entries.isEmpty()) {
                     subscribersByEventType.remove(eventType);
@@ -88,7 +88,7 @@ public final class WSocketEventBusClient {
                     public void onEvent(Object event) {
                         propagate(event);
                     }
-                });
+                }, DispatchPolicy.asyncOrdered());
             }
             if (eventSubscriptions != null) {
                 final Map<URI, Set<String>> cfg = new HashMap<>();
@@ -12,8 +12,11 @@ package org.eclipse.che.api.core.rest;
 
 import org.eclipse.che.commons.annotation.Nullable;
 import org.eclipse.che.dto.server.DtoFactory;
+import org.eclipse.che.dto.server.JsonArrayImpl;
 import org.eclipse.che.dto.server.JsonSerializable;
 import org.eclipse.che.dto.shared.DTO;
+import org.everrest.core.ApplicationContext;
+import org.everrest.core.impl.ApplicationContextImpl;
 import org.everrest.core.impl.provider.JsonEntityProvider;
 
 import javax.inject.Inject;
@@ -37,12 +40,18 @@ import java.lang.annotation.Annotation;
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
 import java.nio.charset.Charset;
+import java.util.Collections;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Set;
 
 /**
  * Implementation of {@link MessageBodyReader} and {@link MessageBodyWriter} needed for binding JSON content to and from Java Objects.
+ * <p/>
+ * Besides usual JSON provider supports DTOs in compact JSON format with media type {@link #APPLICATION_COMPACT_JSON}. Compact format
+ * is designed for communication between servers that have the same version of DTO interfaces. REST method may produce compact JSON
+ * in addition to usual JSON, client gets compact JSON only if it asks for it with {@code Accept} header and has the same layout of
+ * DTO, see {@link #COMPACT_JSON_HASH_PARAMETER} and {@link HttpJsonRequest#useCompactJson(Class)}.
  *
  * @author andrew00x
  * @see DTO
@@ -50,9 +59,19 @@ import java.util.Set;
  */
 @Singleton
 @Provider
-@Produces({MediaType.APPLICATION_JSON})
-@Consumes({MediaType.APPLICATION_JSON})
+@Produces({MediaType.APPLICATION_JSON, CodenvyJsonProvider.APPLICATION_COMPACT_JSON})
+@Consumes({MediaType.APPLICATION_JSON, CodenvyJsonProvider.APPLICATION_COMPACT_JSON})
 public class CodenvyJsonProvider<T> implements MessageBodyReader<T>, MessageBodyWriter<T> {
+    /** Media type of DTOs in compact JSON format, see {@link JsonSerializable#toCompactJson(Writer)}. */
+    public static final String    APPLICATION_COMPACT_JSON      = "application/vnd.codenvy.compact+json";
+    public static final MediaType APPLICATION_COMPACT_JSON_TYPE = new MediaType("application", "vnd.codenvy.compact+json");
+    /**
+     * Parameter of {@link #APPLICATION_COMPACT_JSON} media type with hash of compact JSON layout of DTO, see {@link
+     * DtoFactory#getCompactJsonHash(Class)}. Client sends hash of expected DTO in {@code Accept} header. Server sends compact JSON only
+     * if it has the same hash for DTO in response, otherwise usual JSON is sent.
+     */
+    public static final String    COMPACT_JSON_HASH_PARAMETER   = "dto";
+
     private Set<Class> ignoredClasses;
     private final JsonEntityProvider delegate = new JsonEntityProvider<>();
 
@@ -79,9 +98,29 @@ public class CodenvyJsonProvider<T> implements MessageBodyReader<T>, MessageBody
                         MultivaluedMap<String, Object> httpHeaders, OutputStream entityStream) throws IOException, WebApplicationException {
         // Add Cache-Control before start write body.
         httpHeaders.putSingle(HttpHeaders.CACHE_CONTROL, "public, no-cache, no-store, no-transform");
+        boolean compact = false;
+        if (isCompactJson(mediaType)) {
+            final String hash = getCompactJsonHash(t, genericType);
+            if (hash != null && hash.equals(getAcceptedCompactJsonHash())) {
+                httpHeaders.putSingle(HttpHeaders.CONTENT_TYPE, compactJsonType(hash));
+                compact = true;
+            } else {
+                // Client has other version of DTO interfaces or doesn't tell which version it has.
+                httpHeaders.putSingle(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_TYPE);
+            }
+        }
         if (t instanceof JsonSerializable) {
+            // Generated DTO implementations write JSON directly to the stream without creating intermediate JSON tree and string.
             try (Writer w = new OutputStreamWriter(entityStream, Charset.forName("UTF-8"))) {
-                w.write(((JsonSerializable)t).toJson());
+                if (compact) {
+                    ((JsonSerializable)t).toCompactJson(w);
+                } else {
+                    ((JsonSerializable)t).toJson(w);
+                }
+            }
+        } else if (compact && t instanceof List) {
+            try (Writer w = new OutputStreamWriter(entityStream, Charset.forName("UTF-8"))) {
+                new JsonArrayImpl<>((List<?>)t).toCompactJson(w);
             }
         } else {
             delegate.writeTo(t, type, genericType, annotations, mediaType, httpHeaders, entityStream);
@@ -99,7 +138,11 @@ public class CodenvyJsonProvider<T> implements MessageBodyReader<T>, MessageBody
     @Override
     public T readFrom(Class<T> type, Type genericType, Annotation[] annotations, MediaType mediaType,
                       MultivaluedMap<String, String> httpHeaders, InputStream entityStream) throws IOException, WebApplicationException {
+        final boolean compact = isCompactJson(mediaType);
         if (type.isAnnotationPresent(DTO.class)) {
+            if (compact) {
+                return DtoFactory.getInstance().createDtoFromCompactJson(entityStream, type);
+            }
             return DtoFactory.getInstance().createDtoFromJson(entityStream, type);
         } else if (type.isAssignableFrom(List.class) && genericType instanceof ParameterizedType) {
             ParameterizedType parameterizedType = (ParameterizedType)genericType;
@@ -107,6 +150,9 @@ public class CodenvyJsonProvider<T> implements MessageBodyReader<T>, MessageBody
             if (elementType instanceof Class) {
                 Class elementClass = (Class)elementType;
                 if (elementClass.isAnnotationPresent(DTO.class)) {
+                    if (compact) {
+                        return (T)DtoFactory.getInstance().createListDtoFromCompactJson(entityStream, elementClass);
+                    }
                     return (T)DtoFactory.getInstance().createListDtoFromJson(entityStream, elementClass);
                 }
             }
@@ -114,6 +160,63 @@ public class CodenvyJsonProvider<T> implements MessageBodyReader<T>, MessageBody
         return (T)delegate.readFrom(type, genericType, annotations, mediaType, httpHeaders, entityStream);
     }
 
+    /**
+     * Gets hash of compact JSON layout of DTO or list of DTOs, see {@link DtoFactory#getCompactJsonHash(Class)}. Returns {@code null}
+     * if entity isn't DTO or type of DTOs in list is unknown.
+     */
+    private String getCompactJsonHash(Object entity, Type genericType) {
+        if (entity instanceof List) {
+            Class<?> elementClass = null;
+            if (genericType instanceof ParameterizedType
+                && ((ParameterizedType)genericType).getActualTypeArguments()[0] instanceof Class) {
+                elementClass = (Class<?>)((ParameterizedType)genericType).getActualTypeArguments()[0];
+            } else if (!((List)entity).isEmpty() && ((List)entity).get(0) != null) {
+                elementClass = ((List)entity).get(0).getClass();
+            }
+            return elementClass == null ? null : DtoFactory.getInstance().getCompactJsonHash(elementClass);
+        }
+        return entity instanceof JsonSerializable ? DtoFactory.getInstance().getCompactJsonHash(entity.getClass()) : null;
+    }
+
+    /** Gets hash of compact JSON layout which client asks for with {@code Accept} header of current request. */
+    private String getAcceptedCompactJsonHash() {
+        final ApplicationContext context = ApplicationContextImpl.getCurrent();
+        if (context == null || context.getHttpHeaders() == null) {
+            return null;
+        }
+        final List<String> acceptHeaders = context.getHttpHeaders().getRequestHeader(HttpHeaders.ACCEPT);
+        if (acceptHeaders != null) {
+            for (String acceptHeader : acceptHeaders) {
+                for (String accepted : acceptHeader.split(",")) {
+                    final MediaType acceptedType;
+                    try {
+                        acceptedType = MediaType.valueOf(accepted.trim());
+                    } catch (IllegalArgumentException e) {
+                        continue;
+                    }
+                    if (isCompactJson(acceptedType)) {
+                        return acceptedType.getParameters().get(COMPACT_JSON_HASH_PARAMETER);
+                    }
+                }
+            }
+        }
+        return null;
+    }
+
+    /** Gets {@link #APPLICATION_COMPACT_JSON} media type with hash of compact JSON layout of DTO. */
+    static MediaType compactJsonType(String hash) {
+        return new MediaType(APPLICATION_COMPACT_JSON_TYPE.getType(),
+                             APPLICATION_COMPACT_JSON_TYPE.getSubtype(),
+                             Collections.singletonMap(COMPACT_JSON_HASH_PARAMETER, hash));
+    }
+
+    /** Checks whether media type is exactly {@link #APPLICATION_COMPACT_JSON}, wildcards don't match. */
+    static boolean isCompactJson(MediaType mediaType) {
+        return mediaType != null
+               && APPLICATION_COMPACT_JSON_TYPE.getType().equalsIgnoreCase(mediaType.getType())
+               && APPLICATION_COMPACT_JSON_TYPE.getSubtype().equalsIgnoreCase(mediaType.getSubtype());
+    }
+
     /**
      * Get Set of classes that we never try to serialize or deserialize. Returned Set is mutable and new classes may be added in ignored
      * Set.
@@ -23,5 +23,7 @@ public class CoreRestModule extends AbstractModule {
         bind(CodenvyJsonProvider.class);
         bind(ApiExceptionMapper.class);
         Multibinder.newSetBinder(binder(), Class.class, Names.named("codenvy.json.ignored_classes"));
+        bind(HttpJsonRequestFactory.class).to(PooledHttpJsonRequestFactory.class);
+        requestStaticInjection(HttpJsonHelper.class);
     }
 }
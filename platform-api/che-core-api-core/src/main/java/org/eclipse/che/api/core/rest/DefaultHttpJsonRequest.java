@@ -71,6 +71,7 @@ public class DefaultHttpJsonRequest implements HttpJsonRequest {
     private String                method;
     private Object                body;
     private List<Pair<String, ?>> queryParams;
+    private String                compactJsonHash;
 
     DefaultHttpJsonRequest(String url) {
         this.url = requireNonNull(url, "Required non-null url");
@@ -122,6 +123,13 @@ public class DefaultHttpJsonRequest implements HttpJsonRequest {
         return this;
     }
 
+    @Override
+    public HttpJsonRequest useCompactJson(@NotNull Class<?> dtoInterface) {
+        requireNonNull(dtoInterface, "Required non-null dto interface");
+        this.compactJsonHash = DtoFactory.getInstance().getCompactJsonHash(dtoInterface);
+        return this;
+    }
+
     @Override
     public HttpJsonResponse request() throws IOException,
                                              ServerException,
@@ -136,11 +144,33 @@ public class DefaultHttpJsonRequest implements HttpJsonRequest {
         return doRequest(timeout, url, method, body, queryParams);
     }
 
+    /** Reads DTO directly from the response stream. */
+    @Override
+    public <T> T requestDto(@NotNull Class<T> dtoInterface) throws IOException,
+                                                                   ServerException,
+                                                                   UnauthorizedException,
+                                                                   ForbiddenException,
+                                                                   NotFoundException,
+                                                                   ConflictException,
+                                                                   BadRequestException {
+        requireNonNull(dtoInterface, "Required non-null dto interface");
+        if (method == null) {
+            throw new IllegalStateException("Could not perform request, request method wasn't set");
+        }
+        return doRequest(timeout, url, method, body, queryParams, (reader, responseCode, compactJson) -> {
+            if (compactJson) {
+                return DtoFactory.getInstance().createDtoFromCompactJson(reader, dtoInterface);
+            }
+            return DtoFactory.getInstance().createDtoFromJson(reader, dtoInterface);
+        });
+    }
+
     /**
      * Makes this request using {@link HttpURLConnection}.
      *
      * <p>Uses {@link HttpHeaders#AUTHORIZATION} header with value from {@link EnvironmentContext}.
-     * <br>uses {@link HttpHeaders#ACCEPT} header with "application/json" value.
+     * <br>uses {@link HttpHeaders#ACCEPT} header with "application/json" value, compact JSON is preferred if {@link
+     * #useCompactJson(Class)} was called.
      * <br>Encodes query parameters in "UTF-8".
      *
      * @param timeout
@@ -155,7 +185,7 @@ public class DefaultHttpJsonRequest implements HttpJsonRequest {
      *         query parameters, may be null
      * @return response to this request
      * @throws IOException
-     *         when connection content type is not "application/json"
+     *         when connection content type is not "application/json" or compact JSON has other layout of DTO than expected
      * @throws ServerException
      *         when response code is 500 or it is different from 400, 401, 403, 404, 409
      * @throws ForbiddenException
@@ -180,6 +210,28 @@ public class DefaultHttpJsonRequest implements HttpJsonRequest {
                                                                                UnauthorizedException,
                                                                                ConflictException,
                                                                                BadRequestException {
+        return doRequest(timeout, url, method, body, parameters,
+                         (reader, responseCode, compactJson) -> new DefaultHttpJsonResponse(CharStreams.toString(reader),
+                                                                                            responseCode,
+                                                                                            compactJson));
+    }
+
+    /**
+     * Makes this request in the same way as {@link #doRequest(int, String, String, Object, List)} does, body of successful response is
+     * read with {@code responseReader}.
+     */
+    <R> R doRequest(int timeout,
+                    String url,
+                    String method,
+                    Object body,
+                    List<Pair<String, ?>> parameters,
+                    ResponseReader<R> responseReader) throws IOException,
+                                                             ServerException,
+                                                             ForbiddenException,
+                                                             NotFoundException,
+                                                             UnauthorizedException,
+                                                             ConflictException,
+                                                             BadRequestException {
         final String authToken = getAuthenticationToken();
         final boolean hasQueryParams = parameters != null && !parameters.isEmpty();
         if (hasQueryParams || authToken != null) {
@@ -201,10 +253,16 @@ public class DefaultHttpJsonRequest implements HttpJsonRequest {
         final HttpURLConnection conn = (HttpURLConnection)new URL(url).openConnection();
         conn.setConnectTimeout(timeout > 0 ? timeout : 60000);
         conn.setReadTimeout(timeout > 0 ? timeout : 60000);
+        boolean responseRead = false;
         try {
             conn.setRequestMethod(method);
             //drop a hint for server side that we want to receive application/json
-            conn.addRequestProperty(HttpHeaders.ACCEPT, MediaType.APPLICATION_JSON);
+            if (compactJsonHash != null) {
+                conn.addRequestProperty(HttpHeaders.ACCEPT,
+                                        CodenvyJsonProvider.compactJsonType(compactJsonHash) + ", " + MediaType.APPLICATION_JSON + ";q=0.9");
+            } else {
+                conn.addRequestProperty(HttpHeaders.ACCEPT, MediaType.APPLICATION_JSON);
+            }
             if (authToken != null) {
                 conn.setRequestProperty(HttpHeaders.AUTHORIZATION, authToken);
             }
@@ -232,6 +290,7 @@ public class DefaultHttpJsonRequest implements HttpJsonRequest {
                 try (Reader reader = new InputStreamReader(in)) {
                     str = CharStreams.toString(reader);
                 }
+                responseRead = true;
                 final String contentType = conn.getContentType();
                 if (contentType != null && contentType.startsWith(MediaType.APPLICATION_JSON)) {
                     final ServiceError serviceError = DtoFactory.getInstance().createDtoFromJson(str, ServiceError.class);
@@ -257,18 +316,54 @@ public class DefaultHttpJsonRequest implements HttpJsonRequest {
                                                     UriBuilder.fromUri(url).replaceQuery("token").build(), method, responseCode, str));
             }
             final String contentType = conn.getContentType();
-            if (contentType != null && !contentType.startsWith(MediaType.APPLICATION_JSON)) {
+            final boolean compactResponse = contentType != null && contentType.startsWith(CodenvyJsonProvider.APPLICATION_COMPACT_JSON);
+            if (contentType != null && !compactResponse && !contentType.startsWith(MediaType.APPLICATION_JSON)) {
                 throw new IOException(conn.getResponseMessage());
             }
+            if (compactResponse) {
+                final String hash = MediaType.valueOf(contentType).getParameters().get(CodenvyJsonProvider.COMPACT_JSON_HASH_PARAMETER);
+                if (compactJsonHash == null || !compactJsonHash.equals(hash)) {
+                    throw new IOException(String.format("Unable read response of %s, layout of DTO in compact JSON %s doesn't match" +
+                                                        " expected layout %s", UriBuilder.fromUri(url).replaceQuery("token").build(),
+                                                        hash, compactJsonHash));
+                }
+            }
 
             try (Reader reader = new InputStreamReader(conn.getInputStream())) {
-                return new DefaultHttpJsonResponse(CharStreams.toString(reader), responseCode);
+                final R response = responseReader.read(reader, responseCode, compactResponse);
+                responseRead = true;
+                return response;
             }
         } finally {
-            conn.disconnect();
+            // Connection which response is read till the end may be returned to the JDK keep-alive cache and reused by the next
+            // request to the same host. Otherwise connection must be closed.
+            if (!(responseRead && isKeepAlive())) {
+                conn.disconnect();
+            }
         }
     }
 
+    /**
+     * Returns {@code true} if connection may be kept alive after the request. By default each request opens new connection and
+     * closes it after reading the response.
+     */
+    boolean isKeepAlive() {
+        return false;
+    }
+
+    /** Reads body of successful response. */
+    interface ResponseReader<R> {
+        /**
+         * @param body
+         *         body of response
+         * @param responseCode
+         *         response code
+         * @param compactJson
+         *         {@code true} if DTOs in response are in compact JSON format, see {@link CodenvyJsonProvider#APPLICATION_COMPACT_JSON}
+         */
+        R read(Reader body, int responseCode, boolean compactJson) throws IOException;
+    }
+
     private String getAuthenticationToken() {
         final User user = EnvironmentContext.getCurrent().getUser();
         if (user != null) {
@@ -32,12 +32,22 @@ public class DefaultHttpJsonResponse implements HttpJsonResponse {
 
     private static final Type STRING_MAP_TYPE = new TypeToken<Map<String, String>>() {}.getType();
 
-    private final String responseBody;
-    private final int responseCode;
+    private final String  responseBody;
+    private final int     responseCode;
+    private final boolean compactJson;
 
     DefaultHttpJsonResponse(String response, int responseCode) {
+        this(response, responseCode, false);
+    }
+
+    /**
+     * @param compactJson
+     *         {@code true} if DTOs in response are in compact JSON format, see {@link CodenvyJsonProvider#APPLICATION_COMPACT_JSON}
+     */
+    DefaultHttpJsonResponse(String response, int responseCode, boolean compactJson) {
         this.responseBody = response;
         this.responseCode = responseCode;
+        this.compactJson = compactJson;
     }
 
     @Override
@@ -48,12 +58,18 @@ public class DefaultHttpJsonResponse implements HttpJsonResponse {
     @Override
     public <T> T asDto(Class<T> dtoInterface) {
         requireNonNull(dtoInterface, "Required non-null dto interface");
+        if (compactJson) {
+            return DtoFactory.getInstance().createDtoFromCompactJson(responseBody, dtoInterface);
+        }
         return DtoFactory.getInstance().createDtoFromJson(responseBody, dtoInterface);
     }
 
     @Override
     public <T> List<T> asList(Class<T> dtoInterface) {
         requireNonNull(dtoInterface, "Required non-null dto interface");
+        if (compactJson) {
+            return DtoFactory.getInstance().createListDtoFromCompactJson(responseBody, dtoInterface);
+        }
         return DtoFactory.getInstance().createListDtoFromJson(responseBody, dtoInterface);
     }
 
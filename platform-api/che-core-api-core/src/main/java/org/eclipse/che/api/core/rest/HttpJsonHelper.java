@@ -12,6 +12,7 @@ package org.eclipse.che.api.core.rest;
 
 import com.google.common.io.CharStreams;
 
+import org.eclipse.che.api.core.BadRequestException;
 import org.eclipse.che.api.core.ConflictException;
 import org.eclipse.che.api.core.ForbiddenException;
 import org.eclipse.che.api.core.NotFoundException;
@@ -24,6 +25,7 @@ import org.eclipse.che.commons.lang.Pair;
 import org.eclipse.che.commons.user.User;
 import org.eclipse.che.dto.server.DtoFactory;
 
+import javax.inject.Inject;
 import javax.ws.rs.HttpMethod;
 import javax.ws.rs.core.HttpHeaders;
 import javax.ws.rs.core.MediaType;
@@ -53,6 +55,13 @@ public class HttpJsonHelper {
      */
     private static HttpJsonHelperImpl httpJsonHelperImpl = new HttpJsonHelperImpl();
 
+    /**
+     * Creates requests for compact JSON, see {@link #requestCompact(Class, int, String, String, Object, Pair[])}. {@link CoreRestModule}
+     * replaces it with {@link PooledHttpJsonRequestFactory}.
+     */
+    @Inject
+    private static HttpJsonRequestFactory requestFactory = new DefaultHttpJsonRequestFactory();
+
 
     //==============================================================
     public static <DTO> DTO request(Class<DTO> dtoInterface, Link link, Object body, Pair<String, ?>... parameters)
@@ -192,6 +201,70 @@ public class HttpJsonHelper {
         return httpJsonHelperImpl.requestArray(dtoInterface, timeout, url, method, body, parameters);
     }
 
+    /**
+     * Sends HTTP request to specified {@code url} and asks server to send response in compact JSON format, see {@link
+     * HttpJsonRequest#useCompactJson(Class)}. Server which doesn't produce compact JSON or has other version of DTO sends usual JSON.
+     * Use it only for communication between servers.
+     *
+     * @param dtoInterface
+     *         type of expected response. Specified interface must be annotated with &#064DTO.
+     * @param timeout
+     *         request timeout, used only if it is greater than 0
+     * @param url
+     *         URL to send request
+     * @param method
+     *         HTTP method
+     * @param body
+     *         body of request. Object must implements DTO interface (interface must be annotated with &#064DTO).
+     * @param parameters
+     *         additional query parameters.
+     * @return instance of {@code dtoInterface} which represents response from the server
+     * @throws ServerException
+     *         if server returns error response in supported JSON format, see {@link org.eclipse.che.api.core.rest.shared.dto.ServiceError}
+     * @throws IOException
+     *         if any other error occurs
+     * @see org.eclipse.che.dto.shared.DTO
+     */
+    public static <DTO> DTO requestCompact(Class<DTO> dtoInterface,
+                                           int timeout,
+                                           String url,
+                                           String method,
+                                           Object body,
+                                           Pair<String, ?>... parameters)
+            throws IOException, ServerException, UnauthorizedException, ForbiddenException, NotFoundException, ConflictException {
+        return httpJsonHelperImpl.requestCompact(dtoInterface, timeout, url, method, body, parameters);
+    }
+
+    public static <DTO> DTO requestCompact(Class<DTO> dtoInterface, Link link, Object body, Pair<String, ?>... parameters)
+            throws IOException, ServerException, NotFoundException, ForbiddenException, UnauthorizedException, ConflictException {
+        return requestCompact(dtoInterface, -1, link.getHref(), link.getMethod(), body, parameters);
+    }
+
+    public static <DTO> DTO requestCompact(Class<DTO> dtoInterface, int timeout, Link link, Pair<String, ?>... parameters)
+            throws IOException, ServerException, NotFoundException, ForbiddenException, UnauthorizedException, ConflictException {
+        return requestCompact(dtoInterface, timeout, link.getHref(), link.getMethod(), null, parameters);
+    }
+
+    public static <DTO> DTO requestCompact(Class<DTO> dtoInterface, Link link)
+            throws IOException, ServerException, NotFoundException, ForbiddenException, UnauthorizedException, ConflictException {
+        return requestCompact(dtoInterface, -1, link, EMPTY);
+    }
+
+    /**
+     * Sends GET request to specified {@code url} and asks server to send response in compact JSON format.
+     *
+     * @see #requestCompact(Class, int, String, String, Object, Pair[])
+     */
+    public static <DTO> DTO getCompact(Class<DTO> dtoInterface, String url, Pair<String, ?>... parameters)
+            throws IOException, ServerException, NotFoundException, ForbiddenException, UnauthorizedException, ConflictException {
+        return requestCompact(dtoInterface, -1, url, HttpMethod.GET, null, parameters);
+    }
+
+    public static <DTO> DTO getCompact(Class<DTO> dtoInterface, int timeout, String url, Pair<String, ?>... parameters)
+            throws IOException, ServerException, NotFoundException, ForbiddenException, UnauthorizedException, ConflictException {
+        return requestCompact(dtoInterface, timeout, url, HttpMethod.GET, null, parameters);
+    }
+
     /**
      * Sends GET request to specified {@code url}.
      *
@@ -335,7 +408,8 @@ public class HttpJsonHelper {
     }
 
     /**
-     * Execute all request from HttpJsonHelper throw single method  requestString.
+     * Execute all request from HttpJsonHelper throw single method  requestString. Requests for compact JSON are sent with {@link
+     * HttpJsonRequest} created by {@link HttpJsonRequestFactory}.
      */
     public static class HttpJsonHelperImpl {
 
@@ -385,6 +459,33 @@ public class HttpJsonHelper {
             return null;
         }
 
+        public <DTO> DTO requestCompact(Class<DTO> dtoInterface,
+                                        int timeout,
+                                        String url,
+                                        String method,
+                                        Object body,
+                                        Pair<String, ?>... parameters)
+                throws IOException, ServerException, UnauthorizedException, ForbiddenException, NotFoundException, ConflictException {
+            final HttpJsonRequest request = requestFactory.fromUrl(url)
+                                                          .setMethod(method)
+                                                          .setTimeout(timeout)
+                                                          .useCompactJson(dtoInterface);
+            if (body != null) {
+                request.setBody(body);
+            }
+            if (parameters != null) {
+                for (Pair<String, ?> parameter : parameters) {
+                    request.addQueryParam(parameter.first, parameter.second);
+                }
+            }
+            try {
+                return request.requestDto(dtoInterface);
+            } catch (BadRequestException e) {
+                // Other methods of this helper don't distinguish bad request from other server errors.
+                throw new ServerException(e.getServiceError());
+            }
+        }
+
         private String getAuthenticationToken() {
             User user = EnvironmentContext.getCurrent().getUser();
             if (user != null) {
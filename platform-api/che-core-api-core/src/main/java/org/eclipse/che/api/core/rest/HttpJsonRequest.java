@@ -27,6 +27,7 @@ import java.io.IOException;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Defines simple set of methods for requesting json objects.
@@ -130,6 +131,22 @@ public interface HttpJsonRequest {
      */
     HttpJsonRequest setTimeout(int timeout);
 
+    /**
+     * Asks server to send DTOs in compact JSON format, see {@link CodenvyJsonProvider#APPLICATION_COMPACT_JSON}. Server which doesn't
+     * produce compact JSON for requested resource sends usual JSON, so response may be read in the same way in both cases. Body of
+     * request is always sent as usual JSON.
+     *
+     * <p>Compact JSON may be read only with the same version of DTO interfaces. Request tells server hash of layout of expected DTO,
+     * server which has other version of DTO sends usual JSON, see {@link CodenvyJsonProvider#COMPACT_JSON_HASH_PARAMETER}.
+     *
+     * @param dtoInterface
+     *         type of DTO or type of elements of DTO list in response
+     * @return this request instance
+     * @throws NullPointerException
+     *         when dto interface is null
+     */
+    HttpJsonRequest useCompactJson(@NotNull Class<?> dtoInterface);
+
     /**
      * Makes http request with content type "application/json" and authorization headers
      * based on current {@link EnvironmentContext#getCurrent() context}.
@@ -160,6 +177,45 @@ public interface HttpJsonRequest {
                                       ConflictException,
                                       BadRequestException;
 
+    /**
+     * Makes the same request as {@link #request()} does and reads response as DTO of specified type.
+     *
+     * <p>Default implementation reads the whole response with {@link #request()} and then parses it, implementations may read DTO
+     * directly from the response stream.
+     *
+     * @param dtoInterface
+     *         type of expected response, interface must be annotated with &#064DTO
+     * @return DTO which represents response or {@code null} if response is empty
+     * @see #request()
+     */
+    default <T> T requestDto(@NotNull Class<T> dtoInterface) throws IOException,
+                                                                    ServerException,
+                                                                    UnauthorizedException,
+                                                                    ForbiddenException,
+                                                                    NotFoundException,
+                                                                    ConflictException,
+                                                                    BadRequestException {
+        return request().asDto(dtoInterface);
+    }
+
+    /**
+     * Makes the same request as {@link #request()} does but doesn't wait for the response. Request must not be modified until returned
+     * future is completed. Future is completed exceptionally with the same exceptions which {@link #request()} throws.
+     *
+     * <p>Default implementation makes request in the calling thread and returns already completed future.
+     *
+     * @return future which is completed with {@link HttpJsonResponse} when response is received
+     */
+    default CompletableFuture<HttpJsonResponse> requestAsync() {
+        final CompletableFuture<HttpJsonResponse> future = new CompletableFuture<>();
+        try {
+            future.complete(request());
+        } catch (Exception e) {
+            future.completeExceptionally(e);
+        }
+        return future;
+    }
+
     /**
      * Uses {@link HttpMethod#GET} as a request method.
      *
@@ -0,0 +1,112 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.core.rest;
+
+import org.eclipse.che.api.core.BadRequestException;
+import org.eclipse.che.api.core.ConflictException;
+import org.eclipse.che.api.core.ForbiddenException;
+import org.eclipse.che.api.core.NotFoundException;
+import org.eclipse.che.api.core.ServerException;
+import org.eclipse.che.api.core.UnauthorizedException;
+import org.eclipse.che.api.core.rest.shared.dto.Link;
+import org.eclipse.che.commons.env.EnvironmentContext;
+import org.eclipse.che.commons.lang.Pair;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Implementation of {@link HttpJsonRequest} which keeps connections alive and limits number of concurrent requests to the same host.
+ *
+ * <p>The implementation is not thread-safe, instance of this class must be created each time when it's needed.
+ *
+ * @see PooledHttpJsonRequestFactory
+ */
+class PooledHttpJsonRequest extends DefaultHttpJsonRequest {
+    private static final int DEFAULT_TIMEOUT = 60000;
+
+    private final PooledHttpJsonRequestFactory factory;
+
+    PooledHttpJsonRequest(PooledHttpJsonRequestFactory factory, String url) {
+        super(url);
+        this.factory = factory;
+    }
+
+    PooledHttpJsonRequest(PooledHttpJsonRequestFactory factory, Link link) {
+        super(link);
+        this.factory = factory;
+    }
+
+    /**
+     * Makes request in the pool of threads of {@link PooledHttpJsonRequestFactory}. Request is made in the same {@link
+     * EnvironmentContext} as the calling thread has.
+     */
+    @Override
+    public CompletableFuture<HttpJsonResponse> requestAsync() {
+        final CompletableFuture<HttpJsonResponse> future = new CompletableFuture<>();
+        final EnvironmentContext context = new EnvironmentContext(EnvironmentContext.getCurrent());
+        try {
+            factory.getExecutor().execute(() -> {
+                EnvironmentContext.setCurrent(context);
+                try {
+                    future.complete(request());
+                } catch (Exception e) {
+                    future.completeExceptionally(e);
+                } finally {
+                    EnvironmentContext.reset();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            future.completeExceptionally(e);
+        }
+        return future;
+    }
+
+    @Override
+    <R> R doRequest(int timeout,
+                    String url,
+                    String method,
+                    Object body,
+                    List<Pair<String, ?>> parameters,
+                    ResponseReader<R> responseReader) throws IOException,
+                                                             ServerException,
+                                                             ForbiddenException,
+                                                             NotFoundException,
+                                                             UnauthorizedException,
+                                                             ConflictException,
+                                                             BadRequestException {
+        final PooledHttpJsonRequestFactory.Host host = factory.getHost(url);
+        if (host == null) {
+            return super.doRequest(timeout, url, method, body, parameters, responseReader);
+        }
+        host.acquire(timeout > 0 ? timeout : DEFAULT_TIMEOUT);
+        final long start = System.currentTimeMillis();
+        boolean failed = true;
+        try {
+            final R response = super.doRequest(timeout, url, method, body, parameters, responseReader);
+            failed = false;
+            return response;
+        } catch (UnauthorizedException | ForbiddenException | NotFoundException | ConflictException | BadRequestException e) {
+            // Server is accessible and responds as expected.
+            failed = false;
+            throw e;
+        } finally {
+            host.release(System.currentTimeMillis() - start, failed);
+        }
+    }
+
+    @Override
+    boolean isKeepAlive() {
+        return true;
+    }
+}
@@ -0,0 +1,237 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.core.rest;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+import org.eclipse.che.api.core.rest.shared.dto.Link;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.inject.Named;
+import javax.inject.Singleton;
+import javax.validation.constraints.NotNull;
+import java.io.IOException;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Creates {@link HttpJsonRequest} instances which reuse connections. Connection which response is read completely is kept alive and
+ * returned to the JDK keep-alive cache (see system properties {@code http.keepAlive} and {@code http.maxConnections}), so the next
+ * request to the same host doesn't need to open new TCP connection. Number of concurrent requests to each host is limited, request waits
+ * for free connection not longer than its timeout. Requests created by this factory support {@link HttpJsonRequest#requestAsync()
+ * asynchronous} execution in the pool of threads of this factory.
+ * <p/>
+ * Factory collects per-host metrics: number of requests and failures, number of active and waiting requests and request latency.
+ */
+@Singleton
+public class PooledHttpJsonRequestFactory implements HttpJsonRequestFactory {
+    public static final String REQUESTS                = "requests";
+    public static final String FAILURES                = "failures";
+    public static final String ACTIVE_REQUESTS         = "activeRequests";
+    public static final String WAITING_REQUESTS        = "waitingRequests";
+    public static final String LATENCY_AVERAGE         = "latencyAverage";
+    public static final String LATENCY_MAX             = "latencyMax";
+    public static final String CONNECTION_WAIT_AVERAGE = "connectionWaitAverage";
+
+    private static final int DEFAULT_MAX_CONNECTIONS_PER_HOST = 20;
+    private static final int DEFAULT_ASYNC_THREADS            = 20;
+
+    /** Max number of concurrent requests to the same host. */
+    @com.google.inject.Inject(optional = true)
+    @Named("http.client.max_connections_per_host")
+    private int maxConnectionsPerHost = DEFAULT_MAX_CONNECTIONS_PER_HOST;
+
+    /** Max number of threads that make asynchronous requests. Requests that don't get thread wait in queue. */
+    @com.google.inject.Inject(optional = true)
+    @Named("http.client.async_threads")
+    private int asyncThreads = DEFAULT_ASYNC_THREADS;
+
+    private final ConcurrentMap<String, Host> hosts;
+
+    private ExecutorService executor;
+
+    public PooledHttpJsonRequestFactory() {
+        hosts = new ConcurrentHashMap<>();
+    }
+
+    @PostConstruct
+    public synchronized void start() {
+        if (executor != null) {
+            throw new IllegalStateException("Already started");
+        }
+        final ThreadPoolExecutor executor = new ThreadPoolExecutor(asyncThreads, asyncThreads, 60L, TimeUnit.SECONDS,
+                                                                   new LinkedBlockingQueue<Runnable>(),
+                                                                   new ThreadFactoryBuilder().setNameFormat("HttpJsonRequest-%d")
+                                                                                             .setDaemon(true)
+                                                                                             .build());
+        executor.allowCoreThreadTimeOut(true);
+        this.executor = executor;
+    }
+
+    @PreDestroy
+    public synchronized void stop() {
+        if (executor != null) {
+            executor.shutdownNow();
+            executor = null;
+        }
+        hosts.clear();
+    }
+
+    @Override
+    public HttpJsonRequest fromUrl(@NotNull String url) {
+        return new PooledHttpJsonRequest(this, url);
+    }
+
+    @Override
+    public HttpJsonRequest fromLink(@NotNull Link link) {
+        return new PooledHttpJsonRequest(this, link);
+    }
+
+    /**
+     * Gets current values of metrics of each host that was requested by this factory. All times are in milliseconds.
+     *
+     * @return map of host, in form {@code protocol://host:port}, to metrics of this host
+     */
+    public Map<String, Map<String, String>> getMetrics() {
+        final Map<String, Map<String, String>> metrics = new LinkedHashMap<>();
+        for (Map.Entry<String, Host> e : hosts.entrySet()) {
+            metrics.put(e.getKey(), e.getValue().getMetrics());
+        }
+        return metrics;
+    }
+
+    synchronized ExecutorService getExecutor() {
+        if (executor == null) {
+            throw new IllegalStateException("Not started");
+        }
+        return executor;
+    }
+
+    /** Gets host of specified url. Returns {@code null} if url is not valid, such request fails anyway. */
+    Host getHost(String url) {
+        final URL parsed;
+        try {
+            parsed = new URL(url);
+        } catch (MalformedURLException e) {
+            return null;
+        }
+        final int port = parsed.getPort() == -1 ? parsed.getDefaultPort() : parsed.getPort();
+        final String key = parsed.getProtocol() + "://" + parsed.getHost() + ':' + port;
+        Host host = hosts.get(key);
+        if (host == null) {
+            final Host newHost = new Host(maxConnectionsPerHost);
+            host = hosts.putIfAbsent(key, newHost);
+            if (host == null) {
+                host = newHost;
+            }
+        }
+        return host;
+    }
+
+    /** Limits number of concurrent requests to the host and collects metrics. Implementation is threadsafe. */
+    static class Host {
+        private final Semaphore     connections;
+        private final AtomicLong    requests;
+        private final AtomicLong    failures;
+        private final AtomicInteger active;
+        private final AtomicInteger waiting;
+        private final AtomicLong    latencyTotal;
+        private final AtomicLong    latencyMax;
+        private final AtomicLong    connectionWaitTotal;
+
+        Host(int maxConnections) {
+            connections = new Semaphore(maxConnections, true);
+            requests = new AtomicLong();
+            failures = new AtomicLong();
+            active = new AtomicInteger();
+            waiting = new AtomicInteger();
+            latencyTotal = new AtomicLong();
+            latencyMax = new AtomicLong();
+            connectionWaitTotal = new AtomicLong();
+        }
+
+        /**
+         * Waits for free connection to the host.
+         *
+         * @param timeout
+         *         max time in milliseconds to wait
+         * @throws IOException
+         *         if connection isn't available in specified time or current thread is interrupted
+         */
+        void acquire(long timeout) throws IOException {
+            final long start = System.currentTimeMillis();
+            waiting.incrementAndGet();
+            try {
+                if (!connections.tryAcquire(timeout, TimeUnit.MILLISECONDS)) {
+                    failures.incrementAndGet();
+                    throw new IOException(String.format("Unable get connection in %d ms, too many concurrent requests", timeout));
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                failures.incrementAndGet();
+                throw new IOException("Interrupted while waiting for connection");
+            } finally {
+                waiting.decrementAndGet();
+            }
+            connectionWaitTotal.addAndGet(System.currentTimeMillis() - start);
+            active.incrementAndGet();
+        }
+
+        /**
+         * Releases connection acquired with {@link #acquire(long)}.
+         *
+         * @param latency
+         *         time in milliseconds of the request
+         * @param failed
+         *         {@code true} if request failed with i/o error or got unexpected response
+         */
+        void release(long latency, boolean failed) {
+            active.decrementAndGet();
+            connections.release();
+            requests.incrementAndGet();
+            if (failed) {
+                failures.incrementAndGet();
+            }
+            latencyTotal.addAndGet(latency);
+            for (; ; ) {
+                final long max = latencyMax.get();
+                if (latency <= max || latencyMax.compareAndSet(max, latency)) {
+                    break;
+                }
+            }
+        }
+
+        Map<String, String> getMetrics() {
+            final Map<String, String> metrics = new LinkedHashMap<>();
+            final long requestsNum = requests.get();
+            metrics.put(REQUESTS, Long.toString(requestsNum));
+            metrics.put(FAILURES, Long.toString(failures.get()));
+            metrics.put(ACTIVE_REQUESTS, Integer.toString(active.get()));
+            metrics.put(WAITING_REQUESTS, Integer.toString(waiting.get()));
+            metrics.put(LATENCY_AVERAGE, Long.toString(requestsNum == 0 ? 0 : latencyTotal.get() / requestsNum));
+            metrics.put(LATENCY_MAX, Long.toString(latencyMax.get()));
+            metrics.put(CONNECTION_WAIT_AVERAGE, Long.toString(requestsNum == 0 ? 0 : connectionWaitTotal.get() / requestsNum));
+            return metrics;
+        }
+    }
+}
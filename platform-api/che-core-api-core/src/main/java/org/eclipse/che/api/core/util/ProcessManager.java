@@ -19,6 +19,10 @@ abstract class ProcessManager {
         return new DefaultProcessManager();
     }
 
+    /**
+     * Terminates process and all its descendants. Implementation may return before processes are terminated, callers which need to be
+     * sure that process is terminated should wait for it with {@link Process#waitFor()}.
+     */
     abstract void kill(Process process);
 
     abstract boolean isAlive(Process process);
@@ -0,0 +1,232 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.core.util;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Snapshot of table of processes of *nix like system. Snapshot is read from {@code /proc/[pid]/stat} files in single pass if {@code
+ * /proc} file system is available, otherwise it is read from output of single {@code ps} command.
+ */
+final class ProcessTree {
+    static final File PROC = new File("/proc");
+
+    private static final Pattern UNIX_PS_TABLE_PATTERN = Pattern.compile("\\s+");
+
+    /** Children of processes. */
+    private final Map<Integer, List<Integer>> children;
+    /** States of processes, e.g. 'R' - running, 'S' - sleeping, 'Z' - zombie. */
+    private final Map<Integer, Character>     states;
+    /** Start times of processes in clock ticks after system boot, field 22 of {@code /proc/[pid]/stat}. */
+    private final Map<Integer, Long>          startTimes;
+
+    private ProcessTree() {
+        children = new HashMap<>();
+        states = new HashMap<>();
+        startTimes = new HashMap<>();
+    }
+
+    /** Returns {@code true} if {@code /proc} file system is available. */
+    static boolean isProcAvailable() {
+        return new File(PROC, "self/stat").isFile();
+    }
+
+    /** Reads snapshot of table of processes from {@code /proc} if it is available or from output of {@code ps} otherwise. */
+    static ProcessTree read() {
+        if (isProcAvailable()) {
+            return readProc(PROC);
+        }
+        return readPs();
+    }
+
+    /**
+     * Reads snapshot of table of processes from {@code procDir}. Each numeric subdirectory of {@code procDir} must contain file {@code
+     * stat} in format of {@code /proc/[pid]/stat}.
+     */
+    static ProcessTree readProc(File procDir) {
+        final ProcessTree tree = new ProcessTree();
+        final String[] names = procDir.list();
+        if (names == null) {
+            return tree;
+        }
+        for (String name : names) {
+            if (!isNumber(name)) {
+                continue;
+            }
+            final String[] tokens = readStat(procDir, name);
+            if (tokens == null || tokens.length < 2 || tokens[0].isEmpty() || !isNumber(tokens[1])) {
+                continue;
+            }
+            tree.add(Integer.parseInt(name), Integer.parseInt(tokens[1]), tokens[0].charAt(0), getStartTime(tokens));
+        }
+        return tree;
+    }
+
+    /**
+     * Reads start time of single process from {@code procDir}, see {@link #getStartTime(int)}. Returns {@code -1} if process doesn't
+     * exist or its start time is unknown.
+     */
+    static long readStartTime(File procDir, int pid) {
+        final String[] tokens = readStat(procDir, Integer.toString(pid));
+        return tokens == null ? -1 : getStartTime(tokens);
+    }
+
+    /**
+     * Reads file {@code stat} of process and splits it to fields which follow process name, i.e. first element of result is state of
+     * process (field 3). Returns {@code null} if process doesn't exist or file has unexpected format.
+     */
+    private static String[] readStat(File procDir, String pid) {
+        final String stat;
+        try {
+            stat = new String(Files.readAllBytes(new File(new File(procDir, pid), "stat").toPath()), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            // Process terminated after directory was listed.
+            return null;
+        }
+        // pid (comm) state ppid ..., comm may contain spaces and parentheses.
+        final int commEnd = stat.lastIndexOf(')');
+        if (commEnd < 0) {
+            return null;
+        }
+        return UNIX_PS_TABLE_PATTERN.split(stat.substring(commEnd + 1).trim());
+    }
+
+    private static long getStartTime(String[] statTokens) {
+        // Tokens start from field 3, so start time (field 22) is 20th token.
+        if (statTokens.length < 20 || !isLong(statTokens[19])) {
+            return -1;
+        }
+        return Long.parseLong(statTokens[19]);
+    }
+
+    /** Reads snapshot of table of processes from output of {@code ps}. */
+    static ProcessTree readPs() {
+        final ProcessTree tree = new ProcessTree();
+        final StringBuilder error = new StringBuilder();
+        final LineConsumer stdout = new LineConsumer() {
+            @Override
+            public void writeLine(String line) throws IOException {
+                final String[] tokens = UNIX_PS_TABLE_PATTERN.split(line.trim());
+                // May be first line from process table: 'PPID PID STAT'. Skip it.
+                if (tokens.length == 3 && isNumber(tokens[0]) && isNumber(tokens[1]) && !tokens[2].isEmpty()) {
+                    tree.add(Integer.parseInt(tokens[1]), Integer.parseInt(tokens[0]), tokens[2].charAt(0), -1);
+                }
+            }
+
+            @Override
+            public void close() throws IOException {
+            }
+        };
+        final LineConsumer stderr = new LineConsumer() {
+            @Override
+            public void writeLine(String line) throws IOException {
+                if (error.length() > 0) {
+                    error.append('\n');
+                }
+                error.append(line);
+            }
+
+            @Override
+            public void close() throws IOException {
+            }
+        };
+        try {
+            ProcessUtil.process(Runtime.getRuntime().exec("ps -e -o ppid,pid,stat"), stdout, stderr);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+        if (error.length() > 0) {
+            throw new IllegalStateException("can't get child processes: " + error.toString());
+        }
+        return tree;
+    }
+
+    /** Gets all descendants of process, children are listed before their own children. */
+    List<Integer> getDescendants(int pid) {
+        final List<Integer> result = new ArrayList<>();
+        final Set<Integer> visited = new HashSet<>();
+        final Deque<Integer> queue = new ArrayDeque<>();
+        visited.add(pid);
+        queue.add(pid);
+        while (!queue.isEmpty()) {
+            final List<Integer> myChildren = children.get(queue.poll());
+            if (myChildren != null) {
+                for (Integer child : myChildren) {
+                    // Guard against loops if pid is reused while snapshot is read.
+                    if (visited.add(child)) {
+                        result.add(child);
+                        queue.add(child);
+                    }
+                }
+            }
+        }
+        return result;
+    }
+
+    /** Returns {@code true} if process is present in snapshot and isn't zombie. */
+    boolean isAlive(int pid) {
+        final Character state = states.get(pid);
+        return state != null && state != 'Z';
+    }
+
+    /**
+     * Returns start time of process in clock ticks after system boot. Process which has the same pid and start time as process from
+     * other snapshot is the same process, not another one which reuses pid. Returns {@code -1} if process isn't present in snapshot or its
+     * start time is unknown, e.g. snapshot is read from output of {@code ps}.
+     */
+    long getStartTime(int pid) {
+        final Long startTime = startTimes.get(pid);
+        return startTime == null ? -1 : startTime;
+    }
+
+    private void add(int pid, int ppid, char state, long startTime) {
+        states.put(pid, state);
+        startTimes.put(pid, startTime);
+        List<Integer> myChildren = children.get(ppid);
+        if (myChildren == null) {
+            children.put(ppid, myChildren = new ArrayList<>());
+        }
+        myChildren.add(pid);
+    }
+
+    private static boolean isLong(String str) {
+        return isDigits(str, 18);
+    }
+
+    private static boolean isNumber(String str) {
+        return isDigits(str, 9);
+    }
+
+    private static boolean isDigits(String str, int maxLength) {
+        if (str.isEmpty() || str.length() > maxLength) {
+            return false;
+        }
+        for (int i = 0; i < str.length(); i++) {
+            final char c = str.charAt(i);
+            if (c < '0' || c > '9') {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -90,7 +90,11 @@ public final class ProcessUtil {
         return PROCESS_MANAGER.isAlive(process);
     }
 
-
+    /**
+     * Terminates process and all its descendants. On *nix like systems processes get SIGTERM and this method returns at once, processes
+     * which are still alive after grace period are killed with SIGKILL in background. Use {@link Process#waitFor()} to wait for
+     * termination of process.
+     */
     public static void kill(Process process) {
         PROCESS_MANAGER.kill(process);
     }
@@ -0,0 +1,120 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.core.util;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Collects statistics of queue of tasks that are dispatched to remote servers, e.g. builders or runners. Keeps number of accepted and
+ * rejected tasks, histogram of time that tasks wait in queue and latency of sending task to remote server.
+ * <p/>
+ * Implementation is threadsafe.
+ */
+public class QueueMetrics {
+    public static final String ACCEPTED_TASKS        = "acceptedTasks";
+    public static final String REJECTED_TASKS        = "rejectedTasks";
+    public static final String DISPATCHED_TASKS      = "dispatchedTasks";
+    public static final String WAITING_TIME          = "waitingTime";
+    public static final String DISPATCH_TIME_AVERAGE = "dispatchTimeAverage";
+    public static final String DISPATCH_TIME_MAX     = "dispatchTimeMax";
+
+    /** Upper bounds (in milliseconds) of buckets of histogram of waiting time. Last bucket collects everything else. */
+    private static final long[] WAITING_TIME_BOUNDS = {
+            TimeUnit.SECONDS.toMillis(1),
+            TimeUnit.SECONDS.toMillis(5),
+            TimeUnit.SECONDS.toMillis(15),
+            TimeUnit.SECONDS.toMillis(30),
+            TimeUnit.MINUTES.toMillis(1),
+            TimeUnit.MINUTES.toMillis(5)};
+
+    private final AtomicLong      accepted;
+    private final AtomicLong      rejected;
+    private final AtomicLong      dispatched;
+    private final AtomicLong      dispatchTimeTotal;
+    private final AtomicLong      dispatchTimeMax;
+    private final AtomicLongArray waitingTimeHistogram;
+
+    public QueueMetrics() {
+        accepted = new AtomicLong();
+        rejected = new AtomicLong();
+        dispatched = new AtomicLong();
+        dispatchTimeTotal = new AtomicLong();
+        dispatchTimeMax = new AtomicLong();
+        waitingTimeHistogram = new AtomicLongArray(WAITING_TIME_BOUNDS.length + 1);
+    }
+
+    /** Task is accepted and added in queue. */
+    public void taskAccepted() {
+        accepted.incrementAndGet();
+    }
+
+    /** Task is not accepted, e.g. because queue is overloaded. */
+    public void taskRejected() {
+        rejected.incrementAndGet();
+    }
+
+    /**
+     * Task is sent to the remote server.
+     *
+     * @param waitingTime
+     *         time in milliseconds that task spent in queue before remote server for it was selected
+     * @param dispatchTime
+     *         time in milliseconds of sending task to the remote server
+     */
+    public void taskDispatched(long waitingTime, long dispatchTime) {
+        dispatched.incrementAndGet();
+        int bucket = 0;
+        while (bucket < WAITING_TIME_BOUNDS.length && waitingTime > WAITING_TIME_BOUNDS[bucket]) {
+            bucket++;
+        }
+        waitingTimeHistogram.incrementAndGet(bucket);
+        dispatchTimeTotal.addAndGet(dispatchTime);
+        for (; ; ) {
+            final long max = dispatchTimeMax.get();
+            if (dispatchTime <= max || dispatchTimeMax.compareAndSet(max, dispatchTime)) {
+                break;
+            }
+        }
+    }
+
+    /**
+     * Gets current values of all metrics. Each bucket of histogram of waiting time is represented with name like 'waitingTime.le5s'
+     * (less or equal than 5 seconds), the last bucket is named 'waitingTime.gt5m'. All times are in milliseconds.
+     *
+     * @return map of metric names to their values
+     */
+    public Map<String, String> getMetrics() {
+        final Map<String, String> metrics = new LinkedHashMap<>();
+        metrics.put(ACCEPTED_TASKS, Long.toString(accepted.get()));
+        metrics.put(REJECTED_TASKS, Long.toString(rejected.get()));
+        final long dispatchedNum = dispatched.get();
+        metrics.put(DISPATCHED_TASKS, Long.toString(dispatchedNum));
+        for (int i = 0; i < WAITING_TIME_BOUNDS.length; i++) {
+            metrics.put(WAITING_TIME + ".le" + formatTime(WAITING_TIME_BOUNDS[i]), Long.toString(waitingTimeHistogram.get(i)));
+        }
+        metrics.put(WAITING_TIME + ".gt" + formatTime(WAITING_TIME_BOUNDS[WAITING_TIME_BOUNDS.length - 1]),
+                    Long.toString(waitingTimeHistogram.get(WAITING_TIME_BOUNDS.length)));
+        metrics.put(DISPATCH_TIME_AVERAGE, Long.toString(dispatchedNum == 0 ? 0 : dispatchTimeTotal.get() / dispatchedNum));
+        metrics.put(DISPATCH_TIME_MAX, Long.toString(dispatchTimeMax.get()));
+        return metrics;
+    }
+
+    private static String formatTime(long millis) {
+        if (millis % 60000 == 0) {
+            return (millis / 60000) + "m";
+        }
+        return (millis / 1000) + "s";
+    }
+}
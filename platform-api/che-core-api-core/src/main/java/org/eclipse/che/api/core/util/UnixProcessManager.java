@@ -10,17 +10,22 @@
  *******************************************************************************/
 package org.eclipse.che.api.core.util;
 
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import com.sun.jna.Library;
 import com.sun.jna.Native;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.io.IOException;
 import java.lang.reflect.Field;
-import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.regex.Pattern;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
 
 /**
  * Process manager for *nix like system.
@@ -70,8 +75,24 @@ class UnixProcessManager extends ProcessManager {
         int system(String cmd);
     }
 
-    private static final Pattern UNIX_PS_TABLE_PATTERN = Pattern.compile("\\s+");
-
+    /**
+     * Time in milliseconds which processes have to terminate after SIGTERM before they are killed with SIGKILL. May be set with system
+     * property {@code org.eclipse.che.process.kill-grace-period}, if it is zero processes are killed with SIGKILL at once.
+     */
+    private static final long KILL_GRACE_PERIOD  = Long.getLong("org.eclipse.che.process.kill-grace-period", 2000);
+    /** Interval in milliseconds between checks whether processes are terminated after SIGTERM. */
+    private static final long KILL_POLL_INTERVAL = 50;
+
+    /** Escalates SIGTERM to SIGKILL in background, so callers of {@link #kill(Process)} don't wait for grace period. */
+    private static final ScheduledExecutorService ESCALATOR =
+            Executors.newSingleThreadScheduledExecutor(new ThreadFactoryBuilder().setNameFormat("ProcessKillEscalator")
+                                                                                 .setDaemon(true).build());
+
+    /**
+     * Sends SIGTERM to process and all its descendants and returns without waiting for their termination. Processes which ignore SIGTERM
+     * are killed with SIGKILL in background after {@link #KILL_GRACE_PERIOD}. Use {@link Process#waitFor()} to wait for termination of
+     * process.
+     */
     @Override
     public void kill(Process process) {
         if (C_LIBRARY != null) {
@@ -81,82 +102,89 @@ class UnixProcessManager extends ProcessManager {
         }
     }
 
+    /**
+     * Sends SIGTERM to process and all its descendants and returns. Processes which are still alive after {@link #KILL_GRACE_PERIOD} are
+     * killed with SIGKILL in background. Tree of processes is read from {@code /proc} without starting new processes if possible. If
+     * {@code /proc} isn't available processes are killed with SIGKILL at once since there is no way to check later that pid isn't reused
+     * by another process.
+     */
     private void killTree(int pid) {
-        final int[] children = getChildProcesses(pid);
-        LOG.debug("PID: {}, child PIDs: {}", pid, children);
-        if (children.length > 0) {
-            for (int cpid : children) {
-                killTree(cpid); // kill process tree recursively
-            }
+        final ProcessTree tree = ProcessTree.read();
+        // pid -> start time, pid and start time identify process.
+        final Map<Integer, Long> processes = new LinkedHashMap<>();
+        processes.put(pid, tree.getStartTime(pid));
+        for (int descendant : tree.getDescendants(pid)) {
+            processes.put(descendant, tree.getStartTime(descendant));
         }
-        int r = C_LIBRARY.kill(pid, CLibrary.SIGKILL); // kill origin process
-        LOG.debug("kill {}", pid);
-        if (r != 0) {
-            if (LOG.isDebugEnabled()) {
-                LOG.debug("kill for {} returns {}, strerror '{}'", pid, r, C_LIBRARY.strerror(r));
-            }
+        LOG.debug("PID: {}, process tree: {}", pid, processes.keySet());
+        if (KILL_GRACE_PERIOD <= 0 || !ProcessTree.isProcAvailable()) {
+            signal(processes.keySet(), CLibrary.SIGKILL);
+            return;
         }
+        signal(processes.keySet(), CLibrary.SIGTERM);
+        ESCALATOR.schedule(new Escalation(pid, processes, System.currentTimeMillis() + KILL_GRACE_PERIOD),
+                           KILL_POLL_INTERVAL, TimeUnit.MILLISECONDS);
     }
 
-    private int[] getChildProcesses(final int myPid) {
-        final String ps = "ps -e -o ppid,pid,comm"; /* PPID, PID, COMMAND */
-        final List<Integer> children = new ArrayList<>();
-        final StringBuilder error = new StringBuilder();
-        final LineConsumer stdout = new LineConsumer() {
-            @Override
-            public void writeLine(String line) throws IOException {
-                if (line != null && !line.isEmpty()) {
-                    final String[] tokens = UNIX_PS_TABLE_PATTERN.split(line.trim());
-                    if (tokens.length == 3 /* PPID, PID, COMMAND */) {
-                        int ppid;
-                        try {
-                            ppid = Integer.parseInt(tokens[0]);
-                        } catch (NumberFormatException e) {
-                            // May be first line from process table: 'PPID PID COMMAND'. Skip it.
-                            return;
-                        }
-                        if (ppid == myPid) {
-                            int pid = Integer.parseInt(tokens[1]);
-                            children.add(pid);
-                        }
-                    }
-                }
-            }
-
-            @Override
-            public void close() throws IOException {
-            }
-        };
+    /**
+     * Checks whether processes are terminated after SIGTERM and kills them with SIGKILL when grace period is over. Process is checked by
+     * pid and start time, so process which reuses pid of terminated one is never killed.
+     */
+    private class Escalation implements Runnable {
+        final int                pid;
+        final Map<Integer, Long> processes;
+        final long               deadline;
+
+        Escalation(int pid, Map<Integer, Long> processes, long deadline) {
+            this.pid = pid;
+            this.processes = processes;
+            this.deadline = deadline;
+        }
 
-        final LineConsumer stderr = new LineConsumer() {
-            @Override
-            public void writeLine(String line) throws IOException {
-                if (error.length() > 0) {
-                    error.append('\n');
+        @Override
+        public void run() {
+            final ProcessTree tree = ProcessTree.readProc(ProcessTree.PROC);
+            // Processes may be forked after the first snapshot. Don't look for them when origin process is terminated, its pid may be
+            // reused by another process.
+            if (isSameProcess(pid, tree.getStartTime(pid)) && tree.isAlive(pid)) {
+                for (int descendant : tree.getDescendants(pid)) {
+                    processes.put(descendant, tree.getStartTime(descendant));
                 }
-                error.append(line);
             }
-
-            @Override
-            public void close() throws IOException {
+            final List<Integer> alive = processes.keySet().stream()
+                                                 .filter(p -> tree.isAlive(p) && isSameProcess(p, tree.getStartTime(p)))
+                                                 .collect(Collectors.toList());
+            if (alive.isEmpty()) {
+                return;
+            }
+            if (System.currentTimeMillis() >= deadline) {
+                // Check start time once again right before SIGKILL, pid may be reused after snapshot was read.
+                signal(alive.stream()
+                            .filter(p -> isSameProcess(p, ProcessTree.readStartTime(ProcessTree.PROC, p)))
+                            .collect(Collectors.toList()),
+                       CLibrary.SIGKILL);
+            } else {
+                ESCALATOR.schedule(this, KILL_POLL_INTERVAL, TimeUnit.MILLISECONDS);
             }
-        };
-
-        try {
-            ProcessUtil.process(Runtime.getRuntime().exec(ps), stdout, stderr);
-        } catch (IOException e) {
-            throw new IllegalStateException(e);
         }
 
-        if (error.length() > 0) {
-            throw new IllegalStateException("can't get child processes: " + error.toString());
+        /** Returns {@code true} if process with specified pid and start time is one of processes which got SIGTERM. */
+        private boolean isSameProcess(int p, long startTime) {
+            final Long myStartTime = processes.get(p);
+            return startTime != -1 && myStartTime != null && myStartTime == startTime;
         }
-        final int size = children.size();
-        final int[] result = new int[size];
-        for (int i = 0; i < size; i++) {
-            result[i] = children.get(i);
+    }
+
+    private void signal(Collection<Integer> pids, int signal) {
+        for (int pid : pids) {
+            int r = C_LIBRARY.kill(pid, signal);
+            LOG.debug("kill -{} {}", signal, pid);
+            if (r != 0) {
+                if (LOG.isDebugEnabled()) {
+                    LOG.debug("kill for {} returns {}, strerror '{}'", pid, r, C_LIBRARY.strerror(r));
+                }
+            }
         }
-        return result;
     }
 
     @Override
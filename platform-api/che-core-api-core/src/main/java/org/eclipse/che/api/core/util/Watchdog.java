@@ -17,38 +17,59 @@ import java.util.concurrent.TimeUnit;
 
 /**
  * It controls the time of {@code Cancellable} invocation and if time if greater than timeout it terminates such {@code Cancellable}.
+ * <p/>
+ * Watchdogs don't have own threads, all of them share {@link WatchdogService#getDefault() default WatchdogService}.
  *
  * @author <a href="mailto:andrew00x@gmail.com">Andrey Parfonov</a>
  */
 public final class Watchdog implements Runnable {
     private static final Logger LOG = LoggerFactory.getLogger(Watchdog.class);
 
-    private final String name;
-    private final long   timeout;
+    private final String          name;
+    private final long            timeout;
+    private final WatchdogService watchdogService;
 
-    private boolean     watch;
-    private Cancellable cancellable;
+    private boolean                 watch;
+    private Cancellable             cancellable;
+    private WatchdogService.Timeout scheduled;
 
     /**
      * Create new {@code Watchdog}.
      *
      * @param name
-     *         name for background {@code Thread}. It helps to identify out threads. This parameter is optional and may be {@code null}.
+     *         name of this {@code Watchdog}, it helps to identify it in logs. This parameter is optional and may be {@code null}.
      * @param timeout
      *         timeout
      * @param unit
      *         timeout unit
      */
     public Watchdog(String name, long timeout, TimeUnit unit) {
+        this(name, timeout, unit, WatchdogService.getDefault());
+    }
+
+    public Watchdog(long timeout, TimeUnit unit) {
+        this(null, timeout, unit);
+    }
+
+    /**
+     * Create new {@code Watchdog} which uses specified {@code WatchdogService}.
+     *
+     * @param name
+     *         name of this {@code Watchdog}, it helps to identify it in logs. This parameter is optional and may be {@code null}.
+     * @param timeout
+     *         timeout
+     * @param unit
+     *         timeout unit
+     * @param watchdogService
+     *         service which controls timeout
+     */
+    public Watchdog(String name, long timeout, TimeUnit unit, WatchdogService watchdogService) {
         this.name = name;
         if (timeout < 1) {
             throw new IllegalArgumentException(String.format("Invalid timeout: %d", timeout));
         }
         this.timeout = unit.toMillis(timeout);
-    }
-
-    public Watchdog(long timeout, TimeUnit unit) {
-        this(null, timeout, unit);
+        this.watchdogService = watchdogService;
     }
 
     /**
@@ -60,35 +81,33 @@ public final class Watchdog implements Runnable {
     public synchronized void start(Cancellable cancellable) {
         this.cancellable = cancellable;
         this.watch = true;
-        final Thread t = name == null ? new Thread(this) : new Thread(this, name);
-        t.setDaemon(true);
-        t.start();
+        scheduled = watchdogService.start(this::run, timeout, TimeUnit.MILLISECONDS);
     }
 
     /** Stop watching. */
     public synchronized void stop() {
         watch = false;
-        notify();
+        if (scheduled != null) {
+            scheduled.cancel();
+            scheduled = null;
+        }
     }
 
-    /** NOTE: Not expected to call directly by regular users of this class. */
-    public synchronized void run() {
-        final long end = System.currentTimeMillis() + timeout;
-        long now;
-        while (watch && (end > (now = System.currentTimeMillis()))) {
-            try {
-                wait(end - now);
-            } catch (InterruptedException ignored) {
-                // Not expected to be thrown
-            }
-        }
-        if (watch) {
-            try {
-                cancellable.cancel();
-            } catch (Exception e) {
-                LOG.error(e.getMessage(), e);
+    /** NOTE: Not expected to call directly by regular users of this class. Cancels watched {@code Cancellable} when timeout expires. */
+    public void run() {
+        final Cancellable toCancel;
+        synchronized (this) {
+            if (!watch) {
+                return;
             }
             watch = false;
+            scheduled = null;
+            toCancel = cancellable;
+        }
+        try {
+            toCancel.cancel();
+        } catch (Exception e) {
+            LOG.error(name == null ? e.getMessage() : String.format("%s: %s", name, e.getMessage()), e);
         }
     }
 }
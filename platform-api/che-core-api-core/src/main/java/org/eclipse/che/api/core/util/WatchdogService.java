@@ -0,0 +1,295 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.core.util;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cancels {@link Cancellable}s by timeout. All timeouts share single thread which runs hashed timer wheel: timeouts are put in buckets
+ * of wheel by their deadlines and thread checks one bucket per tick. Timeouts are expired not earlier than their deadlines and not later
+ * than one tick after deadlines. Starting and stopping of timeout takes constant time. Expired {@code Cancellable}s are cancelled in
+ * separate pool of threads so slow cancellation doesn't delay expiration of other timeouts. Size of pool is limited, if all its threads
+ * are busy then cancellations wait for free thread.
+ *
+ * @see Watchdog
+ */
+public final class WatchdogService {
+    private static final Logger LOG = LoggerFactory.getLogger(WatchdogService.class);
+
+    public static final String ACTIVE = "active";
+    public static final String FIRED  = "fired";
+
+    private static final WatchdogService DEFAULT = new WatchdogService("WatchdogService", 100, TimeUnit.MILLISECONDS, 512, 16);
+
+    /** Gets instance of WatchdogService shared by all {@link Watchdog}s. */
+    public static WatchdogService getDefault() {
+        return DEFAULT;
+    }
+
+    private final String          name;
+    private final long            tickDuration;
+    private final Bucket[]        wheel;
+    private final int             mask;
+    private final long            startTime;
+    private final ExecutorService cancelExecutor;
+
+    private Thread  worker;
+    private boolean stopped;
+    private long    tick;
+    private long    active;
+    private long    fired;
+
+    /**
+     * Create new {@code WatchdogService}.
+     *
+     * @param name
+     *         name for background threads
+     * @param tickDuration
+     *         duration of tick of timer wheel, it is precision of timeouts
+     * @param unit
+     *         unit of {@code tickDuration}
+     * @param ticksPerWheel
+     *         number of buckets in timer wheel, it is rounded up to power of two
+     * @param cancelThreads
+     *         max number of threads which cancel expired {@code Cancellable}s at the same time
+     */
+    public WatchdogService(String name, long tickDuration, TimeUnit unit, int ticksPerWheel, int cancelThreads) {
+        if (tickDuration < 1) {
+            throw new IllegalArgumentException(String.format("Invalid tick duration: %d", tickDuration));
+        }
+        if (ticksPerWheel < 1 || ticksPerWheel > (1 << 30)) {
+            throw new IllegalArgumentException(String.format("Invalid number of ticks per wheel: %d", ticksPerWheel));
+        }
+        if (cancelThreads < 1) {
+            throw new IllegalArgumentException(String.format("Invalid number of cancel threads: %d", cancelThreads));
+        }
+        this.name = name;
+        this.tickDuration = unit.toNanos(tickDuration);
+        int size = 1;
+        while (size < ticksPerWheel) {
+            size <<= 1;
+        }
+        wheel = new Bucket[size];
+        for (int i = 0; i < size; i++) {
+            wheel[i] = new Bucket();
+        }
+        mask = size - 1;
+        startTime = System.nanoTime();
+        final ThreadPoolExecutor executor = new ThreadPoolExecutor(cancelThreads, cancelThreads, 60, TimeUnit.SECONDS,
+                                                                   new LinkedBlockingQueue<>(),
+                                                                   new ThreadFactoryBuilder().setNameFormat(name + "-Cancel-%d")
+                                                                                             .setDaemon(true).build());
+        // Don't keep idle threads, most of time there is nothing to cancel.
+        executor.allowCoreThreadTimeOut(true);
+        cancelExecutor = executor;
+    }
+
+    /**
+     * Starts watching {@code Cancellable}. If returned timeout isn't cancelled before {@code timeout} expires then {@code cancellable} is
+     * cancelled.
+     *
+     * @param cancellable
+     *         Cancellable
+     * @param timeout
+     *         timeout
+     * @param unit
+     *         timeout unit
+     * @return timeout which may be cancelled to stop watching
+     * @throws IllegalStateException
+     *         if this service is stopped
+     */
+    public Timeout start(Cancellable cancellable, long timeout, TimeUnit unit) {
+        if (timeout < 1) {
+            throw new IllegalArgumentException(String.format("Invalid timeout: %d", timeout));
+        }
+        final long deadline = System.nanoTime() - startTime + unit.toNanos(timeout);
+        synchronized (this) {
+            if (stopped) {
+                throw new IllegalStateException(String.format("%s is stopped", name));
+            }
+            final long expirationTick = Math.max(deadline / tickDuration, tick);
+            final Timeout t = new Timeout(cancellable, (expirationTick - tick) / wheel.length);
+            wheel[(int)(expirationTick & mask)].add(t);
+            active++;
+            if (worker == null) {
+                worker = new Thread(this::runWheel, name);
+                worker.setDaemon(true);
+                worker.start();
+            }
+            return t;
+        }
+    }
+
+    /**
+     * Stops background threads of this service. Timeouts which aren't expired yet are never expired after that, cancellations which are
+     * already started are completed. Shared {@link #getDefault() default} service can't be stopped.
+     */
+    public void stop() {
+        if (this == DEFAULT) {
+            throw new IllegalStateException("Default WatchdogService can't be stopped");
+        }
+        final Thread myWorker;
+        synchronized (this) {
+            if (stopped) {
+                return;
+            }
+            stopped = true;
+            myWorker = worker;
+        }
+        if (myWorker != null) {
+            myWorker.interrupt();
+        }
+        cancelExecutor.shutdown();
+    }
+
+    /** Gets current values of metrics of this service: numbers of active timeouts and timeouts which have fired. */
+    public synchronized Map<String, String> getMetrics() {
+        final Map<String, String> metrics = new LinkedHashMap<>();
+        metrics.put(ACTIVE, Long.toString(active));
+        metrics.put(FIRED, Long.toString(fired));
+        return metrics;
+    }
+
+    private void runWheel() {
+        final List<Timeout> expired = new ArrayList<>();
+        for (; ; ) {
+            final long nextTickTime;
+            synchronized (this) {
+                if (stopped) {
+                    return;
+                }
+                nextTickTime = (tick + 1) * tickDuration;
+            }
+            long sleepTime;
+            while ((sleepTime = nextTickTime - (System.nanoTime() - startTime)) > 0) {
+                try {
+                    TimeUnit.NANOSECONDS.sleep(sleepTime);
+                } catch (InterruptedException e) {
+                    // Interrupted by stop()
+                    return;
+                }
+            }
+            synchronized (this) {
+                final Bucket bucket = wheel[(int)(tick & mask)];
+                Timeout t = bucket.head;
+                while (t != null) {
+                    final Timeout next = t.next;
+                    if (t.remainingRounds <= 0) {
+                        bucket.remove(t);
+                        t.expired = true;
+                        expired.add(t);
+                    } else {
+                        t.remainingRounds--;
+                    }
+                    t = next;
+                }
+                tick++;
+                active -= expired.size();
+                fired += expired.size();
+            }
+            try {
+                for (Timeout t : expired) {
+                    cancelExecutor.execute(t::fire);
+                }
+            } catch (RejectedExecutionException e) {
+                // Service is stopped
+                return;
+            }
+            expired.clear();
+        }
+    }
+
+    /** Timeout started with {@link WatchdogService#start(Cancellable, long, TimeUnit)}. Cancel timeout to stop watching. */
+    public final class Timeout implements Cancellable {
+        private final Cancellable cancellable;
+
+        private long    remainingRounds;
+        private boolean expired;
+        private boolean cancelled;
+        private Bucket  bucket;
+        private Timeout prev;
+        private Timeout next;
+
+        private Timeout(Cancellable cancellable, long remainingRounds) {
+            this.cancellable = cancellable;
+            this.remainingRounds = remainingRounds;
+        }
+
+        /** Stops watching. Does nothing if timeout is already expired or cancelled. */
+        @Override
+        public void cancel() {
+            synchronized (WatchdogService.this) {
+                if (expired || cancelled) {
+                    return;
+                }
+                cancelled = true;
+                bucket.remove(this);
+                active--;
+            }
+        }
+
+        /** Returns {@code true} if timeout is expired and its {@code Cancellable} is cancelled or is going to be cancelled. */
+        public boolean isExpired() {
+            synchronized (WatchdogService.this) {
+                return expired;
+            }
+        }
+
+        private void fire() {
+            try {
+                cancellable.cancel();
+            } catch (Exception e) {
+                LOG.error(e.getMessage(), e);
+            }
+        }
+    }
+
+    /** Doubly linked list of timeouts. */
+    private static final class Bucket {
+        private Timeout head;
+
+        void add(Timeout t) {
+            t.bucket = this;
+            t.next = head;
+            if (head != null) {
+                head.prev = t;
+            }
+            head = t;
+        }
+
+        void remove(Timeout t) {
+            if (t.prev != null) {
+                t.prev.next = t.next;
+            } else {
+                head = t.next;
+            }
+            if (t.next != null) {
+                t.next.prev = t.prev;
+            }
+            t.prev = null;
+            t.next = null;
+            t.bucket = null;
+        }
+    }
+}
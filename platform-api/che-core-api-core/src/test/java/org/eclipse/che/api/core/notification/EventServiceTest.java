@@ -11,12 +11,17 @@
 package org.eclipse.che.api.core.notification;
 
 import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
 
 import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 
 /**
  * @author andrew00x
@@ -29,6 +34,11 @@ public class EventServiceTest {
         bus = new EventService();
     }
 
+    @AfterMethod
+    public void tearDown() {
+        bus.stop();
+    }
+
     @Test
     public void testSimpleEvent() {
         final List<Object> events = new ArrayList<>();
@@ -157,4 +167,58 @@ public class EventServiceTest {
         bus.publish(new Event());
         Assert.assertEquals(events.size(), 0);
     }
+
+    @Test
+    public void testAsyncOrderedEvents() throws Exception {
+        final List<String> events = new CopyOnWriteArrayList<>();
+        final CountDownLatch latch = new CountDownLatch(100);
+        bus.subscribe(new EventSubscriber<String>() {
+            @Override
+            public void onEvent(String event) {
+                events.add(event);
+                latch.countDown();
+            }
+        }, DispatchPolicy.asyncOrdered());
+        final List<String> expected = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            final String event = Integer.toString(i);
+            expected.add(event);
+            bus.publish(event);
+        }
+        Assert.assertTrue(latch.await(5, TimeUnit.SECONDS));
+        Assert.assertEquals(events, expected);
+    }
+
+    @Test
+    public void testAsyncEventsOverflow() throws Exception {
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final CountDownLatch done = new CountDownLatch(3);
+        EventSubscriber<Event> l = new EventSubscriber<Event>() {
+            @Override
+            public void onEvent(Event event) {
+                started.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException ignored) {
+                }
+                done.countDown();
+            }
+        };
+        bus.subscribe(l, DispatchPolicy.asyncOrdered(2, DispatchPolicy.Overflow.DROP_NEWEST));
+        bus.publish(new Event());
+        // wait until the first event is taken from queue and subscriber is blocked
+        Assert.assertTrue(started.await(5, TimeUnit.SECONDS));
+        for (int i = 0; i < 5; i++) {
+            bus.publish(new Event());
+        }
+        Map<String, Long> stats = bus.getAsyncSubscribersStats().get(l.toString());
+        Assert.assertEquals(stats.get("queueSize"), Long.valueOf(2));
+        Assert.assertEquals(stats.get("dropped"), Long.valueOf(3));
+        release.countDown();
+        Assert.assertTrue(done.await(5, TimeUnit.SECONDS));
+
+        bus.unsubscribe(l);
+        Assert.assertTrue(bus.getAsyncSubscribersStats().isEmpty());
+    }
 }
@@ -0,0 +1,92 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.core.rest;
+
+import org.eclipse.che.api.core.rest.shared.dto.Link;
+import org.eclipse.che.dto.server.DtoFactory;
+import org.everrest.core.impl.ApplicationContextImpl;
+import org.everrest.core.impl.ApplicationProviderBinder;
+import org.everrest.core.impl.ContainerRequest;
+import org.everrest.core.impl.MultivaluedMapImpl;
+import org.everrest.core.impl.OutputHeadersMap;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.Test;
+
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.MultivaluedMap;
+import java.io.ByteArrayOutputStream;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+
+import static org.eclipse.che.api.core.util.LinksHelper.createLink;
+import static org.testng.Assert.assertEquals;
+
+/**
+ * Tests of {@link CodenvyJsonProvider}.
+ */
+public class CodenvyJsonProviderTest {
+    private final CodenvyJsonProvider<Object> provider = new CodenvyJsonProvider<>(null);
+    private final Link                        link     = createLink("GET", "http://localhost:8080/api/builder/status/1", "status");
+
+    @AfterMethod
+    public void tearDown() {
+        ApplicationContextImpl.setCurrent(null);
+    }
+
+    @Test
+    public void shouldWriteCompactJsonWhenClientHasSameLayoutOfDto() throws Exception {
+        final MediaType compactType = CodenvyJsonProvider.compactJsonType(DtoFactory.getInstance().getCompactJsonHash(Link.class));
+        accept(compactType + ", application/json;q=0.9");
+        final MultivaluedMap<String, Object> headers = new OutputHeadersMap();
+
+        final String json = write(headers);
+
+        assertEquals(json, DtoFactory.getInstance().toCompactJson(link));
+        assertEquals(headers.getFirst(HttpHeaders.CONTENT_TYPE), compactType);
+    }
+
+    @Test
+    public void shouldWriteUsualJsonWhenClientHasOtherLayoutOfDto() throws Exception {
+        accept(CodenvyJsonProvider.compactJsonType("0123456789abcdef") + ", application/json;q=0.9");
+        final MultivaluedMap<String, Object> headers = new OutputHeadersMap();
+
+        final String json = write(headers);
+
+        assertEquals(json, DtoFactory.getInstance().toJson(link));
+        assertEquals(headers.getFirst(HttpHeaders.CONTENT_TYPE), MediaType.APPLICATION_JSON_TYPE);
+    }
+
+    @Test
+    public void shouldWriteUsualJsonWhenClientDoesNotTellLayoutOfDto() throws Exception {
+        accept(CodenvyJsonProvider.APPLICATION_COMPACT_JSON);
+        final MultivaluedMap<String, Object> headers = new OutputHeadersMap();
+
+        final String json = write(headers);
+
+        assertEquals(json, DtoFactory.getInstance().toJson(link));
+        assertEquals(headers.getFirst(HttpHeaders.CONTENT_TYPE), MediaType.APPLICATION_JSON_TYPE);
+    }
+
+    private void accept(String accept) throws Exception {
+        final MultivaluedMap<String, String> requestHeaders = new MultivaluedMapImpl();
+        requestHeaders.putSingle(HttpHeaders.ACCEPT, accept);
+        final URI uri = new URI("http://localhost:8080/api");
+        final ContainerRequest request = new ContainerRequest("GET", uri, uri, null, requestHeaders, null);
+        ApplicationContextImpl.setCurrent(new ApplicationContextImpl(request, null, new ApplicationProviderBinder()));
+    }
+
+    private String write(MultivaluedMap<String, Object> headers) throws Exception {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        provider.writeTo(link, link.getClass(), link.getClass(), null, CodenvyJsonProvider.APPLICATION_COMPACT_JSON_TYPE, headers, out);
+        return new String(out.toByteArray(), StandardCharsets.UTF_8);
+    }
+}
@@ -270,6 +270,20 @@ public class DefaultHttpJsonRequestTest {
         assertEquals(links, Collections.singletonList(link));
     }
 
+    @Test
+    public void shouldReadUsualJsonIfServerDoesNotProduceCompactJson(ITestContext ctx) throws Exception {
+        final DefaultHttpJsonRequest request = new DefaultHttpJsonRequest(getUrl(ctx) + "/application-json");
+
+        final Link link = LinksHelper.createLink("GET", "localhost:8080/application-json", "rel");
+        final List<Link> links = request.usePostMethod()
+                                        .useCompactJson(Link.class)
+                                        .setBody(Collections.singletonList(link))
+                                        .request()
+                                        .asList(Link.class);
+
+        assertEquals(links, Collections.singletonList(link));
+    }
+
     @Test
     public void shouldSendQueryParameters(ITestContext ctx) throws Exception {
         final DefaultHttpJsonRequest request = new DefaultHttpJsonRequest(getUrl(ctx) + "/query-parameters");
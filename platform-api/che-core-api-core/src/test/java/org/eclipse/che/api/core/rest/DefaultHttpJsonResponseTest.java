@@ -74,6 +74,23 @@ public class DefaultHttpJsonResponseTest {
         assertEquals(response.asList(Link.class), singletonList(testLink));
     }
     
+    @Test
+    public void shouldReadDtoInCompactJsonFormat() throws Exception {
+        final Link testLink = createLink("POST", "http://localhost:8080", "rel");
+        final DefaultHttpJsonResponse response = new DefaultHttpJsonResponse(DtoFactory.getInstance().toCompactJson(testLink), 200, true);
+
+        assertEquals(response.asDto(Link.class), testLink);
+    }
+
+    @Test
+    public void shouldReadListOfDtoInCompactJsonFormat() throws Exception {
+        final Link testLink = createLink("POST", "http://localhost:8080", "rel");
+        final String responseBody = DtoFactory.getInstance().toCompactJson(new JsonArrayImpl<>(singletonList(testLink)));
+        final DefaultHttpJsonResponse response = new DefaultHttpJsonResponse(responseBody, 200, true);
+
+        assertEquals(response.asList(Link.class), singletonList(testLink));
+    }
+
     @Test(expectedExceptions = NullPointerException.class)
     public void shouldThrowNullPointerExceptionWhenClazzIsNull() throws Exception {
         new DefaultHttpJsonResponse("{}", 200).as(null, null);
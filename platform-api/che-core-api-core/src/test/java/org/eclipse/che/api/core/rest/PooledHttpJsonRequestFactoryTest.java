@@ -0,0 +1,131 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.core.rest;
+
+import org.eclipse.che.api.core.NotFoundException;
+import org.eclipse.che.api.core.ServerException;
+import org.eclipse.che.commons.env.EnvironmentContext;
+import org.eclipse.che.commons.user.User;
+import org.eclipse.che.commons.user.UserImpl;
+import org.everrest.assured.EverrestJetty;
+import org.everrest.core.Filter;
+import org.everrest.core.GenericContainerRequest;
+import org.everrest.core.RequestFilter;
+import org.testng.ITestContext;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Listeners;
+import org.testng.annotations.Test;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
+
+/**
+ * Tests of {@link PooledHttpJsonRequestFactory}.
+ */
+@Listeners(EverrestJetty.class)
+public class PooledHttpJsonRequestFactoryTest {
+    @SuppressWarnings("unused") // used by EverrestJetty
+    private static final EnvironmentFilter  FILTER           = new EnvironmentFilter();
+    @SuppressWarnings("unused") // used by EverrestJetty
+    private static final ApiExceptionMapper EXCEPTION_MAPPER = new ApiExceptionMapper();
+    @SuppressWarnings("unused") // used by EverrestJetty
+    private static final TestService        TEST_SERVICE     = new TestService();
+    private static final User               TEST_USER        = new UserImpl("name", "id", "token", null, false);
+
+    private PooledHttpJsonRequestFactory factory;
+
+    @BeforeMethod
+    public void setUp() {
+        factory = new PooledHttpJsonRequestFactory();
+        factory.start();
+    }
+
+    @AfterMethod
+    public void tearDown() {
+        factory.stop();
+        EnvironmentContext.reset();
+    }
+
+    @Test
+    public void shouldReuseFactoryForSeveralRequests(ITestContext ctx) throws Exception {
+        for (int i = 0; i < 3; i++) {
+            assertEquals(factory.fromUrl(getUrl(ctx) + "/application-json").useGetMethod().request().asString(), TestService.JSON_OBJECT);
+        }
+
+        final Map<String, Map<String, String>> metrics = factory.getMetrics();
+        assertEquals(metrics.size(), 1);
+        final Map<String, String> hostMetrics = metrics.values().iterator().next();
+        assertEquals(hostMetrics.get(PooledHttpJsonRequestFactory.REQUESTS), "3");
+        assertEquals(hostMetrics.get(PooledHttpJsonRequestFactory.FAILURES), "0");
+        assertEquals(hostMetrics.get(PooledHttpJsonRequestFactory.ACTIVE_REQUESTS), "0");
+    }
+
+    @Test
+    public void shouldNotCountErrorResponseAsFailure(ITestContext ctx) throws Exception {
+        try {
+            factory.fromUrl(getUrl(ctx) + "/404/response-code-test").useGetMethod().request();
+            fail("NotFoundException expected");
+        } catch (NotFoundException ignored) {
+        }
+        try {
+            factory.fromUrl(getUrl(ctx) + "/500/response-code-test").useGetMethod().request();
+            fail("ServerException expected");
+        } catch (ServerException ignored) {
+        }
+
+        final Map<String, String> hostMetrics = factory.getMetrics().values().iterator().next();
+        assertEquals(hostMetrics.get(PooledHttpJsonRequestFactory.REQUESTS), "2");
+        assertEquals(hostMetrics.get(PooledHttpJsonRequestFactory.FAILURES), "1");
+    }
+
+    @Test
+    public void shouldMakeAsyncRequestInCallerContext(ITestContext ctx) throws Exception {
+        final EnvironmentContext context = new EnvironmentContext();
+        context.setUser(TEST_USER);
+        EnvironmentContext.setCurrent(context);
+
+        final CompletableFuture<HttpJsonResponse> future = factory.fromUrl(getUrl(ctx) + "/token").usePostMethod().requestAsync();
+
+        assertEquals(future.get(10, TimeUnit.SECONDS).getResponseCode(), 204);
+    }
+
+    @Test
+    public void shouldCompleteAsyncRequestExceptionally(ITestContext ctx) throws Exception {
+        final CompletableFuture<HttpJsonResponse> future = factory.fromUrl(getUrl(ctx) + "/404/response-code-test")
+                                                                  .useGetMethod()
+                                                                  .requestAsync();
+        try {
+            future.get(10, TimeUnit.SECONDS);
+            fail("ExecutionException expected");
+        } catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof NotFoundException);
+        }
+    }
+
+    @Filter
+    public static class EnvironmentFilter implements RequestFilter {
+
+        public void doFilter(GenericContainerRequest request) {
+            EnvironmentContext.getCurrent().setUser(TEST_USER);
+        }
+    }
+
+    private String getUrl(ITestContext ctx) {
+        return "http://localhost:" + ctx.getAttribute(EverrestJetty.JETTY_PORT) + "/rest/test";
+    }
+}
@@ -0,0 +1,103 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.core.util;
+
+import org.eclipse.che.commons.lang.IoUtil;
+import org.testng.SkipException;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static java.util.Arrays.asList;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+public class ProcessTreeTest {
+
+    @Test
+    public void shouldReadProcessTreeFromStatFiles() throws Exception {
+        final File procDir = Files.createTempDirectory("proc").toFile();
+        try {
+            writeStat(procDir, 1, "1 (init) S 0 1 1 0 -1");
+            writeStat(procDir, 10, "10 (my (odd) name) S 1 10 10 0 -1");
+            writeStat(procDir, 11, "11 (zombie) Z 10 10 10 0 -1");
+            writeStat(procDir, 12, "12 (child) R 10 10 10 0 -1 4194560 100 0 0 0 1 2 0 0 20 0 1 0 123456 7 8");
+            writeStat(procDir, 13, "13 (grandchild) S 12 10 10 0 -1");
+            new File(procDir, "self").mkdir();
+
+            final ProcessTree tree = ProcessTree.readProc(procDir);
+
+            assertEquals(tree.getDescendants(10), asList(11, 12, 13));
+            assertEquals(tree.getDescendants(13), asList());
+            assertTrue(tree.isAlive(12));
+            assertFalse(tree.isAlive(11));
+            assertFalse(tree.isAlive(14));
+            assertEquals(tree.getStartTime(12), 123456);
+            assertEquals(tree.getStartTime(13), -1);
+            assertEquals(tree.getStartTime(14), -1);
+            assertEquals(ProcessTree.readStartTime(procDir, 12), 123456);
+            assertEquals(ProcessTree.readStartTime(procDir, 14), -1);
+        } finally {
+            IoUtil.deleteRecursive(procDir);
+        }
+    }
+
+    @Test
+    public void shouldKillProcessTree() throws Exception {
+        assertKilled("sleep 30 & sleep 30 & wait", 2000);
+    }
+
+    @Test
+    public void shouldKillProcessTreeWhichIgnoresSigterm() throws Exception {
+        // Ignored signals are inherited by children, only SIGKILL stops them after grace period.
+        assertKilled("trap '' TERM; sleep 30 & sleep 30 & wait", 5000);
+    }
+
+    private void assertKilled(String script, long timeout) throws Exception {
+        if (!ProcessTree.isProcAvailable()) {
+            throw new SkipException("/proc file system is not available");
+        }
+        final int myPid = Integer.parseInt(new File(ProcessTree.PROC, "self").getCanonicalFile().getName());
+        final List<Integer> before = ProcessTree.readProc(ProcessTree.PROC).getDescendants(myPid);
+        final Process p = Runtime.getRuntime().exec(new String[]{"/bin/sh", "-c", script});
+        List<Integer> started = asList();
+        for (int i = 0; i < 100 && started.size() < 3; i++) {
+            Thread.sleep(20);
+            started = ProcessTree.readProc(ProcessTree.PROC).getDescendants(myPid);
+            started.removeAll(before);
+        }
+        assertTrue(started.size() >= 3, "Processes are not started.");
+
+        ProcessUtil.kill(p);
+
+        // Processes get SIGTERM at once and SIGKILL in background when grace period is over.
+        final long end = System.currentTimeMillis() + timeout;
+        List<Integer> alive = started;
+        while (!alive.isEmpty() && System.currentTimeMillis() < end) {
+            Thread.sleep(20);
+            final ProcessTree tree = ProcessTree.readProc(ProcessTree.PROC);
+            alive = alive.stream().filter(tree::isAlive).collect(Collectors.toList());
+        }
+        assertTrue(alive.isEmpty(), "Processes are not killed: " + alive);
+    }
+
+    private void writeStat(File procDir, int pid, String stat) throws IOException {
+        final File dir = new File(procDir, Integer.toString(pid));
+        dir.mkdir();
+        Files.write(new File(dir, "stat").toPath(), stat.getBytes(StandardCharsets.UTF_8));
+    }
+}
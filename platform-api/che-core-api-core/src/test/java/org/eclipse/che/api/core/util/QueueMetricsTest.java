@@ -0,0 +1,40 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.core.util;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.Map;
+
+public class QueueMetricsTest {
+    @Test
+    public void testMetrics() throws Exception {
+        QueueMetrics metrics = new QueueMetrics();
+        metrics.taskAccepted();
+        metrics.taskAccepted();
+        metrics.taskAccepted();
+        metrics.taskRejected();
+        metrics.taskDispatched(500, 10);
+        metrics.taskDispatched(1000, 30);
+        metrics.taskDispatched(400000, 50);
+
+        Map<String, String> values = metrics.getMetrics();
+        Assert.assertEquals(values.get(QueueMetrics.ACCEPTED_TASKS), "3");
+        Assert.assertEquals(values.get(QueueMetrics.REJECTED_TASKS), "1");
+        Assert.assertEquals(values.get(QueueMetrics.DISPATCHED_TASKS), "3");
+        Assert.assertEquals(values.get("waitingTime.le1s"), "2");
+        Assert.assertEquals(values.get("waitingTime.le5s"), "0");
+        Assert.assertEquals(values.get("waitingTime.gt5m"), "1");
+        Assert.assertEquals(values.get(QueueMetrics.DISPATCH_TIME_AVERAGE), "30");
+        Assert.assertEquals(values.get(QueueMetrics.DISPATCH_TIME_MAX), "50");
+    }
+}
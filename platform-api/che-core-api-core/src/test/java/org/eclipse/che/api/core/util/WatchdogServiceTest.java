@@ -0,0 +1,108 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.core.util;
+
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+public class WatchdogServiceTest {
+    private WatchdogService watchdogService;
+
+    @BeforeMethod
+    public void setUp() {
+        watchdogService = new WatchdogService("WatchdogServiceTest", 10, TimeUnit.MILLISECONDS, 4, 2);
+    }
+
+    @AfterMethod
+    public void tearDown() {
+        watchdogService.stop();
+    }
+
+    @Test
+    public void shouldCancelWhenTimeoutExpires() throws Exception {
+        final CountDownLatch latch = new CountDownLatch(1);
+        final long start = System.currentTimeMillis();
+
+        // Timeout is longer than full turn of wheel.
+        watchdogService.start(latch::countDown, 200, TimeUnit.MILLISECONDS);
+
+        assertTrue(latch.await(2, TimeUnit.SECONDS));
+        assertTrue(System.currentTimeMillis() - start >= 200);
+        assertEquals(watchdogService.getMetrics().get(WatchdogService.ACTIVE), "0");
+        assertEquals(watchdogService.getMetrics().get(WatchdogService.FIRED), "1");
+    }
+
+    @Test
+    public void shouldNotCancelWhenTimeoutIsStopped() throws Exception {
+        final CountDownLatch latch = new CountDownLatch(1);
+
+        WatchdogService.Timeout timeout = watchdogService.start(latch::countDown, 50, TimeUnit.MILLISECONDS);
+        assertEquals(watchdogService.getMetrics().get(WatchdogService.ACTIVE), "1");
+        timeout.cancel();
+
+        assertFalse(latch.await(200, TimeUnit.MILLISECONDS));
+        assertFalse(timeout.isExpired());
+        assertEquals(watchdogService.getMetrics().get(WatchdogService.ACTIVE), "0");
+        assertEquals(watchdogService.getMetrics().get(WatchdogService.FIRED), "0");
+    }
+
+    @Test
+    public void shouldStopWatchdog() throws Exception {
+        final CountDownLatch latch = new CountDownLatch(1);
+        final Watchdog watchdog = new Watchdog("test", 50, TimeUnit.MILLISECONDS, watchdogService);
+
+        watchdog.start(latch::countDown);
+        watchdog.stop();
+
+        assertFalse(latch.await(200, TimeUnit.MILLISECONDS));
+        assertEquals(watchdogService.getMetrics().get(WatchdogService.ACTIVE), "0");
+    }
+
+    @Test
+    public void shouldNotDelayCancellationBySlowCancellation() throws Exception {
+        final CountDownLatch release = new CountDownLatch(1);
+        final CountDownLatch latch = new CountDownLatch(1);
+
+        watchdogService.start(release::await, 20, TimeUnit.MILLISECONDS);
+        watchdogService.start(latch::countDown, 50, TimeUnit.MILLISECONDS);
+
+        try {
+            assertTrue(latch.await(2, TimeUnit.SECONDS));
+        } finally {
+            release.countDown();
+        }
+    }
+
+    @Test
+    public void shouldNotCancelAfterStop() throws Exception {
+        final CountDownLatch latch = new CountDownLatch(1);
+
+        watchdogService.start(latch::countDown, 50, TimeUnit.MILLISECONDS);
+        watchdogService.stop();
+
+        assertFalse(latch.await(200, TimeUnit.MILLISECONDS));
+    }
+
+    @Test(expectedExceptions = IllegalStateException.class)
+    public void shouldNotStartTimeoutWhenServiceIsStopped() throws Exception {
+        watchdogService.stop();
+
+        watchdogService.start(() -> {}, 50, TimeUnit.MILLISECONDS);
+    }
+}
@@ -27,6 +27,8 @@ import java.lang.reflect.Method;
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
@@ -70,8 +72,12 @@ public class DtoImplServerTemplate extends DtoImpl {
         // equals, hashCode, serialization and copy constructor
         emitEqualsAndHashCode(methods, builder);
         emitSerializer(methods, builder);
+        emitStreamSerializer(methods, builder);
+        emitCompactStreamSerializer(methods, builder);
         emitDeserializer(methods, builder);
         emitDeserializerShortcut(builder);
+        emitStreamDeserializer(methods, builder);
+        emitCompactStreamDeserializer(methods, builder);
         emitCopyConstructor(methods, builder);
         // Delegation DTO methods.
         emitDelegateMethods(builder);
@@ -420,8 +426,8 @@ public class DtoImplServerTemplate extends DtoImpl {
             builder.append(i).append("JsonElement ").append(outVar).append(" = ").append(depth == 0 ? " this." + inVar : inVar).append(
                     " == null ? JsonNull.INSTANCE : new JsonPrimitive(").append(depth == 0 ? "this." + inVar : inVar).append(");\n");
         } else if (isAny(rawClass)) {
-            // TODO JsonElement.deepCopy() is package-protected, JSONs are serialized to strings then parsed for copying them
-            // outVar = inVar == null ? JsonNull.INSTNACE : (copyJsons ? new JsonParser().parse(inVar) : inVar);
+            // JsonElement.deepCopy() is package-protected, JSONs are copied with helper method of the outer class
+            // outVar = inVar == null ? JsonNull.INSTNACE : (copyJsons ? copyJson(inVar) : inVar);
             builder.append(i).append("JsonElement ").append(outVar).append(" = ").append(depth == 0 ? " this." + inVar : inVar)
                     .append(" == null || !(").append(inVar).append(" instanceof JsonElement) ? JsonNull.INSTANCE : (");
             appendCopyJsonExpression(inVar, builder).append(");\n");
@@ -451,6 +457,177 @@ public class DtoImplServerTemplate extends DtoImpl {
         }
     }
 
+    /**
+     * Generates method that writes DTO directly to the {@code JsonWriter} without building JSON tree. Output is the same as output of
+     * {@code toJson()}, writer is expected to skip {@code null} values of object members, e.g. as Gson does.
+     */
+    private void emitStreamSerializer(List<Method> getters, StringBuilder builder) {
+        builder.append("    public void writeTo(com.google.gson.stream.JsonWriter writer) throws java.io.IOException {\n");
+        if (isCompactJson() || !hasUniqueJsonFieldNames(getters)) {
+            builder.append("      gson.toJson(toJsonElementInt(false), writer);\n");
+        } else {
+            builder.append("      writer.beginObject();\n");
+            for (Method getter : getters) {
+                builder.append("      writer.name(").append(quoteStringLiteral(getJsonFieldName(getter))).append(");\n");
+                emitStreamSerializerImpl(expandType(getter.getGenericReturnType()), 0, builder, getJavaFieldName(getter.getName()),
+                                         "      ", false);
+            }
+            builder.append("      writer.endObject();\n");
+        }
+        builder.append("    }\n\n");
+        builder.append("    @Override\n");
+        builder.append("    public void toJson(java.io.Writer writer) throws java.io.IOException {\n");
+        builder.append("      com.google.gson.stream.JsonWriter jsonWriter = new com.google.gson.stream.JsonWriter(writer);\n");
+        // Same settings as gson.toJson(JsonElement) uses.
+        builder.append("      jsonWriter.setLenient(true);\n");
+        builder.append("      jsonWriter.setSerializeNulls(false);\n");
+        builder.append("      writeTo(jsonWriter);\n");
+        builder.append("      jsonWriter.flush();\n");
+        builder.append("    }\n\n");
+    }
+
+    /**
+     * Generates method that writes DTO in compact form: JSON array of values of fields ordered by names of fields in JSON. Nested DTOs
+     * are written in compact form as well. Compact form isn't self-descriptive, reader must use the same version of DTO interface.
+     * DTOs which are {@link org.eclipse.che.dto.shared.CompactJsonDto compact} already or which can't be streamed are written as usual.
+     */
+    private void emitCompactStreamSerializer(List<Method> getters, StringBuilder builder) {
+        builder.append("    public void writeCompactTo(com.google.gson.stream.JsonWriter writer) throws java.io.IOException {\n");
+        if (isCompactJson() || !hasUniqueJsonFieldNames(getters)) {
+            builder.append("      writeTo(writer);\n");
+        } else {
+            builder.append("      writer.beginArray();\n");
+            for (Method getter : getCompactOrder(getters)) {
+                emitStreamSerializerImpl(expandType(getter.getGenericReturnType()), 0, builder, getJavaFieldName(getter.getName()),
+                                         "      ", true);
+            }
+            builder.append("      writer.endArray();\n");
+        }
+        builder.append("    }\n\n");
+        builder.append("    @Override\n");
+        builder.append("    public void toCompactJson(java.io.Writer writer) throws java.io.IOException {\n");
+        builder.append("      com.google.gson.stream.JsonWriter jsonWriter = new com.google.gson.stream.JsonWriter(writer);\n");
+        builder.append("      jsonWriter.setLenient(true);\n");
+        builder.append("      jsonWriter.setSerializeNulls(false);\n");
+        builder.append("      writeCompactTo(jsonWriter);\n");
+        builder.append("      jsonWriter.flush();\n");
+        builder.append("    }\n\n");
+    }
+
+    /** Gets getters in order of their values in compact form of DTO. Order depends only on names of fields in JSON. */
+    private List<Method> getCompactOrder(List<Method> getters) {
+        final List<Method> ordered = new ArrayList<>(getters);
+        Collections.sort(ordered, new Comparator<Method>() {
+            @Override
+            public int compare(Method o1, Method o2) {
+                return getJsonFieldName(o1).compareTo(getJsonFieldName(o2));
+            }
+        });
+        return ordered;
+    }
+
+    /**
+     * Produces code to write the value of variable with the given name to the {@code JsonWriter}.
+     *
+     * @param expandedTypes
+     *         the type and its generic (and its generic (..)) expanded into a list, @see {@link #expandType(java.lang.reflect.Type)}
+     * @param depth
+     *         the depth (in the generics) for this recursive call. This can be used to index into {@code expandedTypes}
+     * @param inVar
+     *         the java variable that will be the input for serialization
+     * @param i
+     *         indentation string
+     * @param compact
+     *         if {@code true} nested DTOs are written in compact form
+     */
+    private void emitStreamSerializerImpl(List<Type> expandedTypes, int depth, StringBuilder builder, String inVar, String i,
+                                          boolean compact) {
+        final Type type = expandedTypes.get(depth);
+        final Class<?> rawClass = getRawClass(type);
+        final String value = depth == 0 ? "this." + inVar : inVar;
+        if (rawClass.isPrimitive()) {
+            if (rawClass == boolean.class) {
+                builder.append(i).append("writer.value(").append(value).append(");\n");
+            } else {
+                // Number gives the same representation of value as JsonPrimitive does, e.g. for float.
+                builder.append(i).append("writer.value((java.lang.Number)").append(value).append(");\n");
+            }
+            return;
+        }
+        if (depth == 0 && (isList(rawClass) || isMap(rawClass))) {
+            builder.append(i).append("this.").append(getEnsureName(inVar)).append("();\n");
+        }
+        builder.append(i).append("if (").append(value).append(" == null) {\n");
+        builder.append(i).append("  writer.nullValue();\n");
+        builder.append(i).append("} else {\n");
+        final String ii = i + "  ";
+        if (isList(rawClass)) {
+            final String childInVar = inVar + "_";
+            builder.append(ii).append("writer.beginArray();\n");
+            builder.append(ii).append("for (").append(getImplName(expandedTypes.get(depth + 1), false)).append(" ").append(childInVar)
+                   .append(" : ").append(value).append(") {\n");
+            emitStreamSerializerImpl(expandedTypes, depth + 1, builder, childInVar, ii + "  ", compact);
+            builder.append(ii).append("}\n");
+            builder.append(ii).append("writer.endArray();\n");
+        } else if (isMap(rawClass)) {
+            final String childInVar = inVar + "_";
+            final String childInTypeName = getImplName(expandedTypes.get(depth + 1), false);
+            final String entryVar = "entry" + depth;
+            builder.append(ii).append("writer.beginObject();\n");
+            builder.append(ii).append("for (java.util.Map.Entry<String, ").append(childInTypeName).append("> ").append(entryVar)
+                   .append(" : ").append(value).append(".entrySet()) {\n");
+            builder.append(ii).append("  writer.name(").append(entryVar).append(".getKey());\n");
+            builder.append(ii).append("  ").append(childInTypeName).append(" ").append(childInVar).append(" = ").append(entryVar)
+                   .append(".getValue();\n");
+            emitStreamSerializerImpl(expandedTypes, depth + 1, builder, childInVar, ii + "  ", compact);
+            builder.append(ii).append("}\n");
+            builder.append(ii).append("writer.endObject();\n");
+        } else if (rawClass.isEnum()) {
+            builder.append(ii).append("writer.value(").append(value).append(".name());\n");
+        } else if (getEnclosingTemplate().isDtoInterface(rawClass)) {
+            builder.append(ii).append("((").append(getImplNameForDto(rawClass)).append(")").append(value)
+                   .append(compact ? ").writeCompactTo(writer);\n" : ").writeTo(writer);\n");
+        } else if (rawClass.equals(String.class)) {
+            builder.append(ii).append("writer.value(").append(value).append(");\n");
+        } else if (rawClass == Boolean.class) {
+            builder.append(ii).append("writer.value(").append(value).append(".booleanValue());\n");
+        } else if (rawClass == Integer.class
+                   || rawClass == Long.class
+                   || rawClass == Double.class
+                   || rawClass == Float.class
+                   || rawClass == Short.class
+                   || rawClass == Byte.class) {
+            builder.append(ii).append("writer.value((java.lang.Number)").append(value).append(");\n");
+        } else if (isAny(rawClass)) {
+            builder.append(ii).append("if (").append(value).append(" instanceof JsonElement) {\n");
+            builder.append(ii).append("  gson.toJson((JsonElement)").append(value).append(", writer);\n");
+            builder.append(ii).append("} else {\n");
+            builder.append(ii).append("  writer.nullValue();\n");
+            builder.append(ii).append("}\n");
+        } else {
+            final Class<?> dtoImplementation = getEnclosingTemplate().getDtoImplementation(rawClass);
+            if (dtoImplementation == null) {
+                throw new IllegalArgumentException("Unable to generate server implementation for DTO interface " +
+                                                   getDtoInterface().getCanonicalName() + ". Type " + rawClass +
+                                                   " is not allowed to use in DTO interface.");
+            }
+            builder.append(ii).append("gson.toJson(((").append(dtoImplementation.getCanonicalName()).append(")").append(value)
+                   .append(").toJsonElementInt(false), writer);\n");
+        }
+        builder.append(i).append("}\n");
+    }
+
+    /** Checks that each getter has its own name in JSON, otherwise streaming and tree-based serialization give different results. */
+    private boolean hasUniqueJsonFieldNames(List<Method> getters) {
+        final Set<String> jsonFieldNames = new HashSet<>();
+        for (Method getter : getters) {
+            if (!jsonFieldNames.add(getJsonFieldName(getter))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     /** Generates a static factory method that creates a new instance based on a JsonElement. */
     private void emitDeserializer(List<Method> getters, StringBuilder builder) {
         // The default fromJsonElement(json) works in unsafe mode and clones the JSON's for 'any' properties
@@ -489,6 +666,165 @@ public class DtoImplServerTemplate extends DtoImpl {
         builder.append("    }\n\n");
     }
 
+    /**
+     * Generates a static method that reads DTO directly from the {@code JsonReader} without building JSON tree. Unknown members of JSON
+     * object are skipped.
+     */
+    private void emitStreamDeserializer(List<Method> getters, StringBuilder builder) {
+        builder.append("    public static ").append(getImplClassName())
+               .append(" readFrom(com.google.gson.stream.JsonReader reader) throws java.io.IOException {\n");
+        builder.append("      if (reader.peek() == com.google.gson.stream.JsonToken.NULL) {\n");
+        builder.append("        reader.nextNull();\n");
+        builder.append("        return null;\n");
+        builder.append("      }\n");
+        if (isCompactJson() || !hasUniqueJsonFieldNames(getters)) {
+            builder.append("      return fromJsonElement(new JsonParser().parse(reader), false);\n");
+            builder.append("    }\n\n");
+            return;
+        }
+        builder.append("      ").append(getImplClassName()).append(" dto = new ").append(getImplClassName()).append("();\n");
+        builder.append("      reader.beginObject();\n");
+        builder.append("      while (reader.hasNext()) {\n");
+        builder.append("        switch (reader.nextName()) {\n");
+        for (Method getter : getters) {
+            final String fieldName = getFieldNameFromGetterName(getter.getName());
+            final String fieldNameOut = fieldName + "Out";
+            builder.append("          case ").append(quoteStringLiteral(getJsonFieldName(getter))).append(": {\n");
+            emitStreamDeserializerImpl(expandType(getter.getGenericReturnType()), 0, builder, fieldNameOut, "            ", false);
+            builder.append("            dto.").append(getSetterName(fieldName)).append("(").append(fieldNameOut).append(");\n");
+            builder.append("            break;\n");
+            builder.append("          }\n");
+        }
+        builder.append("          default:\n");
+        builder.append("            reader.skipValue();\n");
+        builder.append("        }\n");
+        builder.append("      }\n");
+        builder.append("      reader.endObject();\n");
+        builder.append("      return dto;\n");
+        builder.append("    }\n\n");
+    }
+
+    /**
+     * Generates a static method that reads DTO in compact form, see {@link #emitCompactStreamSerializer(List, StringBuilder)}. JSON
+     * object is read as usual, extra values at the end of array are skipped.
+     */
+    private void emitCompactStreamDeserializer(List<Method> getters, StringBuilder builder) {
+        builder.append("    public static ").append(getImplClassName())
+               .append(" readCompactFrom(com.google.gson.stream.JsonReader reader) throws java.io.IOException {\n");
+        if (isCompactJson() || !hasUniqueJsonFieldNames(getters)) {
+            builder.append("      return readFrom(reader);\n");
+            builder.append("    }\n\n");
+            return;
+        }
+        builder.append("      com.google.gson.stream.JsonToken token = reader.peek();\n");
+        builder.append("      if (token == com.google.gson.stream.JsonToken.NULL\n");
+        builder.append("          || token == com.google.gson.stream.JsonToken.BEGIN_OBJECT) {\n");
+        builder.append("        return readFrom(reader);\n");
+        builder.append("      }\n");
+        builder.append("      ").append(getImplClassName()).append(" dto = new ").append(getImplClassName()).append("();\n");
+        builder.append("      reader.beginArray();\n");
+        builder.append("      int index = 0;\n");
+        builder.append("      while (reader.hasNext()) {\n");
+        builder.append("        switch (index++) {\n");
+        final List<Method> ordered = getCompactOrder(getters);
+        for (int index = 0; index < ordered.size(); index++) {
+            final Method getter = ordered.get(index);
+            final String fieldName = getFieldNameFromGetterName(getter.getName());
+            final String fieldNameOut = fieldName + "Out";
+            builder.append("          case ").append(index).append(": {\n");
+            emitStreamDeserializerImpl(expandType(getter.getGenericReturnType()), 0, builder, fieldNameOut, "            ", true);
+            builder.append("            dto.").append(getSetterName(fieldName)).append("(").append(fieldNameOut).append(");\n");
+            builder.append("            break;\n");
+            builder.append("          }\n");
+        }
+        builder.append("          default:\n");
+        builder.append("            reader.skipValue();\n");
+        builder.append("        }\n");
+        builder.append("      }\n");
+        builder.append("      reader.endArray();\n");
+        builder.append("      return dto;\n");
+        builder.append("    }\n\n");
+    }
+
+    /**
+     * Produces code to read the value of the given type from the {@code JsonReader}. Conversions are the same as {@link
+     * #emitDeserializerImpl(List, int, StringBuilder, String, String, String)} does.
+     *
+     * @param expandedTypes
+     *         the type and its generic (and its generic (..)) expanded into a list, @see {@link #expandType(java.lang.reflect.Type)}
+     * @param depth
+     *         the depth (in the generics) for this recursive call. This can be used to index into {@code expandedTypes}
+     * @param outVar
+     *         the java variable that will be the output of deserialization
+     * @param i
+     *         indentation string
+     * @param compact
+     *         if {@code true} nested DTOs are read in compact form
+     */
+    private void emitStreamDeserializerImpl(List<Type> expandedTypes, int depth, StringBuilder builder, String outVar, String i,
+                                            boolean compact) {
+        final Type type = expandedTypes.get(depth);
+        final Class<?> rawClass = getRawClass(type);
+        final String childOutVar = outVar + "_";
+        if (isList(rawClass) || isMap(rawClass)) {
+            final boolean list = isList(rawClass);
+            builder.append(i).append(getImplName(type, false)).append(" ").append(outVar).append(" = null;\n");
+            builder.append(i).append("if (reader.peek() == com.google.gson.stream.JsonToken.NULL) {\n");
+            builder.append(i).append("  reader.nextNull();\n");
+            builder.append(i).append("} else {\n");
+            builder.append(i).append("  ").append(outVar).append(" = new ").append(getImplName(type, true)).append("();\n");
+            builder.append(i).append("  reader.").append(list ? "beginArray" : "beginObject").append("();\n");
+            builder.append(i).append("  while (reader.hasNext()) {\n");
+            final String keyVar = "key" + depth;
+            if (!list) {
+                builder.append(i).append("    String ").append(keyVar).append(" = reader.nextName();\n");
+            }
+            emitStreamDeserializerImpl(expandedTypes, depth + 1, builder, childOutVar, i + "    ", compact);
+            if (list) {
+                builder.append(i).append("    ").append(outVar).append(".add(").append(childOutVar).append(");\n");
+            } else {
+                builder.append(i).append("    ").append(outVar).append(".put(").append(keyVar).append(", ").append(childOutVar)
+                       .append(");\n");
+            }
+            builder.append(i).append("  }\n");
+            builder.append(i).append("  reader.").append(list ? "endArray" : "endObject").append("();\n");
+            builder.append(i).append("}\n");
+        } else if (getEnclosingTemplate().isDtoInterface(rawClass)) {
+            builder.append(i).append(getImplName(rawClass, false)).append(" ").append(outVar).append(" = ")
+                   .append(getImplNameForDto(rawClass)).append(compact ? ".readCompactFrom(reader);\n" : ".readFrom(reader);\n");
+        } else if (rawClass.isPrimitive()) {
+            final String primitiveName = rawClass.getSimpleName();
+            builder.append(i).append(primitiveName).append(" ").append(outVar).append(" = ");
+            if (rawClass == boolean.class) {
+                // JsonPrimitive parses boolean from string.
+                builder.append("reader.peek() == com.google.gson.stream.JsonToken.STRING ? Boolean.parseBoolean(reader.nextString())")
+                       .append(" : reader.nextBoolean()");
+            } else if (rawClass == int.class || rawClass == long.class || rawClass == double.class) {
+                builder.append("reader.next").append(Character.toUpperCase(primitiveName.charAt(0))).append(primitiveName.substring(1))
+                       .append("()");
+            } else if (rawClass == float.class) {
+                builder.append("Float.parseFloat(reader.nextString())");
+            } else {
+                builder.append("(").append(primitiveName).append(")reader.nextInt()");
+            }
+            builder.append(";\n");
+        } else if (isAny(rawClass)) {
+            builder.append(i).append("JsonElement ").append(outVar).append(" = new JsonParser().parse(reader);\n");
+        } else {
+            final Class<?> dtoImplementation = getEnclosingTemplate().getDtoImplementation(rawClass);
+            final String className = getImplName(rawClass, false);
+            if (dtoImplementation != null) {
+                builder.append(i).append(className).append(" ").append(outVar).append(" = ")
+                       .append(dtoImplementation.getCanonicalName()).append(".fromJsonElement(new JsonParser().parse(reader), false);\n");
+            } else {
+                // Use gson to handle all other types.
+                final String rawClassName = rawClass.getName().replace('$', '.');
+                builder.append(i).append(rawClassName).append(" ").append(outVar).append(" = gson.fromJson(reader, ")
+                       .append(rawClassName).append(".class);\n");
+            }
+        }
+    }
+
     private void emitDeserializeFieldForMethod(Method method, StringBuilder builder) {
         final String fieldName = getFieldNameFromGetterName(method.getName());
         final String fieldNameIn = fieldName + "In";
@@ -586,8 +922,8 @@ public class DtoImplServerTemplate extends DtoImpl {
             builder.append(i).append(primitiveName).append(" ").append(outVar).append(" = ").append(inVar).append(
                     ".getAs").append(primitiveNameCap).append("();\n");
         } else if (isAny(rawClass)) {
-            // TODO JsonElement.deepCopy() is package-protected, JSONs are serialized to strings then parsed for copying them
-            // outVar = copyJsons ? new JsonParser().parse(inVar) : inVar;
+            // JsonElement.deepCopy() is package-protected, JSONs are copied with helper method of the outer class
+            // outVar = copyJsons ? copyJson(inVar) : inVar;
             builder.append(i).append("JsonElement ").append(outVar).append(" = ");
             appendCopyJsonExpression(inVar, builder).append(";\n");
         } else {
@@ -610,17 +946,20 @@ public class DtoImplServerTemplate extends DtoImpl {
      * parameter is set to false, then the expression won't perform a clone but instead will reuse the variable by
      * reference.
      */
-    private static StringBuilder appendCopyJsonExpression(String inVar, StringBuilder builder) {
+    private StringBuilder appendCopyJsonExpression(String inVar, StringBuilder builder) {
         builder.append(COPY_JSONS_PARAM).append(" ? ");
-        appendNaiveCopyJsonExpression(inVar, builder).append(" : (JsonElement)(").append(inVar).append(")");
+        appendDeepCopyJsonExpression(inVar, builder).append(" : (JsonElement)(").append(inVar).append(")");
         return builder;
     }
-    private static StringBuilder appendNaiveCopyJsonExpression(String inValue, StringBuilder builder) {
-        builder.append("((");
-        builder.append(inValue);
-        builder.append(") != null ? new JsonParser().parse((");
-        builder.append(inValue);
-        builder.append(").toString()) : null)");
+
+    /**
+     * Append the expression that copies the given value with the helper method of the outer class, see {@link
+     * DtoTemplate#emitCopyJsonMethod(StringBuilder)}. JSON objects and arrays are copied structurally without serialization to string
+     * and parsing it back.
+     */
+    private StringBuilder appendDeepCopyJsonExpression(String inValue, StringBuilder builder) {
+        builder.append(getEnclosingTemplate().getClassName()).append(".").append(DtoTemplate.COPY_JSON_METHOD)
+               .append("(").append(inValue).append(")");
         return builder;
     }
 
@@ -790,14 +1129,20 @@ public class DtoImplServerTemplate extends DtoImpl {
             builder.append(i).append(rawTypeName).append(" ").append(fieldNameIn).append(" = ").append(origin).append(".")
                    .append(getterName).append("();\n");
             builder.append(i).append("if (").append(fieldNameIn).append(" != null) {\n");
-            builder.append(i).append("  ").append(rawTypeName).append(" ").append(fieldNameOut)
-                   .append(" = new ").append(getImplName(type, true)).append("();\n");
-            emitDeepCopyCollections(expandedTypes, depth, builder, fieldNameIn, fieldNameOut, i);
-            builder.append(i).append("  ").append("this.").append(fieldName).append(" = ").append(fieldNameOut).append(";\n");
+            if (isImmutableElementType(getRawClass(expandedTypes.get(depth + 1)))) {
+                // Elements are shared with origin anyway, copy them at once instead of adding one by one.
+                builder.append(i).append("  ").append("this.").append(fieldName).append(" = new ").append(getImplName(type, true))
+                       .append("(").append(fieldNameIn).append(");\n");
+            } else {
+                builder.append(i).append("  ").append(rawTypeName).append(" ").append(fieldNameOut)
+                       .append(" = new ").append(getImplName(type, true)).append("();\n");
+                emitDeepCopyCollections(expandedTypes, depth, builder, fieldNameIn, fieldNameOut, i);
+                builder.append(i).append("  ").append("this.").append(fieldName).append(" = ").append(fieldNameOut).append(";\n");
+            }
             builder.append(i).append("}\n");
         } else if (isAny(rawClass)) {
             builder.append(i).append("this.").append(fieldName).append(" = ");
-            appendNaiveCopyJsonExpression(origin + "." + getterName + "()", builder).append(";\n");
+            appendDeepCopyJsonExpression(origin + "." + getterName + "()", builder).append(";\n");
         } else if (getEnclosingTemplate().isDtoInterface(rawClass)) {
             builder.append(i).append(rawTypeName).append(" ").append(fieldNameIn).append(" = ").append(origin).append(".")
                    .append(getterName).append("();\n");
@@ -831,8 +1176,13 @@ public class DtoImplServerTemplate extends DtoImpl {
         if (isList(childRawType) || isMap(childRawType)) {
             builder.append(i).append("    if (").append(childVarIn).append(" != null) {\n");
             builder.append(i).append("      ").append(childTypeName).append(" ").append(childVarOut)
-                   .append(" = new ").append(getImplName(expandedTypes.get(depth + 1), true)).append("();\n");
-            emitDeepCopyCollections(expandedTypes, depth + 1, builder, childVarIn, childVarOut, i + "    ");
+                   .append(" = new ").append(getImplName(expandedTypes.get(depth + 1), true));
+            if (isImmutableElementType(getRawClass(expandedTypes.get(depth + 2)))) {
+                builder.append("(").append(childVarIn).append(");\n");
+            } else {
+                builder.append("();\n");
+                emitDeepCopyCollections(expandedTypes, depth + 1, builder, childVarIn, childVarOut, i + "    ");
+            }
             builder.append(i).append("      ").append(varOut);
             if (isList(rawClass)) {
                 builder.append(".add(");
@@ -859,6 +1209,11 @@ public class DtoImplServerTemplate extends DtoImpl {
         builder.append(i).append("  }\n");
     }
 
+    /** Tests whether elements of collection of the given type are not copied, i.e. they are neither DTOs nor collections nor JSONs. */
+    private boolean isImmutableElementType(Class<?> elementType) {
+        return !(isList(elementType) || isMap(elementType) || isAny(elementType) || getEnclosingTemplate().isDtoInterface(elementType));
+    }
+
     private void emitCheckNullAndCopyDto(Class<?> dto, String fieldName, StringBuilder builder) {
         String implName = dto.getSimpleName() + "Impl";
         builder.append(fieldName).append(" == null ? null : ").append("new ").append(implName).append("(").append(fieldName).append(")");
@@ -40,6 +40,9 @@ public class DtoTemplate {
         }
     }
 
+    /** Name of method of the outer class which copies JSON values of DTO fields. */
+    static final String COPY_JSON_METHOD = "copyJson";
+
     // We keep a whitelist of allowed non-DTO generic types.
     static final Set<Class<?>> jreWhitelist =
             new HashSet<>(Arrays.asList(new Class<?>[]{String.class, Integer.class, Double.class, Float.class, Boolean.class}));
@@ -91,6 +94,10 @@ public class DtoTemplate {
         return implType;
     }
 
+    String getClassName() {
+        return className;
+    }
+
     public void addImplementation(Class<?> dtoInterface, Class<?> impl) {
         Set<Class<?>> classes = implementedDtoInterfaces.get(dtoInterface);
         if (classes == null) {
@@ -176,6 +183,36 @@ public class DtoTemplate {
         builder.append("\n}");
     }
 
+    /**
+     * Emits method which copies JSON values of DTO fields. JSON objects and arrays are rebuilt recursively, primitives and nulls are
+     * immutable and shared with origin. Values which are not JSON elements are parsed from their string representation.
+     */
+    void emitCopyJsonMethod(StringBuilder builder) {
+        builder.append("  static JsonElement ").append(COPY_JSON_METHOD).append("(Object json) {\n");
+        builder.append("    if (json == null) {\n");
+        builder.append("      return null;\n");
+        builder.append("    }\n");
+        builder.append("    if (json instanceof JsonObject) {\n");
+        builder.append("      JsonObject copy = new JsonObject();\n");
+        builder.append("      for (Map.Entry<String, JsonElement> entry : ((JsonObject)json).entrySet()) {\n");
+        builder.append("        copy.add(entry.getKey(), ").append(COPY_JSON_METHOD).append("(entry.getValue()));\n");
+        builder.append("      }\n");
+        builder.append("      return copy;\n");
+        builder.append("    }\n");
+        builder.append("    if (json instanceof JsonArray) {\n");
+        builder.append("      JsonArray copy = new JsonArray();\n");
+        builder.append("      for (JsonElement element : (JsonArray)json) {\n");
+        builder.append("        copy.add(").append(COPY_JSON_METHOD).append("(element));\n");
+        builder.append("      }\n");
+        builder.append("      return copy;\n");
+        builder.append("    }\n");
+        builder.append("    if (json instanceof JsonElement) {\n");
+        builder.append("      return (JsonElement)json;\n");
+        builder.append("    }\n");
+        builder.append("    return new JsonParser().parse(json.toString());\n");
+        builder.append("  }\n\n");
+    }
+
     private void emitPreamble(StringBuilder builder) {
         builder.append("/*******************************************************************************\n");
         builder.append(" * Copyright (c) 2012-2014 Codenvy, S.A.\n");
@@ -230,6 +267,7 @@ public class DtoTemplate {
         builder.append(" {\n\n");
         if ("server".equals(implType)) {
             builder.append("  private static final Gson gson = new GsonBuilder().disableHtmlEscaping().create();\n\n");
+            emitCopyJsonMethod(builder);
             builder.append("  @Override\n" +
                            "  public void accept(org.eclipse.che.dto.server.DtoFactory dtoFactory) {\n");
             for (DtoImpl dto : getDtoInterfaces()) {
@@ -248,6 +286,14 @@ public class DtoTemplate {
                 builder.append("        public ").append(dtoInterface).append(" fromJson(com.google.gson.JsonElement json) {\n")
                        .append("            return ").append(dto.getImplClassName()).append(".fromJsonElement(json);\n");
                 builder.append("        }\n\n");
+                builder.append("        public ").append(dtoInterface)
+                       .append(" fromJson(com.google.gson.stream.JsonReader reader) throws java.io.IOException {\n")
+                       .append("            return ").append(dto.getImplClassName()).append(".readFrom(reader);\n");
+                builder.append("        }\n\n");
+                builder.append("        public ").append(dtoInterface)
+                       .append(" fromCompactJson(com.google.gson.stream.JsonReader reader) throws java.io.IOException {\n")
+                       .append("            return ").append(dto.getImplClassName()).append(".readCompactFrom(reader);\n");
+                builder.append("        }\n\n");
                 builder.append("        public ").append(dtoInterface).append(" clone(").append(dtoInterface).append(" origin) {\n")
                        .append("            return new ").append(dto.getImplClassName()).append("(origin);\n");
                 builder.append("        }\n");
@@ -16,24 +16,40 @@ import org.eclipse.che.commons.lang.cache.SynchronizedCache;
 import org.eclipse.che.commons.lang.reflect.ParameterizedTypeImpl;
 import org.eclipse.che.dto.shared.DTO;
 import org.eclipse.che.dto.shared.JsonArray;
+import org.eclipse.che.dto.shared.JsonFieldName;
 import org.eclipse.che.dto.shared.JsonStringMap;
+import org.eclipse.che.dto.shared.SerializationIndex;
+import com.google.common.hash.Hashing;
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
 import com.google.gson.JsonElement;
+import com.google.gson.JsonIOException;
 import com.google.gson.JsonSyntaxException;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.MalformedJsonException;
 
-import java.io.BufferedReader;
+import java.io.EOFException;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.io.Reader;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.lang.reflect.Method;
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.ServiceLoader;
+import java.util.Set;
+import java.util.TreeMap;
 import java.util.concurrent.ConcurrentHashMap;
 
 /**
@@ -81,6 +97,7 @@ public final class DtoFactory {
     // Additional mapping for implementation of DTO interfaces.
     // It helps avoid reflection when need create copy of exited DTO instance.
     private final Map<Class<?>, DtoProvider<?>> dtoImpl2Providers      = new ConcurrentHashMap<>();
+    private final Map<Class<?>, String>         compactJsonHashes      = new ConcurrentHashMap<>();
 
     /**
      * Created deep copy of DTO object.
@@ -132,6 +149,108 @@ public final class DtoFactory {
         throw new IllegalArgumentException("JsonSerializable instance required. ");
     }
 
+    /**
+     * Serializes DTO or list of DTOs to compact JSON format, see {@link JsonSerializable#toCompactJson(Writer)}.
+     *
+     * @throws IllegalArgumentException
+     *         if specified object isn't {@link JsonSerializable}
+     */
+    public <T> String toCompactJson(T dto) {
+        if (dto instanceof JsonSerializable) {
+            final StringWriter writer = new StringWriter();
+            try {
+                ((JsonSerializable)dto).toCompactJson(writer);
+            } catch (IOException e) {
+                // Never happens with StringWriter.
+                throw new JsonIOException(e);
+            }
+            return writer.toString();
+        }
+        throw new IllegalArgumentException("JsonSerializable instance required. ");
+    }
+
+    /**
+     * Gets hash of layout of DTO in compact JSON format. Hash is calculated from names and types of fields of DTO and all DTOs nested in
+     * it. Compact JSON may be read only if writer and reader have the same hash for DTO interface.
+     *
+     * @param dtoType
+     *         DTO interface or its implementation
+     * @return hash of compact JSON layout or {@code null} if specified type isn't DTO
+     * @see #toCompactJson(Object)
+     */
+    public String getCompactJsonHash(Class<?> dtoType) {
+        final Class<?> dtoInterface = getDtoInterface(dtoType);
+        if (dtoInterface == null) {
+            return null;
+        }
+        String hash = compactJsonHashes.get(dtoInterface);
+        if (hash == null) {
+            final StringBuilder layout = new StringBuilder();
+            describeCompactLayout(dtoInterface, layout, new HashSet<Class<?>>());
+            hash = Hashing.sha1().hashString(layout, StandardCharsets.UTF_8).toString().substring(0, 16);
+            compactJsonHashes.put(dtoInterface, hash);
+        }
+        return hash;
+    }
+
+    private Class<?> getDtoInterface(Class<?> dtoType) {
+        if (dtoType.isInterface()) {
+            return dtoType.isAnnotationPresent(DTO.class) ? dtoType : null;
+        }
+        for (Class<?> i : dtoType.getInterfaces()) {
+            if (i.isAnnotationPresent(DTO.class)) {
+                return i;
+            }
+        }
+        return null;
+    }
+
+    private void describeCompactLayout(Class<?> dtoInterface, StringBuilder layout, Set<Class<?>> described) {
+        if (!described.add(dtoInterface)) {
+            return;
+        }
+        // Sorted by field name to don't depend on order of methods returned by reflection.
+        final Map<String, Type> fields = new TreeMap<>();
+        for (Method method : dtoInterface.getMethods()) {
+            final String name = method.getName();
+            if (method.getParameterTypes().length == 0 && method.getReturnType() != void.class
+                && ((name.startsWith("get") && name.length() > 3) || (name.startsWith("is") && name.length() > 2))) {
+                String field = name;
+                final JsonFieldName jsonFieldName = method.getAnnotation(JsonFieldName.class);
+                if (jsonFieldName != null) {
+                    field += '/' + jsonFieldName.value();
+                }
+                final SerializationIndex serializationIndex = method.getAnnotation(SerializationIndex.class);
+                if (serializationIndex != null) {
+                    field += '#' + serializationIndex.value();
+                }
+                fields.put(field, method.getGenericReturnType());
+            }
+        }
+        layout.append(dtoInterface.getName()).append('{');
+        final Set<Class<?>> nested = new LinkedHashSet<>();
+        for (Map.Entry<String, Type> field : fields.entrySet()) {
+            layout.append(field.getKey()).append(':').append(field.getValue().getTypeName()).append(';');
+            addNestedDtoInterfaces(field.getValue(), nested);
+        }
+        layout.append('}');
+        for (Class<?> nestedDto : nested) {
+            describeCompactLayout(nestedDto, layout, described);
+        }
+    }
+
+    private void addNestedDtoInterfaces(Type type, Set<Class<?>> nested) {
+        if (type instanceof Class) {
+            if (((Class)type).isAnnotationPresent(DTO.class)) {
+                nested.add((Class<?>)type);
+            }
+        } else if (type instanceof ParameterizedType) {
+            for (Type argument : ((ParameterizedType)type).getActualTypeArguments()) {
+                addNestedDtoInterfaces(argument, nested);
+            }
+        }
+    }
+
     public <T> JsonElement toJsonElement(T dto) {
         if (dto instanceof JsonSerializable) {
             return ((JsonSerializable)dto).toJsonElement();
@@ -197,14 +316,7 @@ public final class DtoFactory {
      *         if an i/o error occurs
      */
     public <T> T createDtoFromJson(Reader json, Class<T> dtoInterface) throws IOException {
-        DtoProvider<T> dtoProvider = getDtoProvider(dtoInterface);
-        StringBuilder sb = new StringBuilder();
-        BufferedReader br = new BufferedReader(json);
-        String line;
-        while ((line = br.readLine()) != null) {
-            sb.append(line);
-        }
-        return dtoProvider.fromJson(sb.toString());
+        return readDto(json, getDtoProvider(dtoInterface), false);
     }
 
     /**
@@ -260,22 +372,7 @@ public final class DtoFactory {
      *         if can't provide any implementation for specified interface
      */
     public <T> JsonArray<T> createListDtoFromJson(Reader json, Class<T> dtoInterface) throws IOException {
-        final DtoProvider<T> dtoProvider = getDtoProvider(dtoInterface);
-        final List<JsonElement> list;
-        try {
-            list = gson.fromJson(json, listTypeCache.get(JsonElement.class));
-        } catch (JsonSyntaxException e) {
-            final Throwable cause = e.getCause();
-            if (cause instanceof IOException) {
-                throw (IOException)cause;
-            }
-            throw e;
-        }
-        final List<T> result = new ArrayList<>(list.size());
-        for (JsonElement e : list) {
-            result.add(dtoProvider.fromJson(e));
-        }
-        return new JsonArrayImpl<>(result);
+        return readListDto(json, getDtoProvider(dtoInterface), false);
     }
 
     /**
@@ -297,6 +394,119 @@ public final class DtoFactory {
 
     //
 
+    /**
+     * Creates new instance of class which implements specified DTO interface and initializes it with data of DTO in compact JSON format.
+     * Usual JSON is accepted as well.
+     *
+     * @param json
+     *         compact JSON data
+     * @param dtoInterface
+     *         DTO interface
+     * @throws IllegalArgumentException
+     *         if can't provide any implementation for specified interface
+     * @see JsonSerializable#toCompactJson(Writer)
+     */
+    public <T> T createDtoFromCompactJson(String json, Class<T> dtoInterface) {
+        try {
+            return readDto(new StringReader(json), getDtoProvider(dtoInterface), true);
+        } catch (IOException e) {
+            // Never happens with StringReader.
+            throw new JsonIOException(e);
+        }
+    }
+
+    /**
+     * Creates new instance of class which implements specified DTO interface and initializes it with data of DTO in compact JSON format.
+     * Usual JSON is accepted as well.
+     *
+     * @param json
+     *         compact JSON data
+     * @param dtoInterface
+     *         DTO interface
+     * @throws IllegalArgumentException
+     *         if can't provide any implementation for specified interface
+     * @throws IOException
+     *         if an i/o error occurs
+     * @see JsonSerializable#toCompactJson(Writer)
+     */
+    public <T> T createDtoFromCompactJson(Reader json, Class<T> dtoInterface) throws IOException {
+        return readDto(json, getDtoProvider(dtoInterface), true);
+    }
+
+    /**
+     * Creates new instance of class which implements specified DTO interface and initializes it with data of DTO in compact JSON format.
+     * Usual JSON is accepted as well.
+     *
+     * @param json
+     *         compact JSON data
+     * @param dtoInterface
+     *         DTO interface
+     * @throws IllegalArgumentException
+     *         if can't provide any implementation for specified interface
+     * @throws IOException
+     *         if an i/o error occurs
+     * @see JsonSerializable#toCompactJson(Writer)
+     */
+    public <T> T createDtoFromCompactJson(InputStream json, Class<T> dtoInterface) throws IOException {
+        return createDtoFromCompactJson(new InputStreamReader(json), dtoInterface);
+    }
+
+    /**
+     * Parses list of DTOs in compact JSON format. Usual JSON is accepted as well.
+     *
+     * @param json
+     *         compact JSON data
+     * @param dtoInterface
+     *         DTO interface
+     * @return list of DTO
+     * @throws IllegalArgumentException
+     *         if can't provide any implementation for specified interface
+     */
+    public <T> JsonArray<T> createListDtoFromCompactJson(String json, Class<T> dtoInterface) {
+        try {
+            return readListDto(new StringReader(json), getDtoProvider(dtoInterface), true);
+        } catch (IOException e) {
+            // Never happens with StringReader.
+            throw new JsonIOException(e);
+        }
+    }
+
+    /**
+     * Parses list of DTOs in compact JSON format. Usual JSON is accepted as well.
+     *
+     * @param json
+     *         compact JSON data
+     * @param dtoInterface
+     *         DTO interface
+     * @return list of DTO
+     * @throws IllegalArgumentException
+     *         if can't provide any implementation for specified interface
+     * @throws IOException
+     *         if an i/o error occurs
+     */
+    public <T> JsonArray<T> createListDtoFromCompactJson(Reader json, Class<T> dtoInterface) throws IOException {
+        return readListDto(json, getDtoProvider(dtoInterface), true);
+    }
+
+    /**
+     * Parses list of DTOs in compact JSON format. Usual JSON is accepted as well.
+     *
+     * @param json
+     *         compact JSON data
+     * @param dtoInterface
+     *         DTO interface
+     * @return list of DTO
+     * @throws IllegalArgumentException
+     *         if can't provide any implementation for specified interface
+     * @throws IOException
+     *         if an i/o error occurs
+     */
+    public <T> JsonArray<T> createListDtoFromCompactJson(InputStream json, Class<T> dtoInterface) throws IOException {
+        return createListDtoFromCompactJson(new InputStreamReader(json), dtoInterface);
+    }
+
+    //
+
     /**
      * Parses the JSON data from the specified sting into map of objects of the specified type.
      *
@@ -371,6 +581,45 @@ public final class DtoFactory {
 
     //
 
+    private <T> T readDto(Reader json, DtoProvider<T> dtoProvider, boolean compact) throws IOException {
+        // Same settings as JsonParser uses for parsing strings.
+        final JsonReader reader = new JsonReader(json);
+        reader.setLenient(true);
+        boolean empty = true;
+        try {
+            reader.peek();
+            empty = false;
+            final T dto = compact ? dtoProvider.fromCompactJson(reader) : dtoProvider.fromJson(reader);
+            if (reader.peek() != JsonToken.END_DOCUMENT) {
+                throw new JsonSyntaxException("Did not consume the entire document.");
+            }
+            return dto;
+        } catch (EOFException e) {
+            if (empty) {
+                return null;
+            }
+            throw new JsonSyntaxException(e);
+        } catch (MalformedJsonException | IllegalStateException | NumberFormatException e) {
+            throw new JsonSyntaxException(e);
+        }
+    }
+
+    private <T> JsonArray<T> readListDto(Reader json, DtoProvider<T> dtoProvider, boolean compact) throws IOException {
+        final JsonReader reader = new JsonReader(json);
+        reader.setLenient(true);
+        final List<T> result = new ArrayList<>();
+        try {
+            reader.beginArray();
+            while (reader.hasNext()) {
+                result.add(compact ? dtoProvider.fromCompactJson(reader) : dtoProvider.fromJson(reader));
+            }
+            reader.endArray();
+        } catch (MalformedJsonException | IllegalStateException | NumberFormatException e) {
+            throw new JsonSyntaxException(e);
+        }
+        return new JsonArrayImpl<>(result);
+    }
+
     @SuppressWarnings("unchecked")
     private <T> DtoProvider<T> getDtoProvider(Class<T> dtoInterface) {
         DtoProvider<?> dtoProvider = dtoInterface2Providers.get(dtoInterface);
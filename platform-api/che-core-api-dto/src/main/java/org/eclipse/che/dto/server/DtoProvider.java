@@ -11,6 +11,10 @@
 package org.eclipse.che.dto.server;
 
 import com.google.gson.JsonElement;
+import com.google.gson.JsonParser;
+import com.google.gson.stream.JsonReader;
+
+import java.io.IOException;
 
 /**
  * Provides implementation of DTO interface.
@@ -24,6 +28,19 @@ public interface DtoProvider<DTO> {
 
     DTO fromJson(JsonElement json);
 
+    /** Reads DTO from the stream. Default implementation parses JSON tree first, generated providers read DTO directly. */
+    default DTO fromJson(JsonReader reader) throws IOException {
+        return fromJson(new JsonParser().parse(reader));
+    }
+
+    /**
+     * Reads DTO in compact form from the stream. Default implementation expects usual JSON, generated providers read compact form
+     * written by {@link JsonSerializable#toCompactJson(java.io.Writer)}.
+     */
+    default DTO fromCompactJson(JsonReader reader) throws IOException {
+        return fromJson(reader);
+    }
+
     DTO newInstance();
 
     DTO clone(DTO origin);
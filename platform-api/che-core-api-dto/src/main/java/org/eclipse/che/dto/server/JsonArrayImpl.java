@@ -15,6 +15,8 @@ import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
 import com.google.gson.JsonElement;
 
+import java.io.IOException;
+import java.io.Writer;
 import java.util.Collection;
 import java.util.Iterator;
 import java.util.List;
@@ -159,6 +161,25 @@ public class JsonArrayImpl<T> implements JsonArray<T> {
         return gson.toJsonTree(this);
     }
 
+    /** Writes items which are {@link JsonSerializable} in compact form, other items are written as usual. */
+    @Override
+    public void toCompactJson(Writer writer) throws IOException {
+        writer.write('[');
+        boolean first = true;
+        for (T item : delegate) {
+            if (!first) {
+                writer.write(',');
+            }
+            first = false;
+            if (item instanceof JsonSerializable) {
+                ((JsonSerializable)item).toCompactJson(writer);
+            } else {
+                gson.toJson(item, writer);
+            }
+        }
+        writer.write(']');
+    }
+
     @Override
     public String toString() {
         return delegate.toString();
@@ -13,7 +13,9 @@
 // limitations under the License.
 package org.eclipse.che.dto.server;
 
+import java.io.IOException;
 import java.io.Serializable;
+import java.io.Writer;
 
 import com.google.gson.JsonElement;
 
@@ -23,6 +25,23 @@ public interface JsonSerializable extends Serializable {
     /** Serializes DTO to JSON format. */
     String toJson();
 
+    /**
+     * Serializes DTO to JSON format and writes result to the writer. Default implementation writes result of {@link #toJson()}, generated
+     * DTO implementations write JSON directly without creating JSON object and string.
+     */
+    default void toJson(Writer writer) throws IOException {
+        writer.write(toJson());
+    }
+
+    /**
+     * Serializes DTO to compact JSON format and writes result to the writer. In compact format DTO is written as array of values of its
+     * fields, so compact JSON may be read only with the same version of DTO interface. Default implementation writes usual JSON, it is
+     * accepted by readers of compact format as well.
+     */
+    default void toCompactJson(Writer writer) throws IOException {
+        toJson(writer);
+    }
+
     /** Serializes DTO to JSON object. */
     JsonElement toJsonElement();
 }
\ No newline at end of file
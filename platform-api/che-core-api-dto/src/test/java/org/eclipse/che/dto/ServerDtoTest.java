@@ -15,6 +15,7 @@ import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
 import com.google.gson.JsonParser;
 import com.google.gson.JsonPrimitive;
+import com.google.gson.JsonSyntaxException;
 
 import org.eclipse.che.dto.definitions.ComplicatedDto;
 import org.eclipse.che.dto.definitions.DTOHierarchy;
@@ -26,9 +27,13 @@ import org.eclipse.che.dto.definitions.model.Model;
 import org.eclipse.che.dto.definitions.model.ModelComponentDto;
 import org.eclipse.che.dto.definitions.model.ModelDto;
 import org.eclipse.che.dto.server.DtoFactory;
+import org.eclipse.che.dto.server.JsonArrayImpl;
+import org.eclipse.che.dto.server.JsonSerializable;
 import org.testng.Assert;
 import org.testng.annotations.Test;
 
+import java.io.StringReader;
+import java.io.StringWriter;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
@@ -166,6 +171,35 @@ public class ServerDtoTest {
         assertEquals(expJson, json);
     }
 
+    @Test
+    public void testCloneWithAny() throws Exception {
+        JsonObject stuff = createTestValueForAny().getAsJsonObject();
+        DtoWithAny dto1 = dtoFactory.createDto(DtoWithAny.class).withStuff(stuff).withObjects(createListTestValueForAny());
+        DtoWithAny dto2 = dtoFactory.clone(dto1);
+        Assert.assertEquals(dto2, dto1);
+        Assert.assertNotSame(dto2.getStuff(), dto1.getStuff());
+
+        stuff.getAsJsonObject("b").addProperty("c", "changed");
+        Assert.assertEquals(dto2.getStuff(), createTestValueForAny());
+    }
+
+    @Test
+    public void testCloneWithCollections() throws Exception {
+        ComplicatedDto dto1 = dtoFactory.createDto(ComplicatedDto.class)
+                                        .withStrings(new ArrayList<>(asList("a", "b")))
+                                        .withSimpleDtos(new ArrayList<>(asList(dtoFactory.createDto(SimpleDto.class).withId(1))))
+                                        .withArrayOfArrayOfEnum(new ArrayList<>(asList(new ArrayList<>(asList(ComplicatedDto.SimpleEnum.ONE)))));
+        ComplicatedDto dto2 = dtoFactory.clone(dto1);
+        Assert.assertEquals(dto2, dto1);
+
+        dto1.getStrings().add("c");
+        dto1.getSimpleDtos().get(0).withId(2);
+        dto1.getArrayOfArrayOfEnum().get(0).add(ComplicatedDto.SimpleEnum.TWO);
+        assertEquals(dto2.getStrings(), asList("a", "b"));
+        assertEquals(dto2.getSimpleDtos().get(0).getId(), 1);
+        assertEquals(dto2.getArrayOfArrayOfEnum().get(0), asList(ComplicatedDto.SimpleEnum.ONE));
+    }
+
     /** Intentionally call several times to ensure non-reference equality */
     private static JsonElement createTestValueForAny() {
         return new JsonParser().parse("{a:100,b:{c:'blah'}}");
@@ -325,6 +359,119 @@ public class ServerDtoTest {
         assertEquals(complicatedDto.getArrayOfArrayOfEnum().get(0).get(2), ComplicatedDto.SimpleEnum.THREE);
     }
 
+    @Test
+    public void testStreamSerializerProducesSameJsonAsTreeSerializer() throws Exception {
+        SimpleDto simpleDto = dtoFactory.createDto(SimpleDto.class).withName("Something \"quoted\"").withId(1);
+        Map<String, SimpleDto> mapDtos = new HashMap<>(1);
+        mapDtos.put("key", simpleDto);
+        ComplicatedDto complicatedDto = dtoFactory.createDto(ComplicatedDto.class)
+                                                  .withStrings(asList("Something 1", null, "Something 2"))
+                                                  .withSimpleEnum(ComplicatedDto.SimpleEnum.TWO)
+                                                  .withMap(mapDtos)
+                                                  .withSimpleDtos(asList(simpleDto, null))
+                                                  .withArrayOfArrayOfEnum(asList(asList(ComplicatedDto.SimpleEnum.ONE)));
+        DtoWithAny dtoWithAny = dtoFactory.createDto(DtoWithAny.class).withStuff(createTestValueForAny())
+                                          .withObjects(createListTestValueForAny());
+        DtoWithFieldNames dtoWithFieldNames = dtoFactory.createDto(DtoWithFieldNames.class).withTheName("name").withTheDefault("default");
+
+        for (Object dto : asList(simpleDto, complicatedDto, dtoFactory.createDto(ComplicatedDto.class), dtoWithAny, dtoWithFieldNames)) {
+            final StringWriter writer = new StringWriter();
+            ((JsonSerializable)dto).toJson(writer);
+            assertEquals(writer.toString(), dtoFactory.toJson(dto));
+        }
+    }
+
+    @Test
+    public void testStreamDeserializer() throws Exception {
+        SimpleDto simpleDto = dtoFactory.createDto(SimpleDto.class).withName("Something").withId(1).withDefault("default");
+        Map<String, SimpleDto> mapDtos = new HashMap<>(1);
+        mapDtos.put("key", simpleDto);
+        ComplicatedDto complicatedDto = dtoFactory.createDto(ComplicatedDto.class)
+                                                  .withStrings(asList("Something 1", "Something 2"))
+                                                  .withSimpleEnum(ComplicatedDto.SimpleEnum.THREE)
+                                                  .withMap(mapDtos)
+                                                  .withSimpleDtos(asList(simpleDto))
+                                                  .withArrayOfArrayOfEnum(asList(asList(ComplicatedDto.SimpleEnum.ONE)));
+        final String json = dtoFactory.toJson(complicatedDto);
+
+        assertEquals(dtoFactory.createDtoFromJson(new StringReader(json), ComplicatedDto.class), complicatedDto);
+        assertEquals(dtoFactory.createDtoFromJson(new StringReader(json), ComplicatedDto.class),
+                     dtoFactory.createDtoFromJson(json, ComplicatedDto.class));
+
+        DtoWithAny dtoWithAny = dtoFactory.createDtoFromJson(new StringReader(dtoFactory.toJson(
+                dtoFactory.createDto(DtoWithAny.class).withStuff(createTestValueForAny()).withObjects(createListTestValueForAny()))),
+                                                             DtoWithAny.class);
+        assertEquals(dtoWithAny.getStuff(), createTestValueForAny());
+        assertEquals(dtoWithAny.getObjects(), createListTestValueForAny());
+    }
+
+    @Test
+    public void testStreamDeserializerSkipsUnknownFields() throws Exception {
+        SimpleDto dto = dtoFactory.createDtoFromJson(new StringReader("{\"unknown\":{\"a\":[1,{}]},\"name\":\"Something\",\"id\":1}"),
+                                                     SimpleDto.class);
+
+        checkSimpleDto(dto, "Something", 1, null);
+    }
+
+    @Test(expectedExceptions = JsonSyntaxException.class)
+    public void testStreamDeserializerFailsIfDocumentIsNotConsumed() throws Exception {
+        dtoFactory.createDtoFromJson(new StringReader("{\"name\":\"Something\"} {}"), SimpleDto.class);
+    }
+
+    @Test
+    public void testCompactJsonSerializer() throws Exception {
+        SimpleDto simpleDto = dtoFactory.createDto(SimpleDto.class).withName("Something").withId(1).withDefault("default");
+
+        // Values are ordered by names of fields in JSON.
+        assertEquals(dtoFactory.toCompactJson(simpleDto), "[\"default\",1,\"Something\"]");
+        assertEquals(dtoFactory.toCompactJson(new JsonArrayImpl<>(asList(simpleDto, null))),
+                     "[[\"default\",1,\"Something\"],null]");
+    }
+
+    @Test
+    public void testCompactJsonDeserializer() throws Exception {
+        SimpleDto simpleDto = dtoFactory.createDto(SimpleDto.class).withName("Something").withId(1).withDefault("default");
+        Map<String, SimpleDto> mapDtos = new HashMap<>(1);
+        mapDtos.put("key", simpleDto);
+        ComplicatedDto complicatedDto = dtoFactory.createDto(ComplicatedDto.class)
+                                                  .withStrings(asList("Something 1", null))
+                                                  .withSimpleEnum(ComplicatedDto.SimpleEnum.TWO)
+                                                  .withMap(mapDtos)
+                                                  .withSimpleDtos(asList(simpleDto, null))
+                                                  .withArrayOfArrayOfEnum(asList(asList(ComplicatedDto.SimpleEnum.ONE)));
+        DtoWithAny dtoWithAny = dtoFactory.createDto(DtoWithAny.class).withStuff(createTestValueForAny())
+                                          .withObjects(createListTestValueForAny());
+
+        assertEquals(dtoFactory.createDtoFromCompactJson(dtoFactory.toCompactJson(complicatedDto), ComplicatedDto.class), complicatedDto);
+        assertEquals(dtoFactory.createDtoFromCompactJson(dtoFactory.toCompactJson(dtoWithAny), DtoWithAny.class), dtoWithAny);
+        assertEquals(dtoFactory.createListDtoFromCompactJson(dtoFactory.toCompactJson(new JsonArrayImpl<>(asList(simpleDto))),
+                                                             SimpleDto.class),
+                     asList(simpleDto));
+    }
+
+    @Test
+    public void testCompactJsonDeserializerAcceptsUsualJson() throws Exception {
+        SimpleDto simpleDto = dtoFactory.createDto(SimpleDto.class).withName("Something").withId(1).withDefault("default");
+
+        assertEquals(dtoFactory.createDtoFromCompactJson(dtoFactory.toJson(simpleDto), SimpleDto.class), simpleDto);
+    }
+
+    @Test
+    public void testCompactJsonDeserializerSkipsUnknownValues() throws Exception {
+        SimpleDto dto = dtoFactory.createDtoFromCompactJson("[\"default\",1,\"Something\",{\"a\":[1]},2]", SimpleDto.class);
+
+        checkSimpleDto(dto, "Something", 1, "default");
+    }
+
+    @Test
+    public void testCompactJsonHash() throws Exception {
+        final String hash = dtoFactory.getCompactJsonHash(SimpleDto.class);
+
+        assertEquals(dtoFactory.getCompactJsonHash(dtoFactory.createDto(SimpleDto.class).getClass()), hash);
+        assertTrue(!hash.equals(dtoFactory.getCompactJsonHash(ComplicatedDto.class)));
+        assertEquals(dtoFactory.getCompactJsonHash(String.class), null);
+    }
+
     private void checkSimpleDto(SimpleDto dto, String expectedName, int expectedId, String expectedDefault) {
         assertEquals(dto.getName(), expectedName);
         assertEquals(dto.getId(), expectedId);
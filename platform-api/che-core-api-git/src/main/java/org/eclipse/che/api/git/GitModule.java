@@ -40,6 +40,7 @@ public class GitModule extends AbstractModule {
         bind(GitService.class);
         bind(BranchListWriter.class);
         bind(CommitMessageWriter.class);
+        bind(LogPageJsonWriter.class);
         bind(MergeResultWriter.class);
         bind(RemoteListWriter.class);
         bind(StatusPageWriter.class);
@@ -475,12 +475,15 @@ public class GitService {
         if (virtualFile.getChild(".git") != null) {
 
             try (GitConnection gitConnection = getGitConnection()) {
+                // Only the last commit is needed, don't read whole history.
+                final String commitId = gitConnection.log(DtoFactory.getInstance().createDto(LogRequest.class).withMaxCount(1))
+                                                     .getCommits().get(0).getId();
                 return DtoFactory.getInstance().createDto(ImportSourceDescriptor.class)
                                  .withType("git")
                                  .withLocation(
                                          gitUrlResolver.resolve(uriInfo.getBaseUri(), (VirtualFileImpl)virtualFile))
                                  .withParameters(
-                                         Collections.singletonMap("commitId", gitConnection.log(null).getCommits().get(0).getId()));
+                                         Collections.singletonMap("commitId", commitId));
 
             }
         } else {
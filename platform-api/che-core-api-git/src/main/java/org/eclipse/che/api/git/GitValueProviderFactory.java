@@ -13,10 +13,10 @@ package org.eclipse.che.api.git;
 import com.google.inject.Inject;
 
 import org.eclipse.che.api.core.ApiException;
+import org.eclipse.che.api.project.server.CacheableValueProviderFactory;
 import org.eclipse.che.api.project.server.FolderEntry;
 import org.eclipse.che.api.project.server.InvalidValueException;
 import org.eclipse.che.api.project.server.ValueProvider;
-import org.eclipse.che.api.project.server.ValueProviderFactory;
 import org.eclipse.che.api.project.server.ValueStorageException;
 import org.eclipse.che.api.vfs.server.MountPoint;
 import org.eclipse.che.api.vfs.server.VirtualFile;
@@ -29,7 +29,9 @@ import org.eclipse.che.vfs.impl.fs.VirtualFileImpl;
 
 import javax.inject.Singleton;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
+import java.util.Set;
 
 import static org.eclipse.che.api.git.shared.StatusFormat.LONG;
 
@@ -37,7 +39,9 @@ import static org.eclipse.che.api.git.shared.StatusFormat.LONG;
  * @author Roman Nikitenko
  */
 @Singleton
-public class GitValueProviderFactory implements ValueProviderFactory {
+public class GitValueProviderFactory implements CacheableValueProviderFactory {
+    private static final Set<String> TRACKED_PATHS = Collections.singleton(".git");
+
 
     @Inject
     private GitConnectionFactory      gitConnectionFactory;
@@ -72,6 +76,12 @@ public class GitValueProviderFactory implements ValueProviderFactory {
         };
     }
 
+    /** Value is calculated again if folder .git is created or removed. Project that is not git repository doesn't get cached value. */
+    @Override
+    public Set<String> getTrackedPaths() {
+        return TRACKED_PATHS;
+    }
+
     private String resolveLocalPathByPath(String folderPath, String wsId) throws ApiException {
         VirtualFileSystem vfs = vfsRegistry.getProvider(wsId).newInstance(null);
         Item gitProject = vfs.getItemByPath(folderPath, null, false, PropertyFilter.ALL_FILTER);
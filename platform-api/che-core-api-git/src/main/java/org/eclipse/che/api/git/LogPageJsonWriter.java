@@ -0,0 +1,89 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.git;
+
+import org.eclipse.che.api.git.shared.Revision;
+import org.eclipse.che.dto.server.DtoFactory;
+import org.eclipse.che.dto.server.JsonSerializable;
+
+import javax.inject.Singleton;
+import javax.ws.rs.Produces;
+import javax.ws.rs.WebApplicationException;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.MultivaluedMap;
+import javax.ws.rs.ext.MessageBodyWriter;
+import javax.ws.rs.ext.Provider;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Writes {@link LogPage} in JSON format. Commits are written to the output stream one by one, JSON of whole log isn't built in memory.
+ */
+@Singleton
+@Provider
+@Produces(MediaType.APPLICATION_JSON)
+public final class LogPageJsonWriter implements MessageBodyWriter<LogPage> {
+    /**
+     * @see MessageBodyWriter#isWriteable(Class, java.lang.reflect.Type, java.lang.annotation.Annotation[], javax.ws.rs.core.MediaType)
+     */
+    @Override
+    public boolean isWriteable(Class<?> type, Type genericType, Annotation[] annotations, MediaType mediaType) {
+        return LogPage.class.isAssignableFrom(type);
+    }
+
+    /**
+     * @see MessageBodyWriter#getSize(Object, Class, java.lang.reflect.Type, java.lang.annotation.Annotation[], javax.ws.rs.core.MediaType)
+     */
+    @Override
+    public long getSize(LogPage logPage,
+                        Class<?> type,
+                        Type genericType,
+                        Annotation[] annotations,
+                        MediaType mediaType) {
+        return -1;
+    }
+
+    /**
+     * @see MessageBodyWriter#writeTo(Object, Class, java.lang.reflect.Type, java.lang.annotation.Annotation[], javax.ws.rs.core.MediaType,
+     *      javax.ws.rs.core.MultivaluedMap, java.io.OutputStream)
+     */
+    @Override
+    public void writeTo(LogPage logPage,
+                        Class<?> type,
+                        Type genericType,
+                        Annotation[] annotations,
+                        MediaType mediaType,
+                        MultivaluedMap<String, Object> httpHeaders,
+                        OutputStream entityStream) throws IOException, WebApplicationException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(entityStream, StandardCharsets.UTF_8));
+        writer.write("{\"commits\":[");
+        boolean first = true;
+        for (Revision commit : logPage.getCommits()) {
+            if (!first) {
+                writer.write(',');
+            }
+            first = false;
+            if (commit instanceof JsonSerializable) {
+                ((JsonSerializable)commit).toJson(writer);
+            } else {
+                writer.write(DtoFactory.getInstance().toJson(commit));
+            }
+        }
+        writer.write("]}");
+        writer.flush();
+    }
+}
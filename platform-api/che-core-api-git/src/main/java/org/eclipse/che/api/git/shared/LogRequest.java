@@ -12,6 +12,8 @@ package org.eclipse.che.api.git.shared;
 
 import org.eclipse.che.dto.shared.DTO;
 
+import java.util.List;
+
 /**
  * Request to get commit logs.
  *
@@ -26,7 +28,27 @@ public interface LogRequest extends GitRequest {
     
     void setRevisionRangeSince(String revisionRangeSince);
     void setRevisionRangeUntil(String revisionRangeUntil);	
-    // private List<String> fileFilter;
+
+    /** @return number of commits to skip before showing commits, 0 means don't skip any commit */
+    int getSkip();
+
+    void setSkip(int skip);
+
+    LogRequest withSkip(int skip);
+
+    /** @return max number of commits to show, 0 means no limit */
+    int getMaxCount();
+
+    void setMaxCount(int maxCount);
+
+    LogRequest withMaxCount(int maxCount);
+
+    /** @return show only commits which change these files or directories, empty list means show all commits */
+    List<String> getFileFilter();
+
+    void setFileFilter(List<String> fileFilter);
+
+    LogRequest withFileFilter(List<String> fileFilter);
     // private boolean noRenames = true;
     // private int renameLimit;
 }
\ No newline at end of file
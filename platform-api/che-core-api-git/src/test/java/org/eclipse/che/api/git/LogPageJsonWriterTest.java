@@ -0,0 +1,70 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.git;
+
+import org.eclipse.che.api.git.shared.GitUser;
+import org.eclipse.che.api.git.shared.Log;
+import org.eclipse.che.api.git.shared.Revision;
+import org.eclipse.che.dto.server.DtoFactory;
+import org.testng.annotations.Test;
+
+import javax.ws.rs.core.MediaType;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.eclipse.che.dto.server.DtoFactory.newDto;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+public class LogPageJsonWriterTest {
+    private final LogPageJsonWriter writer = new LogPageJsonWriter();
+
+    @Test
+    public void shouldWriteAllCommitsOfPage() throws Exception {
+        Revision first = newDto(Revision.class).withId("1a2b3c")
+                                               .withBranch("master")
+                                               .withMessage("first \"quoted\"\nsecond line")
+                                               .withCommitTime(1000)
+                                               .withCommitter(newDto(GitUser.class).withName("User").withEmail("user@test.com"));
+        Revision second = newDto(Revision.class).withId("4d5e6f").withMessage("second").withCommitTime(2000);
+
+        String json = write(new LogPage(Arrays.asList(first, second)));
+
+        List<Revision> commits = DtoFactory.getInstance().createDtoFromJson(json, Log.class).getCommits();
+        assertEquals(commits.size(), 2);
+        assertEquals(commits.get(0), first);
+        assertEquals(commits.get(1), second);
+    }
+
+    @Test
+    public void shouldWriteEmptyPage() throws Exception {
+        String json = write(new LogPage(Collections.<Revision>emptyList()));
+
+        assertEquals(json, "{\"commits\":[]}");
+        assertTrue(DtoFactory.getInstance().createDtoFromJson(json, Log.class).getCommits().isEmpty());
+    }
+
+    @Test
+    public void shouldBeWriteableOnlyForLogPage() {
+        assertTrue(writer.isWriteable(LogPage.class, LogPage.class, null, MediaType.APPLICATION_JSON_TYPE));
+        assertFalse(writer.isWriteable(String.class, String.class, null, MediaType.APPLICATION_JSON_TYPE));
+    }
+
+    private String write(LogPage page) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        writer.writeTo(page, LogPage.class, LogPage.class, null, MediaType.APPLICATION_JSON_TYPE, null, out);
+        return new String(out.toByteArray(), StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,87 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.git.impl;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.io.Files;
+
+import org.eclipse.che.api.git.GitConnection;
+import org.eclipse.che.api.git.GitConnectionFactory;
+import org.eclipse.che.api.git.GitException;
+import org.eclipse.che.api.git.shared.AddRequest;
+import org.eclipse.che.api.git.shared.CommitRequest;
+import org.eclipse.che.api.git.shared.LogRequest;
+import org.eclipse.che.api.git.shared.Revision;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+
+import static org.eclipse.che.dto.server.DtoFactory.newDto;
+import static org.eclipse.che.git.impl.GitTestUtil.addFile;
+import static org.eclipse.che.git.impl.GitTestUtil.cleanupTestRepo;
+import static org.eclipse.che.git.impl.GitTestUtil.connectToInitializedGitRepository;
+import static org.testng.Assert.assertEquals;
+
+public class LogTest {
+    private File repository;
+
+    @BeforeMethod
+    public void setUp() {
+        repository = Files.createTempDir();
+    }
+
+    @AfterMethod
+    public void cleanUp() {
+        cleanupTestRepo(repository);
+    }
+
+    @Test(dataProvider = "GitConnectionFactory", dataProviderClass = org.eclipse.che.git.impl.GitConnectionFactoryProvider.class)
+    public void testLogWithSkipAndMaxCount(GitConnectionFactory connectionFactory) throws GitException, IOException {
+        //given
+        GitConnection connection = connectToInitializedGitRepository(connectionFactory, repository);
+        commitFile(connection, "a.txt", "first");
+        commitFile(connection, "b.txt", "second");
+        commitFile(connection, "c.txt", "third");
+
+        //when
+        List<Revision> commits = connection.log(newDto(LogRequest.class).withSkip(1).withMaxCount(1)).getCommits();
+
+        //then
+        assertEquals(commits.size(), 1);
+        assertEquals(commits.get(0).getMessage(), "second");
+    }
+
+    @Test(dataProvider = "GitConnectionFactory", dataProviderClass = org.eclipse.che.git.impl.GitConnectionFactoryProvider.class)
+    public void testLogWithFileFilter(GitConnectionFactory connectionFactory) throws GitException, IOException {
+        //given
+        GitConnection connection = connectToInitializedGitRepository(connectionFactory, repository);
+        commitFile(connection, "a.txt", "first");
+        commitFile(connection, "b.txt", "second");
+        commitFile(connection, "a.txt", "third");
+
+        //when
+        List<Revision> commits = connection.log(newDto(LogRequest.class).withFileFilter(ImmutableList.of("b.txt"))).getCommits();
+
+        //then
+        assertEquals(commits.size(), 1);
+        assertEquals(commits.get(0).getMessage(), "second");
+    }
+
+    private void commitFile(GitConnection connection, String name, String message) throws GitException, IOException {
+        addFile(connection, name, message);
+        connection.add(newDto(AddRequest.class).withFilepattern(ImmutableList.of(name)));
+        connection.commit(newDto(CommitRequest.class).withMessage(message));
+    }
+}
@@ -0,0 +1,26 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.project.server;
+
+import java.util.Set;
+
+/**
+ * ValueProviderFactory which values may be cached between calls of {@link Project#getConfig()}. Cached values are dropped when any file
+ * of project meta-information (folder {@code .codenvy}) or any of {@link #getTrackedPaths() tracked files} is changed over virtual file
+ * system. Implementation should not be cacheable if its values depend on anything else.
+ */
+public interface CacheableValueProviderFactory extends ValueProviderFactory {
+    /**
+     * Gets paths, relative to the project folder, of files and folders that values of ValueProvider depend on. Change of any of these
+     * files, or any file inside these folders, drops cached values.
+     */
+    Set<String> getTrackedPaths();
+}
@@ -78,6 +78,7 @@ public final class DefaultProjectManager implements ProjectManager {
 
     private final Lock[]                                     miscLocks;
     private final Cache<Pair<String, String>, ProjectMisc>[] miscCaches;
+    private final ProjectConfigCache                         configCache;
 
     private final VirtualFileSystemRegistry         fileSystemRegistry;
     private final EventService                      eventService;
@@ -123,6 +124,8 @@ public final class DefaultProjectManager implements ProjectManager {
             };
         }
 
+        configCache = new ProjectConfigCache();
+
         vfsSubscriber = new EventSubscriber<VirtualFileEvent>() {
             @Override
             public void onEvent(VirtualFileEvent event) {
@@ -137,6 +140,7 @@ public final class DefaultProjectManager implements ProjectManager {
                     case DELETED:
                     case MOVED:
                     case RENAMED: {
+                        configCache.onEvent(event);
                         final int length = path.length();
                         for (int i = 1; i < length && (i = path.indexOf('/', i)) > 0; i++) {
                             final String projectPath = path.substring(0, i);
@@ -441,6 +445,21 @@ public final class DefaultProjectManager implements ProjectManager {
     }
 
 
+    /**
+     * Gets configuration of project. Content of project.json and values of {@link CacheableValueProviderFactory} are cached while
+     * this manager is started and receives events of virtual file system.
+     *
+     * @param project
+     *         project
+     * @return ProjectConfig
+     * @throws ServerException
+     *         if an error occurs
+     */
+    public ProjectConfig getProjectConfig(Project project) throws ServerException, ValueStorageException,
+                                                                  ProjectTypeConstraintException, InvalidValueException {
+        return project.createConfig(configCache);
+    }
+
     public Set<Project> getProjectModules(Project parent)
             throws ServerException, ForbiddenException, ConflictException, IOException, NotFoundException {
         final List<String> modulePaths = new LinkedList<>();
@@ -556,11 +575,13 @@ public final class DefaultProjectManager implements ProjectManager {
     @PostConstruct
     void start() {
         eventService.subscribe(vfsSubscriber);
+        configCache.setEnabled(true);
     }
 
     @PreDestroy
     void stop() {
         eventService.unsubscribe(vfsSubscriber);
+        configCache.setEnabled(false);
         for (int i = 0, length = miscLocks.length; i < length; i++) {
             miscLocks[i].lock();
             try {
@@ -38,6 +38,7 @@ import org.eclipse.che.api.project.server.type.BaseProjectType;
 import org.eclipse.che.api.project.server.type.ProjectTypeRegistry;
 import org.eclipse.che.api.vfs.shared.dto.AccessControlEntry;
 import org.eclipse.che.api.vfs.shared.dto.Principal;
+import org.eclipse.che.api.workspace.server.WorkspaceDescriptorCache;
 import org.eclipse.che.api.workspace.server.WorkspaceService;
 import org.eclipse.che.api.workspace.shared.dto.WorkspaceDescriptor;
 import org.eclipse.che.commons.env.EnvironmentContext;
@@ -319,6 +320,19 @@ public class DtoConverter {
                                                      UriBuilder baseUriBuilder,
                                                      ProjectTypeRegistry ptRegistry,
                                                      String wsId) throws InvalidValueException {
+        return toDescriptorDto2(project, serviceUriBuilder, baseUriBuilder, ptRegistry, wsId, null);
+    }
+
+    /**
+     * Creates ProjectDescriptor. Name of workspace is got from {@code workspaceCache}, if it is {@code null} name of workspace is
+     * requested from WorkspaceService.
+     */
+    public static ProjectDescriptor toDescriptorDto2(Project project,
+                                                     UriBuilder serviceUriBuilder,
+                                                     UriBuilder baseUriBuilder,
+                                                     ProjectTypeRegistry ptRegistry,
+                                                     String wsId,
+                                                     WorkspaceDescriptorCache workspaceCache) throws InvalidValueException {
         final EnvironmentContext environmentContext = EnvironmentContext.getCurrent();
         final DtoFactory dtoFactory = DtoFactory.getInstance();
         final ProjectDescriptor dto = dtoFactory.createDto(ProjectDescriptor.class);
@@ -327,7 +341,7 @@ public class DtoConverter {
         final String name = project.getName();
         final String path = project.getPath();
 
-        String wsName = fetchWorkspaceName(wsId, baseUriBuilder, dto.getProblems());
+        String wsName = fetchWorkspaceName(wsId, baseUriBuilder, workspaceCache, dto.getProblems());
 
         dto.withWorkspaceId(wsId)
            .withWorkspaceName(wsName)
@@ -538,10 +552,21 @@ public class DtoConverter {
     public static ProjectReference toReferenceDto2(Project project,
                                                    UriBuilder uriBuilder,
                                                    UriBuilder baseUriBuilder) throws InvalidValueException {
+        return toReferenceDto2(project, uriBuilder, baseUriBuilder, null);
+    }
+
+    /**
+     * Creates ProjectReference. Name of workspace is got from {@code workspaceCache}, if it is {@code null} name of workspace is
+     * requested from WorkspaceService.
+     */
+    public static ProjectReference toReferenceDto2(Project project,
+                                                   UriBuilder uriBuilder,
+                                                   UriBuilder baseUriBuilder,
+                                                   WorkspaceDescriptorCache workspaceCache) throws InvalidValueException {
         final DtoFactory dtoFactory = DtoFactory.getInstance();
         final ProjectReference dto = dtoFactory.createDto(ProjectReference.class);
         final String wsId = project.getWorkspace();
-        final String wsName = fetchWorkspaceName(wsId, baseUriBuilder, dto.getProblems());
+        final String wsName = fetchWorkspaceName(wsId, baseUriBuilder, workspaceCache, dto.getProblems());
         final String name = project.getName();
         final String path = project.getPath();
         dto.withName(name).withPath(path).withWorkspaceId(wsId).withWorkspaceName(wsName);
@@ -583,8 +608,14 @@ public class DtoConverter {
         return dto;
     }
 
-    private static String fetchWorkspaceName(String wsId, UriBuilder baseUriBuilder, List<ProjectProblem> problems) {
+    private static String fetchWorkspaceName(String wsId,
+                                             UriBuilder baseUriBuilder,
+                                             WorkspaceDescriptorCache workspaceCache,
+                                             List<ProjectProblem> problems) {
         try {
+            if (workspaceCache != null) {
+                return workspaceCache.get(baseUriBuilder, wsId).getName();
+            }
             @SuppressWarnings("unchecked") // Generic array is 0 size
             final WorkspaceDescriptor descriptor = HttpJsonHelper.request(WorkspaceDescriptor.class,
                                                                           baseUriBuilder.path(WorkspaceService.class)
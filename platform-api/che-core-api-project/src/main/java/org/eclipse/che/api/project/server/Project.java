@@ -126,8 +126,14 @@ public class Project {
 
     public ProjectConfig getConfig() throws ServerException, ValueStorageException, ProjectTypeConstraintException,
                                             InvalidValueException {
+        return manager.getProjectConfig(this);
+    }
+
+    /** Creates configuration of project. Content of project.json and values of value providers are got through the {@code cache}. */
+    ProjectConfig createConfig(ProjectConfigCache cache) throws ServerException, ValueStorageException, ProjectTypeConstraintException,
+                                                                InvalidValueException {
 
-        final ProjectJson projectJson = ProjectJson.load(this);
+        final ProjectJson projectJson = cache.getProjectJson(this);
 
         ProjectTypes types = new ProjectTypes(projectJson.getType(), projectJson.getMixinTypes());
         types.addTransient();
@@ -145,7 +151,7 @@ public class Project {
                     List<String> val;
                     if (factory != null) {
 
-                        val = factory.newInstance(baseFolder).getValues(var.getName());
+                        val = cache.getValues(this, var.getName(), factory);
 
                         if (val == null)
                             throw new ProjectTypeConstraintException(
@@ -173,9 +179,11 @@ public class Project {
         }
 
 
-        Builders builders =
-                (projectJson.getBuilders() == null) ? new Builders(types.primary.getDefaultBuilder()) : projectJson.getBuilders();
-        Runners runners = (projectJson.getRunners() == null) ? new Runners(types.primary.getDefaultRunner()) : projectJson.getRunners();
+        // project.json may be cached, copy to protect it from modification
+        Builders builders = (projectJson.getBuilders() == null) ? new Builders(types.primary.getDefaultBuilder())
+                                                                : new Builders(projectJson.getBuilders());
+        Runners runners = (projectJson.getRunners() == null) ? new Runners(types.primary.getDefaultRunner())
+                                                             : new Runners(projectJson.getRunners());
 
 //        return new ProjectConfig(projectJson.getDescription(), projectJson.getType(),
 //                attributes, runners, builders, projectJson.getMixinTypes());
@@ -0,0 +1,191 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.project.server;
+
+import org.eclipse.che.api.core.ServerException;
+import org.eclipse.che.api.vfs.server.observation.MoveEvent;
+import org.eclipse.che.api.vfs.server.observation.RenameEvent;
+import org.eclipse.che.api.vfs.server.observation.VirtualFileEvent;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Keeps parsed {@code .codenvy/project.json} and values of {@link CacheableValueProviderFactory cacheable} value providers of projects
+ * of each workspace. Cache relies on events of virtual file system to drop outdated data and works only while it is {@link
+ * #setEnabled(boolean) enabled}, i.e. while events are delivered. When cache is disabled all data is read from the project.
+ */
+class ProjectConfigCache {
+    private final ConcurrentMap<String, ConcurrentMap<String, Entry>> workspaces;
+    /** Incremented on each change of files. Lets detect data that became outdated while it was read. */
+    private final AtomicLong                                          invalidations;
+
+    private volatile boolean enabled;
+
+    ProjectConfigCache() {
+        workspaces = new ConcurrentHashMap<>();
+        invalidations = new AtomicLong();
+    }
+
+    void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+        if (!enabled) {
+            clear();
+        }
+    }
+
+    /** Gets content of {@code .codenvy/project.json} of project. Returned object must not be modified. */
+    ProjectJson getProjectJson(Project project) throws ServerException {
+        if (!enabled) {
+            return ProjectJson.load(project);
+        }
+        Entry entry = getEntry(project.getWorkspace(), project.getPath());
+        if (entry == null) {
+            final long stamp = invalidations.get();
+            final Entry newEntry = new Entry(ProjectJson.load(project));
+            final ConcurrentMap<String, Entry> projects = getProjects(project.getWorkspace());
+            entry = projects.putIfAbsent(project.getPath(), newEntry);
+            if (entry == null) {
+                entry = newEntry;
+                if (stamp != invalidations.get()) {
+                    // Project might be changed while we were reading it. Use what we have read but don't keep it.
+                    projects.remove(project.getPath(), newEntry);
+                }
+            }
+        }
+        return entry.projectJson;
+    }
+
+    /** Gets values of variable from ValueProvider. Values of {@link CacheableValueProviderFactory} are cached. */
+    List<String> getValues(Project project, String attributeName, ValueProviderFactory factory) throws ValueStorageException {
+        final Entry entry;
+        if (!enabled || !(factory instanceof CacheableValueProviderFactory)
+            || (entry = getEntry(project.getWorkspace(), project.getPath())) == null) {
+            return factory.newInstance(project.getBaseFolder()).getValues(attributeName);
+        }
+        CachedValues cached = entry.values.get(attributeName);
+        if (cached == null) {
+            final long stamp = invalidations.get();
+            final List<String> values = factory.newInstance(project.getBaseFolder()).getValues(attributeName);
+            if (values == null) {
+                return null;
+            }
+            cached = new CachedValues(Collections.unmodifiableList(new ArrayList<>(values)),
+                                      ((CacheableValueProviderFactory)factory).getTrackedPaths());
+            if (entry.values.putIfAbsent(attributeName, cached) == null && stamp != invalidations.get()) {
+                entry.values.remove(attributeName, cached);
+            }
+        }
+        return cached.values;
+    }
+
+    /** Drops data that may be affected by change of file. */
+    void onEvent(VirtualFileEvent event) {
+        // Data that is being read at the moment may be outdated, don't keep it.
+        invalidations.incrementAndGet();
+        final ConcurrentMap<String, Entry> projects = workspaces.get(event.getWorkspaceId());
+        if (projects == null) {
+            return;
+        }
+        invalidate(projects, event.getPath());
+        if (event instanceof MoveEvent) {
+            invalidate(projects, ((MoveEvent)event).getOldPath());
+        } else if (event instanceof RenameEvent) {
+            invalidate(projects, ((RenameEvent)event).getOldPath());
+        }
+    }
+
+    void clear() {
+        invalidations.incrementAndGet();
+        workspaces.clear();
+    }
+
+    private void invalidate(ConcurrentMap<String, Entry> projects, String path) {
+        if (path == null) {
+            return;
+        }
+        for (Iterator<Map.Entry<String, Entry>> i = projects.entrySet().iterator(); i.hasNext(); ) {
+            final Map.Entry<String, Entry> e = i.next();
+            final String projectPath = e.getKey();
+            if (path.startsWith(projectPath) && path.length() > projectPath.length() && path.charAt(projectPath.length()) == '/') {
+                final String relPath = path.substring(projectPath.length() + 1);
+                if (relPath.equals(Constants.CODENVY_DIR) || relPath.startsWith(Constants.CODENVY_DIR + '/')) {
+                    i.remove();
+                } else {
+                    e.getValue().invalidateValues(relPath);
+                }
+            } else if (isSameOrParent(path, projectPath)) {
+                // Project itself or one of its parents is created, removed or moved.
+                i.remove();
+            }
+        }
+    }
+
+    private Entry getEntry(String workspace, String path) {
+        final ConcurrentMap<String, Entry> projects = workspaces.get(workspace);
+        return projects == null ? null : projects.get(path);
+    }
+
+    private ConcurrentMap<String, Entry> getProjects(String workspace) {
+        ConcurrentMap<String, Entry> projects = workspaces.get(workspace);
+        if (projects == null) {
+            final ConcurrentMap<String, Entry> newProjects = new ConcurrentHashMap<>();
+            projects = workspaces.putIfAbsent(workspace, newProjects);
+            if (projects == null) {
+                projects = newProjects;
+            }
+        }
+        return projects;
+    }
+
+    /** Checks whether {@code path} is the same as {@code other} or is parent of {@code other}. */
+    private static boolean isSameOrParent(String path, String other) {
+        return other.startsWith(path) && (other.length() == path.length() || other.charAt(path.length()) == '/' || path.endsWith("/"));
+    }
+
+    private static class Entry {
+        final ProjectJson                         projectJson;
+        final ConcurrentMap<String, CachedValues> values;
+
+        Entry(ProjectJson projectJson) {
+            this.projectJson = projectJson;
+            values = new ConcurrentHashMap<>();
+        }
+
+        void invalidateValues(String relPath) {
+            for (Iterator<CachedValues> i = values.values().iterator(); i.hasNext(); ) {
+                for (String trackedPath : i.next().trackedPaths) {
+                    if (isSameOrParent(trackedPath, relPath) || isSameOrParent(relPath, trackedPath)) {
+                        i.remove();
+                        break;
+                    }
+                }
+            }
+        }
+    }
+
+    private static class CachedValues {
+        final List<String> values;
+        final Set<String>  trackedPaths;
+
+        CachedValues(List<String> values, Set<String> trackedPaths) {
+            this.values = values;
+            this.trackedPaths = trackedPaths == null ? Collections.<String>emptySet() : trackedPaths;
+        }
+    }
+}
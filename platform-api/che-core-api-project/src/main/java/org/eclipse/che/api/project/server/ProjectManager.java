@@ -115,6 +115,20 @@ public interface ProjectManager {
      */
     ProjectMisc getProjectMisc(Project project) throws ServerException;
 
+    /**
+     * Gets configuration of project. Implementation may cache configuration, each call returns new instance of ProjectConfig which
+     * modifications don't affect cached data.
+     *
+     * @param project
+     *         project
+     * @return ProjectConfig
+     * @throws ServerException
+     *         if an error occurs
+     * @see Project#getConfig()
+     */
+    ProjectConfig getProjectConfig(Project project) throws ServerException, ValueStorageException, ProjectTypeConstraintException,
+                                                           InvalidValueException;
+
 
     /**
      * Gets Project modules.
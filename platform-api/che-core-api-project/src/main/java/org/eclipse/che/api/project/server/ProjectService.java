@@ -65,6 +65,7 @@ import org.eclipse.che.api.vfs.server.search.QueryExpression;
 import org.eclipse.che.api.vfs.server.search.SearcherProvider;
 import org.eclipse.che.api.vfs.shared.dto.AccessControlEntry;
 import org.eclipse.che.api.vfs.shared.dto.Principal;
+import org.eclipse.che.api.workspace.server.WorkspaceDescriptorCache;
 import org.eclipse.che.commons.env.EnvironmentContext;
 import org.eclipse.che.commons.lang.ws.rs.ExtMediaType;
 import org.eclipse.che.dto.server.DtoFactory;
@@ -131,6 +132,8 @@ public class ProjectService extends Service {
     private EventService                eventService;
     @Inject
     private ProjectHandlerRegistry      projectHandlerRegistry;
+    @Inject
+    private WorkspaceDescriptorCache    workspaceDescriptorCache;
 
     private final ExecutorService executor = Executors.newFixedThreadPool(1 + Runtime.getRuntime().availableProcessors(),
                                                                           new ThreadFactoryBuilder()
@@ -179,7 +182,8 @@ public class ProjectService extends Service {
             try {
                 projectReferences.add(DtoConverter.toReferenceDto2(project,
                                                                    getServiceContext().getServiceUriBuilder(),
-                                                                   getServiceContext().getBaseUriBuilder()));
+                                                                   getServiceContext().getBaseUriBuilder(),
+                                                                   workspaceDescriptorCache));
             } catch (RuntimeException e) {
                 // Ignore known error for single project.
                 // In result we won't have them in explorer tree but at least 'bad' projects won't prevent to show 'good' projects.
@@ -187,7 +191,8 @@ public class ProjectService extends Service {
                 NotValidProject notValidProject = new NotValidProject(project.getBaseFolder(), projectManager);
                 projectReferences.add(DtoConverter.toReferenceDto2(notValidProject,
                                                                    getServiceContext().getServiceUriBuilder(),
-                                                                   getServiceContext().getBaseUriBuilder()));
+                                                                   getServiceContext().getBaseUriBuilder(),
+                                                                   workspaceDescriptorCache));
             }
         }
         FolderEntry projectsRoot = projectManager.getProjectsRoot(workspace);
@@ -200,7 +205,8 @@ public class ProjectService extends Service {
 
                     projectReferences.add(DtoConverter.toReferenceDto2(notValidProject,
                                                                        getServiceContext().getServiceUriBuilder(),
-                                                                       getServiceContext().getBaseUriBuilder()));
+                                                                       getServiceContext().getBaseUriBuilder(),
+                                                                       workspaceDescriptorCache));
                 }
             }
         }
@@ -238,14 +244,16 @@ public class ProjectService extends Service {
                                                  getServiceContext().getServiceUriBuilder(),
                                                  getServiceContext().getBaseUriBuilder(),
                                                  projectManager.getProjectTypeRegistry(),
-                                                 workspace);
+                                                 workspace,
+                                                 workspaceDescriptorCache);
         } catch (InvalidValueException e) {
             NotValidProject notValidProject = new NotValidProject(project.getBaseFolder(), projectManager);
             return DtoConverter.toDescriptorDto2(notValidProject,
                                                  getServiceContext().getServiceUriBuilder(),
                                                  getServiceContext().getBaseUriBuilder(),
                                                  projectManager.getProjectTypeRegistry(),
-                                                 workspace);
+                                                 workspace,
+                                                 workspaceDescriptorCache);
         }
     }
 
@@ -292,7 +300,8 @@ public class ProjectService extends Service {
                                                                            getServiceContext().getServiceUriBuilder(),
                                                                            getServiceContext().getBaseUriBuilder(),
                                                                            projectManager.getProjectTypeRegistry(),
-                                                                           workspace);
+                                                                           workspace,
+                                                                           workspaceDescriptorCache);
 
         eventService.publish(new ProjectCreatedEvent(project.getWorkspace(), project.getPath()));
 
@@ -329,7 +338,8 @@ public class ProjectService extends Service {
                                                           getServiceContext().getServiceUriBuilder(),
                                                           getServiceContext().getBaseUriBuilder(),
                                                           projectManager.getProjectTypeRegistry(),
-                                                          workspace));
+                                                          workspace,
+                                                          workspaceDescriptorCache));
         }
         return modules;
     }
@@ -374,7 +384,8 @@ public class ProjectService extends Service {
                                                                            getServiceContext().getServiceUriBuilder(),
                                                                            getServiceContext().getBaseUriBuilder(),
                                                                            projectManager.getProjectTypeRegistry(),
-                                                                           workspace);
+                                                                           workspace,
+                                                                           workspaceDescriptorCache);
 
         eventService.publish(new ProjectCreatedEvent(module.getWorkspace(), module.getPath()));
 
@@ -411,7 +422,8 @@ public class ProjectService extends Service {
                                              getServiceContext().getServiceUriBuilder(),
                                              getServiceContext().getBaseUriBuilder(),
                                              projectManager.getProjectTypeRegistry(),
-                                             workspace);
+                                             workspace,
+                                             workspaceDescriptorCache);
     }
 
     @ApiOperation(value = "Make sure the folder is supposed to be project of a certain type",
@@ -881,7 +893,8 @@ public class ProjectService extends Service {
                                                               getServiceContext().getServiceUriBuilder(),
                                                               getServiceContext().getBaseUriBuilder(),
                                                               projectManager.getProjectTypeRegistry(),
-                                                              workspace);
+                                                              workspace,
+                                                              workspaceDescriptorCache);
             PostImportProjectHandler postImportProjectHandler =
                     projectHandlerRegistry.getPostImportProjectHandler(projectDescriptor.getType());
             if (postImportProjectHandler != null) {
@@ -901,7 +914,8 @@ public class ProjectService extends Service {
                                                               getServiceContext().getServiceUriBuilder(),
                                                               getServiceContext().getBaseUriBuilder(),
                                                               projectManager.getProjectTypeRegistry(),
-                                                              workspace);
+                                                              workspace,
+                                                              workspaceDescriptorCache);
             ProjectProblem problem = DtoFactory.getInstance().createDto(ProjectProblem.class).withCode(1).withMessage(e.getMessage());
             projectDescriptor.setProblems(Collections.singletonList(problem));
         }
@@ -1137,33 +1151,50 @@ public class ProjectService extends Service {
     @GET
     @Path("/export/{path:.*}")
     @Produces(ExtMediaType.APPLICATION_ZIP)
-    public ContentStream exportZip(@ApiParam(value = "Workspace ID", required = true)
-                                   @PathParam("ws-id") String workspace,
-                                   @ApiParam(value = "Path to resource to be imported")
-                                   @PathParam("path") String path)
-            throws NotFoundException, ForbiddenException, ServerException {
+    public Response exportZip(@ApiParam(value = "Workspace ID", required = true)
+                              @PathParam("ws-id") String workspace,
+                              @ApiParam(value = "Path to resource to be imported")
+                              @PathParam("path") String path,
+                              @ApiParam(value = "Compression level: -1 for default, 0 for no compression, 1-9 for deflate levels")
+                              @DefaultValue("-1") @QueryParam("compressionLevel") int compressionLevel)
+            throws NotFoundException, ForbiddenException, ServerException, BadRequestException {
+        checkCompressionLevel(compressionLevel);
         final FolderEntry folder = asFolder(workspace, path);
-        return VirtualFileSystemImpl.exportZip(folder.getVirtualFile());
+        return VirtualFileSystemImpl.exportZip(folder.getVirtualFile(), compressionLevel);
     }
 
     @POST
     @Path("/export/{path:.*}")
     @Consumes(MediaType.TEXT_PLAIN)
     @Produces(ExtMediaType.APPLICATION_ZIP)
-    public Response exportDiffZip(@PathParam("ws-id") String workspace, @PathParam("path") String path, InputStream in)
-            throws NotFoundException, ForbiddenException, ServerException {
+    public Response exportDiffZip(@PathParam("ws-id") String workspace,
+                                  @PathParam("path") String path,
+                                  @DefaultValue("-1") @QueryParam("compressionLevel") int compressionLevel,
+                                  InputStream in)
+            throws NotFoundException, ForbiddenException, ServerException, BadRequestException {
+        checkCompressionLevel(compressionLevel);
         final FolderEntry folder = asFolder(workspace, path);
-        return VirtualFileSystemImpl.exportZip(folder.getVirtualFile(), in);
+        return VirtualFileSystemImpl.exportZip(folder.getVirtualFile(), in, compressionLevel);
     }
 
     @POST
     @Path("/export/{path:.*}")
     @Consumes(MediaType.TEXT_PLAIN)
     @Produces(MediaType.MULTIPART_FORM_DATA)
-    public Response exportDiffZipMultipart(@PathParam("ws-id") String workspace, @PathParam("path") String path, InputStream in)
-            throws NotFoundException, ForbiddenException, ServerException {
+    public Response exportDiffZipMultipart(@PathParam("ws-id") String workspace,
+                                           @PathParam("path") String path,
+                                           @DefaultValue("-1") @QueryParam("compressionLevel") int compressionLevel,
+                                           InputStream in)
+            throws NotFoundException, ForbiddenException, ServerException, BadRequestException {
+        checkCompressionLevel(compressionLevel);
         final FolderEntry folder = asFolder(workspace, path);
-        return VirtualFileSystemImpl.exportZipMultipart(folder.getVirtualFile(), in);
+        return VirtualFileSystemImpl.exportZipMultipart(folder.getVirtualFile(), in, compressionLevel);
+    }
+
+    private void checkCompressionLevel(int compressionLevel) throws BadRequestException {
+        if (compressionLevel < -1 || compressionLevel > 9) {
+            throw new BadRequestException(String.format("Invalid compression level %d, must be from -1 to 9. ", compressionLevel));
+        }
     }
 
     @GET
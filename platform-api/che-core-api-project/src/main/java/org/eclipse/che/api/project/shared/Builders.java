@@ -42,6 +42,11 @@ public class Builders {
     /** Copy constructor. */
     public Builders(Builders other) {
         this._default = other._default;
+        if (other.configs != null) {
+            for (Map.Entry<String, Config> e : other.configs.entrySet()) {
+                getConfigs().put(e.getKey(), new Config(e.getValue()));
+            }
+        }
     }
 
     /** Gets default builder identifier, e.g. "maven". */
@@ -39,6 +39,11 @@ public class Runners {
     /** Copy constructor. */
     public Runners(Runners other) {
         this._default = other._default;
+        if (other.configs != null) {
+            for (Map.Entry<String, Config> e : other.configs.entrySet()) {
+                getConfigs().put(e.getKey(), new Config(e.getValue()));
+            }
+        }
     }
 
     /** Gets default runner identifier. */
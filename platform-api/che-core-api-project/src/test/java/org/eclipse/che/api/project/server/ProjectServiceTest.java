@@ -65,6 +65,7 @@ import org.eclipse.che.api.vfs.server.search.SearcherProvider;
 import org.eclipse.che.api.vfs.shared.dto.AccessControlEntry;
 import org.eclipse.che.api.vfs.shared.dto.Principal;
 import org.eclipse.che.api.vfs.shared.dto.VirtualFileSystemInfo;
+import org.eclipse.che.api.workspace.server.WorkspaceDescriptorCache;
 import org.eclipse.che.commons.json.JsonHelper;
 import org.eclipse.che.commons.lang.ws.rs.ExtMediaType;
 import org.eclipse.che.commons.user.UserImpl;
@@ -247,6 +248,7 @@ public class ProjectServiceTest {
         dependencies.addComponent(ProjectHandlerRegistry.class, phRegistry);
         dependencies.addComponent(SearcherProvider.class, mmp.getSearcherProvider());
         dependencies.addComponent(EventService.class, eventService);
+        dependencies.addComponent(WorkspaceDescriptorCache.class, new WorkspaceDescriptorCache(eventService));
 
 
         ResourceBinder resources = new ResourceBinderImpl();
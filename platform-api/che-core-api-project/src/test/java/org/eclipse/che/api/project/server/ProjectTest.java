@@ -35,6 +35,7 @@ import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
 
 import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import javax.ws.rs.core.MediaType;
 
@@ -224,6 +225,58 @@ public class ProjectTest {
         Assert.assertEquals(myProject.getConfig().getBuilders().getDefault(), "builder1");
     }
 
+    @Test
+    public void testConfigCache() throws Exception {
+        final AtomicInteger calls = new AtomicInteger();
+        final CacheableValueProviderFactory vpf = new CacheableValueProviderFactory() {
+            @Override
+            public Set<String> getTrackedPaths() {
+                return Collections.singleton("src");
+            }
+
+            @Override
+            public ValueProvider newInstance(FolderEntry projectFolder) {
+                return new ValueProvider() {
+                    @Override
+                    public List<String> getValues(String attributeName) {
+                        calls.incrementAndGet();
+                        return Collections.singletonList("cached");
+                    }
+
+                    @Override
+                    public void setValues(String attributeName, List<String> value) {
+                    }
+                };
+            }
+        };
+        pm.getProjectTypeRegistry().registerProjectType(new ProjectType("testConfigCachePT", "my testConfigCache type", true, false) {
+            {
+                addVariableDefinition("cached_attribute", "attr description", true, vpf);
+            }
+        });
+        Project myProject = pm.getProject("my_ws", "my_project");
+        new ProjectJson().withType("testConfigCachePT").withDescription("test project").save(myProject);
+
+        Assert.assertEquals(myProject.getConfig().getAttributes().get("cached_attribute").getString(), "cached");
+        // modifications of config must not affect cache
+        myProject.getConfig().getAttributes().clear();
+        Assert.assertEquals(myProject.getConfig().getAttributes().get("cached_attribute").getString(), "cached");
+        Assert.assertEquals(calls.get(), 1);
+
+        // file is not tracked by value provider
+        myProject.getBaseFolder().createFile("test.txt", "test".getBytes(), MediaType.TEXT_PLAIN);
+        myProject.getConfig();
+        Assert.assertEquals(calls.get(), 1);
+
+        myProject.getBaseFolder().createFolder("src");
+        myProject.getConfig();
+        Assert.assertEquals(calls.get(), 2);
+
+        new ProjectJson().withType("testConfigCachePT").withDescription("updated project").save(myProject);
+        Assert.assertEquals(myProject.getConfig().getDescription(), "updated project");
+        Assert.assertEquals(calls.get(), 3);
+    }
+
     @Test
     public void testEstimateProject() throws Exception {
 
@@ -128,7 +128,7 @@ public class RemoteRunner {
         }
         final ApplicationProcessDescriptor process;
         try {
-            process = HttpJsonHelper.request(ApplicationProcessDescriptor.class, link, request);
+            process = HttpJsonHelper.requestCompact(ApplicationProcessDescriptor.class, link, request);
         } catch (IOException e) {
             throw new RunnerException(e);
         } catch (ServerException | UnauthorizedException | ForbiddenException | NotFoundException | ConflictException e) {
@@ -152,7 +152,7 @@ public class RemoteRunner {
                     String.format("Unable get URL for getting state of a remote runner '%s' at '%s'", name, baseUrl));
         }
         try {
-            return HttpJsonHelper.request(RunnerState.class, 10000, stateLink, Pair.of("runner", name));
+            return HttpJsonHelper.requestCompact(RunnerState.class, 10000, stateLink, Pair.of("runner", name));
         } catch (IOException e) {
             throw new RunnerException(e);
         } catch (ServerException | UnauthorizedException | ForbiddenException | NotFoundException | ConflictException e) {
@@ -81,7 +81,7 @@ public class RemoteRunnerProcess {
      */
     public ApplicationProcessDescriptor getApplicationProcessDescriptor() throws RunnerException, NotFoundException {
         try {
-            return HttpJsonHelper.get(ApplicationProcessDescriptor.class, 10000, baseUrl + "/status/" + runner + '/' + processId);
+            return HttpJsonHelper.getCompact(ApplicationProcessDescriptor.class, 10000, baseUrl + "/status/" + runner + '/' + processId);
         } catch (IOException e) {
             throw new RunnerException(e);
         } catch (ServerException | UnauthorizedException | ForbiddenException | ConflictException e) {
@@ -112,7 +112,7 @@ public class RemoteRunnerProcess {
             }
         }
         try {
-            return HttpJsonHelper.request(ApplicationProcessDescriptor.class, DtoFactory.getInstance().clone(link));
+            return HttpJsonHelper.requestCompact(ApplicationProcessDescriptor.class, DtoFactory.getInstance().clone(link));
         } catch (IOException e) {
             throw new RunnerException(e);
         } catch (ServerException | UnauthorizedException | ForbiddenException | ConflictException e) {
@@ -138,7 +138,7 @@ public class RemoteRunnerServer extends RemoteServiceDescriptor {
             if (stateLink == null) {
                 throw new RunnerException(String.format("Unable get URL for getting state of a remote server '%s'", baseUrl));
             }
-            return HttpJsonHelper.request(ServerState.class, 10000, stateLink);
+            return HttpJsonHelper.requestCompact(ServerState.class, 10000, stateLink);
         } catch (IOException e) {
             throw new RunnerException(e);
         } catch (ServerException | UnauthorizedException | ForbiddenException | NotFoundException | ConflictException e) {
@@ -29,6 +29,7 @@ import org.eclipse.che.api.core.rest.HttpJsonHelper;
 import org.eclipse.che.api.core.rest.RemoteServiceDescriptor;
 import org.eclipse.che.api.core.rest.ServiceContext;
 import org.eclipse.che.api.core.rest.shared.dto.Link;
+import org.eclipse.che.api.core.util.QueueMetrics;
 import org.eclipse.che.api.core.util.ValueHolder;
 import org.eclipse.che.api.project.server.ProjectService;
 import org.eclipse.che.api.project.shared.EnvironmentId;
@@ -48,6 +49,7 @@ import org.eclipse.che.api.runner.dto.RunnerServerRegistration;
 import org.eclipse.che.api.runner.dto.RunnerState;
 import org.eclipse.che.api.runner.internal.Constants;
 import org.eclipse.che.api.runner.internal.RunnerEvent;
+import org.eclipse.che.api.workspace.server.WorkspaceDescriptorCache;
 import org.eclipse.che.api.workspace.server.WorkspaceService;
 import org.eclipse.che.api.workspace.shared.dto.WorkspaceDescriptor;
 import org.eclipse.che.commons.env.EnvironmentContext;
@@ -89,10 +91,11 @@ import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.CopyOnWriteArraySet;
 import java.util.concurrent.ExecutionException;
-import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
 import java.util.concurrent.SynchronousQueue;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
@@ -120,6 +123,10 @@ public class RunQueue {
     private static final int APPLICATION_CHECK_URL_TIMEOUT = 2000;
     private static final int APPLICATION_CHECK_URL_COUNT   = 30;
 
+    private static final int DEFAULT_MAX_WAITING        = 1000;
+    private static final int DEFAULT_MAX_WAITING_PER_WS = 10;
+    private static final int DEFAULT_MAX_THREADS        = 20;
+
     private static final AtomicLong sequence = new AtomicLong(1);
 
     private final ConcurrentMap<String, RemoteRunnerServer>       runnerServers;
@@ -135,9 +142,15 @@ public class RunQueue {
     // Helps to reduce lock contentions when check available resources.
     private final Lock[]                                          resourceCheckerLocks;
     private final int                                             resourceCheckerMask;
+    private final QueueMetrics                                    metrics;
+    /** Number of requests that wait for runner by id of workspace. Guards {@link #waitingNum}. */
+    private final Map<String, Integer>                            waitingByWorkspace;
+
+    private int waitingNum;
 
-    private ExecutorService          executor;
-    private ScheduledExecutorService cleanScheduler;
+    private ThreadPoolExecutor          executor;
+    private ScheduledThreadPoolExecutor runScheduler;
+    private ScheduledExecutorService    cleanScheduler;
 
     /** Optional pre-configured slave runners. */
     @com.google.inject.Inject(optional = true)
@@ -158,6 +171,31 @@ public class RunQueue {
     @Named(Constants.RUNNER_WS_MAX_MEMORY_SIZE)
     private int defMaxMemorySize = DEFAULT_MAX_MEMORY_SIZE;
 
+    /** Max number of requests that may wait for runner. New requests are rejected when this limit is reached. */
+    @com.google.inject.Inject(optional = true)
+    @Named(Constants.QUEUE_MAX_WAITING)
+    private int maxWaiting = DEFAULT_MAX_WAITING;
+
+    /**
+     * Max number of requests from one workspace that may wait for runner, 10 by default. New requests from workspace are rejected when
+     * this limit is reached. It keeps single workspace from taking all places in queue.
+     */
+    @com.google.inject.Inject(optional = true)
+    @Named(Constants.QUEUE_MAX_WAITING_PER_WS)
+    private int maxWaitingPerWorkspace = DEFAULT_MAX_WAITING_PER_WS;
+
+    /**
+     * Max number of threads that check state of waiting requests and send requests to slave runners, 20 by default. Waiting request
+     * doesn't hold thread between checks, so this number doesn't limit number of waiting requests.
+     */
+    @com.google.inject.Inject(optional = true)
+    @Named(Constants.QUEUE_MAX_THREADS)
+    private int maxThreads = DEFAULT_MAX_THREADS;
+
+    /** Reduces number of requests to the workspace API. Descriptors are loaded directly if cache isn't set. */
+    @com.google.inject.Inject(optional = true)
+    private WorkspaceDescriptorCache workspaceDescriptorCache;
+
     // Switched to default for test.
     // private
     long cleanerPeriod              = PROCESS_CLEANER_PERIOD;
@@ -201,6 +239,8 @@ public class RunQueue {
         for (int i = 0; i < partitions; i++) {
             resourceCheckerLocks[i] = new ReentrantLock();
         }
+        metrics = new QueueMetrics();
+        waitingByWorkspace = new HashMap<>();
     }
 
     public RunQueueTask getTask(Long id) throws NotFoundException {
@@ -212,6 +252,74 @@ public class RunQueue {
         return task;
     }
 
+    /**
+     * Get statistics of this queue.
+     *
+     * @return statistics of this queue
+     */
+    public List<RunnerMetric> getStats() {
+        checkStarted();
+        final int waiting;
+        synchronized (waitingByWorkspace) {
+            waiting = waitingNum;
+        }
+        final DtoFactory dtoFactory = DtoFactory.getInstance();
+        final List<RunnerMetric> stats = new LinkedList<>();
+        stats.add(dtoFactory.createDto(RunnerMetric.class)
+                            .withName(RunnerMetric.QUEUE_SIZE)
+                            .withValue(Integer.toString(waiting))
+                            .withDescription("Number of requests that wait for runner"));
+        stats.add(dtoFactory.createDto(RunnerMetric.class)
+                            .withName(RunnerMetric.MAX_QUEUE_SIZE)
+                            .withValue(Integer.toString(maxWaiting))
+                            .withDescription("Max number of requests that may wait for runner"));
+        stats.add(dtoFactory.createDto(RunnerMetric.class)
+                            .withName(RunnerMetric.NUMBER_OF_ACTIVE_WORKERS)
+                            .withValue(Integer.toString(runScheduler.getActiveCount()))
+                            .withDescription("Number of threads that check state of build or runners or send requests to runners"));
+        for (Map.Entry<String, String> e : metrics.getMetrics().entrySet()) {
+            stats.add(dtoFactory.createDto(RunnerMetric.class).withName(e.getKey()).withValue(e.getValue()));
+        }
+        return stats;
+    }
+
+    /**
+     * Takes place in queue for new request from specified workspace. Place is given back with {@link #releaseWaitingPlace(String)} when
+     * request stops waiting.
+     *
+     * @throws RunnerException
+     *         if there are too many requests waiting in queue at the moment
+     */
+    private void acquireWaitingPlace(String workspace) throws RunnerException {
+        synchronized (waitingByWorkspace) {
+            final Integer waitingInWorkspace = waitingByWorkspace.get(workspace);
+            if (waitingNum >= maxWaiting) {
+                metrics.taskRejected();
+                throw new RunnerException("Too many run requests in queue. Try again later. ");
+            }
+            if (waitingInWorkspace != null && waitingInWorkspace >= maxWaitingPerWorkspace) {
+                metrics.taskRejected();
+                throw new RunnerException(String.format("Too many run requests from workspace %s in queue. Try again later. ", workspace));
+            }
+            waitingByWorkspace.put(workspace, waitingInWorkspace == null ? 1 : waitingInWorkspace + 1);
+            waitingNum++;
+        }
+    }
+
+    private void releaseWaitingPlace(String workspace) {
+        synchronized (waitingByWorkspace) {
+            final Integer waitingInWorkspace = waitingByWorkspace.get(workspace);
+            if (waitingInWorkspace != null) {
+                if (waitingInWorkspace > 1) {
+                    waitingByWorkspace.put(workspace, waitingInWorkspace - 1);
+                } else {
+                    waitingByWorkspace.remove(workspace);
+                }
+                waitingNum--;
+            }
+        }
+    }
+
     public List<? extends RunQueueTask> getTasks() {
         return new ArrayList<>(tasks.values());
     }
@@ -219,54 +327,14 @@ public class RunQueue {
     @PostConstruct
     public void start() {
         if (started.compareAndSet(false, true)) {
+            // Run requests don't hold thread while wait for end of build or for free runner. Each check is scheduled separately, see
+            // InternalRunTask.
+            runScheduler = new ScheduledThreadPoolExecutor(maxThreads, new ThreadFactoryBuilder().setNameFormat("RunQueue-[%d]")
+                                                                                                 .setDaemon(true)
+                                                                                                 .build());
+            // Registration of slave runners and checks of application URLs.
             executor = new ThreadPoolExecutor(0, Integer.MAX_VALUE, 60L, TimeUnit.SECONDS, new SynchronousQueue<Runnable>(),
-                                              new ThreadFactoryBuilder().setNameFormat("RunQueue-[%d]").setDaemon(true).build()) {
-                @Override
-                protected void afterExecute(Runnable runnable, Throwable error) {
-                    boolean isInterrupted = Thread.interrupted();
-                    try {
-                        super.afterExecute(runnable, error);
-                        if (runnable instanceof InternalRunTask) {
-                            final InternalRunTask internalRunTask = (InternalRunTask)runnable;
-                            if (error == null) {
-                                try {
-                                    internalRunTask.get();
-                                } catch (CancellationException e) {
-                                    LOG.warn("Task {}, workspace '{}', project '{}' was cancelled",
-                                             internalRunTask.id, internalRunTask.workspace, internalRunTask.project);
-                                    error = e;
-                                } catch (ExecutionException e) {
-                                    error = e.getCause();
-                                    logError(internalRunTask, error == null ? e : error);
-                                } catch (InterruptedException e) {
-                                    Thread.currentThread().interrupt();
-                                }
-                            } else {
-                                logError(internalRunTask, error);
-                            }
-                            if (error != null) {
-                                eventService.publish(RunnerEvent.errorEvent(internalRunTask.id, internalRunTask.workspace,
-                                                                            internalRunTask.project, error.getMessage()));
-                            }
-                        }
-                    } finally {
-                        if (isInterrupted) {
-                            Thread.currentThread().interrupt();
-                        }
-                    }
-                }
-
-                private void logError(InternalRunTask runTask, Throwable t) {
-                    String errorMessage = t.getMessage();
-                    if (errorMessage != null) {
-                        LOG.warn("Execution error, task {}, workspace '{}', project '{}', message '{}'",
-                                 runTask.id, runTask.workspace, runTask.project, errorMessage);
-                    } else {
-                        LOG.warn(String.format("Execution error, task %d, workspace '%s', project '%s', message '%s'",
-                                               runTask.id, runTask.workspace, runTask.project, ""), t);
-                    }
-                }
-            };
+                                              new ThreadFactoryBuilder().setNameFormat("RunQueueWorker-[%d]").setDaemon(true).build());
             cleanScheduler = Executors.newSingleThreadScheduledExecutor(new ThreadFactoryBuilder().setNameFormat("RunQueueScheduler-%d")
                                                                                                   .setDaemon(true).build());
             cleanScheduler.scheduleAtFixedRate(new Runnable() {
@@ -368,6 +436,14 @@ public class RunQueue {
             } catch (InterruptedException e) {
                 interrupted = true;
             }
+            runScheduler.shutdownNow();
+            try {
+                if (!runScheduler.awaitTermination(5, TimeUnit.SECONDS)) {
+                    LOG.warn("Unable terminate runScheduler");
+                }
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
             executor.shutdown();
             try {
                 if (!executor.awaitTermination(10, TimeUnit.SECONDS)) {
@@ -507,27 +583,40 @@ public class RunQueue {
         // Options for web shell that runner may provide to the server with running application.
         request.setShellOptions(runOptions.getShellOptions());
         final ValueHolder<BuildTaskDescriptor> buildTaskHolder = new ValueHolder<>();
-        // Sometime user may request to skip build of project before run.
-        final boolean skipBuild = runOptions.getSkipBuild();
-        BuildOptions buildOptions = runOptions.getBuildOptions();
-        BuildersDescriptor builders;
-        if (!skipBuild
-            && ((buildOptions != null && buildOptions.getBuilderName() != null)
-                || ((builders = projectDescriptor.getBuilders()) != null) && builders.getDefault() != null)) {
-            LOG.debug("Need build project '{}' from workspace '{}'", project, workspace);
-            if (buildOptions == null) {
-                buildOptions = dtoFactory.createDto(BuildOptions.class);
+        // Take place in queue before start build, otherwise rejected request leaves build that nobody waits for.
+        acquireWaitingPlace(workspace);
+        final Callable<RemoteRunnerProcess> callable;
+        try {
+            // Sometime user may request to skip build of project before run.
+            final boolean skipBuild = runOptions.getSkipBuild();
+            BuildOptions buildOptions = runOptions.getBuildOptions();
+            BuildersDescriptor builders;
+            if (!skipBuild
+                && ((buildOptions != null && buildOptions.getBuilderName() != null)
+                    || ((builders = projectDescriptor.getBuilders()) != null) && builders.getDefault() != null)) {
+                LOG.debug("Need build project '{}' from workspace '{}'", project, workspace);
+                if (buildOptions == null) {
+                    buildOptions = dtoFactory.createDto(BuildOptions.class);
+                }
+                // We want bundle of application with all dependencies (libraries) that application needs.
+                buildOptions.setIncludeDependencies(true);
+                buildOptions.setSkipTest(true);
+                final RemoteServiceDescriptor builderService = getBuilderServiceDescriptor(workspace, serviceContext);
+                // schedule build
+                buildTaskHolder.set(startBuild(builderService, project, buildOptions));
             }
-            // We want bundle of application with all dependencies (libraries) that application needs.
-            buildOptions.setIncludeDependencies(true);
-            buildOptions.setSkipTest(true);
-            final RemoteServiceDescriptor builderService = getBuilderServiceDescriptor(workspace, serviceContext);
-            // schedule build
-            buildTaskHolder.set(startBuild(builderService, project, buildOptions));
-        }
-        final Callable<RemoteRunnerProcess> callable = createTaskFor(matchedRunners, request, buildTaskHolder);
+            callable = createTaskFor(matchedRunners, request, buildTaskHolder);
+        } catch (RunnerException | RuntimeException e) {
+            releaseWaitingPlace(workspace);
+            final BuildTaskDescriptor buildDescriptor = buildTaskHolder.get();
+            if (buildDescriptor != null) {
+                tryCancelBuild(buildDescriptor);
+            }
+            throw e;
+        }
         final Long id = sequence.getAndIncrement();
-        final InternalRunTask future = new InternalRunTask(ThreadLocalPropagateContext.wrap(callable), id, workspace, project);
+        final InternalRunTask future = new InternalRunTask(ThreadLocalPropagateContext.wrap(callable), buildTaskHolder, id, workspace,
+                                                           project);
         request.setId(id); // for getting callback events from remote runner
         final RunQueueTask task = new RunQueueTask(id,
                                                    request,
@@ -538,8 +627,17 @@ public class RunQueue {
                                                    notParsedEnvironmentId,
                                                    serviceContext.getServiceUriBuilder());
         tasks.put(id, task);
+        metrics.taskAccepted();
         eventService.publish(RunnerEvent.queueStartedEvent(id, workspace, project));
-        executor.execute(future);
+        try {
+            // Don't check status of build that is just started.
+            runScheduler.schedule(future, buildTaskHolder.get() == null ? 0 : checkBuildResultPeriod, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            // Cancelled task gives back its place in queue and cancels build.
+            tasks.remove(id);
+            future.cancel(true);
+            throw new RunnerException("Unable start application. Run queue is stopped. ");
+        }
         return task;
     }
 
@@ -579,10 +677,13 @@ public class RunQueue {
     // private
     WorkspaceDescriptor getWorkspaceDescriptor(String workspace, ServiceContext serviceContext) throws RunnerException {
         final UriBuilder baseWorkspaceUriBuilder = serviceContext.getBaseUriBuilder();
-        final String workspaceUrl = baseWorkspaceUriBuilder.path(WorkspaceService.class)
-                                                           .path(WorkspaceService.class, "getById")
-                                                           .build(workspace).toString();
         try {
+            if (workspaceDescriptorCache != null) {
+                return workspaceDescriptorCache.get(baseWorkspaceUriBuilder, workspace);
+            }
+            final String workspaceUrl = baseWorkspaceUriBuilder.path(WorkspaceService.class)
+                                                               .path(WorkspaceService.class, "getById")
+                                                               .build(workspace).toString();
             return HttpJsonHelper.get(WorkspaceDescriptor.class, workspaceUrl);
         } catch (IOException e) {
             throw new RunnerException(e);
@@ -759,7 +860,8 @@ public class RunQueue {
                 throw new RunnerException("You requested a run and your project has not been built." +
                                           " The runner was unable to get the proper build URL to initiate a build.");
             }
-            buildDescriptor = HttpJsonHelper.request(BuildTaskDescriptor.class, buildLink, buildOptions, Pair.of("project", project));
+            buildDescriptor =
+                    HttpJsonHelper.requestCompact(BuildTaskDescriptor.class, buildLink, buildOptions, Pair.of("project", project));
         } catch (IOException e) {
             throw new RunnerException(e);
         } catch (ServerException | UnauthorizedException | ForbiddenException | NotFoundException | ConflictException e) {
@@ -768,6 +870,11 @@ public class RunQueue {
         return buildDescriptor;
     }
 
+    /**
+     * Creates task that starts application. Task is called repeatedly until it returns process of application or fails. Each call must
+     * not block, it should return {@code null} if application can't be started at the moment, e.g. build isn't finished yet or there is
+     * no runner with enough resources, then task is called again after a pause.
+     */
     protected Callable<RemoteRunnerProcess> createTaskFor(final List<RemoteRunner> matched,
                                                           final RunRequest request,
                                                           final ValueHolder<BuildTaskDescriptor> buildTaskHolder) {
@@ -805,8 +912,8 @@ public class RunQueue {
             return false;
         } else {
             try {
-                final BuildTaskDescriptor result = HttpJsonHelper.request(BuildTaskDescriptor.class,
-                                                                          DtoFactory.getInstance().clone(cancelLink));
+                final BuildTaskDescriptor result = HttpJsonHelper.requestCompact(BuildTaskDescriptor.class,
+                                                                                 DtoFactory.getInstance().clone(cancelLink));
                 LOG.debug("Build cancellation result: {}", result);
                 return result != null && result.getStatus() == BuildStatus.CANCELLED;
             } catch (Exception e) {
@@ -999,6 +1106,8 @@ public class RunQueue {
         private final List<RemoteRunner>               matchedRunners;
         private final Set<Pair<String, String>>        lowDiskSpaceRunners;
         private final Set<Pair<String, String>>        criticalDiskSpaceRunners;
+        private final long                             creationTime;
+        private       boolean                          built;
 
         public RemoteRunnerProcessCallable(ValueHolder<BuildTaskDescriptor> buildTaskHolder, RunRequest request,
                                            List<RemoteRunner> matchedRunners) {
@@ -1007,90 +1116,76 @@ public class RunQueue {
             this.matchedRunners = matchedRunners;
             lowDiskSpaceRunners = new HashSet<>();
             criticalDiskSpaceRunners = new HashSet<>();
+            creationTime = System.currentTimeMillis();
         }
 
+        /**
+         * Checks state of build and resources of runners once and starts application if it's possible. Returns {@code null} if build
+         * isn't finished yet or there is no runner with enough resources at the moment.
+         */
         @Override
         public RemoteRunnerProcess call() throws Exception {
-            BuildTaskDescriptor buildDescriptor = buildTaskHolder.get();
-            if (buildDescriptor != null) {
-                final Link buildStatusLink = buildDescriptor.getLink(org.eclipse.che.api.builder.internal.Constants.LINK_REL_GET_STATUS);
-                if (buildStatusLink == null) {
-                    throw new RunnerException("Invalid response from builder service. Unable get URL for checking build status");
-                }
-                for (; ; ) {
-                    if (Thread.currentThread().isInterrupted()) {
-                        // Expected to get here if task is canceled. Try to cancel related runner process.
-                        tryCancelBuild(buildDescriptor);
-                        return null;
-                    }
-                    synchronized (this) {
-                        try {
-                            wait(checkBuildResultPeriod);
-                        } catch (InterruptedException e) {
-                            // Expected to get here if task is canceled. Try to cancel related build process.
-                            tryCancelBuild(buildDescriptor);
-                            return null;
-                        }
-                    }
-                    buildDescriptor = HttpJsonHelper.request(BuildTaskDescriptor.class, DtoFactory.getInstance().clone(buildStatusLink));
-                    // to be able show current state of build process with RunQueueTask.
-                    buildTaskHolder.set(buildDescriptor);
-                    final BuildStatus buildStatus = buildDescriptor.getStatus();
-                    if (buildStatus == BuildStatus.SUCCESSFUL) {
-                        request.withBuildTaskDescriptor(buildDescriptor);
-                        break; // get out from loop
-                    } else if (buildStatus == BuildStatus.CANCELLED || buildStatus == BuildStatus.FAILED) {
-                        String msg = "Unable start application. Build of application is failed or cancelled.";
-                        final Link logLink = buildDescriptor.getLink(org.eclipse.che.api.builder.internal.Constants.LINK_REL_VIEW_LOG);
-                        if (logLink != null) {
-                            msg += (" Build logs: " + logLink.getHref());
-                        }
-                        throw new RunnerException(msg);
-                    } else if (buildStatus == BuildStatus.IN_PROGRESS || buildStatus == BuildStatus.IN_QUEUE) {
-                        // wait
-                        LOG.debug("Build in of project '{}' from workspace '{}' is progress", request.getProject(), request.getWorkspace());
-                    }
+            if (!built) {
+                if (!checkBuild()) {
+                    return null;
                 }
+                built = true;
             }
-
             // List of runners that have enough resources for launch application.
             final List<RemoteRunner> available = new LinkedList<>();
-            for (; ; ) {
-                for (RemoteRunner runner : matchedRunners) {
-                    if (Thread.currentThread().isInterrupted()) {
-                        // Expected to get here if task is canceled. Stop immediately.
-                        return null;
-                    }
-                    RunnerState runnerState;
-                    try {
-                        runnerState = runner.getRemoteRunnerState();
-                    } catch (Exception e) {
-                        LOG.error(e.getMessage(), e);
-                        continue;
-                    }
-                    if (runnerState.getServerState().getFreeMemory() >= request.getMemorySize()
-                        && hasEnoughSpaceOnDisk(runner.getName(), runner.getBaseUrl(), runnerState)) {
+            for (RemoteRunner runner : matchedRunners) {
+                RunnerState runnerState;
+                try {
+                    runnerState = runner.getRemoteRunnerState();
+                } catch (Exception e) {
+                    LOG.error(e.getMessage(), e);
+                    continue;
+                }
+                if (runnerState.getServerState().getFreeMemory() >= request.getMemorySize()
+                    && hasEnoughSpaceOnDisk(runner.getName(), runner.getBaseUrl(), runnerState)) {
 
-                        available.add(runner);
-                    }
+                    available.add(runner);
                 }
-                if (available.isEmpty()) {
-                    synchronized (this) {
-                        try {
-                            // Wait and try again.
-                            wait(checkAvailableRunnerPeriod);
-                        } catch (InterruptedException e) {
-                            // Expected to get here if task is canceled.
-                            Thread.currentThread().interrupt();
-                            return null;
-                        }
-                    }
-                } else {
-                    final RemoteRunner runner = available.size() > 1 ? runnerSelector.select(available) : available.get(0);
-                    LOG.info("Use runner '{}' at '{}'", runner.getName(), runner.getBaseUrl());
-                    return runner.run(request);
+            }
+            if (available.isEmpty()) {
+                // Try again later.
+                return null;
+            }
+            final RemoteRunner runner = available.size() > 1 ? runnerSelector.select(available) : available.get(0);
+            LOG.info("Use runner '{}' at '{}'", runner.getName(), runner.getBaseUrl());
+            final long dispatchTime = System.currentTimeMillis();
+            final RemoteRunnerProcess process = runner.run(request);
+            metrics.taskDispatched(dispatchTime - creationTime, System.currentTimeMillis() - dispatchTime);
+            return process;
+        }
+
+        /** Returns {@code true} if there is no build or build is successful and {@code false} if build isn't finished yet. */
+        private boolean checkBuild() throws Exception {
+            BuildTaskDescriptor buildDescriptor = buildTaskHolder.get();
+            if (buildDescriptor == null) {
+                return true;
+            }
+            final Link buildStatusLink = buildDescriptor.getLink(org.eclipse.che.api.builder.internal.Constants.LINK_REL_GET_STATUS);
+            if (buildStatusLink == null) {
+                throw new RunnerException("Invalid response from builder service. Unable get URL for checking build status");
+            }
+            buildDescriptor = HttpJsonHelper.requestCompact(BuildTaskDescriptor.class, DtoFactory.getInstance().clone(buildStatusLink));
+            // to be able show current state of build process with RunQueueTask.
+            buildTaskHolder.set(buildDescriptor);
+            final BuildStatus buildStatus = buildDescriptor.getStatus();
+            if (buildStatus == BuildStatus.SUCCESSFUL) {
+                request.withBuildTaskDescriptor(buildDescriptor);
+                return true;
+            } else if (buildStatus == BuildStatus.CANCELLED || buildStatus == BuildStatus.FAILED) {
+                String msg = "Unable start application. Build of application is failed or cancelled.";
+                final Link logLink = buildDescriptor.getLink(org.eclipse.che.api.builder.internal.Constants.LINK_REL_VIEW_LOG);
+                if (logLink != null) {
+                    msg += (" Build logs: " + logLink.getHref());
                 }
+                throw new RunnerException(msg);
             }
+            LOG.debug("Build in of project '{}' from workspace '{}' is progress", request.getProject(), request.getWorkspace());
+            return false;
         }
 
         private boolean hasEnoughSpaceOnDisk(String name, String baseUrl, RunnerState runnerState) {
@@ -1141,17 +1236,110 @@ public class RunQueue {
     }
 
     // for store workspace, project and id of process with FutureTask
-    private static class InternalRunTask extends FutureTask<RemoteRunnerProcess> {
+    private class InternalRunTask extends FutureTask<RemoteRunnerProcess> {
         final Long   id;
         final String workspace;
         final String project;
 
-        InternalRunTask(Callable<RemoteRunnerProcess> callable, Long id, String workspace, String project) {
+        private final Callable<RemoteRunnerProcess>    callable;
+        private final ValueHolder<BuildTaskDescriptor> buildTaskHolder;
+
+        InternalRunTask(Callable<RemoteRunnerProcess> callable, ValueHolder<BuildTaskDescriptor> buildTaskHolder, Long id,
+                        String workspace, String project) {
             super(callable);
+            this.callable = callable;
+            this.buildTaskHolder = buildTaskHolder;
             this.id = id;
             this.workspace = workspace;
             this.project = project;
         }
+
+        /**
+         * Makes one attempt to start application. If application can't be started at the moment task schedules itself for next attempt,
+         * so request doesn't hold thread while it waits for end of build or for free runner.
+         */
+        @Override
+        public void run() {
+            if (isDone()) {
+                return;
+            }
+            final RemoteRunnerProcess process;
+            try {
+                process = callable.call();
+            } catch (Throwable e) {
+                setException(e);
+                return;
+            }
+            if (process != null) {
+                set(process);
+                if (isCancelled()) {
+                    // Task is cancelled while request was sent to runner, nobody is going to use this application.
+                    try {
+                        process.stop();
+                    } catch (Exception e) {
+                        LOG.warn(e.getMessage(), e);
+                    }
+                }
+            } else if (!isDone()) {
+                try {
+                    runScheduler.schedule(this, isBuildInProgress() ? checkBuildResultPeriod : checkAvailableRunnerPeriod,
+                                          TimeUnit.MILLISECONDS);
+                } catch (RejectedExecutionException e) {
+                    // RunQueue is stopped.
+                    cancel(false);
+                }
+            }
+        }
+
+        @Override
+        protected void done() {
+            releaseWaitingPlace(workspace);
+            Throwable error = null;
+            try {
+                get();
+            } catch (CancellationException e) {
+                LOG.warn("Task {}, workspace '{}', project '{}' was cancelled", id, workspace, project);
+                error = e;
+                if (isBuildInProgress()) {
+                    final BuildTaskDescriptor buildDescriptor = buildTaskHolder.get();
+                    // Don't hold thread that cancels task with request to builder.
+                    try {
+                        executor.execute(new Runnable() {
+                            @Override
+                            public void run() {
+                                tryCancelBuild(buildDescriptor);
+                            }
+                        });
+                    } catch (RejectedExecutionException ignored) {
+                        // RunQueue is stopped.
+                    }
+                }
+            } catch (ExecutionException e) {
+                error = e.getCause();
+                logError(error == null ? e : error);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            if (error != null) {
+                eventService.publish(RunnerEvent.errorEvent(id, workspace, project, error.getMessage()));
+            }
+        }
+
+        private boolean isBuildInProgress() {
+            final BuildTaskDescriptor buildDescriptor = buildTaskHolder.get();
+            return buildDescriptor != null
+                   && (buildDescriptor.getStatus() == BuildStatus.IN_QUEUE || buildDescriptor.getStatus() == BuildStatus.IN_PROGRESS);
+        }
+
+        private void logError(Throwable t) {
+            String errorMessage = t.getMessage();
+            if (errorMessage != null) {
+                LOG.warn("Execution error, task {}, workspace '{}', project '{}', message '{}'", id, workspace, project, errorMessage);
+            } else {
+                LOG.warn(String.format("Execution error, task %d, workspace '%s', project '%s', message '%s'", id, workspace, project, ""),
+                         t);
+            }
+        }
     }
 
     // >>>>>>>>>>>>>>>>>>>>> Groups runners by infra + workspace + project.
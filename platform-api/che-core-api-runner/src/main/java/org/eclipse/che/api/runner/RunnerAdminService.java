@@ -17,6 +17,7 @@ import org.eclipse.che.api.core.rest.annotations.GenerateLink;
 import org.eclipse.che.api.core.rest.shared.dto.Link;
 import org.eclipse.che.api.runner.dto.ApplicationProcessDescriptor;
 import org.eclipse.che.api.runner.dto.RunnerDescriptor;
+import org.eclipse.che.api.runner.dto.RunnerMetric;
 import org.eclipse.che.api.runner.dto.RunnerServer;
 import org.eclipse.che.api.runner.dto.RunnerServerLocation;
 import org.eclipse.che.api.runner.dto.RunnerServerRegistration;
@@ -180,4 +181,20 @@ public class RunnerAdminService extends Service {
         }
         return result;
     }
+
+    @ApiOperation(value = "Get statistics of run queue",
+                  notes = "Get size of run queue, time that requests wait for runner and time of sending requests to runners",
+                  response = RunnerMetric.class,
+                  responseContainer = "List",
+                  position = 5)
+    @ApiResponses(value = {
+            @ApiResponse(code = 200, message = "OK"),
+            @ApiResponse(code = 403, message = "User not authorized to call this method"),
+            @ApiResponse(code = 500, message = "Internal Server Error")})
+    @GET
+    @Produces(MediaType.APPLICATION_JSON)
+    @Path("/queue/stats")
+    public List<RunnerMetric> getQueueStats() {
+        return runner.getStats();
+    }
 }
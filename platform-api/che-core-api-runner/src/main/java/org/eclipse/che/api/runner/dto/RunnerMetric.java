@@ -46,6 +46,12 @@ public interface RunnerMetric {
 
     String DISK_SPACE_USED = "diskSpaceUsed";
 
+    String NUMBER_OF_ACTIVE_WORKERS = "numberOfActiveWorkers";
+
+    String QUEUE_SIZE = "queueSize";
+
+    String MAX_QUEUE_SIZE = "maxQueueSize";
+
     String getName();
 
     RunnerMetric withName(String name);
@@ -64,6 +64,15 @@ public class Constants {
     public static final String APP_LIFETIME                       = "runner.app_lifetime";
     /** Name of configuration parameter that sets amount of memory (in megabytes) for running applications. */
     public static final String TOTAL_APPS_MEM_SIZE                = "runner.total_apps_mem_size_mb";
+    /** Max number of requests that may wait for runner. New requests are rejected if this limit is reached. */
+    public static final String QUEUE_MAX_WAITING                  = "runner.queue.max_waiting";
+    /**
+     * Max number of requests from one workspace that may wait for runner, 10 by default. New requests from workspace are rejected if
+     * this limit is reached.
+     */
+    public static final String QUEUE_MAX_WAITING_PER_WS           = "runner.queue.max_waiting_per_workspace";
+    /** Max number of threads of master runner that check state of waiting requests and send requests to slave runners. */
+    public static final String QUEUE_MAX_THREADS                  = "runner.queue.max_threads";
 
     public static final String RUNNER_ASSIGNED_TO_WORKSPACE = "runner.assigned_to_workspace";
     public static final String RUNNER_ASSIGNED_TO_PROJECT   = "runner.assigned_to_project";
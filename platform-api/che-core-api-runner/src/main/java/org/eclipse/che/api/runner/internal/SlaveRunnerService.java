@@ -13,6 +13,7 @@ package org.eclipse.che.api.runner.internal;
 import com.google.common.io.Files;
 
 import org.eclipse.che.api.core.NotFoundException;
+import org.eclipse.che.api.core.rest.CodenvyJsonProvider;
 import org.eclipse.che.api.core.rest.Service;
 import org.eclipse.che.api.core.rest.ServiceContext;
 import org.eclipse.che.api.core.rest.annotations.Description;
@@ -94,7 +95,7 @@ public class SlaveRunnerService extends Service {
     @Path("run")
     @POST
     @Consumes(MediaType.APPLICATION_JSON)
-    @Produces(MediaType.APPLICATION_JSON)
+    @Produces({MediaType.APPLICATION_JSON, CodenvyJsonProvider.APPLICATION_COMPACT_JSON})
     public ApplicationProcessDescriptor run(@Description("Parameters for run task in JSON format") RunRequest request) throws Exception {
         final Runner myRunner = getRunner(request.getRunner());
         final RunnerProcess process = myRunner.execute(request);
@@ -103,7 +104,7 @@ public class SlaveRunnerService extends Service {
 
     @GET
     @Path("status/{runner:.*}/{id}")
-    @Produces(MediaType.APPLICATION_JSON)
+    @Produces({MediaType.APPLICATION_JSON, CodenvyJsonProvider.APPLICATION_COMPACT_JSON})
     public ApplicationProcessDescriptor getStatus(@PathParam("runner") String runner, @PathParam("id") Long id) throws Exception {
         final Runner myRunner = getRunner(runner);
         final RunnerProcess process = myRunner.getProcess(id);
@@ -113,7 +114,7 @@ public class SlaveRunnerService extends Service {
     @POST
     @Path("stop/{runner:.*}/{id}")
     @RolesAllowed({"user", "temp_user"})
-    @Produces(MediaType.APPLICATION_JSON)
+    @Produces({MediaType.APPLICATION_JSON, CodenvyJsonProvider.APPLICATION_COMPACT_JSON})
     public ApplicationProcessDescriptor stop(@PathParam("runner") String runner, @PathParam("id") Long id) throws Exception {
         final Runner myRunner = getRunner(runner);
         final RunnerProcess process = myRunner.getProcess(id);
@@ -171,7 +172,7 @@ public class SlaveRunnerService extends Service {
     @GenerateLink(rel = Constants.LINK_REL_SERVER_STATE)
     @GET
     @Path("server-state")
-    @Produces(MediaType.APPLICATION_JSON)
+    @Produces({MediaType.APPLICATION_JSON, CodenvyJsonProvider.APPLICATION_COMPACT_JSON})
     public ServerState getServerState() {
         return DtoFactory.getInstance().createDto(ServerState.class)
                          .withCpuPercentUsage(SystemInfo.cpu())
@@ -199,7 +200,7 @@ public class SlaveRunnerService extends Service {
     @GenerateLink(rel = Constants.LINK_REL_RUNNER_STATE)
     @GET
     @Path("state")
-    @Produces(MediaType.APPLICATION_JSON)
+    @Produces({MediaType.APPLICATION_JSON, CodenvyJsonProvider.APPLICATION_COMPACT_JSON})
     public RunnerState getRunnerState(@Required
                                       @Description("Name of the runner")
                                       @QueryParam("runner") String runner) throws Exception {
@@ -703,7 +703,7 @@ public class RunQueueTest {
                 }
                 return buildTaskDone;
             }
-        }).when(httpJsonHelper).request(eq(BuildTaskDescriptor.class), eq(statusLink), eq(HttpMethod.GET), any());
+        }).when(httpJsonHelper).requestCompact(eq(BuildTaskDescriptor.class), anyInt(), eq(statusLink), eq(HttpMethod.GET), any());
         return downloadLink;
     }
 
@@ -10,6 +10,11 @@
  *******************************************************************************/
 package org.eclipse.che.api.vfs.server;
 
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
 /**
  * Advisory file locks. It does not prevent access to the file from other programs.
  * <p/>
@@ -36,9 +41,14 @@ package org.eclipse.che.api.vfs.server;
 public final class PathLockFactory {
     private static final int MAX_RECURSIVE_LOCKS = (1 << 10) - 1;
     /** Max number of threads allowed to access file. */
-    private final int maxThreads;
-    // Tail of the "lock table".
-    private final Node tail = new Node(null, 0, null);
+    private final int                       maxThreads;
+    /**
+     * Lock table. Node exists for each path that is locked, has locked descendants or that some thread is waiting for. Each
+     * node refers to node of its parent. Nodes are removed from the table as soon as nobody refers to them, except root node
+     * that always exists.
+     */
+    private final ConcurrentMap<Path, Node> nodes;
+    private final Node                      root;
 
     /**
      * @param maxThreads
@@ -50,145 +60,349 @@ public final class PathLockFactory {
             throw new IllegalArgumentException();
         }
         this.maxThreads = maxThreads;
+        nodes = new ConcurrentHashMap<>();
+        root = new Node(Path.ROOT, null);
+        nodes.put(Path.ROOT, root);
     }
 
     public PathLock getLock(Path path, boolean exclusive) {
-        return new PathLock(path, exclusive ? maxThreads : 1);
+        return new PathLock(path, exclusive || maxThreads == 1);
     }
 
-    private synchronized void acquire(Path path, int permits) {
-        while (!tryAcquire(path, permits)) {
-            try {
-                wait();
-            } catch (InterruptedException e) {
-                notifyAll();
-                throw new RuntimeException(e);
+    /*
+     * Hierarchical locking. Thread that locks path also puts "intent" lock on each ancestor of this path: intent shared
+     * lock for shared lock and intent exclusive lock for exclusive lock. Compatibility of locks obtained by different
+     * threads:
+     *
+     *                    | INTENT_SHARED | INTENT_EXCLUSIVE | SHARED | EXCLUSIVE |
+     *   INTENT_SHARED    |      yes      |       yes        |  yes   |    no     |
+     *   INTENT_EXCLUSIVE |      yes      |       yes        |  no    |    no     |
+     *   SHARED           |      yes      |       no         |  yes   |    no     |
+     *   EXCLUSIVE        |      no       |       no         |  no    |    no     |
+     *
+     * Locks obtained by the same thread never conflict. Locks are taken from the root down to the path. If any of them is
+     * not available all locks obtained so far are released and thread waits on the monitor of node that blocks it, so a
+     * waiting thread never keeps locks of parents and release of the lock wakes up only threads that wait for the same
+     * node.
+     */
+
+    private void acquire(Path path, boolean exclusive, long timeoutMilliseconds) {
+        final long threadId = Thread.currentThread().getId();
+        final Node existing = nodes.get(path);
+        if (existing != null) {
+            synchronized (existing) {
+                final Holder holder = existing.holders.get(threadId);
+                if (holder != null && holder.depth > 0) {
+                    // Current thread already has direct lock for this path
+                    if (holder.depth > MAX_RECURSIVE_LOCKS) {
+                        throw new Error("Max number of recursive locks exceeded. ");
+                    }
+                    ++holder.depth;
+                    return;
+                }
+            }
+        }
+        final long endTime = timeoutMilliseconds > 0 ? System.currentTimeMillis() + timeoutMilliseconds : 0;
+        final Node target = retain(path);
+        boolean acquired = false;
+        try {
+            final Node[] chain = chain(target);
+            for (; ; ) {
+                final int blocked = tryAcquire(chain, exclusive, threadId);
+                if (blocked < 0) {
+                    acquired = true;
+                    return;
+                }
+                await(chain[blocked], modeOf(chain, blocked, exclusive), threadId, endTime, path);
+            }
+        } finally {
+            if (!acquired) {
+                unretain(target);
             }
         }
     }
 
-    private synchronized void acquire(Path path, int permits, long timeoutMilliseconds) {
-        final long endTime = System.currentTimeMillis() + timeoutMilliseconds;
-        long waitTime = timeoutMilliseconds;
-        while (!tryAcquire(path, permits)) {
-            try {
-                wait(waitTime);
-            } catch (InterruptedException e) {
-                notifyAll();
-                throw new RuntimeException(e);
+    private void release(Path path) {
+        final long threadId = Thread.currentThread().getId();
+        final Node target = nodes.get(path);
+        if (target == null) {
+            return;
+        }
+        final boolean exclusive;
+        synchronized (target) {
+            final Holder holder = target.holders.get(threadId);
+            if (holder == null || holder.depth == 0) {
+                return;
             }
-            long now = System.currentTimeMillis();
-            if (now >= endTime) {
-                throw new RuntimeException(String.format("Get lock timeout for '%s'. ", path));
+            if (--holder.depth > 0) {
+                // If not last recursive lock.
+                return;
             }
-            waitTime = endTime - now;
+            // Recursive lock may be released with lock of other type, use type of the first lock.
+            exclusive = holder.exclusive;
+            target.revoke(exclusive ? Mode.EXCLUSIVE : Mode.SHARED, threadId);
         }
+        final Mode intent = exclusive ? Mode.INTENT_EXCLUSIVE : Mode.INTENT_SHARED;
+        for (Node node = target.parent; node != null; node = node.parent) {
+            synchronized (node) {
+                node.revoke(intent, threadId);
+            }
+        }
+        unretain(target);
     }
 
-    private synchronized void release(Path path, int permits) {
-        Node node = tail;
-        while (node != null) {
-            Node prev = node.prev;
-            if (prev == null) {
-                break;
-            }
-            if (prev.path.equals(path)) {
-                if (prev.threadDeep == 1) {
-                    // If last recursive lock.
-                    prev.permits += permits;
-                    if (prev.permits >= maxThreads) {
-                        // remove
-                        node.prev = prev.prev;
-                        prev.prev = null;
+    /**
+     * Tries to lock all nodes from the root down to the last node in chain.
+     *
+     * @return {@code -1} if all locks are obtained or index of node in chain that blocks current thread
+     */
+    private int tryAcquire(Node[] chain, boolean exclusive, long threadId) {
+        for (int i = 0; i < chain.length; i++) {
+            final Node node = chain[i];
+            final Mode mode = modeOf(chain, i, exclusive);
+            synchronized (node) {
+                if (!node.canGrant(mode, threadId, maxThreads)) {
+                    // Do not keep parents locked while waiting.
+                    for (int j = i - 1; j >= 0; j--) {
+                        final Node parent = chain[j];
+                        synchronized (parent) {
+                            parent.revoke(modeOf(chain, j, exclusive), threadId);
+                        }
                     }
-                } else {
-                    --prev.threadDeep;
+                    return i;
                 }
+                node.grant(mode, threadId, exclusive);
             }
-            node = node.prev;
         }
-        notifyAll();
-        //System.err.printf(">>>>> release: %s : %d%n", path, permits);
+        return -1;
     }
 
-    private boolean tryAcquire(Path path, int permits) {
-        //System.err.printf(">>>>> acquire: %s : %d%n", path, permits);
-        Node node = tail.prev;
-        final Thread current = Thread.currentThread();
-        while (node != null) {
-            if (node.path.equals(path)) {
-                if (node.threadId == current.getId()) {
-                    // Current thread already has direct lock for this path
-                    if (node.threadDeep > MAX_RECURSIVE_LOCKS) {
-                        throw new Error("Max number of recursive locks exceeded. ");
+    private void await(Node node, Mode mode, long threadId, long endTime, Path path) {
+        synchronized (node) {
+            ++node.waiters;
+            try {
+                while (!node.canGrant(mode, threadId, maxThreads)) {
+                    if (endTime > 0) {
+                        final long waitTime = endTime - System.currentTimeMillis();
+                        if (waitTime <= 0) {
+                            throw new RuntimeException(String.format("Get lock timeout for '%s'. ", path));
+                        }
+                        node.wait(waitTime);
+                    } else {
+                        node.wait();
                     }
-                    ++node.threadDeep;
-                    return true;
                 }
-                if (node.permits > permits) {
-                    // Lock already exists and current thread is not owner of this lock,
-                    // but lock is not exclusive and we can "share" it for other thread.
-                    node.permits -= permits; // decrement number of allowed concurrent threads
-                    return true;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RuntimeException(e);
+            } finally {
+                --node.waiters;
+            }
+        }
+    }
+
+    private static Mode modeOf(Node[] chain, int index, boolean exclusive) {
+        if (index == chain.length - 1) {
+            return exclusive ? Mode.EXCLUSIVE : Mode.SHARED;
+        }
+        return exclusive ? Mode.INTENT_EXCLUSIVE : Mode.INTENT_SHARED;
+    }
+
+    /** Gets node for the path and parents of this node, the root node goes first. */
+    private static Node[] chain(Node node) {
+        int length = 0;
+        for (Node n = node; n != null; n = n.parent) {
+            ++length;
+        }
+        final Node[] chain = new Node[length];
+        for (Node n = node; n != null; n = n.parent) {
+            chain[--length] = n;
+        }
+        return chain;
+    }
+
+    /** Gets node for the path and makes sure it is not removed from the lock table until {@link #unretain(Node)} is called. */
+    private Node retain(Path path) {
+        if (path.isRoot()) {
+            return root;
+        }
+        for (; ; ) {
+            Node node = nodes.get(path);
+            if (node == null) {
+                final Node parent = retain(path.getParent());
+                final Node created = new Node(path, parent);
+                node = nodes.putIfAbsent(path, created);
+                if (node == null) {
+                    return created;
+                }
+                unretain(parent);
+            }
+            synchronized (node) {
+                if (!node.removed) {
+                    ++node.refs;
+                    return node;
                 }
-                // Lock is exclusive or max number of allowed concurrent thread is reached.
-                return false;
-            } else if ((node.path.isChild(path) || path.isChild(node.path)) && node.permits <= permits) {
-                // Found some path which already has lock that prevents us to get required permits.
-                // There is two possibilities:
-                // 1. Parent of the path we try to lock already locked
-                // 2. Child of the path we try to lock already locked
-                // Need to check is such lock obtained by current thread or not.
-                // If such lock obtained by other thread stop here immediately there is no reasons to continue.
-                if (node.threadId != current.getId()) {
-                    return false;
+            }
+            // Node was removed concurrently, try again.
+        }
+    }
+
+    private void unretain(Node node) {
+        while (node != root) {
+            synchronized (node) {
+                if (--node.refs > 0) {
+                    return;
                 }
+                node.removed = true;
             }
-            node = node.prev;
+            nodes.remove(node.path, node);
+            node = node.parent;
         }
-        // If we are here there is no lock for path yet.
-        tail.prev = new Node(path, maxThreads - permits, tail.prev);
-        return true;
     }
 
-    public synchronized void checkClean() {
-        assert tail.prev == null;
+    public void checkClean() {
+        assert nodes.size() == 1 && root.holders.isEmpty();
     }
 
    /* =============================================== */
 
+    private enum Mode {
+        INTENT_SHARED,
+        INTENT_EXCLUSIVE,
+        SHARED,
+        EXCLUSIVE
+    }
+
+    /** Locks of one path. All mutable fields are guarded by monitor of node. */
     private static class Node {
-        final Path path;
-        final long threadId = Thread.currentThread().getId();
-        int  permits;
-        int  threadDeep;
-        Node prev;
+        final Path              path;
+        final Node              parent;
+        final Map<Long, Holder> holders;
+        /** Number of child nodes and threads that hold or are waiting for lock of this node. */
+        int     refs;
+        boolean removed;
+        int     waiters;
+        int     intentShared;
+        int     intentExclusive;
+        int     shared;
+        int     exclusive;
 
-        Node(Path path, int permits, Node prev) {
+        Node(Path path, Node parent) {
             this.path = path;
-            this.permits = permits;
-            this.prev = prev;
-            threadDeep = 1;
+            this.parent = parent;
+            holders = new HashMap<>(4);
+            refs = 1;
+        }
+
+        boolean canGrant(Mode mode, long threadId, int maxThreads) {
+            final Holder own = holders.get(threadId);
+            int otherIntentShared = intentShared;
+            int otherIntentExclusive = intentExclusive;
+            int otherShared = shared;
+            int otherExclusive = exclusive;
+            if (own != null) {
+                otherIntentShared -= own.intentShared;
+                otherIntentExclusive -= own.intentExclusive;
+                if (own.depth > 0) {
+                    if (own.exclusive) {
+                        --otherExclusive;
+                    } else {
+                        --otherShared;
+                    }
+                }
+            }
+            switch (mode) {
+                case INTENT_SHARED:
+                    return otherExclusive == 0;
+                case INTENT_EXCLUSIVE:
+                    return otherShared == 0 && otherExclusive == 0;
+                case SHARED:
+                    return otherIntentExclusive == 0 && otherExclusive == 0 && otherShared < maxThreads;
+                default:
+                    return otherIntentShared == 0 && otherIntentExclusive == 0 && otherShared == 0 && otherExclusive == 0;
+            }
+        }
+
+        void grant(Mode mode, long threadId, boolean exclusiveLock) {
+            Holder holder = holders.get(threadId);
+            if (holder == null) {
+                holders.put(threadId, holder = new Holder());
+            }
+            switch (mode) {
+                case INTENT_SHARED:
+                    ++holder.intentShared;
+                    ++intentShared;
+                    break;
+                case INTENT_EXCLUSIVE:
+                    ++holder.intentExclusive;
+                    ++intentExclusive;
+                    break;
+                default:
+                    holder.depth = 1;
+                    holder.exclusive = exclusiveLock;
+                    if (exclusiveLock) {
+                        ++exclusive;
+                    } else {
+                        ++shared;
+                    }
+            }
+        }
+
+        void revoke(Mode mode, long threadId) {
+            final Holder holder = holders.get(threadId);
+            switch (mode) {
+                case INTENT_SHARED:
+                    --holder.intentShared;
+                    --intentShared;
+                    break;
+                case INTENT_EXCLUSIVE:
+                    --holder.intentExclusive;
+                    --intentExclusive;
+                    break;
+                case SHARED:
+                    holder.depth = 0;
+                    --shared;
+                    break;
+                default:
+                    holder.depth = 0;
+                    --exclusive;
+            }
+            if (holder.depth == 0 && holder.intentShared == 0 && holder.intentExclusive == 0) {
+                holders.remove(threadId);
+            }
+            if (waiters > 0) {
+                notifyAll();
+            }
         }
 
         @Override
         public String toString() {
             return "Node{" +
                    "path=" + path +
-                   ", threadId=" + threadId +
-                   ", permits=" + permits +
-                   ", prev=" + prev +
+                   ", intentShared=" + intentShared +
+                   ", intentExclusive=" + intentExclusive +
+                   ", shared=" + shared +
+                   ", exclusive=" + exclusive +
                    '}';
         }
     }
 
+    /** Locks that one thread holds on a node. */
+    private static class Holder {
+        int     intentShared;
+        int     intentExclusive;
+        /** Number of recursive direct locks of path, zero if thread does not lock the path itself. */
+        int     depth;
+        boolean exclusive;
+    }
+
     public final class PathLock {
-        private final Path path;
-        private final int  permits;
+        private final Path    path;
+        private final boolean exclusive;
 
-        private PathLock(Path path, int permits) {
+        private PathLock(Path path, boolean exclusive) {
             this.path = path;
-            this.permits = permits;
+            this.exclusive = exclusive;
         }
 
         /**
@@ -197,7 +411,7 @@ public final class PathLockFactory {
          * @return this PathLock instance
          */
         public PathLock acquire() {
-            PathLockFactory.this.acquire(path, permits);
+            PathLockFactory.this.acquire(path, exclusive, 0);
             return this;
         }
 
@@ -212,18 +426,18 @@ public final class PathLockFactory {
          *         if waiting timeout reached
          */
         public PathLock acquire(long timeoutMilliseconds) {
-            PathLockFactory.this.acquire(path, permits, timeoutMilliseconds);
+            PathLockFactory.this.acquire(path, exclusive, timeoutMilliseconds);
             return this;
         }
 
         /** Release file permit. */
         public void release() {
-            PathLockFactory.this.release(path, permits);
+            PathLockFactory.this.release(path);
         }
 
         /** Returns <code>true</code> if this lock is exclusive and <code>false</code> otherwise. */
         public boolean isExclusive() {
-            return permits == PathLockFactory.this.maxThreads;
+            return exclusive;
         }
     }
 }
@@ -23,6 +23,7 @@ import org.eclipse.che.api.vfs.shared.dto.Property;
 import org.eclipse.che.commons.lang.Pair;
 
 import java.io.InputStream;
+import java.io.OutputStream;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -377,6 +378,26 @@ public interface VirtualFile extends Comparable<VirtualFile> {
      */
     ContentStream zip(VirtualFileFilter filter) throws ForbiddenException, ServerException;
 
+    /**
+     * Writes zipped content of folder denoted by this VirtualFile to the {@code output}. Unlike to method {@link #zip(VirtualFileFilter)}
+     * archive is not buffered, each entry is written to the {@code output} as soon as it is read. All child items that user doesn't have
+     * read permission are not added in result archive. Method doesn't close {@code output}.
+     *
+     * @param output
+     *         stream to write zipped content
+     * @param filter
+     *         filter of file. Only files that are matched to the filter are added in the zip archive
+     * @param compressionLevel
+     *         compression level from 1 to 9, {@code 0} to store entries without compression or {@code -1} to use default compression
+     *         level
+     * @throws ForbiddenException
+     *         if this item doesn't denote a folder
+     * @throws ServerException
+     *         if other error occurs
+     * @see java.util.zip.Deflater
+     */
+    void zip(OutputStream output, VirtualFileFilter filter, int compressionLevel) throws ForbiddenException, ServerException;
+
     /**
      * Imports ZIP content to the folder denoted by this VirtualFile.
      *
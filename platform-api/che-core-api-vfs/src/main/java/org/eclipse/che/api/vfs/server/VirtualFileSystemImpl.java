@@ -55,27 +55,30 @@ import javax.ws.rs.core.HttpHeaders;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.MultivaluedMap;
 import javax.ws.rs.core.Response;
+import javax.ws.rs.core.StreamingOutput;
 
 import java.io.BufferedReader;
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.io.OutputStream;
 import java.net.URI;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.Collections;
-import java.util.Comparator;
+import java.util.Date;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Set;
 import java.util.regex.Pattern;
+import java.util.zip.Deflater;
 
 
 /**
@@ -659,18 +662,31 @@ public abstract class VirtualFileSystemImpl implements VirtualFileSystem {
         return exportZipMultipart(mountPoint.getVirtualFileById(folderId), in);
     }
 
+    // For usage from Project API.
+    public static Response exportZip(VirtualFile folder, int compressionLevel) throws ForbiddenException, ServerException {
+        return Response.ok(zipOutput(folder, VirtualFileFilter.ALL, compressionLevel), ExtMediaType.APPLICATION_ZIP)
+                       .lastModified(new Date())
+                       .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + folder.getName() + ".zip\"")
+                       .build();
+    }
+
     // For usage from Project API.
     public static Response exportZipMultipart(VirtualFile folder, InputStream in) throws ForbiddenException, ServerException {
+        return exportZipMultipart(folder, in, Deflater.DEFAULT_COMPRESSION);
+    }
+
+    // For usage from Project API.
+    public static Response exportZipMultipart(VirtualFile folder, InputStream in, int compressionLevel)
+            throws ForbiddenException, ServerException {
         final List<String> deleted = new LinkedList<>();
-        final ContentStream zip = exportZip(folder, in, deleted);
-        if (zip == null) {
+        final VirtualFileFilter filter = diffFilter(folder, in, deleted);
+        if (filter == null) {
             return Response.status(204).build();
         }
         final List<OutputItem> multipart = new LinkedList<>();
         // String name, Object entity, MediaType mediaType, String fileName
-        final OutputItem updates = OutputItem.create("updates", zip.getStream(), ExtMediaType.APPLICATION_ZIP_TYPE, zip.getFileName());
-        updates.getHeaders().putSingle(HttpHeaders.CONTENT_LENGTH, Long.toString(zip.getLength()));
-        multipart.add(updates);
+        multipart.add(OutputItem.create("updates", zipOutput(folder, filter, compressionLevel), ExtMediaType.APPLICATION_ZIP_TYPE,
+                                        folder.getName() + ".zip"));
 
         if (!deleted.isEmpty()) {
             multipart.add(OutputItem.create("removed-paths", deleted, MediaType.APPLICATION_JSON_TYPE));
@@ -680,31 +696,28 @@ public abstract class VirtualFileSystemImpl implements VirtualFileSystem {
         return Response
                 .ok(new GenericEntity<List<OutputItem>>(multipart) {
                 }, "multipart/form-data; boundary=" + boundary)
-                .lastModified(zip.getLastModificationDate())
+                .lastModified(new Date())
                 .build();
     }
 
 
     // For usage from Project API.
     public static Response exportZip(VirtualFile folder, InputStream in) throws ForbiddenException, ServerException {
+        return exportZip(folder, in, Deflater.DEFAULT_COMPRESSION);
+    }
+
+    // For usage from Project API.
+    public static Response exportZip(VirtualFile folder, InputStream in, int compressionLevel) throws ForbiddenException, ServerException {
         final List<String> deleted = new LinkedList<>();
-        final ContentStream zip = exportZip(folder, in, deleted);
-        if (zip == null) {
+        final VirtualFileFilter filter = diffFilter(folder, in, deleted);
+        if (filter == null) {
             return Response.status(204).build();
         }
         final Response.ResponseBuilder responseBuilder = Response
-                .ok(zip.getStream(), zip.getMimeType())
-                .lastModified(zip.getLastModificationDate())
-                .header(HttpHeaders.CONTENT_LENGTH, Long.toString(zip.getLength()))
-                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + zip.getFileName() + '"');
+                .ok(zipOutput(folder, filter, compressionLevel), ExtMediaType.APPLICATION_ZIP)
+                .lastModified(new Date())
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + folder.getName() + ".zip\"");
         if (!deleted.isEmpty()) {
-            final StringBuilder buff = new StringBuilder();
-            for (String str : deleted) {
-                if (buff.length() > 0) {
-                    buff.append(',');
-                }
-                buff.append(str);
-            }
             responseBuilder.header("x-removed-paths", deleted.toString());
         }
         return responseBuilder.build();
@@ -713,7 +726,39 @@ public abstract class VirtualFileSystemImpl implements VirtualFileSystem {
     // For usage from Project API.
     protected static ContentStream exportZip(VirtualFile folder, InputStream in, List<String> deleted)
             throws ForbiddenException, ServerException {
-        final List<Pair<String, String>> remote = new LinkedList<>();
+        final VirtualFileFilter filter = diffFilter(folder, in, deleted);
+        return filter == null ? null : folder.zip(filter);
+    }
+
+    /** Zipped content of folder that is written directly to the response without buffering. */
+    private static StreamingOutput zipOutput(final VirtualFile folder, final VirtualFileFilter filter, final int compressionLevel)
+            throws ForbiddenException {
+        // Check it before response is committed.
+        if (!folder.isFolder()) {
+            throw new ForbiddenException(String.format("Unable export to zip. Item '%s' is not a folder. ", folder.getPath()));
+        }
+        return new StreamingOutput() {
+            @Override
+            public void write(OutputStream output) throws IOException {
+                try {
+                    folder.zip(output, filter, compressionLevel);
+                } catch (ForbiddenException | ServerException e) {
+                    throw new IOException(e.getMessage(), e);
+                }
+            }
+        };
+    }
+
+    /**
+     * Compares hash sums of files in {@code folder} with hash sums from {@code in}, each line of {@code in} contains MD5 hash sum and
+     * relative path of file. Relative paths of files that don't exist in {@code folder} are added in {@code deleted}.
+     *
+     * @return filter that accepts new and updated files, or {@code null} if {@code folder} contains the same files as described in
+     * {@code in}
+     */
+    private static VirtualFileFilter diffFilter(VirtualFile folder, InputStream in, List<String> deleted) throws ServerException {
+        // Remote hash sums by relative path. Keep order of remote list to get the same order of deleted items.
+        final Map<String, String> remote = new LinkedHashMap<>();
         final BufferedReader reader = new BufferedReader(new InputStreamReader(in));
         String line;
         try {
@@ -725,85 +770,44 @@ public abstract class VirtualFileSystemImpl implements VirtualFileSystem {
                     startPath++;
                 }
                 String relPath = line.substring(startPath);
-                remote.add(Pair.of(hash, relPath));
+                remote.put(relPath, hash);
             }
         } catch (IOException e) {
             throw new ServerException(e.getMessage(), e);
         }
         if (remote.isEmpty()) {
-            return folder.zip(VirtualFileFilter.ALL);
+            return VirtualFileFilter.ALL;
         }
+        final org.eclipse.che.api.vfs.server.Path folderPath = folder.getVirtualFilePath();
+        // Paths of new and updated files and all their parents up to the exported folder.
+        final Set<org.eclipse.che.api.vfs.server.Path> updated = new HashSet<>();
         final LazyIterator<Pair<String, String>> md5Sums = folder.countMd5Sums();
-        final int size = md5Sums.size();
-        final List<Pair<String, String>> local =
-                size > 0 ? new ArrayList<Pair<String, String>>(size) : new ArrayList<Pair<String, String>>();
         while (md5Sums.hasNext()) {
-            local.add(md5Sums.next());
-        }
-        final Comparator<Pair<String, String>> comp = new Comparator<Pair<String, String>>() {
-            @Override
-            public int compare(Pair<String, String> o1, Pair<String, String> o2) {
-                return o1.second.compareTo(o2.second);
-            }
-        };
-        Collections.sort(remote, comp);
-        Collections.sort(local, comp);
-        int remoteIndex = 0;
-        int localIndex = 0;
-        final List<Pair<String, org.eclipse.che.api.vfs.server.Path>> diff = new LinkedList<>();
-        while (remoteIndex < remote.size() && localIndex < local.size()) {
-            final Pair<String, String> remoteItem = remote.get(remoteIndex);
-            final Pair<String, String> localItem = local.get(localIndex);
-            // compare path
-            int r = remoteItem.second.compareTo(localItem.second);
-            if (r == 0) {
-                // remote and local file exist, compare md5sum
-                if (!remoteItem.first.equals(localItem.first)) {
-                    diff.add(Pair.of(remoteItem.second, folder.getVirtualFilePath().newPath(localItem.second)));
+            final Pair<String, String> localItem = md5Sums.next();
+            // If remote file exists compare md5sum, otherwise it is new file.
+            final String remoteHash = remote.remove(localItem.second);
+            if (remoteHash == null || !remoteHash.equals(localItem.first)) {
+                org.eclipse.che.api.vfs.server.Path path = folderPath.newPath(localItem.second);
+                while (!folderPath.equals(path) && updated.add(path)) {
+                    path = path.getParent();
                 }
-                remoteIndex++;
-                localIndex++;
-            } else if (r > 0) {
-                // new file
-                diff.add(Pair.of((String)null, folder.getVirtualFilePath().newPath(localItem.second)));
-                localIndex++;
-            } else {
-                // deleted file
-                diff.add(Pair.of(remoteItem.second, (org.eclipse.che.api.vfs.server.Path)null));
-                remoteIndex++;
             }
         }
-        while (remoteIndex < remote.size()) {
-            diff.add(Pair.of(remote.get(remoteIndex++).second, (org.eclipse.che.api.vfs.server.Path)null));
-        }
-        while (localIndex < local.size()) {
-            diff.add(Pair.of((String)null, folder.getVirtualFilePath().newPath(local.get(localIndex++).second)));
-        }
+        // Remote files that don't exist locally any more.
+        final Set<String> removed = remote.keySet();
 
-        if (diff.isEmpty()) {
+        if (updated.isEmpty() && removed.isEmpty()) {
             return null;
         }
 
-        final ContentStream zip = folder.zip(new VirtualFileFilter() {
+        deleted.clear();
+        deleted.addAll(removed);
+        return new VirtualFileFilter() {
             @Override
             public boolean accept(VirtualFile file) {
-                for (Pair<String, org.eclipse.che.api.vfs.server.Path> pair : diff) {
-                    if (pair.second != null
-                        && (pair.second.equals(file.getVirtualFilePath()) || pair.second.isChild(file.getVirtualFilePath()))) {
-                        return true;
-                    }
-                }
-                return false;
+                return updated.contains(file.getVirtualFilePath());
             }
-        });
-
-        deleted.clear();
-        for (Pair<String, org.eclipse.che.api.vfs.server.Path> pair : diff) {
-            if (pair.first != null && pair.second == null) {
-                deleted.add(pair.first);
-            }
-        }
-        return zip;
+        };
     }
 
     @Path("import/{parentId}")
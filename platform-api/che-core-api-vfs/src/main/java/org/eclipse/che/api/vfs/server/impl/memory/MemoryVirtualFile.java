@@ -57,6 +57,7 @@ import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
@@ -70,6 +71,7 @@ import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.zip.Deflater;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipInputStream;
 import java.util.zip.ZipOutputStream;
@@ -996,13 +998,22 @@ public class MemoryVirtualFile implements VirtualFile {
 
     @Override
     public ContentStream zip(VirtualFileFilter filter) throws ForbiddenException, ServerException {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        zip(out, filter, Deflater.DEFAULT_COMPRESSION);
+        final byte[] zipContent = out.toByteArray();
+        return new ContentStream(getName() + ".zip", new ByteArrayInputStream(zipContent), ExtMediaType.APPLICATION_ZIP, zipContent.length,
+                                 new Date());
+    }
+
+    @Override
+    public void zip(OutputStream output, VirtualFileFilter filter, int compressionLevel) throws ForbiddenException, ServerException {
         checkExist();
         if (!isFolder()) {
             throw new ForbiddenException(String.format("Unable export to zip. Item '%s' is not a folder. ", getPath()));
         }
-        final ByteArrayOutputStream out = new ByteArrayOutputStream();
         try {
-            final ZipOutputStream zipOut = new ZipOutputStream(out);
+            final ZipOutputStream zipOut = new ZipOutputStream(output);
+            zipOut.setLevel(compressionLevel);
             final LinkedList<VirtualFile> q = new LinkedList<>();
             q.add(this);
             final int rootZipPathLength = isRoot() ? 1 : (getPath().length() + 1);
@@ -1012,10 +1023,11 @@ public class MemoryVirtualFile implements VirtualFile {
                     VirtualFile current = children.next();
                     final String zipEntryName = current.getPath().substring(rootZipPathLength);
                     if (current.isFile()) {
+                        final byte[] content = ((MemoryVirtualFile)current).content;
                         final ZipEntry zipEntry = new ZipEntry(zipEntryName);
                         zipEntry.setTime(current.getLastModificationDate());
                         zipOut.putNextEntry(zipEntry);
-                        zipOut.write(((MemoryVirtualFile)current).content);
+                        zipOut.write(content);
                         zipOut.closeEntry();
                     } else if (current.isFolder()) {
                         final ZipEntry zipEntry = new ZipEntry(zipEntryName + '/');
@@ -1026,13 +1038,10 @@ public class MemoryVirtualFile implements VirtualFile {
                     }
                 }
             }
-            zipOut.close();
-        } catch (IOException e) {
+            zipOut.finish();
+        } catch (IOException | RuntimeException e) {
             throw new ServerException(e.getMessage(), e);
         }
-        final byte[] zipContent = out.toByteArray();
-        return new ContentStream(getName() + ".zip", new ByteArrayInputStream(zipContent), ExtMediaType.APPLICATION_ZIP, zipContent.length,
-                                 new Date());
     }
 
     @Override
@@ -50,30 +50,94 @@ import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStreamReader;
 import java.io.Reader;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.LinkedList;
+import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * Lucene based searcher.
+ * <p/>
+ * By default changes of virtual filesystem are indexed synchronously by the thread that calls {@link #add(VirtualFile)}, {@link
+ * #update(VirtualFile)} or {@link #delete(String, boolean)}. If searcher is created with scheduler changes are collected in queue and
+ * applied to the index in batches, not later than {@code maxStaleness} milliseconds after the first change in batch. Few changes of the
+ * same item are collapsed, e.g. if file is updated many times only its last state is indexed. Files of batch are indexed in parallel by
+ * threads of {@code executor}. Search results may not contain changes that are not indexed yet, use {@link #flush()} to apply all
+ * pending changes immediately.
  *
  * @author andrew00x
  */
 public abstract class LuceneSearcher implements Searcher {
-    private static final Logger LOG          = LoggerFactory.getLogger(LuceneSearcher.class);
-    private static final int    RESULT_LIMIT = 1000;
+    private static final Logger LOG                         = LoggerFactory.getLogger(LuceneSearcher.class);
+    private static final int    RESULT_LIMIT                = 1000;
+    /** Min number of files to use few threads for indexing them. */
+    private static final int    PARALLEL_INDEXING_THRESHOLD = 16;
+    /** Min period in milliseconds between commits of index when changes are indexed asynchronously. */
+    private static final long   COMMIT_PERIOD               = TimeUnit.MINUTES.toMillis(1);
 
-    private final VirtualFileFilter filter;
+    private final VirtualFileFilter        filter;
+    private final ScheduledExecutorService scheduler;
+    private final ExecutorService          executor;
+    private final long                     maxStaleness;
+    private final Object                   flushLock;
+    private final Runnable                 flushTask;
 
-    private IndexWriter     luceneIndexWriter;
-    private SearcherManager searcherManager;
-    private boolean         closed;
+    /** Pending changes mapped by path of changed item. Guarded by itself. */
+    private final LinkedHashMap<String, Change> changes;
+
+    private IndexWriter      luceneIndexWriter;
+    private SearcherManager  searcherManager;
+    private boolean          closed;
+    /** Set when index is changed and searcher is not refreshed yet. */
+    private volatile boolean dirty;
+
+    private boolean flushScheduled;
+    private long    lastCommit;
 
     public LuceneSearcher(Set<String> indexedMediaTypes) {
         this(new MediaTypeFilter(indexedMediaTypes));
     }
 
     public LuceneSearcher(VirtualFileFilter filter) {
+        this(filter, null, null, 0);
+    }
+
+    /**
+     * @param filter
+     *         filter of files which content should be indexed
+     * @param scheduler
+     *         scheduler for applying changes to the index, if {@code null} changes are indexed synchronously
+     * @param executor
+     *         executor for parallel indexing of files, if {@code null} files are indexed by one thread
+     * @param maxStaleness
+     *         max time in milliseconds between change of virtual filesystem and applying it to the index, ignored if {@code
+     *         scheduler} is {@code null}
+     */
+    public LuceneSearcher(VirtualFileFilter filter, ScheduledExecutorService scheduler, ExecutorService executor, long maxStaleness) {
         this.filter = filter;
+        this.scheduler = scheduler;
+        this.executor = executor;
+        this.maxStaleness = maxStaleness;
+        flushLock = new Object();
+        flushTask = new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    flush();
+                } catch (ServerException e) {
+                    LOG.error(e.getMessage(), e);
+                }
+            }
+        };
+        changes = new LinkedHashMap<>();
     }
 
     protected Analyzer makeAnalyzer() {
@@ -113,6 +177,9 @@ public abstract class LuceneSearcher implements Searcher {
 
     public synchronized void close() {
         if (!closed) {
+            synchronized (changes) {
+                changes.clear();
+            }
             try {
                 IOUtils.close(getIndexWriter(), getIndexWriter().getDirectory(), searcherManager);
             } catch (IOException e) {
@@ -122,6 +189,10 @@ public abstract class LuceneSearcher implements Searcher {
         }
     }
 
+    private synchronized boolean isClosed() {
+        return closed;
+    }
+
     public synchronized IndexWriter getIndexWriter() {
         return luceneIndexWriter;
     }
@@ -152,7 +223,10 @@ public abstract class LuceneSearcher implements Searcher {
         }
         IndexSearcher luceneSearcher = null;
         try {
-            searcherManager.maybeRefresh();
+            if (dirty) {
+                dirty = false;
+                searcherManager.maybeRefresh();
+            }
             luceneSearcher = searcherManager.acquire();
             final TopDocs topDocs = luceneSearcher.search(luceneQuery, RESULT_LIMIT);
             if (topDocs.totalHits > RESULT_LIMIT) {
@@ -176,7 +250,11 @@ public abstract class LuceneSearcher implements Searcher {
 
     @Override
     public final void add(VirtualFile virtualFile) throws ServerException {
-        doAdd(virtualFile);
+        if (scheduler != null) {
+            enqueue(virtualFile.getPath(), virtualFile.isFolder(), false, virtualFile);
+        } else {
+            doAdd(virtualFile);
+        }
     }
 
     protected void doAdd(VirtualFile virtualFile) throws ServerException {
@@ -189,9 +267,17 @@ public abstract class LuceneSearcher implements Searcher {
 
     protected void addTree(VirtualFile tree) throws ServerException {
         final long start = System.currentTimeMillis();
+        final List<VirtualFile> files = new ArrayList<>();
+        collectFiles(tree, files);
+        addFiles(files);
+        final long end = System.currentTimeMillis();
+        LOG.debug("Indexed {} files from {}, time: {} ms", files.size(), tree.getPath(), (end - start));
+    }
+
+    /** Adds all files from specified tree to the list. */
+    protected void collectFiles(VirtualFile tree, List<VirtualFile> files) throws ServerException {
         final LinkedList<VirtualFile> q = new LinkedList<>();
         q.add(tree);
-        int indexedFiles = 0;
         while (!q.isEmpty()) {
             final VirtualFile folder = q.pop();
             if (folder.exists()) {
@@ -201,14 +287,103 @@ public abstract class LuceneSearcher implements Searcher {
                     if (child.isFolder()) {
                         q.push(child);
                     } else {
-                        addFile(child);
-                        indexedFiles++;
+                        files.add(child);
                     }
                 }
             }
         }
-        final long end = System.currentTimeMillis();
-        LOG.debug("Indexed {} files from {}, time: {} ms", indexedFiles, tree.getPath(), (end - start));
+    }
+
+    /**
+     * Adds files to the index. If there are many files and executor is set, files are indexed by few threads. Calling thread takes part
+     * in indexing and waits only for helpers that are already running, so this method doesn't hang even if all threads of executor are
+     * busy, e.g. with indexing of other trees.
+     */
+    protected void addFiles(final List<VirtualFile> files) throws ServerException {
+        if (executor == null || files.size() < PARALLEL_INDEXING_THRESHOLD) {
+            for (VirtualFile file : files) {
+                addFile(file);
+            }
+            return;
+        }
+        final AtomicInteger next = new AtomicInteger();
+        final AtomicReference<Throwable> error = new AtomicReference<>();
+        final int helpers = Math.min(Runtime.getRuntime().availableProcessors(), files.size() / PARALLEL_INDEXING_THRESHOLD);
+        final IndexingHelpers running = new IndexingHelpers();
+        final Runnable worker = new Runnable() {
+            @Override
+            public void run() {
+                int i;
+                while (error.get() == null && (i = next.getAndIncrement()) < files.size()) {
+                    try {
+                        addFile(files.get(i));
+                    } catch (ServerException | RuntimeException | Error e) {
+                        error.compareAndSet(null, e);
+                    }
+                }
+            }
+        };
+        for (int i = 0; i < helpers; i++) {
+            try {
+                executor.execute(new Runnable() {
+                    @Override
+                    public void run() {
+                        if (running.start()) {
+                            try {
+                                worker.run();
+                            } finally {
+                                running.finish();
+                            }
+                        }
+                    }
+                });
+            } catch (RejectedExecutionException ignored) {
+                // Calling thread indexes files itself.
+            }
+        }
+        worker.run();
+        // All files are taken at this point. Helpers that are not started yet are skipped, wait only for helpers that still index files.
+        try {
+            running.awaitFinish();
+        } catch (InterruptedException e) {
+            error.compareAndSet(null, e);
+            Thread.currentThread().interrupt();
+            throw new ServerException("Indexing interrupted.");
+        }
+        final Throwable e = error.get();
+        if (e instanceof ServerException) {
+            throw (ServerException)e;
+        } else if (e instanceof RuntimeException) {
+            throw (RuntimeException)e;
+        } else if (e != null) {
+            throw (Error)e;
+        }
+    }
+
+    /** Helpers of parallel indexing. Helper that starts after calling thread has finished its own part of work does nothing. */
+    private static final class IndexingHelpers {
+        private int     running;
+        private boolean finished;
+
+        synchronized boolean start() {
+            if (finished) {
+                return false;
+            }
+            running++;
+            return true;
+        }
+
+        synchronized void finish() {
+            running--;
+            notifyAll();
+        }
+
+        synchronized void awaitFinish() throws InterruptedException {
+            finished = true;
+            while (running > 0) {
+                wait();
+            }
+        }
     }
 
     protected void addFile(VirtualFile virtualFile) throws ServerException {
@@ -216,6 +391,7 @@ public abstract class LuceneSearcher implements Searcher {
             try (Reader fContentReader = filter.accept(virtualFile) ? new BufferedReader(
                     new InputStreamReader(virtualFile.getContent().getStream())) : null) {
                 getIndexWriter().updateDocument(new Term("path", virtualFile.getPath()), createDocument(virtualFile, fContentReader));
+                dirty = true;
             } catch (OutOfMemoryError oome) {
                 close();
                 throw oome;
@@ -229,6 +405,14 @@ public abstract class LuceneSearcher implements Searcher {
 
     @Override
     public final void delete(String path, boolean isFile) throws ServerException {
+        if (scheduler != null) {
+            enqueue(path, !isFile, true, null);
+        } else {
+            doDelete(path, isFile);
+        }
+    }
+
+    protected void doDelete(String path, boolean isFile) throws ServerException {
         try {
             if (isFile) {
                 Term term = new Term("path", path);
@@ -237,6 +421,7 @@ public abstract class LuceneSearcher implements Searcher {
                 Term term = new Term("path", path + "/");
                 getIndexWriter().deleteDocuments(new PrefixQuery(term));
             }
+            dirty = true;
         } catch (OutOfMemoryError oome) {
             close();
             throw oome;
@@ -247,13 +432,102 @@ public abstract class LuceneSearcher implements Searcher {
 
     @Override
     public final void update(VirtualFile virtualFile) throws ServerException {
-        doUpdate(new Term("path", virtualFile.getPath()), virtualFile);
+        if (scheduler != null) {
+            enqueue(virtualFile.getPath(), false, false, virtualFile);
+        } else {
+            doUpdate(new Term("path", virtualFile.getPath()), virtualFile);
+        }
+    }
+
+    private void enqueue(String path, boolean folder, boolean delete, VirtualFile virtualFile) {
+        // Folders and files are kept separately since folder changes affect all paths that start with folder path and '/'.
+        final String key = folder ? path + '/' : path;
+        synchronized (changes) {
+            Change change = changes.remove(key);
+            if (delete) {
+                if (folder) {
+                    // Pending changes in deleted folder don't make sense anymore.
+                    for (Iterator<String> iterator = changes.keySet().iterator(); iterator.hasNext(); ) {
+                        if (iterator.next().startsWith(key)) {
+                            iterator.remove();
+                        }
+                    }
+                }
+                change = new Change(path, folder, true, null);
+            } else {
+                // Keep pending delete, it must be applied before adding new item with the same path.
+                change = new Change(path, folder, change != null && change.delete, virtualFile);
+            }
+            // Re-inserted changes are moved to the end, it is safe since item is indexed in state it has when changes are applied.
+            changes.put(key, change);
+            if (!flushScheduled) {
+                try {
+                    scheduler.schedule(flushTask, maxStaleness, TimeUnit.MILLISECONDS);
+                    flushScheduled = true;
+                } catch (RejectedExecutionException e) {
+                    LOG.warn("Unable schedule indexing of changes, {}", e.getMessage());
+                }
+            }
+        }
+    }
+
+    /**
+     * Applies all pending changes to the index and refreshes searcher. Does nothing if changes are indexed synchronously.
+     *
+     * @throws ServerException
+     *         if an error occurs
+     */
+    public void flush() throws ServerException {
+        if (scheduler == null) {
+            return;
+        }
+        synchronized (flushLock) {
+            final LinkedHashMap<String, Change> batch;
+            synchronized (changes) {
+                batch = new LinkedHashMap<>(changes);
+                changes.clear();
+                flushScheduled = false;
+            }
+            if (batch.isEmpty() || isClosed()) {
+                return;
+            }
+            final long start = System.currentTimeMillis();
+            final List<VirtualFile> files = new ArrayList<>();
+            for (Change change : batch.values()) {
+                if (change.delete) {
+                    // Files collected so far may be under deleted folder, index them first to keep order of changes.
+                    addFiles(files);
+                    files.clear();
+                    doDelete(change.path, !change.folder);
+                }
+                if (change.virtualFile != null) {
+                    if (change.folder) {
+                        collectFiles(change.virtualFile, files);
+                    } else {
+                        files.add(change.virtualFile);
+                    }
+                }
+            }
+            addFiles(files);
+            try {
+                if (start - lastCommit >= COMMIT_PERIOD) {
+                    getIndexWriter().commit();
+                    lastCommit = start;
+                }
+                dirty = false;
+                searcherManager.maybeRefresh();
+            } catch (IOException e) {
+                throw new ServerException(e.getMessage(), e);
+            }
+            LOG.debug("Indexed {} changes, time: {} ms", batch.size(), (System.currentTimeMillis() - start));
+        }
     }
 
     protected void doUpdate(Term deleteTerm, VirtualFile virtualFile) throws ServerException {
         try (Reader fContentReader = filter.accept(virtualFile) ? new BufferedReader(
                 new InputStreamReader(virtualFile.getContent().getStream())) : null) {
             getIndexWriter().updateDocument(deleteTerm, createDocument(virtualFile, fContentReader));
+            dirty = true;
         } catch (OutOfMemoryError oome) {
             close();
             throw oome;
@@ -285,4 +559,17 @@ public abstract class LuceneSearcher implements Searcher {
         return mediaType;
     }
 
+    private static class Change {
+        final String      path;
+        final boolean     folder;
+        final boolean     delete;
+        final VirtualFile virtualFile;
+
+        Change(String path, boolean folder, boolean delete, VirtualFile virtualFile) {
+            this.path = path;
+            this.folder = folder;
+            this.delete = delete;
+            this.virtualFile = virtualFile;
+        }
+    }
 }
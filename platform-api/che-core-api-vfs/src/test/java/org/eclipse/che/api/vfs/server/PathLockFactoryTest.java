@@ -236,4 +236,71 @@ public class PathLockFactoryTest extends TestCase {
         waiter.await();
         assertEquals(2, acquired.get());
     }
+
+    public void testChildLockBlocksParentExclusiveLock() throws Exception {
+        final CountDownLatch starter = new CountDownLatch(1);
+        final CountDownLatch stopper = new CountDownLatch(1);
+        Thread t = new Thread() {
+            @Override
+            public void run() {
+                PathLockFactory.PathLock lock = pathLockFactory.getLock(path, false).acquire();
+                starter.countDown();
+                try {
+                    stopper.await();
+                } catch (InterruptedException ignored) {
+                } finally {
+                    lock.release();
+                }
+            }
+        };
+        t.start();
+        starter.await(); // wait while child thread acquire lock
+        try {
+            pathLockFactory.getLock(path.getParent(), true).acquire(100);
+            fail();
+        } catch (RuntimeException e) {
+            // OK
+        }
+        // Not exclusive lock of parent is compatible with not exclusive lock of child.
+        pathLockFactory.getLock(path.getParent(), false).acquire(100).release();
+        stopper.countDown();
+        t.join();
+        pathLockFactory.getLock(path.getParent(), true).acquire(100).release();
+        pathLockFactory.checkClean();
+    }
+
+    public void testSiblingLocks() throws Exception {
+        final CountDownLatch starter = new CountDownLatch(1);
+        final CountDownLatch stopper = new CountDownLatch(1);
+        Thread t = new Thread() {
+            @Override
+            public void run() {
+                PathLockFactory.PathLock lock = pathLockFactory.getLock(path, true).acquire();
+                starter.countDown();
+                try {
+                    stopper.await();
+                } catch (InterruptedException ignored) {
+                } finally {
+                    lock.release();
+                }
+            }
+        };
+        t.start();
+        starter.await(); // wait while child thread acquire exclusive lock
+        // Exclusive lock of sibling must not block us.
+        pathLockFactory.getLock(path.getParent().newPath("d"), true).acquire(100).release();
+        stopper.countDown();
+        t.join();
+        pathLockFactory.checkClean();
+    }
+
+    public void testReleaseRecursiveLocks() throws Exception {
+        PathLockFactory.PathLock lock1 = pathLockFactory.getLock(path, true).acquire();
+        PathLockFactory.PathLock lock2 = pathLockFactory.getLock(path, false).acquire();
+        PathLockFactory.PathLock lock3 = pathLockFactory.getLock(path.getParent(), false).acquire();
+        lock2.release();
+        lock3.release();
+        lock1.release();
+        pathLockFactory.checkClean();
+    }
 }
@@ -11,13 +11,17 @@
 package org.eclipse.che.api.vfs.server.impl.memory;
 
 import org.eclipse.che.api.vfs.server.VirtualFile;
+import org.eclipse.che.api.vfs.server.VirtualFileFilter;
 import org.eclipse.che.commons.lang.ws.rs.ExtMediaType;
 import org.everrest.core.impl.ContainerResponse;
 import org.everrest.core.tools.ByteArrayContainerResponseWriter;
 
 import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.Arrays;
 import java.util.HashSet;
 import java.util.Set;
+import java.util.zip.Deflater;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipInputStream;
 
@@ -118,6 +122,29 @@ public class ExportTest extends MemoryFileSystemTest {
         assertEquals(403, response.getStatus());
     }
 
+    public void testZipWithoutCompression() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        mountPoint.getVirtualFileById(exportFolderId).zip(out, VirtualFileFilter.ALL, Deflater.NO_COMPRESSION);
+        ZipInputStream zip = new ZipInputStream(new ByteArrayInputStream(out.toByteArray()));
+        ZipEntry zipEntry;
+        int files = 0;
+        while ((zipEntry = zip.getNextEntry()) != null) {
+            if (!zipEntry.isDirectory()) {
+                files++;
+                ByteArrayOutputStream content = new ByteArrayOutputStream();
+                byte[] buf = new byte[1024];
+                int r;
+                while ((r = zip.read(buf)) != -1) {
+                    content.write(buf, 0, r);
+                }
+                assertTrue(Arrays.equals(DEFAULT_CONTENT_BYTES, content.toByteArray()));
+            }
+            zip.closeEntry();
+        }
+        zip.close();
+        assertEquals(6, files);
+    }
+
     private void checkZipItems(Set<String> expected, ZipInputStream zip) throws Exception {
         ZipEntry zipEntry;
         while ((zipEntry = zip.getNextEntry()) != null) {
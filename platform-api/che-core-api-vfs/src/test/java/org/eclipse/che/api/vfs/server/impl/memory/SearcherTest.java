@@ -12,10 +12,12 @@ package org.eclipse.che.api.vfs.server.impl.memory;
 
 import org.eclipse.che.api.vfs.server.VirtualFile;
 import org.eclipse.che.api.vfs.server.search.LuceneSearcher;
+import org.eclipse.che.api.vfs.server.util.MediaTypeFilter;
 import org.eclipse.che.api.vfs.shared.dto.Item;
 import org.eclipse.che.api.vfs.shared.dto.ItemList;
 import org.eclipse.che.commons.lang.Pair;
 import org.apache.lucene.analysis.core.SimpleAnalyzer;
+import org.apache.lucene.index.DirectoryReader;
 import org.apache.lucene.index.Term;
 import org.apache.lucene.queryparser.classic.QueryParser;
 import org.apache.lucene.search.IndexSearcher;
@@ -24,15 +26,23 @@ import org.apache.lucene.search.SearcherFactory;
 import org.apache.lucene.search.SearcherManager;
 import org.apache.lucene.search.TermQuery;
 import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.RAMDirectory;
 import org.everrest.core.impl.ContainerResponse;
 import org.everrest.core.tools.ByteArrayContainerResponseWriter;
 
 import java.io.ByteArrayInputStream;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 import javax.ws.rs.HttpMethod;
 import javax.ws.rs.core.HttpHeaders;
@@ -245,4 +255,46 @@ public class SearcherTest extends MemoryFileSystemTest {
         assertEquals(0, topDocs.totalHits);
         searcherManager.release(luceneSearcher);
     }
+
+    public void testInitWhenAllThreadsOfExecutorAreBusy() throws Exception {
+        VirtualFile folder = searchTestFolder.createFolder("many_files");
+        for (int i = 0; i < 64; i++) {
+            folder.createFile("file" + i, MediaType.TEXT_PLAIN, new ByteArrayInputStream(DEFAULT_CONTENT_BYTES));
+        }
+        // Each init needs helpers from executor but more inits than threads of executor are running.
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            List<LuceneSearcher> searchers = new ArrayList<>();
+            List<Future<?>> inits = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                final LuceneSearcher searcher = new LuceneSearcher(new MediaTypeFilter(Collections.singleton(MediaType.TEXT_PLAIN)),
+                                                                   null, executor, 0) {
+                    @Override
+                    protected Directory makeDirectory() {
+                        return new RAMDirectory();
+                    }
+                };
+                searchers.add(searcher);
+                inits.add(executor.submit(new Callable<Void>() {
+                    @Override
+                    public Void call() throws Exception {
+                        searcher.init(mountPoint);
+                        return null;
+                    }
+                }));
+            }
+            for (Future<?> init : inits) {
+                init.get(30, TimeUnit.SECONDS);
+            }
+            for (LuceneSearcher searcher : searchers) {
+                IndexSearcher luceneSearcher = new IndexSearcher(DirectoryReader.open(searcher.getIndexWriter(), true));
+                TopDocs topDocs = luceneSearcher.search(new PrefixQuery(new Term("path", folder.getPath() + '/')), 100);
+                assertEquals(64, topDocs.totalHits);
+                luceneSearcher.getIndexReader().close();
+                searcher.close();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
 }
@@ -0,0 +1,163 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.workspace.server;
+
+import org.eclipse.che.api.core.ConflictException;
+import org.eclipse.che.api.core.ForbiddenException;
+import org.eclipse.che.api.core.NotFoundException;
+import org.eclipse.che.api.core.ServerException;
+import org.eclipse.che.api.core.UnauthorizedException;
+import org.eclipse.che.api.core.notification.EventService;
+import org.eclipse.che.api.core.notification.EventSubscriber;
+import org.eclipse.che.api.core.rest.HttpJsonHelper;
+import org.eclipse.che.api.workspace.shared.dto.WorkspaceDescriptor;
+import org.eclipse.che.commons.env.EnvironmentContext;
+import org.eclipse.che.commons.lang.cache.Cache;
+import org.eclipse.che.commons.lang.cache.SLRUCache;
+import org.eclipse.che.commons.lang.cache.SynchronizedCache;
+import org.eclipse.che.commons.user.User;
+import org.eclipse.che.dto.server.DtoFactory;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.inject.Inject;
+import javax.inject.Named;
+import javax.inject.Singleton;
+import javax.ws.rs.core.UriBuilder;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Caches descriptors of workspaces that are got over {@link WorkspaceService} REST API. Descriptor is kept in the cache not longer than
+ * {@code workspace.descriptor_cache.ttl} milliseconds and is dropped immediately when {@link WorkspaceEvent} about this workspace is
+ * published. Descriptors are cached separately for each user, since descriptor is loaded with credentials of current user and access
+ * to workspace is checked when descriptor is loaded. Cache is designed for server side components that need name or attributes of
+ * workspace, links of cached descriptor depend on user and must not be sent to the client.
+ */
+@Singleton
+public class WorkspaceDescriptorCache {
+    public static final long DEFAULT_TTL = TimeUnit.MINUTES.toMillis(1);
+
+    private final EventService                     eventService;
+    private final EventSubscriber<WorkspaceEvent>  workspaceSubscriber;
+    /** Descriptors mapped by id of workspace and then by id of user. */
+    private final Cache<String, CachedDescriptors> descriptors;
+    /** Incremented on each event. Lets detect descriptor that became outdated while it was loaded. */
+    private final AtomicLong                       invalidations;
+
+    /** Max time in milliseconds to keep descriptor in the cache. Zero or negative value disables cache. */
+    @com.google.inject.Inject(optional = true)
+    @Named("workspace.descriptor_cache.ttl")
+    private long ttl = DEFAULT_TTL;
+
+    @Inject
+    public WorkspaceDescriptorCache(EventService eventService) {
+        this.eventService = eventService;
+        descriptors = new SynchronizedCache<>(new SLRUCache<String, CachedDescriptors>(100, 200));
+        invalidations = new AtomicLong();
+        workspaceSubscriber = new EventSubscriber<WorkspaceEvent>() {
+            @Override
+            public void onEvent(WorkspaceEvent event) {
+                invalidate(event.getWorkspaceId());
+            }
+        };
+    }
+
+    @PostConstruct
+    void start() {
+        eventService.subscribe(workspaceSubscriber);
+    }
+
+    @PreDestroy
+    void stop() {
+        eventService.unsubscribe(workspaceSubscriber);
+        descriptors.clear();
+    }
+
+    /**
+     * Gets descriptor of workspace for current user. Loads descriptor from {@link WorkspaceService} if it isn't cached yet for current
+     * user or cached descriptor is expired. Each call returns new copy of descriptor.
+     *
+     * @param baseUriBuilder
+     *         base URI of REST API
+     * @param workspaceId
+     *         id of workspace
+     * @return descriptor of workspace
+     * @throws IOException
+     *         if an i/o error occurs while loading descriptor
+     * @throws NotFoundException
+     *         if workspace doesn't exist
+     * @throws ForbiddenException
+     *         if current user doesn't have access to the workspace
+     * @throws ServerException
+     *         if other error occurs
+     */
+    public WorkspaceDescriptor get(UriBuilder baseUriBuilder, String workspaceId)
+            throws IOException, ServerException, NotFoundException, ForbiddenException, UnauthorizedException, ConflictException {
+        final long now = System.currentTimeMillis();
+        final User user = EnvironmentContext.getCurrent().getUser();
+        final String userId = user == null ? null : user.getId();
+        if (userId != null) {
+            final CachedDescriptors cached = descriptors.get(workspaceId);
+            final WorkspaceDescriptor descriptor = cached == null ? null : cached.get(userId, now);
+            if (descriptor != null) {
+                return DtoFactory.getInstance().clone(descriptor);
+            }
+        }
+        final long stamp = invalidations.get();
+        final String workspaceUrl = baseUriBuilder.clone().path(WorkspaceService.class)
+                                                  .path(WorkspaceService.class, "getById")
+                                                  .build(workspaceId).toString();
+        final WorkspaceDescriptor descriptor = HttpJsonHelper.get(WorkspaceDescriptor.class, workspaceUrl);
+        if (ttl > 0 && userId != null) {
+            CachedDescriptors cached = descriptors.get(workspaceId);
+            if (cached == null) {
+                descriptors.put(workspaceId, cached = new CachedDescriptors());
+            }
+            cached.put(userId, DtoFactory.getInstance().clone(descriptor), now + ttl);
+            if (stamp != invalidations.get()) {
+                // Workspace might be changed while we were loading it.
+                descriptors.remove(workspaceId);
+            }
+        }
+        return descriptor;
+    }
+
+    /** Drops cached descriptors of workspace for all users. */
+    public void invalidate(String workspaceId) {
+        invalidations.incrementAndGet();
+        if (workspaceId != null) {
+            descriptors.remove(workspaceId);
+        }
+    }
+
+    /** Descriptors of one workspace mapped by id of user. */
+    private static class CachedDescriptors {
+        final Map<String, WorkspaceDescriptor> descriptors     = new HashMap<>();
+        final Map<String, Long>                expirationTimes = new HashMap<>();
+
+        synchronized WorkspaceDescriptor get(String userId, long now) {
+            final Long expirationTime = expirationTimes.get(userId);
+            if (expirationTime == null || expirationTime <= now) {
+                return null;
+            }
+            return descriptors.get(userId);
+        }
+
+        synchronized void put(String userId, WorkspaceDescriptor descriptor, long expirationTime) {
+            descriptors.put(userId, descriptor);
+            expirationTimes.put(userId, expirationTime);
+        }
+    }
+}
@@ -0,0 +1,85 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.workspace.server;
+
+import org.eclipse.che.api.core.notification.EventOrigin;
+
+/**
+ * Published when workspace is updated or removed. Event may be propagated to other servers to let them drop cached information about
+ * workspace.
+ *
+ * @see WorkspaceDescriptorCache
+ */
+@EventOrigin("workspace")
+public class WorkspaceEvent {
+    public enum EventType {
+        UPDATED("updated"),
+        REMOVED("removed");
+
+        private final String value;
+
+        EventType(String value) {
+            this.value = value;
+        }
+
+        public String value() {
+            return value;
+        }
+
+        @Override
+        public String toString() {
+            return value;
+        }
+    }
+
+    public static WorkspaceEvent updatedEvent(String workspaceId) {
+        return new WorkspaceEvent(EventType.UPDATED, workspaceId);
+    }
+
+    public static WorkspaceEvent removedEvent(String workspaceId) {
+        return new WorkspaceEvent(EventType.REMOVED, workspaceId);
+    }
+
+    private EventType type;
+    private String    workspaceId;
+
+    public WorkspaceEvent(EventType type, String workspaceId) {
+        this.type = type;
+        this.workspaceId = workspaceId;
+    }
+
+    public WorkspaceEvent() {
+    }
+
+    public EventType getType() {
+        return type;
+    }
+
+    public void setType(EventType type) {
+        this.type = type;
+    }
+
+    public String getWorkspaceId() {
+        return workspaceId;
+    }
+
+    public void setWorkspaceId(String workspaceId) {
+        this.workspaceId = workspaceId;
+    }
+
+    @Override
+    public String toString() {
+        return "WorkspaceEvent{" +
+               "type=" + type +
+               ", workspaceId='" + workspaceId + '\'' +
+               '}';
+    }
+}
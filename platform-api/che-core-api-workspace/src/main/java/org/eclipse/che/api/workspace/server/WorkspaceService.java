@@ -24,6 +24,7 @@ import org.eclipse.che.api.core.ConflictException;
 import org.eclipse.che.api.core.ForbiddenException;
 import org.eclipse.che.api.core.NotFoundException;
 import org.eclipse.che.api.core.ServerException;
+import org.eclipse.che.api.core.notification.EventService;
 import org.eclipse.che.api.core.rest.Service;
 import org.eclipse.che.api.core.rest.annotations.Description;
 import org.eclipse.che.api.core.rest.annotations.GenerateLink;
@@ -99,6 +100,7 @@ public class WorkspaceService extends Service {
     private final UserProfileDao profileDao;
     private final PreferenceDao  preferenceDao;
     private final AccountDao     accountDao;
+    private final EventService   eventService;
 
     @Inject
     public WorkspaceService(WorkspaceDao workspaceDao,
@@ -106,7 +108,8 @@ public class WorkspaceService extends Service {
                             MemberDao memberDao,
                             AccountDao accountDao,
                             UserProfileDao profileDao,
-                            PreferenceDao preferenceDao
+                            PreferenceDao preferenceDao,
+                            EventService eventService
                            ) {
 
         this.workspaceDao = workspaceDao;
@@ -115,6 +118,7 @@ public class WorkspaceService extends Service {
         this.accountDao = accountDao;
         this.profileDao = profileDao;
         this.preferenceDao = preferenceDao;
+        this.eventService = eventService;
     }
 
     /**
@@ -434,6 +438,7 @@ public class WorkspaceService extends Service {
             workspace.setName(newName);
         }
         workspaceDao.update(workspace);
+        eventService.publish(WorkspaceEvent.updatedEvent(workspace.getId()));
 
         LOG.info("EVENT#workspace-updated# WS#{}# WS-ID#{}#", workspace.getName(), workspace.getId());
         return toDescriptor(workspace, context);
@@ -681,6 +686,7 @@ public class WorkspaceService extends Service {
         final Workspace workspace = workspaceDao.getById(wsId);
         if (null != workspace.getAttributes().remove(attributeName)) {
             workspaceDao.update(workspace);
+            eventService.publish(WorkspaceEvent.updatedEvent(wsId));
         }
     }
 
@@ -751,6 +757,8 @@ public class WorkspaceService extends Service {
                                              .withUserId(user.getId())
                                              .withRoles(newMembership.getRoles());
         memberDao.create(newMember);
+        // Membership grants access to workspace, cached descriptors must be reloaded.
+        eventService.publish(WorkspaceEvent.updatedEvent(wsId));
         return status(CREATED).entity(toDescriptor(newMember, workspace, context)).build();
     }
 
@@ -797,6 +805,7 @@ public class WorkspaceService extends Service {
         }
 
         memberDao.remove(new Member().withUserId(userId).withWorkspaceId(wsId));
+        eventService.publish(WorkspaceEvent.updatedEvent(wsId));
     }
 
     /**
@@ -825,6 +834,7 @@ public class WorkspaceService extends Service {
                        @PathParam("id")
                        String wsId) throws NotFoundException, ServerException, ConflictException {
         workspaceDao.remove(wsId);
+        eventService.publish(WorkspaceEvent.removedEvent(wsId));
     }
 
     private void createTemporaryWorkspace(Workspace workspace) throws ConflictException, ServerException {
@@ -35,7 +35,9 @@ public interface WorkspaceDao {
     void create(Workspace workspace) throws ConflictException, ServerException;
 
     /**
-     * Updates already present in persistent layer workspace.
+     * Updates already present in persistent layer workspace. Implementation doesn't notify about changes, caller must publish
+     * {@link org.eclipse.che.api.workspace.server.WorkspaceEvent} to let {@link org.eclipse.che.api.workspace.server.WorkspaceDescriptorCache}
+     * drop outdated descriptor.
      *
      * @param workspace
      *         POJO representation of workspace entity
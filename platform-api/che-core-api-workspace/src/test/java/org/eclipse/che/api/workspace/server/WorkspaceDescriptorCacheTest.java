@@ -0,0 +1,178 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.workspace.server;
+
+import org.eclipse.che.api.core.ForbiddenException;
+import org.eclipse.che.api.core.notification.EventService;
+import org.eclipse.che.api.core.rest.HttpJsonHelper;
+import org.eclipse.che.api.workspace.shared.dto.WorkspaceDescriptor;
+import org.eclipse.che.commons.env.EnvironmentContext;
+import org.eclipse.che.commons.lang.Pair;
+import org.eclipse.che.commons.user.UserImpl;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import javax.ws.rs.core.UriBuilder;
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.eclipse.che.dto.server.DtoFactory.newDto;
+import static org.testng.Assert.assertEquals;
+
+public class WorkspaceDescriptorCacheTest {
+    private static final String WS_ID = "workspace123";
+
+    private EventService             eventService;
+    private WorkspaceDescriptorCache cache;
+    private TestHttpJsonHelper       httpJsonHelper;
+    private Field                    httpJsonHelperField;
+    private Object                   originalHttpJsonHelper;
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+        httpJsonHelper = new TestHttpJsonHelper();
+        httpJsonHelperField = HttpJsonHelper.class.getDeclaredField("httpJsonHelperImpl");
+        httpJsonHelperField.setAccessible(true);
+        originalHttpJsonHelper = httpJsonHelperField.get(null);
+        httpJsonHelperField.set(null, httpJsonHelper);
+
+        eventService = new EventService();
+        cache = new WorkspaceDescriptorCache(eventService);
+        cache.start();
+        setUser("user1");
+    }
+
+    @AfterMethod
+    public void tearDown() throws Exception {
+        cache.stop();
+        httpJsonHelperField.set(null, originalHttpJsonHelper);
+        EnvironmentContext.reset();
+    }
+
+    @Test
+    public void shouldLoadDescriptorOnlyOnceWhileItIsNotExpired() throws Exception {
+        assertEquals(get().getName(), "ws");
+        assertEquals(get().getName(), "ws");
+
+        assertEquals(httpJsonHelper.requests.size(), 1);
+    }
+
+    @Test
+    public void shouldReloadDescriptorWhenTtlIsOver() throws Exception {
+        setTtl(50);
+        get();
+        Thread.sleep(100);
+        get();
+
+        assertEquals(httpJsonHelper.requests.size(), 2);
+    }
+
+    @Test
+    public void shouldNotCacheDescriptorWhenTtlIsNotPositive() throws Exception {
+        setTtl(0);
+        get();
+        get();
+
+        assertEquals(httpJsonHelper.requests.size(), 2);
+    }
+
+    @Test
+    public void shouldReloadDescriptorWhenWorkspaceIsUpdated() throws Exception {
+        get();
+        httpJsonHelper.name = "renamed";
+        eventService.publish(WorkspaceEvent.updatedEvent(WS_ID));
+
+        assertEquals(get().getName(), "renamed");
+        assertEquals(httpJsonHelper.requests.size(), 2);
+    }
+
+    @Test
+    public void shouldNotCacheDescriptorThatIsUpdatedWhileItIsLoaded() throws Exception {
+        httpJsonHelper.onRequest = new Runnable() {
+            @Override
+            public void run() {
+                httpJsonHelper.onRequest = null;
+                eventService.publish(WorkspaceEvent.updatedEvent(WS_ID));
+            }
+        };
+        get();
+        get();
+
+        assertEquals(httpJsonHelper.requests.size(), 2);
+    }
+
+    @Test
+    public void shouldCacheDescriptorsSeparatelyForEachUser() throws Exception {
+        get();
+        setUser("user2");
+        get();
+        get();
+
+        assertEquals(httpJsonHelper.requests.size(), 2);
+    }
+
+    @Test(expectedExceptions = ForbiddenException.class)
+    public void shouldNotReturnDescriptorCachedForOtherUser() throws Exception {
+        get();
+        setUser("user2");
+        httpJsonHelper.forbidden = true;
+
+        get();
+    }
+
+    @Test
+    public void shouldNotCacheDescriptorWhenUserIsUnknown() throws Exception {
+        EnvironmentContext.getCurrent().setUser(null);
+        get();
+        get();
+
+        assertEquals(httpJsonHelper.requests.size(), 2);
+    }
+
+    private WorkspaceDescriptor get() throws Exception {
+        return cache.get(UriBuilder.fromUri("http://localhost:8080/api"), WS_ID);
+    }
+
+    private void setUser(String id) {
+        EnvironmentContext.getCurrent().setUser(new UserImpl(id, id, "token", Collections.<String>emptyList()));
+    }
+
+    private void setTtl(long ttl) throws Exception {
+        final Field field = WorkspaceDescriptorCache.class.getDeclaredField("ttl");
+        field.setAccessible(true);
+        field.set(cache, ttl);
+    }
+
+    private static class TestHttpJsonHelper extends HttpJsonHelper.HttpJsonHelperImpl {
+        final List<String> requests = new ArrayList<>();
+
+        volatile String   name = "ws";
+        volatile boolean  forbidden;
+        volatile Runnable onRequest;
+
+        @Override
+        public <DTO> DTO request(Class<DTO> dtoInterface, String url, String method, Object body, Pair<String, ?>... parameters)
+                throws ForbiddenException {
+            requests.add(url);
+            if (forbidden) {
+                throw new ForbiddenException("Access denied");
+            }
+            final Runnable action = onRequest;
+            if (action != null) {
+                action.run();
+            }
+            return dtoInterface.cast(newDto(WorkspaceDescriptor.class).withId(WS_ID).withName(name));
+        }
+    }
+}
@@ -16,6 +16,7 @@ import org.eclipse.che.api.account.server.dao.Account;
 import org.eclipse.che.api.account.server.dao.AccountDao;
 import org.eclipse.che.api.core.NotFoundException;
 import org.eclipse.che.api.core.ServerException;
+import org.eclipse.che.api.core.notification.EventService;
 import org.eclipse.che.api.core.rest.ApiExceptionMapper;
 import org.eclipse.che.api.core.rest.shared.dto.Link;
 import org.eclipse.che.api.core.rest.shared.dto.ServiceError;
@@ -128,6 +129,7 @@ public class WorkspaceServiceTest {
         dependencies.addComponent(UserProfileDao.class, profileDao);
         dependencies.addComponent(AccountDao.class, accountDao);
         dependencies.addComponent(PreferenceDao.class, preferenceDao);
+        dependencies.addComponent(EventService.class, new EventService());
         final ApplicationProviderBinder binder = new ApplicationProviderBinder();
         binder.addExceptionMapper(ApiExceptionMapper.class);
         final URI uri = new URI(BASE_URI);